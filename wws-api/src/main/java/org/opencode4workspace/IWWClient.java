@@ -3,6 +3,8 @@ package org.opencode4workspace;
 import java.io.UnsupportedEncodingException;
 
 import org.opencode4workspace.authentication.AuthenticationResult;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWTransport;
 
 public interface IWWClient {
 
@@ -63,6 +65,8 @@ public interface IWWClient {
 	 * token is what you have to use in your App to pass to Watson Work Services on API calls so that you can use its services securely"
 	 * 
 	 * @return String, JWT token
+	 * @throws org.opencode4workspace.authentication.AuthenticationRefreshException
+	 *             if the token has expired and the client could not be re-authenticated, rather than returning a token that would be rejected
 	 * 
 	 * @since 0.5.0
 	 */
@@ -90,14 +94,37 @@ public interface IWWClient {
 	 * Getter for resultContent from relevant endpoint
 	 * 
 	 * @return result content (data / errors) as JSON String
+	 * @deprecated only populated by endpoints executing via {@link org.opencode4workspace.endpoints.AbstractWWGraphQLEndpoint#executeRequest()}, and overwritten by every such request. Use
+	 *             {@link org.opencode4workspace.graphql.GraphQLResult#getContent()} instead
 	 */
+	@Deprecated
 	String getResultContent();
 
 	/**
 	 * Setter for resultContent from relevant endpoint
 	 * 
 	 * @param resultContent result content (data / errors) as JSON String
+	 * @deprecated see {@link #getResultContent()}
 	 */
+	@Deprecated
 	void setResultContent(String resultContent);
 
-}
\ No newline at end of file
+	/**
+	 * Getter for the HTTP transport shared by all endpoints used by this client
+	 * 
+	 * @return WWTransport pooling connections to Watson Work Services
+	 * 
+	 * @since 0.8.0
+	 */
+	WWTransport getTransport();
+
+	/**
+	 * Getter for the rate limiter requests from this client are subject to, on both the blocking transport and {@link WWAsyncClient}
+	 * 
+	 * @return WWRateLimiter, or null if requests are not limited
+	 * 
+	 * @since 0.8.0
+	 */
+	WWRateLimiter getRateLimiter();
+
+}
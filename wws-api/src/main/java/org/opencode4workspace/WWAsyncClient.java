@@ -0,0 +1,854 @@
+package org.opencode4workspace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
+import org.opencode4workspace.bo.Conversation;
+import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.bo.MessageResponse;
+import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.bo.Space;
+import org.opencode4workspace.builders.BaseGraphQLQuery;
+import org.opencode4workspace.builders.ConversationGraphQLQuery;
+import org.opencode4workspace.builders.IGraphQLQuery;
+import org.opencode4workspace.builders.MessageGraphQLQuery;
+import org.opencode4workspace.builders.PeopleGraphQLQuery;
+import org.opencode4workspace.builders.PeopleGraphQLQuery.PeopleAttributes;
+import org.opencode4workspace.builders.PersonGraphQLQuery;
+import org.opencode4workspace.builders.SpaceGraphQLQuery;
+import org.opencode4workspace.builders.SpaceMembersGraphQLQuery;
+import org.opencode4workspace.builders.SpacesGraphQLQuery;
+import org.opencode4workspace.endpoints.AppMessage;
+import org.opencode4workspace.endpoints.MessagePostEndpoint;
+import org.opencode4workspace.endpoints.WWGraphQLExecutor;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.json.GraphQLRequest;
+import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.transport.WWAsyncTransport;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransportConfig;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Non-blocking counterpart to the helper methods of {@link WWClient}. Requests are executed on a {@link WWAsyncTransport}, so a handful of I/O threads can keep many requests in flight. Each
+ *        method returns immediately with a Future and notifies the optional {@link FutureCallback} on completion. Responses are read and converted on a separate executor, so a large response
+ *        does not hold up the I/O dispatch threads, and callbacks for successful requests run on that executor. Errors, e.g. the request could not be built, are reported through the Future
+ *        and callback rather than thrown. Authentication is handled by the wrapped {@link IWWClient}, which must have been authenticated before requests are made.<br>
+ *        <br>
+ *        Requests are subject to the client's {@link WWRateLimiter}, if it has one. If no permit is available straight away, the wait for one happens on the conversion executor, so the caller
+ *        is never blocked. The other policies of the blocking {@link org.opencode4workspace.transport.WWTransport} are not applied to asynchronous requests: they are not retried, and do not
+ *        go through its circuit breaker, concurrency limiter or {@link org.opencode4workspace.transport.Deadline}.
+ *
+ */
+public class WWAsyncClient implements Closeable {
+
+	private final IWWClient client;
+	private final WWAsyncTransport transport;
+	private final boolean ownsTransport;
+	private final Executor converter;
+
+	/**
+	 * Holder for the daemon threads shared by all clients for converting responses, only created when first needed
+	 *
+	 * @since 0.8.0
+	 */
+	private static class ConversionExecutor {
+		static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-async-convert-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Converts the content of a successful response into the result of the Future
+	 *
+	 * @param <T>
+	 *            type of result
+	 */
+	private interface ContentConverter<T> {
+		T convert(String content) throws WWException;
+	}
+
+	/**
+	 * Extracts the relevant object from a parsed GraphQL result
+	 *
+	 * @param <T>
+	 *            type of result
+	 */
+	private interface ResultExtractor<T> {
+		T extract(GraphResultContainer resultContainer) throws WWException;
+	}
+
+	/**
+	 * Returns the parsed GraphQL result itself
+	 */
+	private static final ResultExtractor<GraphResultContainer> CONTAINER_EXTRACTOR = new ResultExtractor<GraphResultContainer>() {
+
+		@Override
+		public GraphResultContainer extract(GraphResultContainer resultContainer) throws WWException {
+			return resultContainer;
+		}
+	};
+
+	/**
+	 * Extracts the Space from a parsed GraphQL result
+	 */
+	private static final ResultExtractor<Space> SPACE_EXTRACTOR = new ResultExtractor<Space>() {
+
+		@Override
+		public Space extract(GraphResultContainer resultContainer) throws WWException {
+			return resultContainer.getData().getSpace();
+		}
+	};
+
+	/**
+	 * Extracts the Conversation from a parsed GraphQL result
+	 */
+	private static final ResultExtractor<Conversation> CONVERSATION_EXTRACTOR = new ResultExtractor<Conversation>() {
+
+		@Override
+		public Conversation extract(GraphResultContainer resultContainer) throws WWException {
+			return resultContainer.getData().getConversation();
+		}
+	};
+
+	/**
+	 * Extracts the Message from a parsed GraphQL result
+	 */
+	private static final ResultExtractor<Message> MESSAGE_EXTRACTOR = new ResultExtractor<Message>() {
+
+		@Override
+		public Message extract(GraphResultContainer resultContainer) throws WWException {
+			return resultContainer.getData().getMessage();
+		}
+	};
+
+	/**
+	 * Extracts the Person from a parsed GraphQL result
+	 */
+	private static final ResultExtractor<Person> PERSON_EXTRACTOR = new ResultExtractor<Person>() {
+
+		@Override
+		public Person extract(GraphResultContainer resultContainer) throws WWException {
+			return resultContainer.getData().getPerson();
+		}
+	};
+
+	/**
+	 * Extracts the members of the Space from a parsed GraphQL result
+	 */
+	private static final ResultExtractor<List<Person>> SPACE_MEMBERS_EXTRACTOR = new ResultExtractor<List<Person>>() {
+
+		@Override
+		public List<Person> extract(GraphResultContainer resultContainer) throws WWException {
+			return resultContainer.getData().getSpace().getMembers();
+		}
+	};
+
+	/**
+	 * Future that also cancels the underlying HTTP exchange when cancelled
+	 *
+	 * @param <T>
+	 *            type of result
+	 */
+	private static class WWAsyncFuture<T> extends BasicFuture<T> {
+		private volatile Future<HttpResponse> exchange;
+
+		WWAsyncFuture(FutureCallback<T> callback) {
+			super(callback);
+		}
+
+		void setExchange(Future<HttpResponse> exchange) {
+			this.exchange = exchange;
+			if (isCancelled()) {
+				exchange.cancel(true);
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			Future<HttpResponse> current = exchange;
+			if (cancelled && null != current) {
+				current.cancel(mayInterruptIfRunning);
+			}
+			return cancelled;
+		}
+	}
+
+	/**
+	 * Creates an asynchronous client with its own {@link WWAsyncTransport}, using the default {@link WWTransportConfig}
+	 *
+	 * @param client
+	 *            IWWClient providing the JWT token for requests
+	 * @throws IOReactorException
+	 *             if the I/O reactor could not be started
+	 *
+	 * @since 0.8.0
+	 */
+	public WWAsyncClient(IWWClient client) throws IOReactorException {
+		this(client, new WWAsyncTransport(), true, ConversionExecutor.INSTANCE);
+	}
+
+	/**
+	 * Creates an asynchronous client sharing an existing {@link WWAsyncTransport}. The transport is not closed when this client is closed
+	 *
+	 * @param client
+	 *            IWWClient providing the JWT token for requests
+	 * @param transport
+	 *            WWAsyncTransport to execute requests on
+	 *
+	 * @since 0.8.0
+	 */
+	public WWAsyncClient(IWWClient client, WWAsyncTransport transport) {
+		this(client, transport, false, ConversionExecutor.INSTANCE);
+	}
+
+	/**
+	 * Creates an asynchronous client sharing an existing {@link WWAsyncTransport}, converting responses on the passed executor. Neither is closed when this client is closed
+	 *
+	 * @param client
+	 *            IWWClient providing the JWT token for requests
+	 * @param transport
+	 *            WWAsyncTransport to execute requests on
+	 * @param converter
+	 *            Executor to read and convert responses on, and run the callbacks of successful requests
+	 *
+	 * @since 0.8.0
+	 */
+	public WWAsyncClient(IWWClient client, WWAsyncTransport transport, Executor converter) {
+		this(client, transport, false, converter);
+	}
+
+	private WWAsyncClient(IWWClient client, WWAsyncTransport transport, boolean ownsTransport, Executor converter) {
+		this.client = client;
+		this.transport = transport;
+		this.ownsTransport = ownsTransport;
+		this.converter = converter;
+	}
+
+	/**
+	 * @return IWWClient providing the JWT token for requests
+	 *
+	 * @since 0.8.0
+	 */
+	public IWWClient getClient() {
+		return client;
+	}
+
+	/**
+	 * @return WWAsyncTransport requests are executed on
+	 *
+	 * @since 0.8.0
+	 */
+	public WWAsyncTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Executes any GraphQL request asynchronously
+	 *
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the GraphResultContainer
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<GraphResultContainer> executeAsync(GraphQLRequest request, FutureCallback<GraphResultContainer> callback) {
+		return executeGraphQL(request, CONTAINER_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getCustomQuery(BaseGraphQLQuery)}
+	 *
+	 * @param query
+	 *            BaseGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the GraphResultContainer
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<GraphResultContainer> getCustomQueryAsync(BaseGraphQLQuery query, FutureCallback<GraphResultContainer> callback) {
+		return executeGraphQL(query, CONTAINER_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getSpaces()}
+	 *
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of Spaces
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<? extends Space>> getSpacesAsync(FutureCallback<List<? extends Space>> callback) {
+		try {
+			return getSpacesWithQueryAsync(SpacesGraphQLQuery.buildStandardGetSpacesQuery(), callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getSpacesWithQuery(SpacesGraphQLQuery)}
+	 *
+	 * @param query
+	 *            SpacesGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of Spaces
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<? extends Space>> getSpacesWithQueryAsync(SpacesGraphQLQuery query, FutureCallback<List<? extends Space>> callback) {
+		return executeGraphQL(query, new ResultExtractor<List<? extends Space>>() {
+
+			@Override
+			public List<? extends Space> extract(GraphResultContainer resultContainer) throws WWException {
+				return resultContainer.getData().getSpaces().getItems();
+			}
+		}, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getSpaceById(String)}
+	 *
+	 * @param spaceId
+	 *            String id of the space
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Space
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Space> getSpaceByIdAsync(String spaceId, FutureCallback<Space> callback) {
+		try {
+			return executeGraphQL(SpaceGraphQLQuery.buildSpaceRequestWithSpaceId(spaceId), SPACE_EXTRACTOR, callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getSpaceWithQuery(SpaceGraphQLQuery)}
+	 *
+	 * @param query
+	 *            SpaceGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Space
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Space> getSpaceWithQueryAsync(SpaceGraphQLQuery query, FutureCallback<Space> callback) {
+		return executeGraphQL(query, SPACE_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getConversationById(String)}
+	 *
+	 * @param conversationId
+	 *            String id of the conversation
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Conversation
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Conversation> getConversationByIdAsync(String conversationId, FutureCallback<Conversation> callback) {
+		try {
+			return executeGraphQL(ConversationGraphQLQuery.buildStandardConversationRequestById(conversationId), CONVERSATION_EXTRACTOR, callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getConversationWithQuery(ConversationGraphQLQuery)}
+	 *
+	 * @param query
+	 *            ConversationGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Conversation
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Conversation> getConversationWithQueryAsync(ConversationGraphQLQuery query, FutureCallback<Conversation> callback) {
+		return executeGraphQL(query, CONVERSATION_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getMessageById(String)}
+	 *
+	 * @param messageId
+	 *            String id of the message
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Message
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Message> getMessageByIdAsync(String messageId, FutureCallback<Message> callback) {
+		try {
+			return executeGraphQL(MessageGraphQLQuery.buildMessageRequestWithMessageId(messageId), MESSAGE_EXTRACTOR, callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getMessageWithQuery(MessageGraphQLQuery)}
+	 *
+	 * @param query
+	 *            MessageGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Message
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Message> getMessageWithQueryAsync(MessageGraphQLQuery query, FutureCallback<Message> callback) {
+		return executeGraphQL(query, MESSAGE_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getMe()}
+	 *
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Person
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Person> getMeAsync(FutureCallback<Person> callback) {
+		try {
+			return executeGraphQL(new GraphQLRequest(PersonGraphQLQuery.buildMyProfileQuery()), new ResultExtractor<Person>() {
+
+				@Override
+				public Person extract(GraphResultContainer resultContainer) throws WWException {
+					return resultContainer.getData().getMe();
+				}
+			}, callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getPersonById(String)}
+	 *
+	 * @param personId
+	 *            String id of the person
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Person
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Person> getPersonByIdAsync(String personId, FutureCallback<Person> callback) {
+		try {
+			return executeGraphQL(PersonGraphQLQuery.buildPersonRequestById(personId), PERSON_EXTRACTOR, callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getPersonByEmail(String)}
+	 *
+	 * @param personEmail
+	 *            String email address of the person
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Person
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Person> getPersonByEmailAsync(String personEmail, FutureCallback<Person> callback) {
+		try {
+			return getPersonWithQueryAsync(PersonGraphQLQuery.buildPersonQueryByEmail(personEmail), callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getPersonWithQuery(PersonGraphQLQuery)}
+	 *
+	 * @param query
+	 *            PersonGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the Person
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Person> getPersonWithQueryAsync(PersonGraphQLQuery query, FutureCallback<Person> callback) {
+		return executeGraphQL(query, PERSON_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getSpaceMembersById(String)}
+	 *
+	 * @param spaceId
+	 *            String id of the space
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of members
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<Person>> getSpaceMembersByIdAsync(String spaceId, FutureCallback<List<Person>> callback) {
+		try {
+			return executeGraphQL(SpaceMembersGraphQLQuery.buildSpaceMemberRequestBySpaceId(spaceId), SPACE_MEMBERS_EXTRACTOR, callback);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getSpaceMembersWithQuery(SpaceMembersGraphQLQuery)}
+	 *
+	 * @param query
+	 *            SpaceMembersGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of members
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<Person>> getSpaceMembersWithQueryAsync(SpaceMembersGraphQLQuery query, FutureCallback<List<Person>> callback) {
+		return executeGraphQL(query, SPACE_MEMBERS_EXTRACTOR, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getPeople(List)}
+	 *
+	 * @param ids
+	 *            List of String ids of people
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of people
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<Person>> getPeopleAsync(List<String> ids, FutureCallback<List<Person>> callback) {
+		PeopleGraphQLQuery query = new PeopleGraphQLQuery();
+		try {
+			query.addAttribute(PeopleAttributes.ID, ids);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+		return getPeopleWithQueryAsync(query, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getPeopleByName(String)}
+	 *
+	 * @param name
+	 *            String name to search for
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of people
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<Person>> getPeopleByNameAsync(String name, FutureCallback<List<Person>> callback) {
+		PeopleGraphQLQuery query = new PeopleGraphQLQuery();
+		try {
+			query.addAttribute(PeopleAttributes.NAME, name);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+		return getPeopleWithQueryAsync(query, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#getPeopleWithQuery(PeopleGraphQLQuery)}
+	 *
+	 * @param query
+	 *            PeopleGraphQLQuery to execute
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the List of people
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<List<Person>> getPeopleWithQueryAsync(PeopleGraphQLQuery query, FutureCallback<List<Person>> callback) {
+		return executeGraphQL(query, new ResultExtractor<List<Person>>() {
+
+			@Override
+			public List<Person> extract(GraphResultContainer resultContainer) throws WWException {
+				return resultContainer.getData().getPeople().getItems();
+			}
+		}, callback);
+	}
+
+	/**
+	 * Asynchronous equivalent of {@link WWClient#postMessageToSpace(AppMessage, String)}
+	 *
+	 * @param message
+	 *            AppMessage message to post
+	 * @param spaceId
+	 *            String id of the space to post to
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the MessageResponse
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<MessageResponse> postMessageToSpaceAsync(AppMessage message, String spaceId, FutureCallback<MessageResponse> callback) {
+		HttpUriRequest post;
+		try {
+			post = MessagePostEndpoint.buildMessagePost(client, message, spaceId);
+		} catch (AuthenticationRefreshException e) {
+			return failed(e.getCause(), callback);
+		}
+		return execute(post, WWRequestType.MESSAGE, 201, new ContentConverter<MessageResponse>() {
+
+			@Override
+			public MessageResponse convert(String content) throws WWException {
+				return new ResultParser<MessageResponse>(MessageResponse.class).parse(content);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Posts a GraphQL query and extracts the relevant object from the parsed result
+	 *
+	 * @param query
+	 *            IGraphQLQuery to execute
+	 * @param extractor
+	 *            ResultExtractor to retrieve the relevant object from the parsed result
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the extracted object, which has failed if the request could not be built
+	 *
+	 * @since 0.8.0
+	 */
+	private <T> Future<T> executeGraphQL(IGraphQLQuery query, ResultExtractor<T> extractor, FutureCallback<T> callback) {
+		GraphQLRequest request;
+		try {
+			request = new GraphQLRequest(query);
+		} catch (WWException e) {
+			return failed(e, callback);
+		}
+		return executeGraphQL(request, extractor, callback);
+	}
+
+	/**
+	 * Posts a GraphQL request and extracts the relevant object from the parsed result
+	 *
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @param extractor
+	 *            ResultExtractor to retrieve the relevant object from the parsed result
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the extracted object
+	 *
+	 * @since 0.8.0
+	 */
+	private <T> Future<T> executeGraphQL(final GraphQLRequest request, final ResultExtractor<T> extractor, FutureCallback<T> callback) {
+		HttpUriRequest post;
+		try {
+			post = WWGraphQLExecutor.buildPost(client, request);
+		} catch (AuthenticationRefreshException e) {
+			return failed(e.getCause(), callback);
+		}
+		return execute(post, request.isMutation() ? WWRequestType.MUTATION : WWRequestType.QUERY, 200, new ContentConverter<T>() {
+
+			@Override
+			public T convert(String content) throws WWException {
+				return extractor.extract(WWGraphQLExecutor.parseResponse(content, request));
+			}
+		}, callback);
+	}
+
+	/**
+	 * Executes the request on the asynchronous transport once a permit has been acquired from the client's rate limiter, completing the returned Future with the converted content. If no permit
+	 * is available now, the wait for one happens on the conversion executor rather than the caller's thread
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param type
+	 *            WWRequestType of the request, for the rate limiter
+	 * @param expectedStatus
+	 *            int, HTTP status code of a successful response
+	 * @param contentConverter
+	 *            ContentConverter to convert the response content to the result
+	 * @param callback
+	 *            FutureCallback notified on completion, may be null
+	 * @return Future for the result
+	 *
+	 * @since 0.8.0
+	 */
+	private <T> Future<T> execute(final HttpUriRequest request, final WWRequestType type, final int expectedStatus, final ContentConverter<T> contentConverter, FutureCallback<T> callback) {
+		final WWAsyncFuture<T> result = new WWAsyncFuture<T>(callback);
+		final WWRateLimiter rateLimiter = client.getRateLimiter();
+		if (null == rateLimiter || rateLimiter.tryAcquire(type)) {
+			send(request, result, expectedStatus, contentConverter);
+			return result;
+		}
+		try {
+			converter.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						rateLimiter.acquire(type);
+					} catch (WWException e) {
+						result.failed(e);
+						return;
+					}
+					if (!result.isCancelled()) {
+						send(request, result, expectedStatus, contentConverter);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			result.failed(new WWException(e));
+		}
+		return result;
+	}
+
+	/**
+	 * Sends the request on the asynchronous transport, completing the Future with the converted content
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param result
+	 *            WWAsyncFuture to complete
+	 * @param expectedStatus
+	 *            int, HTTP status code of a successful response
+	 * @param contentConverter
+	 *            ContentConverter to convert the response content to the result
+	 *
+	 * @since 0.8.0
+	 */
+	private <T> void send(HttpUriRequest request, final WWAsyncFuture<T> result, final int expectedStatus, final ContentConverter<T> contentConverter) {
+		try {
+			result.setExchange(transport.execute(request, new FutureCallback<HttpResponse>() {
+
+				@Override
+				public void completed(final HttpResponse response) {
+					// Reading and decoding a large response would hold up every other request on this I/O dispatch thread
+					try {
+						converter.execute(new Runnable() {
+
+							@Override
+							public void run() {
+								complete(result, response, expectedStatus, contentConverter);
+							}
+						});
+					} catch (RejectedExecutionException e) {
+						EntityUtils.consumeQuietly(response.getEntity());
+						result.failed(new WWException(e));
+					}
+				}
+
+				@Override
+				public void failed(Exception ex) {
+					result.failed(new WWException(ex));
+				}
+
+				@Override
+				public void cancelled() {
+					result.cancel();
+				}
+			}));
+		} catch (IOException e) {
+			result.failed(new WWException(e));
+		}
+	}
+
+	/**
+	 * Completes the Future with the converted content of a response, or fails it if the response was not successful or could not be converted
+	 *
+	 * @param result
+	 *            WWAsyncFuture to complete
+	 * @param response
+	 *            HttpResponse received
+	 * @param expectedStatus
+	 *            int, HTTP status code of a successful response
+	 * @param contentConverter
+	 *            ContentConverter to convert the response content to the result
+	 *
+	 * @since 0.8.0
+	 */
+	private static <T> void complete(WWAsyncFuture<T> result, HttpResponse response, int expectedStatus, ContentConverter<T> contentConverter) {
+		try {
+			if (response.getStatusLine().getStatusCode() == expectedStatus) {
+				result.completed(contentConverter.convert(EntityUtils.toString(response.getEntity())));
+			} else {
+				EntityUtils.consumeQuietly(response.getEntity());
+				result.failed(new WWException("Execution failed: " + response.getStatusLine().getStatusCode() + " " + response.getStatusLine().getReasonPhrase()));
+			}
+		} catch (WWException e) {
+			result.failed(e);
+		} catch (Exception e) {
+			result.failed(new WWException(e));
+		}
+	}
+
+	/**
+	 * Returns a Future that has already failed, notifying the callback
+	 *
+	 * @param error
+	 *            WWException the request failed with
+	 * @param callback
+	 *            FutureCallback notified of the failure, may be null
+	 * @return Future that has failed
+	 *
+	 * @since 0.8.0
+	 */
+	private static <T> Future<T> failed(WWException error, FutureCallback<T> callback) {
+		WWAsyncFuture<T> result = new WWAsyncFuture<T>(callback);
+		result.failed(error);
+		return result;
+	}
+
+	/**
+	 * Closes the asynchronous transport, if it was created by this client. A transport passed in on construction is left open, as it may be shared
+	 *
+	 * @throws IOException
+	 *             if the transport could not be closed
+	 *
+	 * @since 0.8.0
+	 */
+	@Override
+	public void close() throws IOException {
+		if (ownsTransport) {
+			transport.close();
+		}
+	}
+
+}
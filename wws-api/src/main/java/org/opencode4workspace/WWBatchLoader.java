@@ -0,0 +1,433 @@
+package org.opencode4workspace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.bo.WWQueryResponseObjectTypes;
+import org.opencode4workspace.builders.BaseGraphQLMultiQuery;
+import org.opencode4workspace.builders.GraphQLVariable;
+import org.opencode4workspace.builders.MessageGraphQLQuery;
+import org.opencode4workspace.builders.ObjectDataSenderBuilder;
+import org.opencode4workspace.builders.PersonGraphQLQuery;
+import org.opencode4workspace.builders.SpaceGraphQLQuery;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.graphql.SpaceWrapper;
+import org.opencode4workspace.json.GraphQLRequest;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Batches by-id lookups of Spaces, People and Messages. Lookups made within a short window are merged into a single aliased {@link BaseGraphQLMultiQuery}, e.g.
+ *        "query batchLoad($id0: ID!, $id1: ID!) {load0:space (id: $id0) {...}load1:space (id: $id1) {...}}", executed on a {@link WWAsyncClient}. Each caller's Future is then completed from the
+ *        aliased children of the result. Repeated lookups of the same object within a window share one alias.<br>
+ *        <br>
+ *        A batch is sent when the window elapses or when it reaches the maximum batch size, whichever comes first. If the request fails, every lookup in the batch fails with the same exception.
+ *
+ */
+public class WWBatchLoader implements Closeable {
+
+	/**
+	 * Default time, in milliseconds, to wait for further lookups before sending a batch
+	 */
+	public static final long DEFAULT_WINDOW_MILLIS = 10;
+	/**
+	 * Default maximum number of distinct objects requested in a single batch
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 25;
+	private static final String OPERATION_NAME = "batchLoad";
+	private static final String ALIAS_PREFIX = "load";
+	private static final String VARIABLE_PREFIX = "id";
+
+	/**
+	 * Types of object that can be looked up by id
+	 */
+	private enum LoadType {
+		SPACE(WWQueryResponseObjectTypes.SPACE), PERSON(WWQueryResponseObjectTypes.PERSON), MESSAGE(WWQueryResponseObjectTypes.MESSAGE);
+
+		private final WWQueryResponseObjectTypes returnType;
+
+		private LoadType(WWQueryResponseObjectTypes returnType) {
+			this.returnType = returnType;
+		}
+
+		/**
+		 * Builds the standard query object for this type, filtered on a variable id
+		 *
+		 * @param alias
+		 *            String alias for the result
+		 * @param variable
+		 *            GraphQLVariable holding the id
+		 * @return ObjectDataSenderBuilder for the aliased query
+		 * @throws WWException
+		 *             if the query could not be built
+		 */
+		ObjectDataSenderBuilder buildQueryObject(String alias, GraphQLVariable variable) throws WWException {
+			ObjectDataSenderBuilder queryObject;
+			if (SPACE == this) {
+				queryObject = SpaceGraphQLQuery.buildSpaceGraphQueryWithSpaceIdVariable().getQueryObject();
+			} else if (PERSON == this) {
+				queryObject = PersonGraphQLQuery.buildPersonQueryWithIdVariable().getQueryObject();
+			} else {
+				queryObject = MessageGraphQLQuery.buildMessageGraphQueryWithMessageIdVariable().getQueryObject();
+			}
+			queryObject.addAttribute("id", variable);
+			queryObject.setObjectName(alias);
+			queryObject.setReturnType(returnType);
+			return queryObject;
+		}
+	}
+
+	/**
+	 * A lookup waiting to be sent
+	 */
+	private static class PendingLoad {
+		final LoadType type;
+		final String id;
+		final BasicFuture<Object> future;
+
+		PendingLoad(LoadType type, String id, BasicFuture<Object> future) {
+			this.type = type;
+			this.id = id;
+			this.future = future;
+		}
+
+		String getKey() {
+			return type.name() + ":" + id;
+		}
+	}
+
+	private final WWAsyncClient client;
+	private final long windowMillis;
+	private final int maxBatchSize;
+	private final ScheduledExecutorService scheduler;
+	private final Object lock = new Object();
+	private List<PendingLoad> pending = new ArrayList<PendingLoad>();
+	private Set<String> pendingKeys = new HashSet<String>();
+	private long generation;
+	private boolean closed;
+
+	/**
+	 * Creates a batch loader with {@link #DEFAULT_WINDOW_MILLIS} and {@link #DEFAULT_MAX_BATCH_SIZE}
+	 *
+	 * @param client
+	 *            WWAsyncClient to execute batches on. It is not closed when this loader is closed
+	 *
+	 * @since 0.8.0
+	 */
+	public WWBatchLoader(WWAsyncClient client) {
+		this(client, DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a batch loader
+	 *
+	 * @param client
+	 *            WWAsyncClient to execute batches on. It is not closed when this loader is closed
+	 * @param windowMillis
+	 *            long time, in milliseconds, to wait for further lookups before sending a batch
+	 * @param maxBatchSize
+	 *            int maximum number of distinct objects requested in a single batch
+	 *
+	 * @since 0.8.0
+	 */
+	public WWBatchLoader(WWAsyncClient client, long windowMillis, int maxBatchSize) {
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException("windowMillis cannot be negative");
+		}
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("maxBatchSize must be at least 1");
+		}
+		this.client = client;
+		this.windowMillis = windowMillis;
+		this.maxBatchSize = maxBatchSize;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-batch-loader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Batched equivalent of {@link WWClient#getSpaceById(String)}
+	 *
+	 * @param spaceId
+	 *            String id of the Space
+	 * @param callback
+	 *            FutureCallback notified when the batch completes, may be null
+	 * @return Future for the Space
+	 * @throws WWException
+	 *             if spaceId is missing or the loader has been closed
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<SpaceWrapper> loadSpace(String spaceId, FutureCallback<SpaceWrapper> callback) throws WWException {
+		return load(LoadType.SPACE, spaceId, callback);
+	}
+
+	/**
+	 * Batched equivalent of {@link WWClient#getPersonById(String)}. Unlike that method, a blank id is not treated as "me"
+	 *
+	 * @param personId
+	 *            String id of the Person
+	 * @param callback
+	 *            FutureCallback notified when the batch completes, may be null
+	 * @return Future for the Person
+	 * @throws WWException
+	 *             if personId is missing or the loader has been closed
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Person> loadPerson(String personId, FutureCallback<Person> callback) throws WWException {
+		return load(LoadType.PERSON, personId, callback);
+	}
+
+	/**
+	 * Batched equivalent of {@link WWClient#getMessageById(String)}
+	 *
+	 * @param messageId
+	 *            String id of the Message
+	 * @param callback
+	 *            FutureCallback notified when the batch completes, may be null
+	 * @return Future for the Message
+	 * @throws WWException
+	 *             if messageId is missing or the loader has been closed
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<Message> loadMessage(String messageId, FutureCallback<Message> callback) throws WWException {
+		return load(LoadType.MESSAGE, messageId, callback);
+	}
+
+	/**
+	 * Sends any pending lookups immediately, without waiting for the window to elapse
+	 *
+	 * @since 0.8.0
+	 */
+	public void flush() {
+		List<PendingLoad> batch;
+		synchronized (lock) {
+			batch = takePending();
+		}
+		dispatch(batch);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		List<PendingLoad> batch;
+		synchronized (lock) {
+			closed = true;
+			batch = takePending();
+		}
+		dispatch(batch);
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Queues a lookup, scheduling the batch if this is the first lookup of the window
+	 *
+	 * @param type
+	 *            LoadType of object to look up
+	 * @param id
+	 *            String id of the object
+	 * @param callback
+	 *            FutureCallback notified when the batch completes, may be null
+	 * @return Future for the object
+	 * @throws WWException
+	 *             if id is missing or the loader has been closed
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Future<T> load(LoadType type, String id, FutureCallback<T> callback) throws WWException {
+		if (null == id || "".equals(id)) {
+			throw new WWException("An id is mandatory");
+		}
+		BasicFuture<T> future = new BasicFuture<T>(callback);
+		List<PendingLoad> batch = null;
+		synchronized (lock) {
+			if (closed) {
+				throw new WWException("The batch loader has been closed");
+			}
+			PendingLoad load = new PendingLoad(type, id, (BasicFuture<Object>) (BasicFuture<?>) future);
+			pending.add(load);
+			// Repeated lookups of the same object share an alias, so only distinct objects count towards the batch size
+			pendingKeys.add(load.getKey());
+			if (pendingKeys.size() >= maxBatchSize) {
+				batch = takePending();
+			} else if (pending.size() == 1) {
+				final long scheduledGeneration = generation;
+				scheduler.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						flushGeneration(scheduledGeneration);
+					}
+				}, windowMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+		dispatch(batch);
+		return future;
+	}
+
+	/**
+	 * Sends the pending lookups when the window elapses, unless they have already been sent
+	 *
+	 * @param scheduledGeneration
+	 *            long generation of the window the flush was scheduled for
+	 */
+	private void flushGeneration(long scheduledGeneration) {
+		List<PendingLoad> batch = null;
+		synchronized (lock) {
+			if (scheduledGeneration == generation) {
+				batch = takePending();
+			}
+		}
+		dispatch(batch);
+	}
+
+	/**
+	 * Takes the pending lookups and starts a new window. Must be called holding the lock
+	 *
+	 * @return List of pending lookups, or null if there are none
+	 */
+	private List<PendingLoad> takePending() {
+		if (pending.isEmpty()) {
+			return null;
+		}
+		List<PendingLoad> batch = pending;
+		pending = new ArrayList<PendingLoad>();
+		pendingKeys = new HashSet<String>();
+		generation++;
+		return batch;
+	}
+
+	/**
+	 * Merges the lookups into a single aliased query and executes it, completing each lookup's Future from the result
+	 *
+	 * @param batch
+	 *            List of lookups to send, may be null
+	 */
+	private void dispatch(List<PendingLoad> batch) {
+		if (null == batch) {
+			return;
+		}
+		final Map<String, List<PendingLoad>> aliases = new LinkedHashMap<String, List<PendingLoad>>();
+		try {
+			Map<String, String> aliasesByKey = new LinkedHashMap<String, String>();
+			List<ObjectDataSenderBuilder> queryObjects = new ArrayList<ObjectDataSenderBuilder>();
+			Map<String, Object> variables = new LinkedHashMap<String, Object>();
+			for (PendingLoad load : batch) {
+				String alias = aliasesByKey.get(load.getKey());
+				if (null == alias) {
+					int index = aliasesByKey.size();
+					alias = ALIAS_PREFIX + index;
+					aliasesByKey.put(load.getKey(), alias);
+					aliases.put(alias, new ArrayList<PendingLoad>());
+					GraphQLVariable variable = new GraphQLVariable(VARIABLE_PREFIX + index, "ID!");
+					queryObjects.add(load.type.buildQueryObject(alias, variable));
+					variables.put(variable.getName(), load.id);
+				}
+				aliases.get(alias).add(load);
+			}
+			GraphQLRequest request = new GraphQLRequest(new BaseGraphQLMultiQuery(OPERATION_NAME, queryObjects));
+			request.setVariableValues(variables);
+			execute(request, new FutureCallback<GraphResultContainer>() {
+
+				@Override
+				public void completed(GraphResultContainer result) {
+					Map<String, Object> children = null;
+					try {
+						children = result.getData().getAliasedChildren();
+					} catch (WWException e) {
+						failAll(aliases, e);
+						return;
+					}
+					for (Map.Entry<String, List<PendingLoad>> entry : aliases.entrySet()) {
+						Object child = (null == children) ? null : children.get(entry.getKey());
+						for (PendingLoad load : entry.getValue()) {
+							if (null == child) {
+								load.future.failed(new WWException("No data returned for " + load.type.returnType.getQueryObjectType() + " " + load.id));
+							} else {
+								load.future.completed(child);
+							}
+						}
+					}
+				}
+
+				@Override
+				public void failed(Exception ex) {
+					failAll(aliases, ex);
+				}
+
+				@Override
+				public void cancelled() {
+					for (List<PendingLoad> loads : aliases.values()) {
+						for (PendingLoad load : loads) {
+							load.future.cancel();
+						}
+					}
+				}
+			});
+		} catch (WWException e) {
+			for (PendingLoad load : batch) {
+				load.future.failed(e);
+			}
+		}
+	}
+
+	/**
+	 * Executes the merged query for a batch. Uses {@link WWAsyncClient#executeAsync(GraphQLRequest, FutureCallback)}
+	 *
+	 * @param request
+	 *            GraphQLRequest for the batch
+	 * @param callback
+	 *            FutureCallback to notify with the result
+	 * @throws WWException
+	 *             if the request could not be built
+	 *
+	 * @since 0.8.0
+	 */
+	protected void execute(GraphQLRequest request, FutureCallback<GraphResultContainer> callback) throws WWException {
+		client.executeAsync(request, callback);
+	}
+
+	/**
+	 * Fails every lookup in a batch
+	 *
+	 * @param aliases
+	 *            Map of lookups, keyed on alias
+	 * @param ex
+	 *            Exception the batch failed with
+	 */
+	private static void failAll(Map<String, List<PendingLoad>> aliases, Exception ex) {
+		for (List<PendingLoad> loads : aliases.values()) {
+			for (PendingLoad load : loads) {
+				load.future.failed(ex);
+			}
+		}
+	}
+
+}
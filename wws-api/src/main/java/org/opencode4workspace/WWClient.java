@@ -1,15 +1,29 @@
 package org.opencode4workspace;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.codec.binary.Base64;
 import org.opencode4workspace.authentication.AuthenticationEndpoint;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
 import org.opencode4workspace.authentication.AuthenticationResult;
+import org.opencode4workspace.authentication.RefreshableAuthenticationEndpoint;
+import org.opencode4workspace.authentication.TokenStore;
 import org.opencode4workspace.bo.Conversation;
 import org.opencode4workspace.bo.FileResponse;
 import org.opencode4workspace.bo.Message;
@@ -21,8 +35,10 @@ import org.opencode4workspace.builders.BaseGraphQLQuery;
 import org.opencode4workspace.builders.ConversationGraphQLQuery;
 import org.opencode4workspace.builders.MessageGraphQLQuery;
 import org.opencode4workspace.builders.PeopleGraphQLQuery;
+import org.opencode4workspace.builders.PeopleGraphQLQuery.PeopleAttributes;
 import org.opencode4workspace.builders.PersonGraphQLQuery;
 import org.opencode4workspace.builders.SpaceCreateGraphQLMutation;
+import org.opencode4workspace.builders.SpaceDeleteGraphQLMutation;
 import org.opencode4workspace.builders.SpaceGraphQLQuery;
 import org.opencode4workspace.builders.SpaceMembersGraphQLQuery;
 import org.opencode4workspace.builders.SpaceUpdateGraphQLMutation;
@@ -33,10 +49,24 @@ import org.opencode4workspace.endpoints.FilePostToSpaceEndpoint;
 import org.opencode4workspace.endpoints.MessagePostEndpoint;
 import org.opencode4workspace.endpoints.PhotoPostEndpoint;
 import org.opencode4workspace.endpoints.WWAuthenticationEndpoint;
-import org.opencode4workspace.endpoints.WWGraphQLEndpoint;
+import org.opencode4workspace.endpoints.WWGraphQLExecutor;
+import org.opencode4workspace.graphql.BasicPaginationEnum;
+import org.opencode4workspace.graphql.DataContainer;
+import org.opencode4workspace.graphql.GraphQLResult;
 import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.graphql.MembersContainer;
+import org.opencode4workspace.graphql.SpacesContainer;
 import org.opencode4workspace.graphql.UpdateSpaceContainer;
 import org.opencode4workspace.json.GraphQLRequest;
+import org.opencode4workspace.pagination.AdaptivePageSizer;
+import org.opencode4workspace.pagination.ConversationHistoryCrawler;
+import org.opencode4workspace.pagination.GraphQLPageFetcher;
+import org.opencode4workspace.pagination.Page;
+import org.opencode4workspace.pagination.PagedCollection;
+import org.opencode4workspace.pagination.PagedIterable;
+import org.opencode4workspace.transport.Deadline;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWTransport;
 
 /**
  * @author Christian Guedemann
@@ -44,18 +74,66 @@ import org.opencode4workspace.json.GraphQLRequest;
  * @since 0.5.0
  * 
  *        Watson Workspace Apache HTTP Client class Manages setting up an HTTP Client for both users and applications
+ * 
+ *        Once authenticated, the client refreshes its JWT token in the background a short time before it expires, using the refresh token for user clients. Threads that find the token expired
+ *        or expiring wait on a single in-flight authentication rather than each authenticating, and the new token is swapped in atomically, so requests never see a partially-updated result.
  */
-public class WWClient implements Serializable, IWWClient {
+public class WWClient implements Serializable, Closeable, IWWClient {
 
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default time before expiry at which the JWT token is refreshed, five minutes
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final long DEFAULT_REFRESH_MARGIN_MILLIS = 5 * 60 * 1000L;
+
+	/**
+	 * Default number of people requested for the first page of {@link #searchPeopleByName(String)}, kept small so the first results arrive quickly
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final int DEFAULT_SEARCH_FIRST_PAGE_SIZE = 5;
+
 	private ClientType clientType;
 	private String appId;
 	private String appSecret;
 	private String userToken;
 	private AuthenticationEndpoint endpoint;
-	private AuthenticationResult authenticationResult;
+	private volatile AuthenticationResult authenticationResult;
 	private String redirectTo;
-	private String resultContent;
+	private volatile String resultContent;
+	private transient volatile WWTransport transport;
+	private transient boolean ownsTransport;
+	private transient volatile WWGraphQLExecutor executor;
+	private volatile boolean autoRefresh = true;
+	private volatile long refreshMarginMillis = DEFAULT_REFRESH_MARGIN_MILLIS;
+	private transient FutureTask<AuthenticationResult> pendingAuthentication;
+	private transient ScheduledFuture<?> scheduledRefresh;
+	private transient volatile boolean refreshQueued;
+	private transient volatile boolean closed;
+	private transient TokenStore tokenStore;
+	private String tokenStoreKey;
+	private transient volatile WWRateLimiter rateLimiter;
+	private transient Map<PagedCollection, AdaptivePageSizer> pageSizers;
+
+	/**
+	 * Holder for the daemon thread shared by all clients for background token refreshes, only created when first needed
+	 * 
+	 * @since 0.8.0
+	 */
+	private static class RefreshScheduler {
+		static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-token-refresh");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
 
 	/**
 	 * Creates and returns a WWClient for a specific user
@@ -107,6 +185,52 @@ public class WWClient implements Serializable, IWWClient {
 		return client;
 	}
 
+	/**
+	 * Creates and returns a WWClient for a specific user, sharing an existing transport
+	 * 
+	 * @param userToken
+	 *            String, the JWT user token to be passed, used to authenticate as the specific user
+	 * @param appId
+	 *            String, the ID for the application the code is being run from
+	 * @param appSecret
+	 *            String, the secret for the application the code is being run from
+	 * @param authenticationEndpoint
+	 *            {@link AuthenticationEndpoint} or any sub-class thereof. Typically {@link WWAuthenticationEndpoint}
+	 * @param redirectTo
+	 *            String, URL to redirect to after authentication
+	 * @param transport
+	 *            {@link WWTransport} to use for all requests. The transport is not closed when the client is closed
+	 * @return WWClient, a Watson Workspace Client contructed with the passed params
+	 * 
+	 * @since 0.8.0
+	 */
+	public static WWClient buildClientUserAccess(String userToken, String appId, String appSecret, AuthenticationEndpoint authenticationEndpoint, String redirectTo, WWTransport transport) {
+		WWClient client = buildClientUserAccess(userToken, appId, appSecret, authenticationEndpoint, redirectTo);
+		client.transport = transport;
+		return client;
+	}
+
+	/**
+	 * Creates an application-level WWClient, not associated with a specific user, sharing an existing transport
+	 * 
+	 * @param appId
+	 *            String, the ID for the application the code is being run from
+	 * @param appSecret
+	 *            String, the secret for the application the code is being run from
+	 * @param authenticationEndpoint
+	 *            {@link AuthenticationEndpoint} or any sub-class thereof. Typically {@link WWAuthenticationEndpoint}
+	 * @param transport
+	 *            {@link WWTransport} to use for all requests. The transport is not closed when the client is closed
+	 * @return WWClient, a Watson Workspace Client contructed with the passed params
+	 * 
+	 * @since 0.8.0
+	 */
+	public static WWClient buildClientApplicationAccess(String appId, String appSecret, AuthenticationEndpoint authenticationEndpoint, WWTransport transport) {
+		WWClient client = buildClientApplicationAccess(appId, appSecret, authenticationEndpoint);
+		client.transport = transport;
+		return client;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -145,11 +269,302 @@ public class WWClient implements Serializable, IWWClient {
 	 */
 	@Override
 	public void authenticate() throws UnsupportedEncodingException, WWException {
+		awaitAuthentication();
+	}
+
+	/**
+	 * Re-authenticates the client, exchanging the refresh token for a new JWT token for user clients where possible. If another thread is already authenticating, waits for and returns its result
+	 * instead, so concurrent callers only cause one request to the authentication endpoint
+	 * 
+	 * @return AuthenticationResult now in use by the client
+	 * @throws WWException
+	 *             containing an error message, if authentication was unsuccessful. The previous token, if any, remains in use
+	 * 
+	 * @since 0.8.0
+	 */
+	public AuthenticationResult refreshAuthentication() throws WWException {
+		try {
+			return awaitAuthentication();
+		} catch (UnsupportedEncodingException e) {
+			throw new WWException(e);
+		}
+	}
+
+	/**
+	 * Re-authenticates the client after Watson Work Services rejected a token, unless the token has already been replaced, e.g. by another thread whose request was rejected at the same time
+	 * 
+	 * @param rejectedToken
+	 *            String, JWT token that was rejected, or null to always re-authenticate
+	 * @return AuthenticationResult now in use by the client
+	 * @throws WWException
+	 *             containing an error message, if authentication was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	public AuthenticationResult refreshAuthentication(String rejectedToken) throws WWException {
+		AuthenticationResult current = authenticationResult;
+		if (null != current && null != rejectedToken && !rejectedToken.equals(current.getJwtToken())) {
+			return current;
+		}
+		return refreshAuthentication();
+	}
+
+	/**
+	 * Joins the in-flight authentication, or runs one in the current thread if none is in flight
+	 * 
+	 * @return AuthenticationResult now in use by the client
+	 * @throws UnsupportedEncodingException
+	 *             Authorization header could not be constructed
+	 * @throws WWException
+	 *             containing an error message, if authentication was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	private AuthenticationResult awaitAuthentication() throws UnsupportedEncodingException, WWException {
+		FutureTask<AuthenticationResult> task;
+		boolean isOwner = false;
+		synchronized (this) {
+			task = pendingAuthentication;
+			if (null == task) {
+				task = new FutureTask<AuthenticationResult>(new Callable<AuthenticationResult>() {
+
+					@Override
+					public AuthenticationResult call() throws Exception {
+						AuthenticationResult current = authenticationResult;
+						AuthenticationResult stored = loadStoredAuthentication(current);
+						AuthenticationResult result;
+						if (isReusable(stored, current)) {
+							result = stored;
+						} else {
+							result = requestAuthentication(null == current ? stored : current);
+							saveStoredAuthentication(result);
+						}
+						authenticationResult = result;
+						scheduleRefresh(result);
+						return result;
+					}
+				});
+				pendingAuthentication = task;
+				isOwner = true;
+			}
+		}
+		if (isOwner) {
+			try {
+				task.run();
+			} finally {
+				synchronized (this) {
+					pendingAuthentication = null;
+				}
+			}
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WWException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof WWException) {
+				throw (WWException) cause;
+			} else if (cause instanceof UnsupportedEncodingException) {
+				throw (UnsupportedEncodingException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new WWException((Exception) cause);
+		}
+	}
+
+	/**
+	 * Calls the authentication endpoint. User clients holding a refresh token use it if the endpoint is a {@link RefreshableAuthenticationEndpoint}, otherwise the application or user credentials
+	 * passed when building the client are used
+	 * 
+	 * @param previous
+	 *            AuthenticationResult in use or restored from the token store, whose refresh token is used for user clients. May be null
+	 * @return AuthenticationResult returned by the endpoint
+	 * @throws UnsupportedEncodingException
+	 *             Authorization header could not be constructed
+	 * @throws WWException
+	 *             containing an error message, if authentication was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	private AuthenticationResult requestAuthentication(AuthenticationResult previous) throws UnsupportedEncodingException, WWException {
+		if (endpoint instanceof WWAuthenticationEndpoint) {
+			WWAuthenticationEndpoint wwEndpoint = (WWAuthenticationEndpoint) endpoint;
+			if (null == wwEndpoint.getTransport() || wwEndpoint.getTransport().isClosed()) {
+				wwEndpoint.setTransport(getTransport());
+			}
+		}
+		AuthenticationResult result;
 		if (clientType == ClientType.APPLICATON) {
-			authenticationResult = endpoint.authenticateApplication(getAppCredentials());
+			result = endpoint.authenticateApplication(getAppCredentials());
+		} else if (null != previous && null != previous.getRefreshToken() && endpoint instanceof RefreshableAuthenticationEndpoint) {
+			result = ((RefreshableAuthenticationEndpoint) endpoint).refreshUser(getAppCredentials(), previous.getRefreshToken());
 		} else {
-			authenticationResult = endpoint.authorizeUser(getAppCredentials(), userToken, redirectTo);
+			result = endpoint.authorizeUser(getAppCredentials(), userToken, redirectTo);
+		}
+		if (null == result) {
+			throw new WWException("No authentication result returned by " + endpoint.getClass().getName());
 		}
+		return result;
+	}
+
+	/**
+	 * Loads the AuthenticationResult for this client from the token store, if one is set. A store that cannot be read is treated as empty, so the client authenticates as normal
+	 * 
+	 * @param current
+	 *            AuthenticationResult in use by the client, identifying the user of a user client without a custom key. May be null
+	 * @return AuthenticationResult stored for the client, or null
+	 * 
+	 * @since 0.8.0
+	 */
+	private AuthenticationResult loadStoredAuthentication(AuthenticationResult current) {
+		TokenStore store = tokenStore;
+		String key = getTokenStoreKey(current);
+		if (null == store || null == key) {
+			return null;
+		}
+		try {
+			return store.load(key);
+		} catch (WWException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Saves a new AuthenticationResult to the token store, if one is set. Failing to save does not fail the authentication
+	 * 
+	 * @param result
+	 *            AuthenticationResult returned by the endpoint
+	 * 
+	 * @since 0.8.0
+	 */
+	private void saveStoredAuthentication(AuthenticationResult result) {
+		TokenStore store = tokenStore;
+		String key = getTokenStoreKey(result);
+		if (null == store || null == key) {
+			return;
+		}
+		try {
+			store.save(key, result);
+		} catch (WWException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Whether a stored token can be used instead of authenticating: it must be valid and not yet due for refresh, and differ from the token being replaced, which may have been rejected
+	 * 
+	 * @param stored
+	 *            AuthenticationResult from the token store, may be null
+	 * @param current
+	 *            AuthenticationResult in use by the client, may be null
+	 * @return boolean, whether the stored token can be used
+	 * 
+	 * @since 0.8.0
+	 */
+	private boolean isReusable(AuthenticationResult stored, AuthenticationResult current) {
+		if (null == stored || !stored.isValid() || (hasRefreshWindow(stored) && isExpiring(stored))) {
+			return false;
+		}
+		return null == current || !stored.getJwtToken().equals(current.getJwtToken());
+	}
+
+	/**
+	 * Schedules the background refresh of a new token, cancelling any refresh scheduled for the token it replaces. Tokens that live no longer than the refresh margin are not refreshed in the
+	 * background, only when {@link #getJWTToken()} finds them expired
+	 * 
+	 * @param result
+	 *            AuthenticationResult just swapped in
+	 * 
+	 * @since 0.8.0
+	 */
+	private synchronized void scheduleRefresh(AuthenticationResult result) {
+		if (null != scheduledRefresh) {
+			scheduledRefresh.cancel(false);
+			scheduledRefresh = null;
+		}
+		if (!autoRefresh || closed || !hasRefreshWindow(result)) {
+			return;
+		}
+		long delay = result.getExpireDate().getTime() - refreshMarginMillis - System.currentTimeMillis();
+		scheduledRefresh = RefreshScheduler.INSTANCE.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				backgroundRefresh();
+			}
+		}, Math.max(0, delay), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Whether a token lives longer than the refresh margin, so can be refreshed before it expires
+	 * 
+	 * @param result
+	 *            AuthenticationResult to check
+	 * @return boolean, whether the token can be refreshed in the background
+	 * 
+	 * @since 0.8.0
+	 */
+	private boolean hasRefreshWindow(AuthenticationResult result) {
+		return result.getExpires() * 1000L > refreshMarginMillis;
+	}
+
+	/**
+	 * Whether a token is within the refresh margin of expiring
+	 * 
+	 * @param result
+	 *            AuthenticationResult to check
+	 * @return boolean, whether the token should be refreshed
+	 * 
+	 * @since 0.8.0
+	 */
+	private boolean isExpiring(AuthenticationResult result) {
+		return result.getExpireDate().getTime() - refreshMarginMillis <= System.currentTimeMillis();
+	}
+
+	/**
+	 * Refreshes the token on the refresh thread, unless another thread has already replaced it. On failure the current token remains in use, and the next request to find it expiring retries
+	 * 
+	 * @since 0.8.0
+	 */
+	private void backgroundRefresh() {
+		refreshQueued = false;
+		AuthenticationResult current = authenticationResult;
+		if (closed || null == current || !isExpiring(current)) {
+			return;
+		}
+		try {
+			refreshAuthentication();
+		} catch (WWException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Queues a background refresh of an expiring token on the refresh thread, unless one is already queued or in flight
+	 * 
+	 * @since 0.8.0
+	 */
+	private void queueRefresh() {
+		if (refreshQueued || closed) {
+			return;
+		}
+		synchronized (this) {
+			if (refreshQueued || null != pendingAuthentication) {
+				return;
+			}
+			refreshQueued = true;
+		}
+		RefreshScheduler.INSTANCE.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				backgroundRefresh();
+			}
+		});
 	}
 
 	/*
@@ -159,7 +574,237 @@ public class WWClient implements Serializable, IWWClient {
 	 */
 	@Override
 	public String getJWTToken() {
-		return authenticationResult.getJwtToken();
+		AuthenticationResult current = authenticationResult;
+		if (autoRefresh && null != current) {
+			if (!current.isValid()) {
+				// The token cannot be used, so wait for the single in-flight authentication
+				try {
+					current = refreshAuthentication();
+				} catch (WWException e) {
+					// Sending the expired token would only be rejected
+					throw new AuthenticationRefreshException(e);
+				}
+			} else if (hasRefreshWindow(current) && isExpiring(current)) {
+				queueRefresh();
+			}
+		}
+		return current.getJwtToken();
+	}
+
+	/**
+	 * Getter for whether the JWT token is refreshed automatically before and when it expires
+	 * 
+	 * @return boolean, whether the token is refreshed automatically. Defaults to true
+	 * 
+	 * @since 0.8.0
+	 */
+	public boolean isAutoRefresh() {
+		return autoRefresh;
+	}
+
+	/**
+	 * Sets whether the JWT token is refreshed automatically before and when it expires. If disabled, {@link #refreshAuthentication()} must be called when the token expires
+	 * 
+	 * @param autoRefresh
+	 *            boolean, whether the token is refreshed automatically
+	 * @return WWClient, this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWClient setAutoRefresh(boolean autoRefresh) {
+		this.autoRefresh = autoRefresh;
+		AuthenticationResult current = authenticationResult;
+		if (null != current) {
+			scheduleRefresh(current);
+		}
+		return this;
+	}
+
+	/**
+	 * Getter for the time before expiry at which the JWT token is refreshed in the background
+	 * 
+	 * @return long, milliseconds before expiry
+	 * 
+	 * @since 0.8.0
+	 */
+	public long getRefreshMarginMillis() {
+		return refreshMarginMillis;
+	}
+
+	/**
+	 * Sets the time before expiry at which the JWT token is refreshed in the background. This should allow time for the authentication request and for requests already using the token
+	 * 
+	 * @param refreshMarginMillis
+	 *            long, milliseconds before expiry, defaults to {@link #DEFAULT_REFRESH_MARGIN_MILLIS}
+	 * @return WWClient, this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWClient setRefreshMarginMillis(long refreshMarginMillis) {
+		if (refreshMarginMillis < 0) {
+			throw new IllegalArgumentException("The refresh margin cannot be negative");
+		}
+		this.refreshMarginMillis = refreshMarginMillis;
+		AuthenticationResult current = authenticationResult;
+		if (null != current) {
+			scheduleRefresh(current);
+		}
+		return this;
+	}
+
+	/**
+	 * Getter for the store the client's tokens are loaded from and saved to
+	 * 
+	 * @return TokenStore, or null if tokens are not stored
+	 * 
+	 * @since 0.8.0
+	 */
+	public TokenStore getTokenStore() {
+		return tokenStore;
+	}
+
+	/**
+	 * Sets the store the client's tokens are loaded from and saved to, keyed on {@link #getTokenStoreKey()}. When authenticating, a valid token in the store is used instead of calling the
+	 * authentication endpoint, and a stored refresh token is used for user clients. New tokens are saved to the store
+	 * 
+	 * @param tokenStore
+	 *            TokenStore to use, or null to stop storing tokens
+	 * @return WWClient, this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWClient setTokenStore(TokenStore tokenStore) {
+		this.tokenStore = tokenStore;
+		return this;
+	}
+
+	/**
+	 * Sets the store the client's tokens are loaded from and saved to, with a custom key, e.g. the user's id in your application, so a user's session can be restored without a new user token
+	 * 
+	 * @param tokenStore
+	 *            TokenStore to use, or null to stop storing tokens
+	 * @param tokenStoreKey
+	 *            String, key for this client's tokens in the store
+	 * @return WWClient, this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWClient setTokenStore(TokenStore tokenStore, String tokenStoreKey) {
+		this.tokenStore = tokenStore;
+		this.tokenStoreKey = tokenStoreKey;
+		return this;
+	}
+
+	/**
+	 * Getter for the key of the client's tokens in the token store. Unless a custom key has been set, this is "app:" followed by the appId for application clients and "user:" followed by the appId
+	 * and the id of the authorized user for user clients. The user token is a one-time code, so cannot identify the user's tokens across sessions. Until a user client has been authorized there is
+	 * no default key, so nothing is loaded from the store; set a custom key, e.g. the user's id in your application, to restore a user's session without a new user token
+	 * 
+	 * @return String, key for this client's tokens, or null for a user client without a custom key that has not been authorized yet
+	 * 
+	 * @since 0.8.0
+	 */
+	public String getTokenStoreKey() {
+		return getTokenStoreKey(authenticationResult);
+	}
+
+	/**
+	 * Gets the key of the client's tokens in the token store, see {@link #getTokenStoreKey()}
+	 * 
+	 * @param result
+	 *            AuthenticationResult identifying the user of a user client, may be null
+	 * @return String, key for this client's tokens, or null if a user client has no custom key and the user is not known
+	 * 
+	 * @since 0.8.0
+	 */
+	private String getTokenStoreKey(AuthenticationResult result) {
+		if (null != tokenStoreKey) {
+			return tokenStoreKey;
+		}
+		if (clientType == ClientType.APPLICATON) {
+			return "app:" + appId;
+		}
+		if (null == result || null == result.getUserId() || result.getUserId().isEmpty()) {
+			return null;
+		}
+		return "user:" + appId + ":" + result.getUserId();
+	}
+
+	/**
+	 * Getter for the rate limiter requests from this client are subject to
+	 * 
+	 * @return WWRateLimiter, or null if requests are not limited
+	 * 
+	 * @since 0.8.0
+	 */
+	@Override
+	public WWRateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * Sets the rate limiter requests from this client are subject to. A permit is acquired for each attempt of a request before it is sent. Clients of the same application should share one
+	 * limiter, as their requests count against the same limits
+	 * 
+	 * @param rateLimiter
+	 *            WWRateLimiter to use, or null to stop limiting requests
+	 * @return WWClient, this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWClient setRateLimiter(WWRateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+		return this;
+	}
+
+	/**
+	 * Getter for the sizer tuning the page size of a type of paginated collection. Each client has its own sizer per type of collection, created with the defaults of the type when first
+	 * needed, and shared by every iterator over that type of collection from this client
+	 * 
+	 * @param collection
+	 *            PagedCollection, type of paginated collection
+	 * @return AdaptivePageSizer for the collection, or null if its page size is fixed
+	 * 
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptivePageSizer getPageSizer(PagedCollection collection) {
+		if (null == pageSizers) {
+			pageSizers = new EnumMap<PagedCollection, AdaptivePageSizer>(PagedCollection.class);
+		}
+		if (!pageSizers.containsKey(collection)) {
+			pageSizers.put(collection, collection.newPageSizer());
+		}
+		return pageSizers.get(collection);
+	}
+
+	/**
+	 * Sets the sizer tuning the page size of a type of paginated collection, e.g. to change its bounds. Iterators already created keep the sizer they were created with
+	 * 
+	 * @param collection
+	 *            PagedCollection, type of paginated collection
+	 * @param pageSizer
+	 *            AdaptivePageSizer to use, or null to request pages of the collection at a fixed size
+	 * @return WWClient, this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public synchronized WWClient setPageSizer(PagedCollection collection, AdaptivePageSizer pageSizer) {
+		if (null == pageSizers) {
+			pageSizers = new EnumMap<PagedCollection, AdaptivePageSizer>(PagedCollection.class);
+		}
+		pageSizers.put(collection, pageSizer);
+		return this;
+	}
+
+	/**
+	 * Getter for the AuthenticationResult currently in use by the client
+	 * 
+	 * @return AuthenticationResult, or null if the client has not been authenticated
+	 * 
+	 * @since 0.8.0
+	 */
+	public AuthenticationResult getAuthenticationResult() {
+		return authenticationResult;
 	}
 
 	/*
@@ -192,8 +837,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<? extends Space> getSpaces() throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getSpaces();
+		return getSpacesWithQuery(SpacesGraphQLQuery.buildStandardGetSpacesQuery());
 	}
 
 	/**
@@ -208,9 +852,42 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<? extends Space> getSpacesWithQuery(SpacesGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getSpacesWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getSpaces().getItems();
+	}
 
+	/**
+	 * Easy helper method to iterate over all the Spaces available, however many there are. Pages of Spaces are requested lazily as the iterator is consumed, following each page's endCursor,
+	 * and the next page is prefetched in the background. The page size is tuned by {@link #getPageSizer(PagedCollection)} for {@link PagedCollection#SPACES}
+	 * 
+	 * @return PagedIterable of Space objects, which can be configured before calling {@link PagedIterable#iterator()}
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public PagedIterable<Space> iterateSpaces() throws WWException {
+		return iterateSpacesWithQuery(SpacesGraphQLQuery.buildPagedGetSpacesQuery());
+	}
+
+	/**
+	 * Easy helper method to iterate over all the Spaces available with a query. The query must use {@link BasicPaginationEnum#getVariable()} for its FIRST and AFTER attributes and request
+	 * pageInfo, see {@link SpacesGraphQLQuery#buildPagedGetSpacesQuery()}
+	 * 
+	 * @param query
+	 *            SpacesGraphQLQuery containing query parameters
+	 * @return PagedIterable of Space objects, which can be configured before calling {@link PagedIterable#iterator()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public PagedIterable<Space> iterateSpacesWithQuery(SpacesGraphQLQuery query) {
+		return new PagedIterable<Space>(new GraphQLPageFetcher<Space>(this, query) {
+
+			@Override
+			protected Page<Space> extractPage(DataContainer data) throws WWException {
+				SpacesContainer spaces = data.getSpaces();
+				return new Page<Space>(spaces.getItems(), spaces.getPageInfo());
+			}
+		}).setPageSizer(getPageSizer(PagedCollection.SPACES));
 	}
 
 	/**
@@ -227,8 +904,13 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public Space createSpace(String title, List<String> members) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.createSpace(title, members);
+		SpaceCreateGraphQLMutation mutationObject;
+		if (null == members) {
+			mutationObject = SpaceCreateGraphQLMutation.buildCreateSpaceMutationWithSpaceTitle(title);
+		} else {
+			mutationObject = SpaceCreateGraphQLMutation.buildCreateSpaceMutationWithSpaceTitleAndMembers(title, members);
+		}
+		return createSpaceWithQuery(mutationObject);
 	}
 
 	/**
@@ -243,8 +925,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public Space createSpace(String title) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.createSpace(title, null);
+		return createSpace(title, null);
 	}
 
 	/**
@@ -259,8 +940,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public Space createSpaceWithQuery(SpaceCreateGraphQLMutation mutationObject) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.createSpaceWithMutation(mutationObject);
+		return executeGraphQL(new GraphQLRequest(mutationObject)).getData().getCreateSpace();
 	}
 
 	/**
@@ -275,8 +955,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public boolean deleteSpace(String id) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.deleteSpace(id);
+		return executeGraphQL(new GraphQLRequest(SpaceDeleteGraphQLMutation.buildDeleteSpaceMutation(id))).getData().getDeletionSuccessful();
 	}
 
 	/**
@@ -293,8 +972,8 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public Space updateSpaceTitle(String id, String newTitle) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.updateSpaceTitle(id, newTitle);
+		SpaceUpdateGraphQLMutation mutationObject = SpaceUpdateGraphQLMutation.buildUpdateSpaceMutationChangeTitle(id, newTitle);
+		return executeGraphQL(new GraphQLRequest(mutationObject)).getData().getUpdateSpaceContainer_SpaceWrapper();
 	}
 
 	/**
@@ -309,8 +988,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public UpdateSpaceContainer updateSpaceWithMutation(SpaceUpdateGraphQLMutation mutationObject) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.updateSpaceWithMutation(mutationObject);
+		return executeGraphQL(new GraphQLRequest(mutationObject)).getData().getUpdateSpaceContainer();
 	}
 
 	/**
@@ -329,8 +1007,12 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public ArrayList<String> updateSpaceMembers(String id, List<String> members, UpdateSpaceMemberOperation addOrRemove) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.updateSpaceMembers(id, members, addOrRemove);
+		SpaceUpdateGraphQLMutation mutationObject = SpaceUpdateGraphQLMutation.buildUpdateSpaceMutationChangeMembers(id, members, addOrRemove);
+		ArrayList<String> membersReturned = new ArrayList<String>();
+		for (String member : executeGraphQL(new GraphQLRequest(mutationObject)).getData().getUpdateSpaceContainer_MemberIdsChanged()) {
+			membersReturned.add(member);
+		}
+		return membersReturned;
 	}
 
 	/**
@@ -351,8 +1033,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.6.0
 	 */
 	public UpdateSpaceContainer updateSpaceMembersAndTitle(String id, String title, List<String> members, UpdateSpaceMemberOperation addOrRemove) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.updateSpaceMembersAndTitle(id, title, members, addOrRemove);
+		return updateSpaceWithMutation(SpaceUpdateGraphQLMutation.buildUpdateSpaceMutationChangeTitleAndMembers(id, title, members, addOrRemove));
 	}
 
 	/**
@@ -367,8 +1048,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Space getSpaceById(String spaceId) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getSpaceById(spaceId);
+		return executeGraphQL(SpaceGraphQLQuery.buildSpaceRequestWithSpaceId(spaceId)).getData().getSpace();
 	}
 
 	/**
@@ -383,8 +1063,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Space getSpaceWithQuery(SpaceGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getSpaceWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getSpace();
 	}
 
 	/**
@@ -399,8 +1078,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Conversation getConversationById(String conversationId) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getConversation(conversationId);
+		return executeGraphQL(ConversationGraphQLQuery.buildStandardConversationRequestById(conversationId)).getData().getConversation();
 	}
 
 	/**
@@ -416,8 +1094,21 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Conversation getConversationWithQuery(ConversationGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getConversationWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getConversation();
+	}
+
+	/**
+	 * Easy helper method to crawl the full Message history of a Conversation. The time range is split into slices which are paged concurrently and merged back into one stream, newest
+	 * Message first
+	 * 
+	 * @param conversationId
+	 *            String id of the Conversation
+	 * @return ConversationHistoryCrawler, which can be configured before calling {@link ConversationHistoryCrawler#iterator()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler crawlConversationHistory(String conversationId) {
+		return new ConversationHistoryCrawler(this, conversationId);
 	}
 
 	/**
@@ -432,8 +1123,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Message getMessageById(String messageId) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getMessageById(messageId);
+		return executeGraphQL(MessageGraphQLQuery.buildMessageRequestWithMessageId(messageId)).getData().getMessage();
 	}
 
 	/**
@@ -448,8 +1138,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Message getMessageWithQuery(MessageGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getMessageWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getMessage();
 	}
 
 	/**
@@ -464,8 +1153,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Person getPersonById(String personId) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getPersonById(personId);
+		return executeGraphQL(PersonGraphQLQuery.buildPersonRequestById(personId)).getData().getPerson();
 	}
 
 	/**
@@ -480,8 +1168,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Person getPersonByEmail(String personEmail) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getPersonById(personEmail);
+		return getPersonWithQuery(PersonGraphQLQuery.buildPersonQueryByEmail(personEmail));
 	}
 
 	/**
@@ -496,8 +1183,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Person getPersonWithQuery(PersonGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getPersonWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getPerson();
 	}
 
 	/**
@@ -512,8 +1198,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<Person> getSpaceMembersById(String spaceId) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getSpaceMembers(spaceId);
+		return executeGraphQL(SpaceMembersGraphQLQuery.buildSpaceMemberRequestBySpaceId(spaceId)).getData().getSpace().getMembers();
 	}
 
 	/**
@@ -528,8 +1213,39 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<Person> getSpaceMembersWithQuery(SpaceMembersGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getSpaceMembersWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getSpace().getMembers();
+	}
+
+	/**
+	 * Easy helper method to iterate over all the members of a Space, however many there are. Pages of members are requested lazily as the iterator is consumed, following each page's
+	 * endCursor, so at most the page being consumed and the prefetched pages are held in memory. The page size is tuned by {@link #getPageSizer(PagedCollection)} for
+	 * {@link PagedCollection#MEMBERS}
+	 * 
+	 * @param spaceId
+	 *            String id of the Space
+	 * @return PagedIterable of Person objects for the members of the Space, which can be configured before calling {@link PagedIterable#iterator()}
+	 * @throws WWException
+	 *             if spaceId is missing or the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public PagedIterable<Person> iterateSpaceMembers(String spaceId) throws WWException {
+		if (null == spaceId || "".equals(spaceId)) {
+			throw new WWException("spaceId is mandatory");
+		}
+		GraphQLPageFetcher<Person> fetcher = new GraphQLPageFetcher<Person>(this, SpaceMembersGraphQLQuery.buildPagedSpaceMembersQuery()) {
+
+			@Override
+			protected Page<Person> extractPage(DataContainer data) throws WWException {
+				MembersContainer members = data.getSpace().getMembersContainer();
+				if (null == members) {
+					throw new WWException("No members returned for the Space");
+				}
+				return new Page<Person>(members.getItems(), members.getPageInfo());
+			}
+		};
+		fetcher.setVariable(SpaceMembersGraphQLQuery.SPACE_ID_VARIABLE, spaceId);
+		return new PagedIterable<Person>(fetcher).setPageSizer(getPageSizer(PagedCollection.MEMBERS));
 	}
 
 	/**
@@ -542,8 +1258,7 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public Person getMe() throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getMe();
+		return executeGraphQL(new GraphQLRequest(PersonGraphQLQuery.buildMyProfileQuery())).getData().getMe();
 	}
 
 	/**
@@ -558,8 +1273,9 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<Person> getPeople(List<String> ids) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getPeople(ids);
+		PeopleGraphQLQuery query = new PeopleGraphQLQuery();
+		query.addAttribute(PeopleAttributes.ID, ids);
+		return getPeopleWithQuery(query);
 	}
 
 	/**
@@ -574,8 +1290,9 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<Person> getPeopleByName(String name) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getPeopleByName(name);
+		PeopleGraphQLQuery query = new PeopleGraphQLQuery();
+		query.addAttribute(PeopleAttributes.NAME, name);
+		return getPeopleWithQuery(query);
 	}
 
 	/**
@@ -590,8 +1307,37 @@ public class WWClient implements Serializable, IWWClient {
 	 * @since 0.5.0
 	 */
 	public List<Person> getPeopleWithQuery(PeopleGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		return ep.getPeopleWithQuery(query);
+		return executeGraphQL(new GraphQLRequest(query)).getData().getPeople().getItems();
+	}
+
+	/**
+	 * Easy helper method to search for people with part of a name, returning results as they are needed, e.g. for typeahead. The first page requests
+	 * {@link #DEFAULT_SEARCH_FIRST_PAGE_SIZE} people, so the first results arrive quickly, and later pages are sized by {@link #getPageSizer(PagedCollection)} for
+	 * {@link PagedCollection#PEOPLE}. Pages are only fetched when the previous page has been consumed, so stopping early, or limiting the results with
+	 * {@link PagedIterable#setMaxItems(int)}, stops the search fetching any more
+	 * 
+	 * @param name
+	 *            String part of a name. This needs to be a single word
+	 * @return PagedIterable of Person objects for the name passed, which can be configured before calling {@link PagedIterable#iterator()}
+	 * @throws WWException
+	 *             if name is missing or the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public PagedIterable<Person> searchPeopleByName(String name) throws WWException {
+		if (null == name || "".equals(name)) {
+			throw new WWException("No Person Name passed");
+		}
+		GraphQLPageFetcher<Person> fetcher = new GraphQLPageFetcher<Person>(this, PeopleGraphQLQuery.buildPagedPersonQueryByNameVariable()) {
+
+			@Override
+			protected Page<Person> extractPage(DataContainer data) throws WWException {
+				MembersContainer people = data.getPeople();
+				return new Page<Person>(people.getItems(), people.getPageInfo());
+			}
+		};
+		fetcher.setVariable(PeopleGraphQLQuery.NAME_VARIABLE, name);
+		return new PagedIterable<Person>(fetcher).setPageSizer(getPageSizer(PagedCollection.PEOPLE)).setFirstPageSize(DEFAULT_SEARCH_FIRST_PAGE_SIZE).setPrefetchPages(0);
 	}
 
 	/**
@@ -638,15 +1384,13 @@ public class WWClient implements Serializable, IWWClient {
 	 * @throws WWException contains an error message, if the query was unsuccessful
 	 */
 	public GraphResultContainer getCustomQuery(BaseGraphQLQuery query) throws WWException {
-		WWGraphQLEndpoint ep = new WWGraphQLEndpoint(this);
-		ep.setRequest(new GraphQLRequest(query));
-		ep.executeRequest();
-		return ep.getResultContainer();
+		return executeGraphQL(new GraphQLRequest(query)).getResultContainer();
 	}
 	
 	/* (non-Javadoc)
 	 * @see org.opencode4workspace.IWWClient#getResultContent()
 	 */
+	@Deprecated
 	public String getResultContent() {
 		return resultContent;
 	}
@@ -654,8 +1398,98 @@ public class WWClient implements Serializable, IWWClient {
 	/* (non-Javadoc)
 	 * @see org.opencode4workspace.IWWClient#setResultContent(java.lang.String)
 	 */
+	@Deprecated
 	public void setResultContent(String resultContent) {
 		this.resultContent = resultContent;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.IWWClient#getTransport()
+	 */
+	@Override
+	public WWTransport getTransport() {
+		WWTransport current = transport;
+		if (null == current || (ownsTransport && current.isClosed())) {
+			synchronized (this) {
+				current = transport;
+				if (null == current || (ownsTransport && current.isClosed())) {
+					current = new WWTransport();
+					transport = current;
+					ownsTransport = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Getter for the stateless executor used by the helper methods. A single executor is shared by all threads using this client
+	 * 
+	 * @return WWGraphQLExecutor for this client
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWGraphQLExecutor getExecutor() {
+		WWGraphQLExecutor current = executor;
+		if (null == current) {
+			current = new WWGraphQLExecutor(this);
+			executor = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Executes a GraphQL request via the shared executor
+	 * 
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @return GraphQLResult for the request
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult executeGraphQL(GraphQLRequest request) throws WWException {
+		return getExecutor().execute(request);
+	}
+
+	/**
+	 * Executes a GraphQL request via the shared executor within a deadline. To apply a deadline to the other helper methods, attach it to the current thread with {@link Deadline#attach()}
+	 * 
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @param deadline
+	 *            Deadline for the call, covering any waits for limiters, retries and the I/O. It can also be cancelled from another thread
+	 * @return GraphQLResult for the request
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful, or a {@link org.opencode4workspace.transport.DeadlineExceededException} if the deadline passed or was cancelled
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult executeGraphQL(GraphQLRequest request, Deadline deadline) throws WWException {
+		return getExecutor().execute(request, deadline);
+	}
+
+	/**
+	 * Releases the pooled connections held by this client and stops refreshing its token. A transport passed in when building the client is left open, as it may be shared with other clients
+	 * 
+	 * @throws IOException
+	 *             if the transport could not be closed
+	 * 
+	 * @since 0.8.0
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		closed = true;
+		if (null != scheduledRefresh) {
+			scheduledRefresh.cancel(false);
+			scheduledRefresh = null;
+		}
+		if (ownsTransport && null != transport) {
+			transport.close();
+		}
+	}
+
 }
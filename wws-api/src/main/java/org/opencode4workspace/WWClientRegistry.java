@@ -0,0 +1,405 @@
+package org.opencode4workspace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.opencode4workspace.authentication.AuthenticationEndpoint;
+import org.opencode4workspace.authentication.InMemoryTokenStore;
+import org.opencode4workspace.authentication.TokenStore;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWTransport;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Registry of user-level {@link WWClient}s for applications acting on behalf of many users. All clients share one {@link WWTransport}, so sockets scale with the pool rather than the number
+ *        of users. Only the most recently used clients are kept; the rest are evicted and closed, their tokens remaining in the {@link TokenStore}. When an evicted user is next requested, a client is
+ *        rehydrated from the store, using the stored JWT token if still valid or the stored refresh token otherwise. Memory therefore scales with active users, plus a small token entry per user.
+ *
+ */
+public class WWClientRegistry implements Closeable {
+
+	/**
+	 * Default maximum number of clients kept
+	 *
+	 * @since 0.8.0
+	 */
+	public static final int DEFAULT_MAX_SESSIONS = 1000;
+
+	private final String appId;
+	private final String appSecret;
+	private final AuthenticationEndpoint endpoint;
+	private final String redirectTo;
+	private final WWTransport transport;
+	private final boolean ownsTransport;
+	private final TokenStore tokenStore;
+	private final LinkedHashMap<String, WWClient> sessions;
+	private final Map<String, FutureTask<WWClient>> pending = new HashMap<String, FutureTask<WWClient>>();
+	private volatile WWRateLimiter rateLimiter;
+	private boolean closed;
+
+	/**
+	 * Creates a registry with its own transport, storing tokens in memory and keeping up to {@link #DEFAULT_MAX_SESSIONS} clients
+	 *
+	 * @param appId
+	 *            String, the ID for the application the code is being run from
+	 * @param appSecret
+	 *            String, the secret for the application the code is being run from
+	 * @param authenticationEndpoint
+	 *            {@link AuthenticationEndpoint} or any sub-class thereof. Typically {@link org.opencode4workspace.endpoints.WWAuthenticationEndpoint}
+	 * @param redirectTo
+	 *            String, URL to redirect to after authentication
+	 *
+	 * @since 0.8.0
+	 */
+	public WWClientRegistry(String appId, String appSecret, AuthenticationEndpoint authenticationEndpoint, String redirectTo) {
+		this(appId, appSecret, authenticationEndpoint, redirectTo, null, new InMemoryTokenStore(), DEFAULT_MAX_SESSIONS);
+	}
+
+	/**
+	 * Creates a registry
+	 *
+	 * @param appId
+	 *            String, the ID for the application the code is being run from
+	 * @param appSecret
+	 *            String, the secret for the application the code is being run from
+	 * @param authenticationEndpoint
+	 *            {@link AuthenticationEndpoint} or any sub-class thereof. Typically {@link org.opencode4workspace.endpoints.WWAuthenticationEndpoint}
+	 * @param redirectTo
+	 *            String, URL to redirect to after authentication
+	 * @param transport
+	 *            {@link WWTransport} shared by all clients, or null for the registry to create one. A transport passed in is not closed when the registry is closed
+	 * @param tokenStore
+	 *            {@link TokenStore} holding the users' tokens, e.g. a {@link org.opencode4workspace.authentication.FileTokenStore} so sessions survive restarts
+	 * @param maxSessions
+	 *            int, maximum number of clients kept before the least recently used is evicted
+	 *
+	 * @since 0.8.0
+	 */
+	public WWClientRegistry(String appId, String appSecret, AuthenticationEndpoint authenticationEndpoint, String redirectTo, WWTransport transport, TokenStore tokenStore, final int maxSessions) {
+		if (null == tokenStore) {
+			throw new IllegalArgumentException("A token store is mandatory");
+		}
+		if (maxSessions < 1) {
+			throw new IllegalArgumentException("At least one session must be kept");
+		}
+		this.appId = appId;
+		this.appSecret = appSecret;
+		this.endpoint = authenticationEndpoint;
+		this.redirectTo = redirectTo;
+		this.ownsTransport = null == transport;
+		this.transport = null == transport ? new WWTransport() : transport;
+		this.tokenStore = tokenStore;
+		this.sessions = new LinkedHashMap<String, WWClient>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, WWClient> eldest) {
+				if (size() > maxSessions) {
+					closeQuietly(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Authenticates a user with the user token passed to the redirect URL, registering the client for the user and storing its tokens
+	 *
+	 * @param userKey
+	 *            String, key identifying the user in your application, used to retrieve the client later
+	 * @param userToken
+	 *            String, the user token to be passed, used to authenticate as the specific user
+	 * @return WWClient, authenticated client for the user
+	 * @throws WWException
+	 *             containing an error message, if authentication was unsuccessful
+	 *
+	 * @since 0.8.0
+	 */
+	public WWClient login(String userKey, String userToken) throws WWException {
+		WWClient client = buildClient(userKey, userToken);
+		try {
+			// Any stored session for the user is replaced by the new authorization
+			tokenStore.remove(client.getTokenStoreKey());
+			client.authenticate();
+		} catch (IOException e) {
+			throw new WWException(e);
+		}
+		WWClient previous;
+		synchronized (this) {
+			checkOpen();
+			previous = sessions.put(userKey, client);
+		}
+		closeQuietly(previous);
+		return client;
+	}
+
+	/**
+	 * Gets the client for a user, rehydrating it from the token store if it has been evicted. Concurrent requests for the same evicted user share one rehydration
+	 *
+	 * @param userKey
+	 *            String, key identifying the user, as passed to {@link #login(String, String)}
+	 * @return WWClient, authenticated client for the user
+	 * @throws WWException
+	 *             if the user has no stored session or it could not be refreshed, in which case the user needs to authorize again
+	 *
+	 * @since 0.8.0
+	 */
+	public WWClient getClient(final String userKey) throws WWException {
+		FutureTask<WWClient> task;
+		boolean isOwner = false;
+		synchronized (this) {
+			checkOpen();
+			WWClient client = sessions.get(userKey);
+			if (null != client) {
+				return client;
+			}
+			task = pending.get(userKey);
+			if (null == task) {
+				task = new FutureTask<WWClient>(new Callable<WWClient>() {
+
+					@Override
+					public WWClient call() throws Exception {
+						return rehydrate(userKey);
+					}
+				});
+				pending.put(userKey, task);
+				isOwner = true;
+			}
+		}
+		if (isOwner) {
+			task.run();
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WWException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof WWException) {
+				throw (WWException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new WWException((Exception) cause);
+		}
+	}
+
+	/**
+	 * Builds a client for a user from the stored tokens and registers it
+	 *
+	 * @param userKey
+	 *            String, key identifying the user
+	 * @return WWClient, authenticated client for the user
+	 * @throws WWException
+	 *             if the user has no stored session or it could not be refreshed
+	 *
+	 * @since 0.8.0
+	 */
+	private WWClient rehydrate(String userKey) throws WWException {
+		try {
+			WWClient client = buildClient(userKey, null);
+			if (null == tokenStore.load(client.getTokenStoreKey())) {
+				throw new WWException("No session stored for user " + userKey + ", the user needs to authorize the application");
+			}
+			client.refreshAuthentication();
+			synchronized (this) {
+				checkOpen();
+				sessions.put(userKey, client);
+			}
+			return client;
+		} finally {
+			synchronized (this) {
+				pending.remove(userKey);
+			}
+		}
+	}
+
+	/**
+	 * Builds a user client sharing the registry's transport and token store
+	 *
+	 * @param userKey
+	 *            String, key identifying the user
+	 * @param userToken
+	 *            String, user token, or null when rehydrating from the token store
+	 * @return WWClient for the user, not yet authenticated
+	 *
+	 * @since 0.8.0
+	 */
+	private WWClient buildClient(String userKey, String userToken) {
+		return WWClient.buildClientUserAccess(userToken, appId, appSecret, endpoint, redirectTo, transport).setTokenStore(tokenStore, getTokenStoreKey(userKey))
+				.setRateLimiter(rateLimiter);
+	}
+
+	/**
+	 * Gets the key of a user's tokens in the token store, qualified by the appId so several applications can share a store
+	 *
+	 * @param userKey
+	 *            String, key identifying the user
+	 * @return String, key for the user's tokens
+	 *
+	 * @since 0.8.0
+	 */
+	private String getTokenStoreKey(String userKey) {
+		return "user:" + appId + ":" + userKey;
+	}
+
+	/**
+	 * Signs a user out, closing their client and removing their tokens from the token store
+	 *
+	 * @param userKey
+	 *            String, key identifying the user
+	 * @throws WWException
+	 *             if the tokens could not be removed from the store
+	 *
+	 * @since 0.8.0
+	 */
+	public void logout(String userKey) throws WWException {
+		WWClient client;
+		synchronized (this) {
+			client = sessions.remove(userKey);
+		}
+		closeQuietly(client);
+		tokenStore.remove(getTokenStoreKey(userKey));
+	}
+
+	/**
+	 * Evicts a user's client, keeping their tokens in the token store so the client can be rehydrated later
+	 *
+	 * @param userKey
+	 *            String, key identifying the user
+	 *
+	 * @since 0.8.0
+	 */
+	public void evict(String userKey) {
+		WWClient client;
+		synchronized (this) {
+			client = sessions.remove(userKey);
+		}
+		closeQuietly(client);
+	}
+
+	/**
+	 * @return int, number of clients currently kept
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * @return WWTransport shared by all clients of the registry
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * @return TokenStore holding the users' tokens
+	 *
+	 * @since 0.8.0
+	 */
+	public TokenStore getTokenStore() {
+		return tokenStore;
+	}
+
+	/**
+	 * @return WWRateLimiter shared by all clients of the registry, or null if requests are not limited
+	 *
+	 * @since 0.8.0
+	 */
+	public WWRateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * Sets the rate limiter shared by all clients of the registry, including those already registered, as every user's requests count against the application's limits
+	 *
+	 * @param rateLimiter
+	 *            WWRateLimiter to use, or null to stop limiting requests
+	 * @return WWClientRegistry, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized WWClientRegistry setRateLimiter(WWRateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+		for (WWClient client : sessions.values()) {
+			client.setRateLimiter(rateLimiter);
+		}
+		return this;
+	}
+
+	/**
+	 * Throws an exception if the registry has been closed
+	 *
+	 * @throws WWException
+	 *             if the registry has been closed
+	 *
+	 * @since 0.8.0
+	 */
+	private void checkOpen() throws WWException {
+		if (closed) {
+			throw new WWException("The client registry has been closed");
+		}
+	}
+
+	/**
+	 * Closes an evicted client, stopping its token refresh. The shared transport is left open
+	 *
+	 * @param client
+	 *            WWClient to close, may be null
+	 *
+	 * @since 0.8.0
+	 */
+	private static void closeQuietly(WWClient client) {
+		if (null != client) {
+			try {
+				client.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Closes all clients, and the transport if it was created by the registry. Tokens remain in the token store
+	 *
+	 * @throws IOException
+	 *             if the transport could not be closed
+	 *
+	 * @since 0.8.0
+	 */
+	@Override
+	public void close() throws IOException {
+		List<WWClient> clients;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			clients = new ArrayList<WWClient>(sessions.values());
+			sessions.clear();
+		}
+		for (WWClient client : clients) {
+			closeQuietly(client);
+		}
+		if (ownsTransport) {
+			transport.close();
+		}
+	}
+
+}
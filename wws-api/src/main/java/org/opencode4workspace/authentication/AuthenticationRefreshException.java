@@ -0,0 +1,38 @@
+package org.opencode4workspace.authentication;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thrown by {@link org.opencode4workspace.WWClient#getJWTToken()} when the token has expired and the client could not be re-authenticated, rather than returning a token known to be
+ *        invalid. {@link org.opencode4workspace.IWWClient#getJWTToken()} cannot throw checked exceptions, so the {@link WWException} is wrapped and available from {@link #getCause()}. The
+ *        endpoints of the SDK rethrow the WWException itself
+ *
+ */
+public class AuthenticationRefreshException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param cause
+	 *            WWException thrown re-authenticating the client
+	 *
+	 * @since 0.8.0
+	 */
+	public AuthenticationRefreshException(WWException cause) {
+		super(cause.getMessage(), cause);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Throwable#getCause()
+	 */
+	@Override
+	public synchronized WWException getCause() {
+		return (WWException) super.getCause();
+	}
+
+}
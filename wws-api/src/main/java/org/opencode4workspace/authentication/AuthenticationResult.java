@@ -19,6 +19,7 @@ public class AuthenticationResult {
 	private final String userId;
 	private final String jtiId;
 	private final Date expireDate;
+	private final String refreshToken;
 
 	/**
 	 * Constructs AuthenticationResult from parameters. Typically called from {@link #buildFromToken(AppToken)}
@@ -37,14 +38,62 @@ public class AuthenticationResult {
 	 * @since 0.5.0
 	 */
 	public AuthenticationResult(String jwtToken, int expires, String displayName, String userId, String jtiId) {
+		this(jwtToken, expires, displayName, userId, jtiId, null);
+	}
+
+	/**
+	 * Constructs AuthenticationResult from parameters, including the refresh token returned when authenticating as a user. Typically called from {@link #buildFromToken(PeopleToken)}
+	 * 
+	 * @param jwtToken
+	 *            String JWT token for future requests
+	 * @param expires
+	 *            int, length of time until expiry
+	 * @param displayName
+	 *            String, display name for user or blank for applications
+	 * @param userId
+	 *            String, user id
+	 * @param jtiId
+	 *            String, JTI id
+	 * @param refreshToken
+	 *            String, refresh token to get a new JWT token without the user authorizing again, or null for applications
+	 * 
+	 * @since 0.8.0
+	 */
+	public AuthenticationResult(String jwtToken, int expires, String displayName, String userId, String jtiId, String refreshToken) {
+		this(jwtToken, expires, new Date(), displayName, userId, jtiId, refreshToken);
+	}
+
+	/**
+	 * Constructs AuthenticationResult from parameters, including the date the token was issued. Typically called when restoring a result from a {@link TokenStore}, so the token expires when
+	 * originally intended
+	 * 
+	 * @param jwtToken
+	 *            String JWT token for future requests
+	 * @param expires
+	 *            int, length of time until expiry
+	 * @param created
+	 *            Date, when the token was issued
+	 * @param displayName
+	 *            String, display name for user or blank for applications
+	 * @param userId
+	 *            String, user id
+	 * @param jtiId
+	 *            String, JTI id
+	 * @param refreshToken
+	 *            String, refresh token to get a new JWT token without the user authorizing again, or null for applications
+	 * 
+	 * @since 0.8.0
+	 */
+	public AuthenticationResult(String jwtToken, int expires, Date created, String displayName, String userId, String jtiId, String refreshToken) {
 		super();
 		this.jwtToken = jwtToken;
 		this.expires = expires;
 		this.displayName = displayName;
 		this.userId = userId;
 		this.jtiId = jtiId;
-		this.created = new Date();
-		expireDate = buildExpireDate(created, this.expires);
+		this.refreshToken = refreshToken;
+		this.created = new Date(created.getTime());
+		expireDate = buildExpireDate(this.created, this.expires);
 	}
 
 	/**
@@ -131,6 +180,28 @@ public class AuthenticationResult {
 		return jtiId;
 	}
 
+	/**
+	 * Gets the refresh token returned when authenticating as a user
+	 * 
+	 * @return String, refresh token or null if none was returned, e.g. for applications
+	 * 
+	 * @since 0.8.0
+	 */
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	/**
+	 * Gets the date and time the JWT token will expire
+	 * 
+	 * @return Date, expiry will occur
+	 * 
+	 * @since 0.8.0
+	 */
+	public Date getExpireDate() {
+		return new Date(expireDate.getTime());
+	}
+
 	/**
 	 * Test JDT token expiry time against current time and return whether or not it's still valid. If not, we need to authenticate again
 	 * 
@@ -155,4 +226,17 @@ public class AuthenticationResult {
 		return new AuthenticationResult(appToken.getAccess_Token(), appToken.getExpires_In(), "", appToken.getId(), appToken.getJti());
 	}
 
+	/**
+	 * Builds an AuthenticationResult object from the PeopleToken object constructed from JSON returned by the user authorization process, keeping the display name and refresh token
+	 * 
+	 * @param peopleToken
+	 *            {@link PeopleToken} object constructed from JSON returned by authorization process
+	 * @return new AuthenticationResult object with contents extracted from PeopleToken
+	 * 
+	 * @since 0.8.0
+	 */
+	public static AuthenticationResult buildFromToken(PeopleToken peopleToken) {
+		return new AuthenticationResult(peopleToken.getAccess_Token(), peopleToken.getExpires_In(), peopleToken.getDisplayName(), peopleToken.getId(), peopleToken.getJti(), peopleToken.getRefresh_Token());
+	}
+
 }
@@ -0,0 +1,195 @@
+package org.opencode4workspace.authentication;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Properties;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ * 
+ *        {@link TokenStore} writing each AuthenticationResult to a properties file in a directory, so tokens survive restarts and can be shared by nodes mounting the same directory. File names
+ *        are a hash of the key, files are only readable by their owner where the file system allows it, and each file is written to a temporary file and renamed into place, so readers never see a partial
+ *        result. The files contain live credentials and should be protected accordingly
+ */
+public class FileTokenStore implements TokenStore {
+
+	private static final String JWT_TOKEN = "jwtToken";
+	private static final String EXPIRES = "expires";
+	private static final String CREATED = "created";
+	private static final String DISPLAY_NAME = "displayName";
+	private static final String USER_ID = "userId";
+	private static final String JTI_ID = "jtiId";
+	private static final String REFRESH_TOKEN = "refreshToken";
+
+	private final File directory;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param directory
+	 *            File, directory to store the tokens in. It is created if it does not exist
+	 * 
+	 * @since 0.8.0
+	 */
+	public FileTokenStore(File directory) {
+		if (null == directory) {
+			throw new IllegalArgumentException("A directory is mandatory");
+		}
+		this.directory = directory;
+	}
+
+	/**
+	 * @return File, directory the tokens are stored in
+	 * 
+	 * @since 0.8.0
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.TokenStore#load(java.lang.String)
+	 */
+	@Override
+	public AuthenticationResult load(String key) throws WWException {
+		File file = getFile(key);
+		if (!file.exists()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		InputStream in = null;
+		try {
+			in = new FileInputStream(file);
+			properties.load(in);
+			return new AuthenticationResult(properties.getProperty(JWT_TOKEN), Integer.parseInt(properties.getProperty(EXPIRES)), new Date(Long.parseLong(properties.getProperty(CREATED))),
+					properties.getProperty(DISPLAY_NAME, ""), properties.getProperty(USER_ID, ""), properties.getProperty(JTI_ID, ""), properties.getProperty(REFRESH_TOKEN));
+		} catch (Exception e) {
+			throw new WWException(e);
+		} finally {
+			closeQuietly(in);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.TokenStore#save(java.lang.String, org.opencode4workspace.authentication.AuthenticationResult)
+	 */
+	@Override
+	public void save(String key, AuthenticationResult result) throws WWException {
+		Properties properties = new Properties();
+		properties.setProperty(JWT_TOKEN, result.getJwtToken());
+		properties.setProperty(EXPIRES, Integer.toString(result.getExpires()));
+		properties.setProperty(CREATED, Long.toString(result.getCreated().getTime()));
+		setIfNotNull(properties, DISPLAY_NAME, result.getDisplayName());
+		setIfNotNull(properties, USER_ID, result.getUserId());
+		setIfNotNull(properties, JTI_ID, result.getJtId());
+		setIfNotNull(properties, REFRESH_TOKEN, result.getRefreshToken());
+		if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+			throw new WWException("Could not create token store directory " + directory);
+		}
+		File file = getFile(key);
+		File temp = null;
+		OutputStream out = null;
+		try {
+			temp = File.createTempFile(file.getName(), ".tmp", directory);
+			out = new FileOutputStream(temp);
+			temp.setReadable(false, false);
+			temp.setReadable(true, true);
+			temp.setWritable(false, false);
+			temp.setWritable(true, true);
+			properties.store(out, null);
+			out.close();
+			out = null;
+			if (!temp.renameTo(file)) {
+				// Some platforms cannot rename over an existing file
+				file.delete();
+				if (!temp.renameTo(file)) {
+					throw new WWException("Could not write token file " + file);
+				}
+			}
+		} catch (IOException e) {
+			throw new WWException(e);
+		} finally {
+			closeQuietly(out);
+			if (null != temp && temp.exists()) {
+				temp.delete();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.TokenStore#remove(java.lang.String)
+	 */
+	@Override
+	public void remove(String key) throws WWException {
+		File file = getFile(key);
+		if (file.exists() && !file.delete()) {
+			throw new WWException("Could not delete token file " + file);
+		}
+	}
+
+	/**
+	 * Gets the file for a key. The key is hashed, so it can contain any characters and is not revealed by the file name
+	 * 
+	 * @param key
+	 *            String, key identifying the application or user
+	 * @return File to store the AuthenticationResult in
+	 * 
+	 * @since 0.8.0
+	 */
+	private File getFile(String key) {
+		return new File(directory, DigestUtils.sha256Hex(key) + ".properties");
+	}
+
+	/**
+	 * Sets a property, skipping null values which Properties cannot hold
+	 * 
+	 * @param properties
+	 *            Properties to update
+	 * @param name
+	 *            String name of the property
+	 * @param value
+	 *            String value of the property, may be null
+	 * 
+	 * @since 0.8.0
+	 */
+	private static void setIfNotNull(Properties properties, String name, String value) {
+		if (null != value) {
+			properties.setProperty(name, value);
+		}
+	}
+
+	/**
+	 * Closes a stream, ignoring any error
+	 * 
+	 * @param stream
+	 *            InputStream or OutputStream to close, may be null
+	 * 
+	 * @since 0.8.0
+	 */
+	private static void closeQuietly(Closeable stream) {
+		if (null != stream) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				// Nothing to do
+			}
+		}
+	}
+
+}
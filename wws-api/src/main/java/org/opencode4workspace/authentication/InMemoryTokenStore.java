@@ -0,0 +1,46 @@
+package org.opencode4workspace.authentication;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ * 
+ *        {@link TokenStore} holding AuthenticationResults in memory, so clients created during the life of the JVM share tokens. Results do not survive a restart, see {@link FileTokenStore}
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+	private final ConcurrentMap<String, AuthenticationResult> results = new ConcurrentHashMap<String, AuthenticationResult>();
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.TokenStore#load(java.lang.String)
+	 */
+	@Override
+	public AuthenticationResult load(String key) {
+		return results.get(key);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.TokenStore#save(java.lang.String, org.opencode4workspace.authentication.AuthenticationResult)
+	 */
+	@Override
+	public void save(String key, AuthenticationResult result) {
+		results.put(key, result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.TokenStore#remove(java.lang.String)
+	 */
+	@Override
+	public void remove(String key) {
+		results.remove(key);
+	}
+
+}
@@ -0,0 +1,29 @@
+package org.opencode4workspace.authentication;
+
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ * 
+ *        Interface for authentication endpoints that can exchange a user's refresh token for a new JWT token, so {@link WWClient} can re-authenticate a user without the user authorizing again
+ */
+public interface RefreshableAuthenticationEndpoint extends AuthenticationEndpoint {
+
+	/**
+	 * Creates POST request for refreshing a user's authorization and returns result, if successful, or generates error, if not
+	 * 
+	 * @param basicAuthApp
+	 *            String, content for Authorization header constructed from {@link WWClient#getAppCredentials()}
+	 * @param refreshToken
+	 *            String, refresh token from the previous {@link AuthenticationResult}
+	 * @return {@link AuthenticationResult} containing response details
+	 * @throws WWException
+	 *             error details
+	 * 
+	 * @since 0.8.0
+	 */
+	AuthenticationResult refreshUser(String basicAuthApp, String refreshToken) throws WWException;
+
+}
@@ -0,0 +1,54 @@
+package org.opencode4workspace.authentication;
+
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ * 
+ *        Interface for storing {@link AuthenticationResult}s outside a {@link WWClient}, so a new client, a restarted JVM or another node can reuse a still-valid JWT token or a user's refresh token
+ *        instead of authenticating again. Implementations must be thread-safe, as one store is typically shared by many clients
+ */
+public interface TokenStore {
+
+	/**
+	 * Loads the AuthenticationResult stored for a key
+	 * 
+	 * @param key
+	 *            String, key identifying the application or user, see {@link WWClient#getTokenStoreKey()}
+	 * @return AuthenticationResult stored for the key, or null if none is stored. The result may have expired
+	 * @throws WWException
+	 *             if the store could not be read
+	 * 
+	 * @since 0.8.0
+	 */
+	AuthenticationResult load(String key) throws WWException;
+
+	/**
+	 * Stores the AuthenticationResult for a key, replacing any result already stored
+	 * 
+	 * @param key
+	 *            String, key identifying the application or user
+	 * @param result
+	 *            AuthenticationResult to store
+	 * @throws WWException
+	 *             if the store could not be written
+	 * 
+	 * @since 0.8.0
+	 */
+	void save(String key, AuthenticationResult result) throws WWException;
+
+	/**
+	 * Removes the AuthenticationResult stored for a key, e.g. when the user signs out
+	 * 
+	 * @param key
+	 *            String, key identifying the application or user
+	 * @throws WWException
+	 *             if the store could not be written
+	 * 
+	 * @since 0.8.0
+	 */
+	void remove(String key) throws WWException;
+
+}
@@ -2,6 +2,8 @@ package org.opencode4workspace.bo;
 
 import java.io.Serializable;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Christian Guedemann
  * @since 0.5.0
@@ -9,6 +11,7 @@ import java.io.Serializable;
  *        Serializable object corresponding to a Watson Workspace actor
  *
  */
+@GenerateJsonAdapter
 public class Actor implements Serializable {
 
 	/**
@@ -3,6 +3,8 @@ package org.opencode4workspace.bo;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * 
  * @author Christian Guedemann
@@ -10,6 +12,7 @@ import java.util.Date;
  *
  *        Serializable object corresponding to an annotation for a message
  */
+@GenerateJsonAdapter
 public class Annotation implements Serializable {
 	
 	/**
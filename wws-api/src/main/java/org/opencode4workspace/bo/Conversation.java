@@ -5,6 +5,8 @@ import java.util.Date;
 import java.util.List;
 
 import org.opencode4workspace.graphql.builders.GraphQLJsonPropertyHelper;
+import org.opencode4workspace.json.GenerateJsonAdapter;
+import org.opencode4workspace.json.JsonAdapterSetter;
 
 /**
  * @author Christian Guedemann
@@ -14,6 +16,7 @@ import org.opencode4workspace.graphql.builders.GraphQLJsonPropertyHelper;
  *        Serializable object corresponding to a Conversation in a Watson Work Space
  *
  */
+@GenerateJsonAdapter
 public class Conversation implements Serializable {
 
 	/**
@@ -119,6 +122,7 @@ public class Conversation implements Serializable {
 	private Person createdBy;
 	private Person updatedBy;
 	@GraphQLJsonPropertyHelper(jsonProperty = "message")
+	@JsonAdapterSetter("setMessages")
 	private List<Message> messageList;
 
 	/**
@@ -3,12 +3,15 @@ package org.opencode4workspace.bo;
 import java.io.Serializable;
 import java.util.Map;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.7.0
  * 
  *        Response from posting a file to a space
  */
+@GenerateJsonAdapter
 public class FileResponse implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private String id;
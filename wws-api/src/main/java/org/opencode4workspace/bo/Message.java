@@ -6,6 +6,7 @@ import java.util.Date;
 import java.util.List;
 
 import org.opencode4workspace.bo.Annotation.AnnotationType;
+import org.opencode4workspace.json.GenerateJsonAdapter;
 import org.opencode4workspace.json.ResultParser;
 
 /**
@@ -16,6 +17,7 @@ import org.opencode4workspace.json.ResultParser;
  *        Serializable object corresponding to a Message in a Conversation in a Watson Workspace space
  *
  */
+@GenerateJsonAdapter
 public class Message implements Serializable {
 
 	/**
@@ -3,6 +3,8 @@ package org.opencode4workspace.bo;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Christian Guedemann
  * @since 0.5.0
@@ -10,6 +12,7 @@ import java.util.Date;
  *        Serializable object corresponding to a response to posting a Message
  *
  */
+@GenerateJsonAdapter
 public class MessageResponse implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -2,6 +2,8 @@ package org.opencode4workspace.bo;
 
 import java.io.Serializable;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.5.0
@@ -9,6 +11,7 @@ import java.io.Serializable;
  *        Page Information object passed from WWS for e.g. Spaces, used for pagination in subsequent queries
  *
  */
+@GenerateJsonAdapter
 public class PageInfo implements Serializable {
 
 	/**
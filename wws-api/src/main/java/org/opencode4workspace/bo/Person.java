@@ -3,6 +3,8 @@ package org.opencode4workspace.bo;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Christian Guedemann
  * @author Paul Withers
@@ -11,6 +13,7 @@ import java.util.Date;
  *        Serializable object corresponding to a Watson Workspace member
  *
  */
+@GenerateJsonAdapter
 public class Person implements Serializable {
 
 	/**
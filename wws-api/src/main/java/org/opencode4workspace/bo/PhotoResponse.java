@@ -2,6 +2,8 @@ package org.opencode4workspace.bo;
 
 import java.io.Serializable;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.7.0
@@ -9,6 +11,7 @@ import java.io.Serializable;
  *        Serializable object corresponding to a response to posting a Photo
  *
  */
+@GenerateJsonAdapter
 public class PhotoResponse implements Serializable {
 
 	private static final long serialVersionUID = 1L;
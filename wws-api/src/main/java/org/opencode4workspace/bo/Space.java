@@ -5,6 +5,8 @@ import java.util.Date;
 import java.util.List;
 
 import org.opencode4workspace.graphql.builders.GraphQLJsonPropertyHelper;
+import org.opencode4workspace.json.GenerateJsonAdapter;
+import org.opencode4workspace.json.JsonAdapterSetter;
 
 /**
  * @author Christian Guedemann
@@ -14,6 +16,7 @@ import org.opencode4workspace.graphql.builders.GraphQLJsonPropertyHelper;
  *        Serializable object corresponding to a Watson Workspace space
  *
  */
+@GenerateJsonAdapter
 public class Space implements Serializable {
 
 	/**
@@ -124,9 +127,11 @@ public class Space implements Serializable {
 	private Person createdBy;
 	private Date updated;
 	private Person updatedBy;
+	@JsonAdapterSetter("setMembers")
 	private List<Person> memberList;
 	private String membersUpdated;
 	@GraphQLJsonPropertyHelper(jsonProperty = "conversation")
+	@JsonAdapterSetter("setConversation")
 	private Conversation conversationContent;
 
 	/**
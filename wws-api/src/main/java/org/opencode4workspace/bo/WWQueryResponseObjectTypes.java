@@ -10,7 +10,7 @@ import org.opencode4workspace.graphql.MembersContainer;
 import org.opencode4workspace.graphql.SpaceWrapper;
 import org.opencode4workspace.graphql.SpacesContainer;
 import org.opencode4workspace.graphql.UpdateSpaceContainer;
-import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.json.CodecRegistry;
 
 /**
  * Enum to hold class names to cast aliases to when building a query and classes to convert the corresponding JSON response to
@@ -42,11 +42,9 @@ public enum WWQueryResponseObjectTypes implements WWQueryResponseObjectInterface
 		return returnClass;
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	public Object parse(String jsonString) {
-		ResultParser parser = new ResultParser(returnClass);
-		return parser.parse(jsonString);
+		return CodecRegistry.getResultGson().fromJson(jsonString, returnClass);
 	}
 	
 	
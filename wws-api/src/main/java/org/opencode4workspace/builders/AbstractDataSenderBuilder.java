@@ -0,0 +1,79 @@
+package org.opencode4workspace.builders;
+
+import java.io.IOException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Base class for the IDataSenderBuilders of the SDK, which write their JSON stream straight to an Appendable. {@link #build(boolean)} is implemented by writing to a StringBuilder, and
+ *        children are written to the same Appendable as their parent, so the whole tree is written in a single pass. IDataSenderBuilders that do not extend this class are written via their
+ *        {@link #build(boolean)} output.
+ *
+ */
+public abstract class AbstractDataSenderBuilder implements IDataSenderBuilder {
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.opencode4workspace.builders.IDataSenderBuilder#build()
+	 */
+	@Override
+	public String build() {
+		return build(false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.opencode4workspace.builders.IDataSenderBuilder#build(boolean)
+	 */
+	@Override
+	public String build(boolean pretty) {
+		StringBuilder s = new StringBuilder();
+		try {
+			writeTo(s, pretty);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Writes the JSON stream to send straight to an Appendable, optionally adding pretty styling
+	 *
+	 * @param out
+	 *            Appendable to write the JSON data to
+	 * @param pretty
+	 *            boolean whether or not to output in a more readable format
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 *
+	 * @since 0.8.0
+	 */
+	public abstract void writeTo(Appendable out, boolean pretty) throws IOException;
+
+	/**
+	 * Writes any IDataSenderBuilder to an Appendable, directly if it extends this class, otherwise by appending its {@link IDataSenderBuilder#build(boolean)} output
+	 *
+	 * @param builder
+	 *            IDataSenderBuilder to write
+	 * @param out
+	 *            Appendable to write the JSON data to
+	 * @param pretty
+	 *            boolean whether or not to output in a more readable format
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 *
+	 * @since 0.8.0
+	 */
+	public static void write(IDataSenderBuilder builder, Appendable out, boolean pretty) throws IOException {
+		if (builder instanceof AbstractDataSenderBuilder) {
+			((AbstractDataSenderBuilder) builder).writeTo(out, pretty);
+		} else {
+			out.append(builder.build(pretty));
+		}
+	}
+
+}
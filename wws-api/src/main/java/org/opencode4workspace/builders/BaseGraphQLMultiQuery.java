@@ -1,5 +1,6 @@
 package org.opencode4workspace.builders;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -50,7 +51,7 @@ public class BaseGraphQLMultiQuery extends BaseGraphQLQuery {
 	 */
 	public BaseGraphQLMultiQuery(String operationName, List<ObjectDataSenderBuilder> queryObjects) {
 		super(operationName, queryObjects.get(0));
-		queryObjects.addAll(queryObjects);
+		this.queryObjects.addAll(queryObjects);
 	}
 
 	/* (non-Javadoc)
@@ -144,12 +145,34 @@ public class BaseGraphQLMultiQuery extends BaseGraphQLQuery {
 	 */
 	@Override
 	public String returnQuery() {
-		String query = "query " + getOperationName() + " {";
+		StringBuilder s = new StringBuilder();
+		try {
+			writeQuery(s);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Writes the full query to be passed to WWS straight to an Appendable, walking the DataSenderBuilders once. {@link #returnQuery()} is equivalent to writing to a StringBuilder
+	 * 
+	 * @param out
+	 *            Appendable to write the query to, containing "query", the operation name, and a JSON object for each of the queries
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 * 
+	 * @since 0.8.0
+	 */
+	public void writeQuery(Appendable out) throws IOException {
+		out.append("query ").append(getOperationName());
+		GraphQLVariable.writeDefinitions(out, queryObjects);
+		out.append(" {");
 		for (ObjectDataSenderBuilder queryObj : queryObjects) {
-			query += queryObj.build();
+			queryObj.writeTo(out, false);
 		}
-		query += "}";
-		return query;
+		out.append("}");
 	}
 
 	// Delegators
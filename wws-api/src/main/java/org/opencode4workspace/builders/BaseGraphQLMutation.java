@@ -1,5 +1,6 @@
 package org.opencode4workspace.builders;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -125,18 +126,45 @@ public class BaseGraphQLMutation implements Serializable, IGraphQLMutation {
 	 */
 	@Override
 	public String returnQuery() {
-		String retVal = "mutation " + operationName + " {" + getInputObject().build() + " {";
+		StringBuilder s = new StringBuilder();
+		try {
+			writeQuery(s);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Writes the full query to be passed to WWS straight to an Appendable, walking the DataSenderBuilders once. {@link #returnQuery()} is equivalent to writing to a StringBuilder
+	 * 
+	 * @param out
+	 *            Appendable to write the query to, containing "mutation", the operation name, a JSON object containing the update settings and a JSON object containing the query settings
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 * 
+	 * @since 0.8.0
+	 */
+	public void writeQuery(Appendable out) throws IOException {
+		List<IDataSenderBuilder> builders = new ArrayList<IDataSenderBuilder>();
+		builders.add(getInputObject());
+		builders.addAll(getReturnObjects());
+		out.append("mutation ").append(operationName);
+		GraphQLVariable.writeDefinitions(out, builders);
+		out.append(" {");
+		getInputObject().writeTo(out, false);
+		out.append(" {");
 		boolean isFirst = true;
 		for (IDataSenderBuilder returnObj : getReturnObjects()) {
-			if (isFirst) {
-				retVal += returnObj.build();
-				isFirst = false;
+			if (!isFirst) {
+				out.append(" ");
 			} else {
-				retVal += " " + returnObj.build();
+				isFirst = false;
 			}
+			AbstractDataSenderBuilder.write(returnObj, out, false);
 		}
-		retVal += "}}";
-		return retVal;
+		out.append("}}");
 	}
 
 	/*
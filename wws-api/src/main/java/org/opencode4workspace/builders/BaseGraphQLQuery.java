@@ -1,6 +1,8 @@
 package org.opencode4workspace.builders;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -56,7 +58,32 @@ public abstract class BaseGraphQLQuery implements Serializable, IGraphQLQuery {
 	 */
 	@Override
 	public String returnQuery() {
-		return "query " + operationName + " {" + getQueryObject().build() + "}";
+		StringBuilder s = new StringBuilder();
+		try {
+			writeQuery(s);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Writes the full query to be passed to WWS straight to an Appendable, walking the DataSenderBuilders once. {@link #returnQuery()} is equivalent to writing to a StringBuilder
+	 * 
+	 * @param out
+	 *            Appendable to write the query to, containing "query", the operation name, and a JSON object containing the query settings
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 * 
+	 * @since 0.8.0
+	 */
+	public void writeQuery(Appendable out) throws IOException {
+		out.append("query ").append(operationName);
+		GraphQLVariable.writeDefinitions(out, Collections.singletonList(getQueryObject()));
+		out.append(" {");
+		getQueryObject().writeTo(out, false);
+		out.append("}");
 	}
 
 	/**
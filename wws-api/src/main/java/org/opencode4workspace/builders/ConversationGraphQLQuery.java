@@ -9,6 +9,7 @@ import org.opencode4workspace.bo.Message.MessageChildren;
 import org.opencode4workspace.bo.Message.MessageFields;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
 import org.opencode4workspace.graphql.BasicPaginationEnum;
+import org.opencode4workspace.json.GraphQLRequest;
 
 /**
  * @author Christian Guedemann
@@ -129,6 +130,26 @@ public class ConversationGraphQLQuery extends BaseGraphQLQuery {
 	private static final String METHOD = "getConversation";
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Variable for the id of the Conversation, used by {@link #buildStandardConversationQueryWithIdVariable()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable CONVERSATION_ID_VARIABLE = new GraphQLVariable(ConversationAttributes.ID.getLabel(), "ID!");
+	/**
+	 * Variable for the oldest timestamp of the Messages, used by {@link #buildPagedConversationMessagesQuery()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable OLDEST_TIMESTAMP_VARIABLE = new GraphQLVariable(ConversationMessageAttributes.OLDEST_TIMESTAMP.getLabel(), "Long");
+	/**
+	 * Variable for the most recent timestamp of the Messages, used by {@link #buildPagedConversationMessagesQuery()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable MOST_RECENT_TIMESTAMP_VARIABLE = new GraphQLVariable(ConversationMessageAttributes.MOST_RECENT_TIMESTAMP.getLabel(), "Long");
+	private static volatile String conversationByIdQuery;
+
 	/**
 	 * Easy method to create a basic Conversation query ObjectDataSenderBuilder for a relevant conversation ID
 	 * 
@@ -144,6 +165,82 @@ public class ConversationGraphQLQuery extends BaseGraphQLQuery {
 		if ("".equals(conversationId)) {
 			throw new WWException("conversationId is mandatory");
 		}
+		return buildStandardConversationQuery(conversationId);
+	}
+
+	/**
+	 * Easy method to create the basic Conversation query with the id passed as the variable {@link #CONVERSATION_ID_VARIABLE}, rather than written into the query
+	 * 
+	 * @return ConversationGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static ConversationGraphQLQuery buildStandardConversationQueryWithIdVariable() throws WWException {
+		return buildStandardConversationQuery(CONVERSATION_ID_VARIABLE);
+	}
+
+	/**
+	 * Easy method to create a request for the basic Conversation query for the relevant Conversation. The query text is built once, with the id as a variable, and reused for every request
+	 * 
+	 * @param conversationId
+	 *            String id for the Conversation
+	 * @return GraphQLRequest for the Conversation
+	 * @throws WWException
+	 *             if conversationId is missing
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphQLRequest buildStandardConversationRequestById(String conversationId) throws WWException {
+		if ("".equals(conversationId)) {
+			throw new WWException("conversationId is mandatory");
+		}
+		String query = conversationByIdQuery;
+		if (null == query) {
+			query = buildStandardConversationQueryWithIdVariable().returnQuery();
+			conversationByIdQuery = query;
+		}
+		return new GraphQLRequest(query, METHOD).setVariable(CONVERSATION_ID_VARIABLE, conversationId);
+	}
+
+	/**
+	 * Easy method to create a query for one page of the Messages in a Conversation between two timestamps. The Conversation id, page size, cursor and timestamps are all passed as variables:
+	 * {@link #CONVERSATION_ID_VARIABLE}, {@link BasicPaginationEnum#getVariable()} for FIRST and AFTER, {@link #OLDEST_TIMESTAMP_VARIABLE} and {@link #MOST_RECENT_TIMESTAMP_VARIABLE}. A
+	 * timestamp left unset does not limit the Messages
+	 * 
+	 * @return ConversationGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static ConversationGraphQLQuery buildPagedConversationMessagesQuery() throws WWException {
+		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
+		query.setObjectName(Conversation.CONVERSATION_QUERY_OBJECT_NAME);
+		query.addAttribute(ConversationAttributes.ID, CONVERSATION_ID_VARIABLE);
+		query.addField(ConversationFields.ID);
+		ObjectDataSenderBuilder messages = new ObjectDataSenderBuilder(ConversationChildren.MESSAGES.getLabel(), true);
+		messages.addAttribute(BasicPaginationEnum.FIRST, BasicPaginationEnum.FIRST.getVariable());
+		messages.addAttribute(BasicPaginationEnum.AFTER, BasicPaginationEnum.AFTER.getVariable());
+		messages.addAttribute(ConversationMessageAttributes.OLDEST_TIMESTAMP, OLDEST_TIMESTAMP_VARIABLE);
+		messages.addAttribute(ConversationMessageAttributes.MOST_RECENT_TIMESTAMP, MOST_RECENT_TIMESTAMP_VARIABLE);
+		query.addChild(addStandardMessageFields(messages));
+		return new ConversationGraphQLQuery(query);
+	}
+
+	/**
+	 * Creates the basic Conversation query ObjectDataSenderBuilder, filtered on id
+	 * 
+	 * @param conversationId
+	 *            String id or GraphQLVariable for the Conversation
+	 * @return ConversationGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	private static ConversationGraphQLQuery buildStandardConversationQuery(Object conversationId) throws WWException {
 		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
 		query.setObjectName(Conversation.CONVERSATION_QUERY_OBJECT_NAME);
 		query.addAttribute(ConversationAttributes.ID, conversationId);
@@ -152,6 +249,20 @@ public class ConversationGraphQLQuery extends BaseGraphQLQuery {
 		query.addField(ConversationFields.UPDATED);
 		ObjectDataSenderBuilder messages = new ObjectDataSenderBuilder(ConversationChildren.MESSAGES.getLabel(), true);
 		messages.addAttribute(BasicPaginationEnum.FIRST, 50);
+		query.addChild(addStandardMessageFields(messages));
+		return new ConversationGraphQLQuery(query);
+	}
+
+	/**
+	 * Adds pageInfo and the standard fields and children to a Messages query object
+	 * 
+	 * @param messages
+	 *            ObjectDataSenderBuilder for the Messages, with its filtering and pagination attributes
+	 * @return ObjectDataSenderBuilder, the Messages query object
+	 * 
+	 * @since 0.8.0
+	 */
+	private static ObjectDataSenderBuilder addStandardMessageFields(ObjectDataSenderBuilder messages) {
 		messages.addPageInfo();
 		messages.addField(MessageFields.CONTENT_TYPE);
 		messages.addField(MessageFields.CONTENT);
@@ -161,8 +272,7 @@ public class ConversationGraphQLQuery extends BaseGraphQLQuery {
 		messages.addField(MessageFields.ID);
 		messages.addChild(new BasicCreatedByUpdatedByDataSenderBuilder(MessageChildren.CREATED_BY));
 		messages.addChild(new BasicCreatedByUpdatedByDataSenderBuilder(MessageChildren.UPDATED_BY));
-		query.addChild(messages);
-		return new ConversationGraphQLQuery(query);
+		return messages;
 	}
 
 	/**
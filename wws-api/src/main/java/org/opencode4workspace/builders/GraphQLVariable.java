@@ -0,0 +1,210 @@
+package org.opencode4workspace.builders;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        A GraphQL variable, for use as the value of an attribute of an {@link ObjectDataSenderBuilder} or a field of an {@link InputDataSenderBuilder}. The variable is written into the query as
+ *        "$name" and declared in the operation's variable definitions, e.g. "query getSpace($id: ID!) {space (id: $id) {...}}". The value itself is passed in the variables of the GraphQLRequest,
+ *        so the query text stays the same whatever the value and can be built once and reused.
+ *
+ */
+public class GraphQLVariable implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private final String name;
+	private final String type;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name
+	 *            String name of the variable, without the leading "$"
+	 * @param type
+	 *            String GraphQL type of the variable, e.g. "ID!", "String", "Int" or "[String]"
+	 *
+	 * @since 0.8.0
+	 */
+	public GraphQLVariable(String name, String type) {
+		if (null == name || "".equals(name)) {
+			throw new IllegalArgumentException("A variable name is mandatory");
+		}
+		if (null == type || "".equals(type)) {
+			throw new IllegalArgumentException("A variable type is mandatory");
+		}
+		this.name = name;
+		this.type = type;
+	}
+
+	/**
+	 * @return String name of the variable, without the leading "$". This is the key for the value in the variables of the GraphQLRequest
+	 *
+	 * @since 0.8.0
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return String GraphQL type of the variable
+	 *
+	 * @since 0.8.0
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return String definition of the variable for the operation, e.g. "$id: ID!"
+	 *
+	 * @since 0.8.0
+	 */
+	public String getDefinition() {
+		return "$" + name + ": " + type;
+	}
+
+	/**
+	 * Builds the variable definitions for an operation from the variables used by its DataSenderBuilders, e.g. "($id: ID!, $first: Int)". Variables are declared once, in the order they are found.
+	 *
+	 * @param builders
+	 *            Collection of {@link IDataSenderBuilder}s making up the operation
+	 * @return String variable definitions, or an empty String if no variables are used, so queries without variables are unchanged
+	 *
+	 * @since 0.8.0
+	 */
+	public static String buildDefinitions(Collection<? extends IDataSenderBuilder> builders) {
+		StringBuilder s = new StringBuilder();
+		try {
+			writeDefinitions(s, builders);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Writes the variable definitions for an operation from the variables used by its DataSenderBuilders, e.g. "($id: ID!, $first: Int)". Variables are declared once, in the order they are found.
+	 *
+	 * @param out
+	 *            Appendable to write the variable definitions to. Nothing is written if no variables are used
+	 * @param builders
+	 *            Collection of {@link IDataSenderBuilder}s making up the operation
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 *
+	 * @since 0.8.0
+	 */
+	public static void writeDefinitions(Appendable out, Collection<? extends IDataSenderBuilder> builders) throws IOException {
+		Map<String, GraphQLVariable> variables = new LinkedHashMap<String, GraphQLVariable>();
+		for (IDataSenderBuilder builder : builders) {
+			collectVariables(builder, variables);
+		}
+		if (variables.isEmpty()) {
+			return;
+		}
+		out.append("(");
+		boolean isFirst = true;
+		for (GraphQLVariable variable : variables.values()) {
+			if (!isFirst) {
+				out.append(", ");
+			} else {
+				isFirst = false;
+			}
+			out.append("$").append(variable.getName()).append(": ").append(variable.getType());
+		}
+		out.append(")");
+	}
+
+	/**
+	 * Collects the variables used by a DataSenderBuilder and its children
+	 *
+	 * @param builder
+	 *            IDataSenderBuilder to check
+	 * @param variables
+	 *            Map of variables found so far, keyed on name
+	 *
+	 * @since 0.8.0
+	 */
+	private static void collectVariables(IDataSenderBuilder builder, Map<String, GraphQLVariable> variables) {
+		if (builder instanceof ObjectDataSenderBuilder) {
+			ObjectDataSenderBuilder object = (ObjectDataSenderBuilder) builder;
+			collectValues(object.getAttributesList().values(), variables);
+			if (null != object.getPageInfo()) {
+				collectVariables(object.getPageInfo(), variables);
+			}
+			for (IDataSenderBuilder child : object.getChildren()) {
+				collectVariables(child, variables);
+			}
+		} else if (builder instanceof InputDataSenderBuilder) {
+			collectValues(((InputDataSenderBuilder) builder).getFieldsMap().values(), variables);
+		}
+	}
+
+	/**
+	 * Collects the variables from attribute or field values, including those within Lists
+	 *
+	 * @param values
+	 *            Collection of attribute or field values
+	 * @param variables
+	 *            Map of variables found so far, keyed on name
+	 *
+	 * @since 0.8.0
+	 */
+	private static void collectValues(Collection<?> values, Map<String, GraphQLVariable> variables) {
+		for (Object value : values) {
+			if (value instanceof GraphQLVariable) {
+				GraphQLVariable variable = (GraphQLVariable) value;
+				if (!variables.containsKey(variable.getName())) {
+					variables.put(variable.getName(), variable);
+				}
+			} else if (value instanceof Collection) {
+				collectValues((Collection<?>) value, variables);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "$" + name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * name.hashCode() + type.hashCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof GraphQLVariable)) {
+			return false;
+		}
+		GraphQLVariable other = (GraphQLVariable) obj;
+		return name.equals(other.name) && type.equals(other.type);
+	}
+
+}
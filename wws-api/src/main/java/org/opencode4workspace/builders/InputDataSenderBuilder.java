@@ -1,16 +1,16 @@
 package org.opencode4workspace.builders;
 
+import java.io.IOException;
 import java.io.Serializable;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TimeZone;
 
 import org.opencode4workspace.WWException;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
+import org.opencode4workspace.json.Iso8601DateCodec;
 
 /**
  * @author Paul Withers
@@ -20,7 +20,7 @@ import org.opencode4workspace.bo.WWFieldsAttributesInterface;
  *        https://workspace.ibm.com/graphql
  *
  */
-public class InputDataSenderBuilder implements Serializable, IDataSenderBuilder {
+public class InputDataSenderBuilder extends AbstractDataSenderBuilder implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private String mutationName;
 	private Map<String, Object> fieldsMap = new HashMap<String, Object>();
@@ -45,65 +45,53 @@ public class InputDataSenderBuilder implements Serializable, IDataSenderBuilder
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see org.opencode4workspace.builders.IDataSenderBuilder#build()
+	 * @see org.opencode4workspace.builders.AbstractDataSenderBuilder#writeTo(java.lang.Appendable, boolean)
 	 */
-	public String build() {
-		return build(false);
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see org.opencode4workspace.builders.IDataSenderBuilder#build(boolean)
-	 */
-	public String build(boolean pretty) {
+	public void writeTo(Appendable s, boolean pretty) throws IOException {
 		boolean isFirst = true;
-		StringBuilder s = new StringBuilder();
 		// Add object name
-		s.append(mutationName + " (input: {");
+		s.append(mutationName).append(" (input: {");
 		if (pretty) {
 			s.append("\n\r");
 		}
 
-		for (String key : getFieldsMap().keySet()) {
+		for (Map.Entry<String, Object> field : getFieldsMap().entrySet()) {
 			if (!isFirst) {
 				s.append(" ");
 			} else {
 				isFirst = false;
 			}
-			s.append(key);
+			s.append(field.getKey());
 			s.append(": ");
-			Object obj = getFieldsMap().get(key);
-			convertMapValue(s, obj);
+			convertMapValue(s, field.getValue());
 		}
 		if (pretty) {
 			s.append("\n\r");
 		}
 
 		s.append("})");
-		return s.toString();
 	}
 
 	/**
 	 * Converts a value for a field to the correct JSON format
 	 * 
 	 * @param s
-	 *            StringBuilder containing the JSON for the query
+	 *            Appendable containing the JSON for the query
 	 * @param obj
 	 *            Object value for the field
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
 	 * 
 	 * @since 0.6.0
 	 */
-	private void convertMapValue(StringBuilder s, Object obj) {
+	private void convertMapValue(Appendable s, Object obj) throws IOException {
 		if (obj instanceof Date) {
-			SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-			Date dt = (Date) obj;
-			TimeZone tz = TimeZone.getDefault();
-			df.setTimeZone(tz);
-			s.append(df.format(dt));
+			Iso8601DateCodec.formatTo(s, (Date) obj);
+		} else if (obj instanceof GraphQLVariable) {
+			s.append(obj.toString());
 		} else if (obj instanceof String) {
 			s.append("\"");
-			s.append(obj);
+			s.append((String) obj);
 			s.append("\"");
 		} else if (obj instanceof List) {
 			s.append("[");
@@ -120,7 +108,7 @@ public class InputDataSenderBuilder implements Serializable, IDataSenderBuilder
 		} else if (obj.getClass().isEnum()) {
 			s.append(obj.toString());
 		} else {
-			s.append(obj);
+			s.append(String.valueOf(obj));
 		}
 	}
 
@@ -184,7 +172,7 @@ public class InputDataSenderBuilder implements Serializable, IDataSenderBuilder
 	 * @param enumName
 	 *            WWFieldsAttributesInterface enum, whose label property is the name of the field to set via the mutation
 	 * @param value
-	 *            Object value to set
+	 *            Object value to set, or a {@link GraphQLVariable} whose value will be passed with the request
 	 * @return InputDataSender, current object
 	 * @throws WWException
 	 *             containing an error message, if the value is a different data type to what the enum expects
@@ -192,7 +180,7 @@ public class InputDataSenderBuilder implements Serializable, IDataSenderBuilder
 	 * @since 0.6.0
 	 */
 	public InputDataSenderBuilder addField(WWFieldsAttributesInterface enumName, Object value) throws WWException {
-		if (value.getClass().equals(enumName.getObjectClassType())) {
+		if (value instanceof GraphQLVariable || value.getClass().equals(enumName.getObjectClassType())) {
 			fieldsMap.put(enumName.getLabel(), value);
 		} else {
 			if ("java.util.List".equals(enumName.getObjectClassType().getName())) {
@@ -5,6 +5,7 @@ import org.opencode4workspace.bo.Conversation.ConversationChildren;
 import org.opencode4workspace.bo.Message;
 import org.opencode4workspace.bo.Message.MessageFields;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
+import org.opencode4workspace.json.GraphQLRequest;
 
 /**
  * @author Paul Withers
@@ -17,6 +18,14 @@ public class MessageGraphQLQuery extends BaseGraphQLQuery {
 	private static final String METHOD = "getMessage";
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Variable for the id of the Message, used by {@link #buildMessageGraphQueryWithMessageIdVariable()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable MESSAGE_ID_VARIABLE = new GraphQLVariable(MessageAttributes.ID.getLabel(), "ID!");
+	private static volatile String messageByIdQuery;
+
 	/**
 	 * @author Paul Withers
 	 * @since 0.5.0
@@ -85,6 +94,57 @@ public class MessageGraphQLQuery extends BaseGraphQLQuery {
 		if ("".equals(messageId)) {
 			throw new WWException("messageId is mandatory");
 		}
+		return buildMessageGraphQuery(messageId);
+	}
+
+	/**
+	 * Easy method to create the basic Message query with the id passed as the variable {@link #MESSAGE_ID_VARIABLE}, rather than written into the query
+	 * 
+	 * @return MessageGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static MessageGraphQLQuery buildMessageGraphQueryWithMessageIdVariable() throws WWException {
+		return buildMessageGraphQuery(MESSAGE_ID_VARIABLE);
+	}
+
+	/**
+	 * Easy method to create a request for the basic Message query for the relevant Message. The query text is built once, with the id as a variable, and reused for every request
+	 * 
+	 * @param messageId
+	 *            String id for the Message
+	 * @return GraphQLRequest for the Message
+	 * @throws WWException
+	 *             if messageId is missing
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphQLRequest buildMessageRequestWithMessageId(String messageId) throws WWException {
+		if ("".equals(messageId)) {
+			throw new WWException("messageId is mandatory");
+		}
+		String query = messageByIdQuery;
+		if (null == query) {
+			query = buildMessageGraphQueryWithMessageIdVariable().returnQuery();
+			messageByIdQuery = query;
+		}
+		return new GraphQLRequest(query, METHOD).setVariable(MESSAGE_ID_VARIABLE, messageId);
+	}
+
+	/**
+	 * Creates the basic Message query ObjectDataSenderBuilder, filtered on id
+	 * 
+	 * @param messageId
+	 *            String id or GraphQLVariable for the Message
+	 * @return MessageGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	private static MessageGraphQLQuery buildMessageGraphQuery(Object messageId) throws WWException {
 		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
 		query.setObjectName(Message.ONE_MESSAGE_QUERY_OBJECT_NAME);
 		query.addAttribute(MessageAttributes.ID, messageId);
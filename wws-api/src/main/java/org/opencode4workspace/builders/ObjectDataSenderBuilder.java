@@ -1,16 +1,15 @@
 package org.opencode4workspace.builders;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TimeZone;
 
 import org.apache.commons.codec.binary.StringUtils;
 import org.opencode4workspace.WWException;
@@ -18,6 +17,7 @@ import org.opencode4workspace.bo.PageInfo;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
 import org.opencode4workspace.bo.WWQueryResponseObjectInterface;
 import org.opencode4workspace.graphql.builders.GraphQLJsonPropertyHelper;
+import org.opencode4workspace.json.Iso8601DateCodec;
 
 /**
  * @author Paul Withers
@@ -28,7 +28,7 @@ import org.opencode4workspace.graphql.builders.GraphQLJsonPropertyHelper;
  *        ObjectDataSenderBuilder of its own. Consult WWS Graph QL Builder for details of what attributes etc at https://workspace.ibm.com/graphql
  *
  */
-public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable {
+public class ObjectDataSenderBuilder extends AbstractDataSenderBuilder implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	private String objectName;
@@ -176,37 +176,25 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see org.opencode4workspace.builders.DataSenderBuilder#build()
+	 * @see org.opencode4workspace.builders.AbstractDataSenderBuilder#writeTo(java.lang.Appendable, boolean)
 	 */
 	@Override
-	public String build() {
-		return build(false);
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see org.opencode4workspace.graphql.builders.DataBringer#buildQuery(boolean)
-	 */
-	@Override
-	public String build(boolean pretty) {
+	public void writeTo(Appendable s, boolean pretty) throws IOException {
 		boolean isFirst = true;
-		StringBuilder s = new StringBuilder();
 		// Add object name and type to case to, if set
-		s.append(getObjectForQuery() + " ");
+		s.append(getObjectForQuery()).append(" ");
 
 		// Add attributes, if exist
 		if (!attributesList.isEmpty()) {
 			s.append("(");
-			for (String key : attributesList.keySet()) {
+			for (Map.Entry<String, Object> attribute : attributesList.entrySet()) {
 				if (!isFirst) {
 					s.append(" ");
 				} else {
 					isFirst = false;
 				}
-				s.append(key + ": ");
-				Object obj = attributesList.get(key);
-				convertAttributeValue(s, obj);
+				s.append(attribute.getKey()).append(": ");
+				convertAttributeValue(s, attribute.getValue());
 			}
 			s.append(") ");
 		}
@@ -219,7 +207,8 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 
 		// Add pageInfo, if required
 		if (null != pageInfo) {
-			s.append(pageInfo.build(pretty) + " ");
+			pageInfo.writeTo(s, pretty);
+			s.append(" ");
 		}
 
 		// Open "items" container, if required
@@ -232,7 +221,7 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 
 		// Add fields
 		isFirst = true;
-		for (Object field : fieldsList) {
+		for (String field : fieldsList) {
 			if (!isFirst) {
 				if (pretty) {
 					s.append("\n\r");
@@ -256,7 +245,7 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 			} else {
 				isFirst = false;
 			}
-			s.append(child.build(pretty));
+			write(child, s, pretty);
 		}
 
 		// Close "items" container, if required
@@ -272,29 +261,28 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 			s.append("\n\r");
 		}
 		s.append("}");
-		return s.toString();
 	}
 
 	/**
 	 * Converts a value used as an attribute to filter the query to the correct JSON format
 	 * 
 	 * @param s
-	 *            StringBuilder containing the JSON for the query
+	 *            Appendable containing the JSON for the query
 	 * @param obj
 	 *            Object value for the attribute
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
 	 * 
 	 * @since 0.5.0
 	 */
-	private void convertAttributeValue(StringBuilder s, Object obj) {
+	private void convertAttributeValue(Appendable s, Object obj) throws IOException {
 		if (obj instanceof Date) {
-			SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-			Date dt = (Date) obj;
-			TimeZone tz = TimeZone.getDefault();
-			df.setTimeZone(tz);
-			s.append(df.format(dt));
+			Iso8601DateCodec.formatTo(s, (Date) obj);
+		} else if (obj instanceof GraphQLVariable) {
+			s.append(obj.toString());
 		} else if (obj instanceof String) {
 			s.append("\"");
-			s.append(obj);
+			s.append((String) obj);
 			s.append("\"");
 		} else if (obj instanceof List) {
 			s.append("[");
@@ -309,7 +297,7 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 			}
 			s.append("]");
 		} else {
-			s.append(obj);
+			s.append(String.valueOf(obj));
 		}
 	}
 
@@ -489,7 +477,7 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 	 * @param enumName
 	 *            enum, from which label property will give attribute name to filter on
 	 * @param value
-	 *            Object, value to filter on
+	 *            Object, value to filter on, or a {@link GraphQLVariable} whose value will be passed with the request
 	 * @return ObjectDataSenderBuilder, current object
 	 * @throws WWException
 	 *             containing an error message, if the value is a different data type to what the enum expects
@@ -497,7 +485,7 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 	 * @since 0.5.0
 	 */
 	public ObjectDataSenderBuilder addAttribute(WWFieldsAttributesInterface enumName, Object value) throws WWException {
-		if (value.getClass().equals(enumName.getObjectClassType())) {
+		if (value instanceof GraphQLVariable || value.getClass().equals(enumName.getObjectClassType())) {
 			attributesList.put(enumName.getLabel(), value);
 		} else {
 			if ("java.util.List".equals(enumName.getObjectClassType().getName())) {
@@ -618,6 +606,15 @@ public class ObjectDataSenderBuilder implements IDataSenderBuilder, Serializable
 		return this;
 	}
 
+	/**
+	 * @return ObjectDataSenderBuilder containing the PageInfo fields to return, or null if PageInfo is not requested
+	 * 
+	 * @since 0.8.0
+	 */
+	public ObjectDataSenderBuilder getPageInfo() {
+		return pageInfo;
+	}
+
 	/**
 	 * Remove the request for PageInfo from this object
 	 * 
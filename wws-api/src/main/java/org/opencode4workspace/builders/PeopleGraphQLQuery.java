@@ -7,6 +7,7 @@ import org.opencode4workspace.bo.Person;
 import org.opencode4workspace.bo.Person.PersonChildren;
 import org.opencode4workspace.bo.Person.PersonFields;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
+import org.opencode4workspace.graphql.BasicPaginationEnum;
 
 /**
  * @author Paul Withers
@@ -72,6 +73,13 @@ public class PeopleGraphQLQuery extends BaseGraphQLQuery {
 	private static final String METHOD = "getPeople";
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Variable for the word in a person's name, used by {@link #buildPagedPersonQueryByNameVariable()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable NAME_VARIABLE = new GraphQLVariable(PeopleAttributes.NAME.getLabel(), "String");
+
 	/**
 	 * Builds a People query based on a List of IDs of person entries
 	 * 
@@ -112,6 +120,24 @@ public class PeopleGraphQLQuery extends BaseGraphQLQuery {
 		return query;
 	}
 
+	/**
+	 * Builds a query for one page of the people with a word in their name. The name, page size and cursor are all passed as variables: {@link #NAME_VARIABLE} and
+	 * {@link BasicPaginationEnum#getVariable()} for FIRST and AFTER, so the same query text can be used for every search and every page
+	 * 
+	 * @return PeopleGraphQLQuery of basic unfiltered person fields and children
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static PeopleGraphQLQuery buildPagedPersonQueryByNameVariable() throws WWException {
+		PeopleGraphQLQuery query = buildUnfilteredPersonQuery();
+		query.addAttribute(PeopleAttributes.NAME, NAME_VARIABLE);
+		query.addAttribute(BasicPaginationEnum.FIRST, BasicPaginationEnum.FIRST.getVariable());
+		query.addAttribute(BasicPaginationEnum.AFTER, BasicPaginationEnum.AFTER.getVariable());
+		return query;
+	}
+
 	/**
 	 * Builds a query of all fields and children in a Person object
 	 * 
@@ -5,6 +5,7 @@ import org.opencode4workspace.bo.Person;
 import org.opencode4workspace.bo.Person.PersonChildren;
 import org.opencode4workspace.bo.Person.PersonFields;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
+import org.opencode4workspace.json.GraphQLRequest;
 
 /**
  * @author Paul Withers
@@ -70,6 +71,14 @@ public class PersonGraphQLQuery extends BaseGraphQLQuery {
 	private static final String METHOD_GET_PROFILE = "getProfile";
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Variable for the id of the Person, used by {@link #buildPersonQueryWithIdVariable()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable PERSON_ID_VARIABLE = new GraphQLVariable(PersonAttributes.ID.getLabel(), "ID!");
+	private static volatile String personByIdQuery;
+
 	/**
 	 * East method to create a basic Person query ObjectDataSenderBuilder for the relevant Person, filtered on id
 	 * 
@@ -85,6 +94,57 @@ public class PersonGraphQLQuery extends BaseGraphQLQuery {
 		if ("".equals(personId)) {
 			return buildMyProfileQuery();
 		}
+		return buildPersonQuery(personId);
+	}
+
+	/**
+	 * Easy method to create the basic Person query with the id passed as the variable {@link #PERSON_ID_VARIABLE}, rather than written into the query
+	 * 
+	 * @return PersonGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static PersonGraphQLQuery buildPersonQueryWithIdVariable() throws WWException {
+		return buildPersonQuery(PERSON_ID_VARIABLE);
+	}
+
+	/**
+	 * Easy method to create a request for the basic Person query for the relevant Person. The query text is built once, with the id as a variable, and reused for every request
+	 * 
+	 * @param personId
+	 *            String id for the Person. If blank, requests "me"
+	 * @return GraphQLRequest for the Person
+	 * @throws WWException
+	 *             if the request could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphQLRequest buildPersonRequestById(String personId) throws WWException {
+		if ("".equals(personId)) {
+			return new GraphQLRequest(buildMyProfileQuery());
+		}
+		String query = personByIdQuery;
+		if (null == query) {
+			query = buildPersonQueryWithIdVariable().returnQuery();
+			personByIdQuery = query;
+		}
+		return new GraphQLRequest(query, METHOD_GET_PROFILE).setVariable(PERSON_ID_VARIABLE, personId);
+	}
+
+	/**
+	 * Creates the basic Person query ObjectDataSenderBuilder, filtered on id
+	 * 
+	 * @param personId
+	 *            String id or GraphQLVariable for the Person
+	 * @return PersonGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	private static PersonGraphQLQuery buildPersonQuery(Object personId) throws WWException {
 		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
 		query.setObjectName(Person.ONE_PERSON_QUERY_OBJECT_NAME);
 		query.addAttribute(PersonAttributes.ID, personId);
@@ -1,5 +1,6 @@
 package org.opencode4workspace.builders;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -8,19 +9,31 @@ import java.io.Serializable;
  * 
  *        IDataSenderBuilder for use when only a scalar field needs to be sent, e.g. for deleteSpace mutation, where return query is just "{successful}"
  */
-public class ScalarDataSenderBuilder implements Serializable, IDataSenderBuilder {
+public class ScalarDataSenderBuilder extends AbstractDataSenderBuilder implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	private String fieldName;
 
 	@Override
-	public String build() {
-		return build(false);
+	public String build(boolean pretty) {
+		return fieldName;
 	}
 
+	/**
+	 * Writes the scalar field name to an Appendable. There is no structure to style, so pretty is ignored
+	 * 
+	 * @param out
+	 *            Appendable to write the field name to
+	 * @param pretty
+	 *            boolean, ignored
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 * 
+	 * @since 0.8.0
+	 */
 	@Override
-	public String build(boolean pretty) {
-		return fieldName;
+	public void writeTo(Appendable out, boolean pretty) throws IOException {
+		out.append(fieldName);
 	}
 
 	public ScalarDataSenderBuilder(String fieldName) {
@@ -11,6 +11,7 @@ import org.opencode4workspace.bo.Space.SpaceChildren;
 import org.opencode4workspace.bo.Space.SpaceFields;
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
 import org.opencode4workspace.graphql.BasicPaginationEnum;
+import org.opencode4workspace.json.GraphQLRequest;
 
 /**
  * @author Paul Withers
@@ -23,6 +24,14 @@ public class SpaceGraphQLQuery extends BaseGraphQLQuery {
 	private static final String METHOD = "getSpace";
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Variable for the id of the Space, used by {@link #buildSpaceGraphQueryWithSpaceIdVariable()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable SPACE_ID_VARIABLE = new GraphQLVariable(SpaceAttributes.ID.getLabel(), "ID!");
+	private static volatile String spaceByIdQuery;
+
 	/**
 	 * @author Paul Withers
 	 * @since 0.5.0
@@ -91,6 +100,57 @@ public class SpaceGraphQLQuery extends BaseGraphQLQuery {
 		if ("".equals(spaceId)) {
 			throw new WWException("messageId is mandatory");
 		}
+		return buildSpaceGraphQuery(spaceId);
+	}
+
+	/**
+	 * Easy method to create the basic Space query with the id passed as the variable {@link #SPACE_ID_VARIABLE}, rather than written into the query
+	 * 
+	 * @return SpaceGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static SpaceGraphQLQuery buildSpaceGraphQueryWithSpaceIdVariable() throws WWException {
+		return buildSpaceGraphQuery(SPACE_ID_VARIABLE);
+	}
+
+	/**
+	 * Easy method to create a request for the basic Space query for the relevant Space. The query text is built once, with the id as a variable, and reused for every request
+	 * 
+	 * @param spaceId
+	 *            String id for the Space to return
+	 * @return GraphQLRequest for the Space
+	 * @throws WWException
+	 *             if spaceId is missing
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphQLRequest buildSpaceRequestWithSpaceId(String spaceId) throws WWException {
+		if ("".equals(spaceId)) {
+			throw new WWException("spaceId is mandatory");
+		}
+		String query = spaceByIdQuery;
+		if (null == query) {
+			query = buildSpaceGraphQueryWithSpaceIdVariable().returnQuery();
+			spaceByIdQuery = query;
+		}
+		return new GraphQLRequest(query, METHOD).setVariable(SPACE_ID_VARIABLE, spaceId);
+	}
+
+	/**
+	 * Creates the basic Space query ObjectDataSenderBuilder, filtered on id
+	 * 
+	 * @param spaceId
+	 *            String id or GraphQLVariable for the Space to return
+	 * @return SpaceGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	private static SpaceGraphQLQuery buildSpaceGraphQuery(Object spaceId) throws WWException {
 		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
 		query.setObjectName(Space.ONE_SPACE_QUERY_OBJECT_NAME);
 		query.addAttribute(SpaceAttributes.ID, spaceId);
@@ -5,7 +5,10 @@ import org.opencode4workspace.bo.Person.PersonChildren;
 import org.opencode4workspace.bo.Person.PersonFields;
 import org.opencode4workspace.bo.Space;
 import org.opencode4workspace.bo.Space.SpaceChildren;
+import org.opencode4workspace.bo.Space.SpaceFields;
 import org.opencode4workspace.builders.SpaceGraphQLQuery.SpaceAttributes;
+import org.opencode4workspace.graphql.BasicPaginationEnum;
+import org.opencode4workspace.json.GraphQLRequest;
 
 /**
  * @author Paul Withers
@@ -19,6 +22,14 @@ public class SpaceMembersGraphQLQuery extends BaseGraphQLQuery {
 	private static final String METHOD = "getSpaceMembers";
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Variable for the id of the Space, used by {@link #buildSpaceMemberGraphQueryWithSpaceIdVariable()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public static final GraphQLVariable SPACE_ID_VARIABLE = new GraphQLVariable(SpaceAttributes.ID.getLabel(), "ID!");
+	private static volatile String spaceMembersByIdQuery;
+
 	/**
 	 * Easy method to create a basic Conversation query ObjectDataSenderBuilder for a relevant conversation ID
 	 * 
@@ -34,10 +45,99 @@ public class SpaceMembersGraphQLQuery extends BaseGraphQLQuery {
 		if ("".equals(spaceId)) {
 			throw new WWException("spaceId is mandatory");
 		}
+		return buildSpaceMemberGraphQuery(spaceId);
+	}
+
+	/**
+	 * Easy method to create the basic Space query with the id passed as the variable {@link #SPACE_ID_VARIABLE}, rather than written into the query
+	 * 
+	 * @return SpaceMembersGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static SpaceMembersGraphQLQuery buildSpaceMemberGraphQueryWithSpaceIdVariable() throws WWException {
+		return buildSpaceMemberGraphQuery(SPACE_ID_VARIABLE);
+	}
+
+	/**
+	 * Easy method to create a request for the basic Space query for the relevant Space. The query text is built once, with the id as a variable, and reused for every request
+	 * 
+	 * @param spaceId
+	 *            String id for the Space
+	 * @return GraphQLRequest for the Space
+	 * @throws WWException
+	 *             if spaceId is missing
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphQLRequest buildSpaceMemberRequestBySpaceId(String spaceId) throws WWException {
+		if ("".equals(spaceId)) {
+			throw new WWException("spaceId is mandatory");
+		}
+		String query = spaceMembersByIdQuery;
+		if (null == query) {
+			query = buildSpaceMemberGraphQueryWithSpaceIdVariable().returnQuery();
+			spaceMembersByIdQuery = query;
+		}
+		return new GraphQLRequest(query, METHOD).setVariable(SPACE_ID_VARIABLE, spaceId);
+	}
+
+	/**
+	 * Easy method to create a query for one page of the Members of a Space. The Space id, page size and cursor are all passed as variables: {@link #SPACE_ID_VARIABLE} and
+	 * {@link BasicPaginationEnum#getVariable()} for FIRST and AFTER. The query requests pageInfo for the Members, so very large Spaces can be paged through rather than returned in one response
+	 * 
+	 * @return SpaceMembersGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	public static SpaceMembersGraphQLQuery buildPagedSpaceMembersQuery() throws WWException {
+		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
+		query.setObjectName(Space.ONE_SPACE_QUERY_OBJECT_NAME);
+		query.addAttribute(SpaceAttributes.ID, SPACE_ID_VARIABLE);
+		query.addField(SpaceFields.ID);
+		ObjectDataSenderBuilder members = new ObjectDataSenderBuilder(SpaceChildren.MEMBERS.getLabel(), true);
+		members.addAttribute(BasicPaginationEnum.FIRST, BasicPaginationEnum.FIRST.getVariable());
+		members.addAttribute(BasicPaginationEnum.AFTER, BasicPaginationEnum.AFTER.getVariable());
+		members.addPageInfo();
+		query.addChild(addStandardMemberFields(members));
+		return new SpaceMembersGraphQLQuery(query);
+	}
+
+	/**
+	 * Creates the basic Space query ObjectDataSenderBuilder, filtered on id
+	 * 
+	 * @param spaceId
+	 *            String id or GraphQLVariable for the Space
+	 * @return SpaceMembersGraphQLQuery, the current object
+	 * @throws WWException
+	 *             if the query could not be built
+	 * 
+	 * @since 0.8.0
+	 */
+	private static SpaceMembersGraphQLQuery buildSpaceMemberGraphQuery(Object spaceId) throws WWException {
 		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder();
 		query.setObjectName(Space.ONE_SPACE_QUERY_OBJECT_NAME);
 		query.addAttribute(SpaceAttributes.ID, spaceId);
 		ObjectDataSenderBuilder members = new ObjectDataSenderBuilder(SpaceChildren.MEMBERS.getLabel(), true);
+		query.addChild(addStandardMemberFields(members));
+		return new SpaceMembersGraphQLQuery(query);
+
+	}
+
+	/**
+	 * Adds the standard fields and children to a Members query object
+	 * 
+	 * @param members
+	 *            ObjectDataSenderBuilder for the Members, with its pagination attributes
+	 * @return ObjectDataSenderBuilder, the Members query object
+	 * 
+	 * @since 0.8.0
+	 */
+	private static ObjectDataSenderBuilder addStandardMemberFields(ObjectDataSenderBuilder members) {
 		members.addField(PersonFields.ID);
 		members.addField(PersonFields.PHOTO_URL);
 		members.addField(PersonFields.EMAIL);
@@ -46,9 +146,7 @@ public class SpaceMembersGraphQLQuery extends BaseGraphQLQuery {
 		members.addField(PersonFields.UPDATED);
 		members.addChild(new BasicCreatedByUpdatedByDataSenderBuilder(PersonChildren.CREATED_BY));
 		members.addChild(new BasicCreatedByUpdatedByDataSenderBuilder(PersonChildren.UPDATED_BY));
-		query.addChild(members);
-		return new SpaceMembersGraphQLQuery(query);
-
+		return members;
 	}
 
 	/**
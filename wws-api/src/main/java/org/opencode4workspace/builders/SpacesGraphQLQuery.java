@@ -32,9 +32,40 @@ public class SpacesGraphQLQuery extends BaseGraphQLQuery {
 	 * @since 0.5.0
 	 */
 	public static SpacesGraphQLQuery buildStandardGetSpacesQuery() throws WWException {
-
 		ObjectDataSenderBuilder spaces = new ObjectDataSenderBuilder(Space.SPACES_QUERY_OBJECT_NAME, true);
 		spaces.addAttribute(BasicPaginationEnum.FIRST.getLabel(), 100);
+		return buildGetSpacesQuery(spaces);
+	}
+
+	/**
+	 * Easy method to create the basic Spaces query with the page size and cursor passed as the variables {@link BasicPaginationEnum#getVariable()} for FIRST and AFTER. The query text is the
+	 * same for every page, so it can be built once and each page requested with the endCursor of the previous one
+	 * 
+	 * @return SpacesGraphQLQuery, this object
+	 * @throws WWException
+	 *             if the attributes are invalid
+	 * 
+	 * @since 0.8.0
+	 */
+	public static SpacesGraphQLQuery buildPagedGetSpacesQuery() throws WWException {
+		ObjectDataSenderBuilder spaces = new ObjectDataSenderBuilder(Space.SPACES_QUERY_OBJECT_NAME, true);
+		spaces.addAttribute(BasicPaginationEnum.FIRST, BasicPaginationEnum.FIRST.getVariable());
+		spaces.addAttribute(BasicPaginationEnum.AFTER, BasicPaginationEnum.AFTER.getVariable());
+		return buildGetSpacesQuery(spaces);
+	}
+
+	/**
+	 * Adds pageInfo and the standard fields and children to a Spaces query object
+	 * 
+	 * @param spaces
+	 *            ObjectDataSenderBuilder for the Spaces, with its pagination attributes
+	 * @return SpacesGraphQLQuery, this object
+	 * @throws WWException
+	 *             if the attributes are invalid
+	 * 
+	 * @since 0.8.0
+	 */
+	private static SpacesGraphQLQuery buildGetSpacesQuery(ObjectDataSenderBuilder spaces) throws WWException {
 		spaces.addPageInfo();
 		spaces.addField(SpaceFields.ID);
 		spaces.addField(SpaceFields.TITLE);
@@ -1,29 +1,18 @@
 package org.opencode4workspace.endpoints;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.opencode4workspace.IWWClient;
 import org.opencode4workspace.WWException;
 import org.opencode4workspace.graphql.DataContainer;
-import org.opencode4workspace.graphql.ErrorContainer;
+import org.opencode4workspace.graphql.GraphQLResult;
 import org.opencode4workspace.graphql.GraphResultContainer;
 import org.opencode4workspace.json.GraphQLRequest;
-import org.opencode4workspace.json.RequestBuilder;
-import org.opencode4workspace.json.ResultParser;
-
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import org.opencode4workspace.transport.WWTransport;
 
 /**
  * @author Paul Withers
@@ -127,60 +116,35 @@ public abstract class AbstractWWGraphQLEndpoint implements IWWGraphQLEndpoint {
 		if (null == getRequest()) {
 			throw new WWException("A GraphQLRequest object must be loaded before calling the 'execute' method");
 		}
-		HttpPost post = preparePost();
-		CloseableHttpClient client = HttpClients.createDefault();
-		CloseableHttpResponse response = null;
-		try {
-			StringEntity postPayload = new StringEntity(new RequestBuilder<GraphQLRequest>(GraphQLRequest.class).buildJson(request), "UTF-8");
-			post.setEntity(postPayload);
-			if (getProfileDump()) {
-				System.out.println("[WWS Profiler] Query is " + postPayload);
-			}
-			long start = System.nanoTime();
-			response = client.execute(post);
-			if (getProfileDump()) {
-				long elapsed = System.nanoTime() - start;
-				System.out.println("[WWS Profiler] Query took " + elapsed / 1000000 + "ms");
-			}
-			if (response.getStatusLine().getStatusCode() == 200) {
-				// TODO: Handle if we need to re-authenticate
-				String content = EntityUtils.toString(response.getEntity());
-				setResultContent(content);
-				setResultContainer(new ResultParser<GraphResultContainer>(GraphResultContainer.class).parse(content));
-				if (null != getRequest().getReturnObjectTypes()) {
-					Gson gson = new Gson();
-					JsonObject resultAsJson = gson.fromJson(getResultContent(), JsonObject.class);
-					JsonElement dataAsJson = resultAsJson.get("data").getAsJsonObject();
-					Map<String, Object> aliasedChildren = new HashMap<String, Object>();
-					for (String alias : getRequest().getReturnObjectTypes().keySet()) {
-						JsonElement obj = (JsonObject) dataAsJson.getAsJsonObject().get(alias);
-						Object returnObj = null;
-						if (null != obj) {
-							returnObj = getRequest().getReturnObjectTypes().get(alias).parse(obj.toString());
-						}
-						aliasedChildren.put(alias, returnObj);
-					}
-					getResultContainer().getData().setAliasedChildren(aliasedChildren);
-				}
-				// TODO: Also allow access to children easily from WWClient
-				if (null != getResultContainer().getErrors()) {
-					ErrorContainer error = getResultContainer().getErrors().get(0);
-					if ("403 Forbidden".equals(error.getMessage())) {
-						throw new WWException("The operation was disallowed: " + error.getField().get("name"));
-					}
-				}
-			} else {
-				throw new WWException("Failure during login" + response.getStatusLine().getReasonPhrase());
-			}
-		} catch (Exception e) {
-			throw new WWException(e);
-		} finally {
-			if (response != null) {
-				try {
-					response.close();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
+		GraphQLResult result = new WWGraphQLExecutor(getClient(), true).execute(getRequest(), getProfileDump());
+		setResultContent(result.getContent());
+		setResultContainer(result.getResultContainer());
+	}
+
+	/**
+	 * @return WWTransport shared by all endpoints of the client
+	 * 
+	 * @since 0.8.0
+	 */
+	protected WWTransport getTransport() {
+		return getClient().getTransport();
+	}
+
+	/**
+	 * Consumes any remaining content and closes the response, so the underlying connection is returned to the transport's pool for re-use
+	 * 
+	 * @param response
+	 *            CloseableHttpResponse to release, may be null
+	 * 
+	 * @since 0.8.0
+	 */
+	protected static void releaseResponse(CloseableHttpResponse response) {
+		if (response != null) {
+			try {
+				EntityUtils.consumeQuietly(response.getEntity());
+				response.close();
+			} catch (Exception e) {
+				e.printStackTrace();
 			}
 		}
 	}
@@ -199,7 +163,9 @@ public abstract class AbstractWWGraphQLEndpoint implements IWWGraphQLEndpoint {
 	 * 
 	 * @see org.opencode4workspace.endpoints.IWWGraphQLEndpoint#setResultContent(java.lang.String)
 	 */
+	@SuppressWarnings("deprecation")
 	public void setResultContent(String resultContent) {
+		// Still populated for callers of the deprecated IWWClient#getResultContent()
 		client.setResultContent(resultContent);
 		this.resultContent = resultContent;
 	}
@@ -218,20 +184,6 @@ public abstract class AbstractWWGraphQLEndpoint implements IWWGraphQLEndpoint {
 		}
 	}
 
-	/**
-	 * Prepares the HttpPost with relevant headers - JWT Token and Content-Type
-	 * 
-	 * @return HttpPost containing the relevant headers
-	 * 
-	 * @since 0.5.0
-	 */
-	private HttpPost preparePost() {
-		HttpPost post = new HttpPost(WWDefinedEndpoints.GRAPHQL);
-		post.addHeader("Authorization", "Bearer " + getClient().getJWTToken());
-		post.addHeader("content-type", ContentType.APPLICATION_JSON.toString());
-		return post;
-	}
-
 	/*
 	 * (non-Javadoc)
 	 * 
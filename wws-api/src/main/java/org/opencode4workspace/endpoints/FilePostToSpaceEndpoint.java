@@ -19,14 +19,14 @@ import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.ContentBody;
 import org.apache.http.entity.mime.content.InputStreamBody;
 import org.apache.http.entity.mime.content.StringBody;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.opencode4workspace.IWWClient;
 import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
 import org.opencode4workspace.bo.FileResponse;
 import org.opencode4workspace.bo.PhotoResponse;
 import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.transport.WWRequestType;
 
 /**
  * @author Paul Withers
@@ -67,7 +67,6 @@ public class FilePostToSpaceEndpoint extends AbstractWWGraphQLEndpoint {
 	 */
 	public FileResponse postfile(File file, String spaceId, String imageSize) throws WWException {
 		HttpPost post = preparePost(spaceId);
-		CloseableHttpClient client = HttpClients.createDefault();
 		CloseableHttpResponse response = null;
 		try {
 			MultipartEntityBuilder builder = MultipartEntityBuilder.create();
@@ -82,7 +81,7 @@ public class FilePostToSpaceEndpoint extends AbstractWWGraphQLEndpoint {
 
 			HttpEntity multipart = builder.build();
 			post.setEntity(multipart);
-			response = client.execute(post);
+			response = getTransport().execute(post, getClient(), WWRequestType.FILE);
 			if (response.getStatusLine().getStatusCode() == 201) {
 				String content = EntityUtils.toString(response.getEntity());
 				FileResponse fileResponse = new ResultParser<FileResponse>(FileResponse.class).parse(content);
@@ -90,28 +89,30 @@ public class FilePostToSpaceEndpoint extends AbstractWWGraphQLEndpoint {
 			} else {
 				throw new WWException("Execution failed: " + response.getStatusLine().getReasonPhrase());
 			}
+		} catch (WWException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new WWException(e);
 		} finally {
-			if (response != null) {
-				try {
-					response.close();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			}
+			releaseResponse(response);
 		}
 	}
 
 	/**
 	 * @return HttpPost containing the relevant headers
+	 * @throws WWException
+	 *             if the client's token has expired and it could not be re-authenticated
 	 * 
 	 * @since 0.7.0
 	 */
-	private HttpPost preparePost(String spaceId) {
+	private HttpPost preparePost(String spaceId) throws WWException {
 		String url = WWDefinedEndpoints.V1_SPACE_ID + spaceId + "/files";
 		HttpPost post = new HttpPost(url);
-		post.addHeader("Authorization", "Bearer " + getClient().getJWTToken());
+		try {
+			post.addHeader("Authorization", "Bearer " + getClient().getJWTToken());
+		} catch (AuthenticationRefreshException e) {
+			throw e.getCause();
+		}
 		post.addHeader("Accept", ContentType.APPLICATION_JSON.toString());
 		return post;
 	}
@@ -4,14 +4,14 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.opencode4workspace.IWWClient;
 import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
 import org.opencode4workspace.bo.MessageResponse;
 import org.opencode4workspace.json.RequestBuilder;
 import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.transport.WWRequestType;
 
 /**
  * @author Christian Guedemann
@@ -46,13 +46,15 @@ public class MessagePostEndpoint extends AbstractWWGraphQLEndpoint {
 	 */
 	public MessageResponse postMessage(AppMessage message, String spaceId) throws WWException {
 		// TODO: If we pass the message and space id to the constructor, we may be able to make this more generic, and pass the response to resultContainer, then call parseResultContainer
-		HttpPost post = preparePost(spaceId);
-		CloseableHttpClient client = HttpClients.createDefault();
+		HttpPost post;
+		try {
+			post = buildMessagePost(getClient(), message, spaceId);
+		} catch (AuthenticationRefreshException e) {
+			throw e.getCause();
+		}
 		CloseableHttpResponse response = null;
 		try {
-			StringEntity postPayload = new StringEntity(new RequestBuilder<AppMessage>(AppMessage.class).buildJson(message), "UTF-8");
-			post.setEntity(postPayload);
-			response = client.execute(post);
+			response = getTransport().execute(post, getClient(), WWRequestType.MESSAGE);
 			if (response.getStatusLine().getStatusCode() == 201) {
 				String content = EntityUtils.toString(response.getEntity());
 				MessageResponse messageResponse = new ResultParser<MessageResponse>(MessageResponse.class).parse(content);
@@ -60,31 +62,34 @@ public class MessagePostEndpoint extends AbstractWWGraphQLEndpoint {
 			} else {
 				throw new WWException("Execution failed: " + response.getStatusLine().getReasonPhrase());
 			}
+		} catch (WWException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new WWException(e);
 		} finally {
-			if (response != null) {
-				try {
-					response.close();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			}
+			releaseResponse(response);
 		}
 
 	}
 
 	/**
+	 * Builds the HttpPost for posting a message, with the relevant headers and the message as JSON payload
+	 * 
+	 * @param client
+	 *            IWWClient containing the JWT token
+	 * @param message
+	 *            AppMessage message to post
 	 * @param spaceId
 	 *            String id of the space to post to
-	 * @return HttpPost containing the relevant headers
+	 * @return HttpPost ready to be executed
 	 * 
-	 * @since 0.5.0
+	 * @since 0.8.0
 	 */
-	private HttpPost preparePost(String spaceId) {
+	public static HttpPost buildMessagePost(IWWClient client, AppMessage message, String spaceId) {
 		HttpPost post = new HttpPost(WWDefinedEndpoints.V1_SPACE_ID + spaceId + "/messages");
-		post.addHeader("Authorization", "Bearer " + getClient().getJWTToken());
+		post.addHeader("Authorization", "Bearer " + client.getJWTToken());
 		post.addHeader("content-type", ContentType.APPLICATION_JSON.toString());
+		post.setEntity(new StringEntity(new RequestBuilder<AppMessage>(AppMessage.class).buildJson(message), "UTF-8"));
 		return post;
 	}
 }
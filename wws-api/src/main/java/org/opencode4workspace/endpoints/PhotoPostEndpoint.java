@@ -1,7 +1,6 @@
 package org.opencode4workspace.endpoints;
 
 import java.io.File;
-import java.io.FileInputStream;
 
 import org.apache.commons.codec.binary.StringUtils;
 import org.apache.http.HttpEntity;
@@ -10,13 +9,13 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.opencode4workspace.IWWClient;
 import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
 import org.opencode4workspace.bo.PhotoResponse;
 import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.transport.WWRequestType;
 
 /**
  * @author Paul Withers
@@ -45,7 +44,6 @@ public class PhotoPostEndpoint extends AbstractWWGraphQLEndpoint {
 	 */
 	public PhotoResponse postPhoto(File photo) throws WWException {
 		HttpPost post = preparePost();
-		CloseableHttpClient client = HttpClients.createDefault();
 		CloseableHttpResponse response = null;
 		try {
 			if (photo.length() > (300*1000)) {
@@ -55,18 +53,18 @@ public class PhotoPostEndpoint extends AbstractWWGraphQLEndpoint {
 			if (fileName.lastIndexOf(".jpg") == -1) {
 				throw new WWException("File must be a '.jpg. file");
 			}
-			FileInputStream stream = new FileInputStream(photo);
+			// A File body is repeatable, so the request can be replayed if the token is rejected
 			MultipartEntityBuilder builder = MultipartEntityBuilder.create();
 			builder.addBinaryBody(
 				    "file",
-				    stream,
+				    photo,
 				    ContentType.APPLICATION_OCTET_STREAM,
 				    photo.getName()
 				);
 
 			HttpEntity multipart = builder.build();
 			post.setEntity(multipart);
-			response = client.execute(post);
+			response = getTransport().execute(post, getClient(), WWRequestType.PHOTO);
 			if (response.getStatusLine().getStatusCode() == 200) {
 				String content = EntityUtils.toString(response.getEntity());
 				PhotoResponse photoResponse = new ResultParser<PhotoResponse>(PhotoResponse.class).parse(content);
@@ -74,27 +72,29 @@ public class PhotoPostEndpoint extends AbstractWWGraphQLEndpoint {
 			} else {
 				throw new WWException("Execution failed: " + response.getStatusLine().getReasonPhrase());
 			}
+		} catch (WWException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new WWException(e);
 		} finally {
-			if (response != null) {
-				try {
-					response.close();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			}
+			releaseResponse(response);
 		}
 	}
 
 	/**
 	 * @return HttpPost containing the relevant headers
+	 * @throws WWException
+	 *             if the client's token has expired and it could not be re-authenticated
 	 * 
 	 * @since 0.7.0
 	 */
-	private HttpPost preparePost() {
+	private HttpPost preparePost() throws WWException {
 		HttpPost post = new HttpPost(WWDefinedEndpoints.PHOTO);
-		post.addHeader("Authorization", "Bearer " + getClient().getJWTToken());
+		try {
+			post.addHeader("Authorization", "Bearer " + getClient().getJWTToken());
+		} catch (AuthenticationRefreshException e) {
+			throw e.getCause();
+		}
 		post.addHeader("Accept", ContentType.APPLICATION_JSON.toString());
 		return post;
 	}
@@ -15,10 +15,12 @@ import org.apache.http.util.EntityUtils;
 import org.opencode4workspace.WWClient;
 import org.opencode4workspace.WWException;
 import org.opencode4workspace.authentication.AppToken;
-import org.opencode4workspace.authentication.AuthenticationEndpoint;
 import org.opencode4workspace.authentication.AuthenticationResult;
 import org.opencode4workspace.authentication.PeopleToken;
+import org.opencode4workspace.authentication.RefreshableAuthenticationEndpoint;
 import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransport;
 
 /**
  * @author Christian Guedemann
@@ -27,7 +29,49 @@ import org.opencode4workspace.json.ResultParser;
  *        Authentication endpoint, generated POST requests for authentication
  *
  */
-public class WWAuthenticationEndpoint implements AuthenticationEndpoint {
+public class WWAuthenticationEndpoint implements RefreshableAuthenticationEndpoint {
+
+	private WWTransport transport;
+
+	/**
+	 * Creates an authentication endpoint. Unless a transport is set, the {@link WWClient} authenticating with it will pass its own transport
+	 * 
+	 * @since 0.5.0
+	 */
+	public WWAuthenticationEndpoint() {
+		super();
+	}
+
+	/**
+	 * Creates an authentication endpoint that posts via a shared transport
+	 * 
+	 * @param transport
+	 *            WWTransport to use for authentication requests
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWAuthenticationEndpoint(WWTransport transport) {
+		this.transport = transport;
+	}
+
+	/**
+	 * @return WWTransport used for authentication requests, or null if none has been set
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * @param transport
+	 *            WWTransport to use for authentication requests
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setTransport(WWTransport transport) {
+		this.transport = transport;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -36,33 +80,11 @@ public class WWAuthenticationEndpoint implements AuthenticationEndpoint {
 	 */
 	@Override
 	public AuthenticationResult authenticateApplication(String basicAuth) throws WWException {
-		CloseableHttpClient client = HttpClients.createDefault();
 		List<NameValuePair> params = new ArrayList<NameValuePair>(1);
-		HttpPost post = preparePost(basicAuth);
 		params.add(new BasicNameValuePair("grant_type", "client_credentials"));
-		CloseableHttpResponse response = null;
-		try {
-
-			post.setEntity(new UrlEncodedFormEntity(params, "UTF-8"));
-			response = client.execute(post);
-			if (response.getStatusLine().getStatusCode() == 200) {
-				String content = EntityUtils.toString(response.getEntity());
-				AppToken appToken = new ResultParser<AppToken>(AppToken.class).parse(content);
-				return AuthenticationResult.buildFromToken(appToken);
-			} else {
-				throw new WWException("Failure during login - " + response.getStatusLine().getStatusCode() + " " + response.getStatusLine().getReasonPhrase());
-			}
-		} catch (Exception e) {
-			throw new WWException(e);
-		} finally {
-			if (response != null) {
-				try {
-					response.close();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			}
-		}
+		String content = postForm(basicAuth, params);
+		AppToken appToken = new ResultParser<AppToken>(AppToken.class).parse(content);
+		return AuthenticationResult.buildFromToken(appToken);
 	}
 
 	/**
@@ -81,47 +103,89 @@ public class WWAuthenticationEndpoint implements AuthenticationEndpoint {
 		return post;
 	}
 
-	/*
-	 * (non-Javadoc)
+	/**
+	 * Posts the form parameters to the authentication endpoint. The shared transport is used if one is available, otherwise a single-use client is created and closed again
 	 * 
-	 * @see org.opencode4workspace.authentication.AuthenticatenEndpoint#authorizeUser (java.lang.String, java.lang.String, java.lang.String)
+	 * @param basicAuth
+	 *            String, Authorization header constructed from {@link WWClient#getAppCredentials()}
+	 * @param params
+	 *            List of form parameters to post
+	 * @return String content of the successful response
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful
+	 * 
+	 * @since 0.8.0
 	 */
-	@Override
-	public AuthenticationResult authorizeUser(String basicAuthApp, String userToken, String url) throws WWException {
-		CloseableHttpClient client = HttpClients.createDefault();
-		List<NameValuePair> params = new ArrayList<NameValuePair>(3);
-		HttpPost post = preparePost(basicAuthApp);
-		params.add(new BasicNameValuePair("grant_type", "authorization_code"));
-		params.add(new BasicNameValuePair("code", userToken));
-		params.add(new BasicNameValuePair("redirect_uri", url));
+	private String postForm(String basicAuth, List<NameValuePair> params) throws WWException {
+		HttpPost post = preparePost(basicAuth);
+		WWTransport current = transport;
+		CloseableHttpClient client = null;
 		CloseableHttpResponse response = null;
 		try {
-
 			post.setEntity(new UrlEncodedFormEntity(params, "UTF-8"));
-			response = client.execute(post);
+			if (null != current && !current.isClosed()) {
+				response = current.execute(post, null, WWRequestType.AUTHENTICATION);
+			} else {
+				client = HttpClients.createDefault();
+				response = client.execute(post);
+			}
 			if (response.getStatusLine().getStatusCode() == 200) {
-				String content = EntityUtils.toString(response.getEntity());
-				PeopleToken peopleToken = new ResultParser<PeopleToken>(PeopleToken.class).parse(content);
-				return AuthenticationResult.buildFromToken(peopleToken);
+				return EntityUtils.toString(response.getEntity());
 			} else {
 				throw new WWException("Failure during login - " + response.getStatusLine().getStatusCode() + " " + response.getStatusLine().getReasonPhrase());
 			}
+		} catch (WWException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new WWException(e);
 		} finally {
 			if (response != null) {
 				try {
+					EntityUtils.consumeQuietly(response.getEntity());
 					response.close();
 				} catch (Exception e) {
 					e.printStackTrace();
 				}
 			}
-			try {
-				client.close();
-			} catch (Exception e) {
-				e.printStackTrace();
+			if (client != null) {
+				try {
+					client.close();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
 			}
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.AuthenticatenEndpoint#authorizeUser (java.lang.String, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public AuthenticationResult authorizeUser(String basicAuthApp, String userToken, String url) throws WWException {
+		List<NameValuePair> params = new ArrayList<NameValuePair>(3);
+		params.add(new BasicNameValuePair("grant_type", "authorization_code"));
+		params.add(new BasicNameValuePair("code", userToken));
+		params.add(new BasicNameValuePair("redirect_uri", url));
+		String content = postForm(basicAuthApp, params);
+		PeopleToken peopleToken = new ResultParser<PeopleToken>(PeopleToken.class).parse(content);
+		return AuthenticationResult.buildFromToken(peopleToken);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.authentication.RefreshableAuthenticationEndpoint#refreshUser(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public AuthenticationResult refreshUser(String basicAuthApp, String refreshToken) throws WWException {
+		List<NameValuePair> params = new ArrayList<NameValuePair>(2);
+		params.add(new BasicNameValuePair("grant_type", "refresh_token"));
+		params.add(new BasicNameValuePair("refresh_token", refreshToken));
+		String content = postForm(basicAuthApp, params);
+		PeopleToken peopleToken = new ResultParser<PeopleToken>(PeopleToken.class).parse(content);
+		return AuthenticationResult.buildFromToken(peopleToken);
+	}
+
 }
@@ -0,0 +1,358 @@
+package org.opencode4workspace.endpoints;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+import org.apache.http.Consts;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.opencode4workspace.IWWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
+import org.opencode4workspace.graphql.ErrorContainer;
+import org.opencode4workspace.graphql.GraphQLResult;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.json.GraphQLRequest;
+import org.opencode4workspace.json.GraphResultDecoder;
+import org.opencode4workspace.json.RequestBuilder;
+import org.opencode4workspace.transport.Deadline;
+import org.opencode4workspace.transport.DeadlineExceededException;
+import org.opencode4workspace.transport.WWRequestType;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ * 
+ *        Stateless executor for GraphQL requests. Unlike {@link WWGraphQLEndpoint}, the request and result are not held in fields: each call to {@link #execute(GraphQLRequest)} returns its own
+ *        immutable {@link GraphQLResult}. A single executor can therefore be shared by all threads using a client. Responses are decoded in a single pass straight from the HTTP response stream,
+ *        so by default the raw JSON content is not kept.
+ *
+ */
+public class WWGraphQLExecutor {
+
+	private final IWWClient client;
+	private final boolean retainContent;
+	private final GraphResultDecoder decoder = new GraphResultDecoder();
+
+	/**
+	 * Counts the bytes read from the response stream, so the size of a response is known without buffering it
+	 * 
+	 * @since 0.8.0
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		private long count;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.io.FilterInputStream#read()
+		 */
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count++;
+			}
+			return b;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.io.FilterInputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.io.FilterInputStream#skip(long)
+		 */
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+
+		long getCount() {
+			return count;
+		}
+	}
+
+	/**
+	 * Creates an executor decoding responses straight from the HTTP response stream, without retaining the raw content
+	 * 
+	 * @param client
+	 *            IWWClient containing authentication details, token and transport
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWGraphQLExecutor(IWWClient client) {
+		this(client, false);
+	}
+
+	/**
+	 * @param client
+	 *            IWWClient containing authentication details, token and transport
+	 * @param retainContent
+	 *            boolean, whether to buffer the raw JSON content so it is available from {@link GraphQLResult#getContent()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public WWGraphQLExecutor(IWWClient client, boolean retainContent) {
+		this.client = client;
+		this.retainContent = retainContent;
+	}
+
+	/**
+	 * @return IWWClient containing authentication details, token and transport
+	 * 
+	 * @since 0.8.0
+	 */
+	public IWWClient getClient() {
+		return client;
+	}
+
+	/**
+	 * Executes the request
+	 * 
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @return GraphQLResult for the request
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult execute(GraphQLRequest request) throws WWException {
+		return execute(request, false);
+	}
+
+	/**
+	 * Executes the request, optionally dumping the query and time taken to System.out
+	 * 
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @param profileDump
+	 *            boolean, whether to output profiling information
+	 * @return GraphQLResult for the request
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult execute(GraphQLRequest request, boolean profileDump) throws WWException {
+		return execute(request, profileDump, Deadline.current());
+	}
+
+	/**
+	 * Executes the request within a deadline, covering any waits for the transport's limiters, retries and reading the response. If the deadline passes or is cancelled, the request is aborted
+	 * 
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @param deadline
+	 *            Deadline for the call, or null for none
+	 * @return GraphQLResult for the request
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful, or a {@link DeadlineExceededException} if the deadline passed or was cancelled
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult execute(GraphQLRequest request, Deadline deadline) throws WWException {
+		return execute(request, false, deadline);
+	}
+
+	/**
+	 * Executes the request within an optional deadline, optionally dumping the query and time taken to System.out
+	 * 
+	 * @param request
+	 *            GraphQLRequest to execute
+	 * @param profileDump
+	 *            boolean, whether to output profiling information
+	 * @param deadline
+	 *            Deadline for the call, or null for none
+	 * @return GraphQLResult for the request
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful
+	 * 
+	 * @since 0.8.0
+	 */
+	private GraphQLResult execute(GraphQLRequest request, boolean profileDump, Deadline deadline) throws WWException {
+		if (null == request) {
+			throw new WWException("A GraphQLRequest object must be passed to the 'execute' method");
+		}
+		HttpPost post;
+		try {
+			post = buildPost(client, request);
+		} catch (AuthenticationRefreshException e) {
+			throw e.getCause();
+		}
+		CloseableHttpResponse response = null;
+		try {
+			if (profileDump) {
+				// The entity is a repeatable StringEntity, so reading it here leaves it to be sent
+				System.out.println("[WWS Profiler] Query is " + EntityUtils.toString(post.getEntity()));
+			}
+			long start = System.nanoTime();
+			response = client.getTransport().execute(post, client, request.isMutation() ? WWRequestType.MUTATION : WWRequestType.QUERY, deadline);
+			if (profileDump) {
+				long elapsed = System.nanoTime() - start;
+				System.out.println("[WWS Profiler] Query took " + elapsed / 1000000 + "ms");
+			}
+			if (response.getStatusLine().getStatusCode() == 200) {
+				HttpEntity entity = response.getEntity();
+				Charset charset = ContentType.getOrDefault(entity).getCharset();
+				if (retainContent) {
+					byte[] body = EntityUtils.toByteArray(entity);
+					String content = new String(body, null == charset ? Consts.UTF_8 : charset);
+					return new GraphQLResult(decode(new StringReader(content), request), content, body.length);
+				}
+				CountingInputStream in = new CountingInputStream(entity.getContent());
+				Reader reader = new InputStreamReader(in, null == charset ? Consts.UTF_8 : charset);
+				try {
+					GraphResultContainer resultContainer = decode(reader, request);
+					return new GraphQLResult(resultContainer, null, in.getCount());
+				} finally {
+					reader.close();
+				}
+			} else {
+				throw new WWException("Failure during login" + response.getStatusLine().getReasonPhrase());
+			}
+		} catch (WWException e) {
+			// Includes the transport's DeadlineExceededException, CircuitOpenException, RateLimitExceededException and ConcurrencyLimitExceededException
+			throw e;
+		} catch (Exception e) {
+			if (null != deadline && deadline.isDone()) {
+				// The response was aborted while being read
+				throw new DeadlineExceededException(deadline.isCancelled());
+			}
+			throw new WWException(e);
+		} finally {
+			AbstractWWGraphQLEndpoint.releaseResponse(response);
+		}
+	}
+
+	/**
+	 * Builds the HttpPost for a GraphQL request, with the relevant headers and the request as JSON payload. Used by both the blocking executor and {@link org.opencode4workspace.WWAsyncClient}
+	 * 
+	 * @param client
+	 *            IWWClient containing the JWT token
+	 * @param request
+	 *            GraphQLRequest to post
+	 * @return HttpPost ready to be executed
+	 * 
+	 * @since 0.8.0
+	 */
+	public static HttpPost buildPost(IWWClient client, GraphQLRequest request) {
+		HttpPost post = new HttpPost(WWDefinedEndpoints.GRAPHQL);
+		post.addHeader("Authorization", "Bearer " + client.getJWTToken());
+		post.addHeader("content-type", ContentType.APPLICATION_JSON.toString());
+		post.setEntity(new StringEntity(new RequestBuilder<GraphQLRequest>(GraphQLRequest.class).buildJson(request), "UTF-8"));
+		return post;
+	}
+
+	/**
+	 * Decodes the response and checks for errors
+	 * 
+	 * @param reader
+	 *            Reader to read the JSON response from
+	 * @param request
+	 *            GraphQLRequest the response was returned for
+	 * @return GraphResultContainer containing data and errors
+	 * @throws IOException
+	 *             if the response could not be read
+	 * @throws WWException
+	 *             if the operation was disallowed
+	 * 
+	 * @since 0.8.0
+	 */
+	private GraphResultContainer decode(Reader reader, GraphQLRequest request) throws IOException, WWException {
+		GraphResultContainer resultContainer = decoder.decode(reader, request.getReturnObjectTypes());
+		checkErrors(resultContainer);
+		return resultContainer;
+	}
+
+	/**
+	 * Parses the content of a successful GraphQL response, including any aliased children requested via {@link GraphQLRequest#getReturnObjectTypes()}
+	 * 
+	 * @param content
+	 *            String JSON content returned from the GraphQL endpoint
+	 * @param request
+	 *            GraphQLRequest the content was returned for
+	 * @return GraphResultContainer containing data and errors
+	 * @throws WWException
+	 *             if the content could not be parsed or the operation was disallowed
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphResultContainer parseResponse(String content, GraphQLRequest request) throws WWException {
+		try {
+			return parseResponse(new StringReader(content), request);
+		} catch (IOException e) {
+			throw new WWException(e);
+		}
+	}
+
+	/**
+	 * Parses a successful GraphQL response from a Reader, including any aliased children requested via {@link GraphQLRequest#getReturnObjectTypes()}
+	 * 
+	 * @param reader
+	 *            Reader to read the JSON response from. The reader is not closed
+	 * @param request
+	 *            GraphQLRequest the response was returned for
+	 * @return GraphResultContainer containing data and errors
+	 * @throws IOException
+	 *             if the response could not be read
+	 * @throws WWException
+	 *             if the operation was disallowed
+	 * 
+	 * @since 0.8.0
+	 */
+	public static GraphResultContainer parseResponse(Reader reader, GraphQLRequest request) throws IOException, WWException {
+		GraphResultContainer resultContainer = new GraphResultDecoder().decode(reader, request.getReturnObjectTypes());
+		checkErrors(resultContainer);
+		return resultContainer;
+	}
+
+	/**
+	 * Throws an exception if the first error returned indicates the operation was disallowed
+	 * 
+	 * @param resultContainer
+	 *            GraphResultContainer to check
+	 * @throws WWException
+	 *             if the operation was disallowed
+	 * 
+	 * @since 0.8.0
+	 */
+	private static void checkErrors(GraphResultContainer resultContainer) throws WWException {
+		// TODO: Also allow access to children easily from WWClient
+		if (null != resultContainer.getErrors() && !resultContainer.getErrors().isEmpty()) {
+			ErrorContainer error = resultContainer.getErrors().get(0);
+			if ("403 Forbidden".equals(error.getMessage())) {
+				throw new WWException("The operation was disallowed: " + error.getField().get("name"));
+			}
+		}
+	}
+
+}
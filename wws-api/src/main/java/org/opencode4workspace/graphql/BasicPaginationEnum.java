@@ -1,6 +1,7 @@
 package org.opencode4workspace.graphql;
 
 import org.opencode4workspace.bo.WWFieldsAttributesInterface;
+import org.opencode4workspace.builders.GraphQLVariable;
 
 /**
  * @author Paul Withers
@@ -11,10 +12,11 @@ import org.opencode4workspace.bo.WWFieldsAttributesInterface;
  */
 public enum BasicPaginationEnum implements WWFieldsAttributesInterface {
 
-	FIRST("first", Integer.class), LAST("last", Integer.class), AFTER("after", String.class), BEFORE("before", String.class);
+	FIRST("first", Integer.class, "Int"), LAST("last", Integer.class, "Int"), AFTER("after", String.class, "String"), BEFORE("before", String.class, "String");
 
 	private String label;
 	private Class<?> objectClassType;
+	private GraphQLVariable variable;
 
 	/**
 	 * Constructor
@@ -23,10 +25,13 @@ public enum BasicPaginationEnum implements WWFieldsAttributesInterface {
 	 *            String, WWS variable
 	 * @param objectClassType
 	 *            Class<?> Java data type expected for passing across
+	 * @param variableType
+	 *            String, GraphQL type when the attribute is passed as a variable
 	 */
-	private BasicPaginationEnum(String label, Class<?> objectClassType) {
+	private BasicPaginationEnum(String label, Class<?> objectClassType, String variableType) {
 		this.label = label;
 		this.objectClassType = objectClassType;
+		this.variable = new GraphQLVariable(label, variableType);
 	}
 
 	/*
@@ -49,4 +54,13 @@ public enum BasicPaginationEnum implements WWFieldsAttributesInterface {
 		return objectClassType;
 	}
 
+	/**
+	 * @return GraphQLVariable named after the attribute, e.g. "$after: String", so a paged query can be built once and each page requested by passing the cursor as a variable
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLVariable getVariable() {
+		return variable;
+	}
+
 }
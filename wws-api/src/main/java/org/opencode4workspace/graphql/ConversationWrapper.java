@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.opencode4workspace.bo.Conversation;
 import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.json.GenerateJsonAdapter;
+import org.opencode4workspace.json.JsonAdapterSetter;
 
 /**
  * @author Christian Guedemann
@@ -12,9 +14,11 @@ import org.opencode4workspace.bo.Message;
  *        Serializable wrapper for a Conversation. This is required to navigate down to the Messages - getMessages will skip the "items" child of the resulting JSON for the Conversation
  *
  */
+@GenerateJsonAdapter
 public class ConversationWrapper extends Conversation {
 
 	private static final long serialVersionUID = 1L;
+	@JsonAdapterSetter("setMessagesContainer")
 	private MessagesContainer messages = new MessagesContainer();
 
 	/*
@@ -41,4 +45,23 @@ public class ConversationWrapper extends Conversation {
 			messages.setItems(messagelist);
 		}
 	}
+
+	/**
+	 * @return MessagesContainer holding the Messages in the Conversation, with the PageInfo if it was requested
+	 * 
+	 * @since 0.8.0
+	 */
+	public MessagesContainer getMessagesContainer() {
+		return messages;
+	}
+
+	/**
+	 * @param messages
+	 *            MessagesContainer holding the Messages in the Conversation
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setMessagesContainer(MessagesContainer messages) {
+		this.messages = messages;
+	}
 }
@@ -2,6 +2,8 @@ package org.opencode4workspace.graphql;
 
 import java.io.Serializable;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.6.0
@@ -9,6 +11,7 @@ import java.io.Serializable;
  *        Contaainer for the response to a createSpace mutation
  *
  */
+@GenerateJsonAdapter
 public class CreateSpaceContainer implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private SpaceWrapper space;
@@ -21,4 +24,13 @@ public class CreateSpaceContainer implements Serializable {
 		return space;
 	}
 
+	/**
+	 * @param space
+	 *            SpaceWrapper corresponding to newly created Space
+	 * @since 0.8.0
+	 */
+	public void setSpace(SpaceWrapper space) {
+		this.space = space;
+	}
+
 }
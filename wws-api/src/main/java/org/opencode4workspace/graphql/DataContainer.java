@@ -8,6 +8,7 @@ import org.opencode4workspace.WWException;
 import org.opencode4workspace.bo.FileResponse;
 import org.opencode4workspace.bo.Message;
 import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.json.GenerateJsonAdapter;
 
 /**
  * @author Christian Guedemann
@@ -17,6 +18,7 @@ import org.opencode4workspace.bo.Person;
  *        Top-level serializable container for Watson Workspace
  *
  */
+@GenerateJsonAdapter
 public class DataContainer implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -204,6 +206,96 @@ public class DataContainer implements Serializable {
 		return message;
 	}
 
+	/**
+	 * @param spaces
+	 *            SpacesContainer containing Spaces available for the Application / User
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setSpaces(SpacesContainer spaces) {
+		this.spaces = spaces;
+	}
+
+	/**
+	 * @param me
+	 *            Person object for current user
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setMe(Person me) {
+		this.me = me;
+	}
+
+	/**
+	 * @param person
+	 *            Person object for a given user
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setPerson(Person person) {
+		this.person = person;
+	}
+
+	/**
+	 * @param space
+	 *            SpaceWrapper for a given Workspace
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setSpace(SpaceWrapper space) {
+		this.space = space;
+	}
+
+	/**
+	 * @param people
+	 *            MembersContainer for people resulting from a query
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setPeople(MembersContainer people) {
+		this.people = people;
+	}
+
+	/**
+	 * @param message
+	 *            Message resulting from a query
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setMessage(Message message) {
+		this.message = message;
+	}
+
+	/**
+	 * @param createSpace
+	 *            CreateSpaceContainer resulting from a createSpace mutation
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setCreateSpace(CreateSpaceContainer createSpace) {
+		this.createSpace = createSpace;
+	}
+
+	/**
+	 * @param deleteSpace
+	 *            DeleteSpaceContainer resulting from a deleteSpace mutation
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setDeleteSpace(DeleteSpaceContainer deleteSpace) {
+		this.deleteSpace = deleteSpace;
+	}
+
+	/**
+	 * @param updateSpace
+	 *            UpdateSpaceContainer resulting from an updateSpace mutation
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setUpdateSpace(UpdateSpaceContainer updateSpace) {
+		this.updateSpace = updateSpace;
+	}
+
 	/**
 	 * When passing aliases, this holds the return objects for those aliases, e.g.
 	 * "space1", (SpaceWrapper) space1
@@ -1,5 +1,7 @@
 package org.opencode4workspace.graphql;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.6.0
@@ -7,6 +9,7 @@ package org.opencode4workspace.graphql;
  *        Container for response to a deleteSpace mutation
  *
  */
+@GenerateJsonAdapter
 public class DeleteSpaceContainer {
 	private boolean successful;
 
@@ -18,4 +21,13 @@ public class DeleteSpaceContainer {
 		return successful;
 	}
 
+	/**
+	 * @param successful
+	 *            boolean, whether or not the deleteSpace request was successful
+	 * @since 0.8.0
+	 */
+	public void setSuccessful(boolean successful) {
+		this.successful = successful;
+	}
+
 }
@@ -2,6 +2,8 @@ package org.opencode4workspace.graphql;
 
 import java.util.Map;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.5.0
@@ -13,6 +15,7 @@ import java.util.Map;
  *        </pre>
  *
  */
+@GenerateJsonAdapter
 public class ErrorContainer {
 	private String message;
 	private Map<String, Object> field;
@@ -34,4 +37,24 @@ public class ErrorContainer {
 	public Map<String, Object> getField() {
 		return field;
 	}
+
+	/**
+	 * @param message
+	 *            String message object, e.g. "500 Internal Server Error"
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * @param field
+	 *            Map of error field details, e.g. name="People", type="PersonCollection"
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setField(Map<String, Object> field) {
+		this.field = field;
+	}
 }
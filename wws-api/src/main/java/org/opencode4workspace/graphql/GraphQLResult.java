@@ -0,0 +1,119 @@
+package org.opencode4workspace.graphql;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.endpoints.WWGraphQLExecutor;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ * 
+ *        Immutable outcome of a single GraphQL request executed by {@link WWGraphQLExecutor}. Each request gets its own result, so results can be passed between threads without further
+ *        synchronisation.
+ *
+ */
+public final class GraphQLResult {
+
+	private final GraphResultContainer resultContainer;
+	private final String content;
+	private final long contentLength;
+
+	/**
+	 * @param resultContainer
+	 *            GraphResultContainer parsed from the response
+	 * @param content
+	 *            String JSON content of the response, or null if the response was decoded without being retained
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult(GraphResultContainer resultContainer, String content) {
+		this(resultContainer, content, (null == content) ? -1 : content.length());
+	}
+
+	/**
+	 * @param resultContainer
+	 *            GraphResultContainer parsed from the response
+	 * @param content
+	 *            String JSON content of the response, or null if the response was decoded without being retained
+	 * @param contentLength
+	 *            long, size of the response body in bytes, or -1 if unknown
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLResult(GraphResultContainer resultContainer, String content, long contentLength) {
+		this.resultContainer = resultContainer;
+		this.content = content;
+		this.contentLength = contentLength;
+	}
+
+	/**
+	 * @return GraphResultContainer parsed from the response
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphResultContainer getResultContainer() {
+		return resultContainer;
+	}
+
+	/**
+	 * @return Data Container containing the contents of the result of the query
+	 * @throws WWException
+	 *             error message if no data is returned
+	 * 
+	 * @since 0.8.0
+	 */
+	public DataContainer getData() throws WWException {
+		return resultContainer.getData();
+	}
+
+	/**
+	 * @return unmodifiable List of errors returned for the query, empty if there were none
+	 * 
+	 * @since 0.8.0
+	 */
+	public List<ErrorContainer> getErrors() {
+		if (null == resultContainer.getErrors()) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(resultContainer.getErrors());
+	}
+
+	/**
+	 * @return unmodifiable Map of aliased children requested via a multi-query, or null if the query had no aliases
+	 * 
+	 * @since 0.8.0
+	 */
+	public Map<String, Object> getAliasedChildren() {
+		try {
+			Map<String, Object> aliasedChildren = resultContainer.getData().getAliasedChildren();
+			if (null != aliasedChildren) {
+				return Collections.unmodifiableMap(aliasedChildren);
+			}
+		} catch (WWException e) {
+			// No data was returned, so there are no aliased children
+		}
+		return null;
+	}
+
+	/**
+	 * @return String JSON content of the response, as returned from Watson Work Services, or null unless the executor was created to retain content
+	 * 
+	 * @since 0.8.0
+	 */
+	public String getContent() {
+		return content;
+	}
+
+	/**
+	 * @return long, size of the response body in bytes, whether or not the content was retained, or -1 if unknown
+	 * 
+	 * @since 0.8.0
+	 */
+	public long getContentLength() {
+		return contentLength;
+	}
+
+}
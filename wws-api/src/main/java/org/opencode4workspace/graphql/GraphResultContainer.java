@@ -3,6 +3,7 @@ package org.opencode4workspace.graphql;
 import java.util.List;
 
 import org.opencode4workspace.WWException;
+import org.opencode4workspace.json.GenerateJsonAdapter;
 
 /**
  * @author Christian Guedemann
@@ -12,6 +13,7 @@ import org.opencode4workspace.WWException;
  *        Serializable container for the result of a Graph Query
  *
  */
+@GenerateJsonAdapter
 public class GraphResultContainer {
 
 	private DataContainer data;
@@ -40,4 +42,24 @@ public class GraphResultContainer {
 		return errors;
 	}
 
+	/**
+	 * @param data
+	 *            Data Container containing the contents of the result of the query
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setData(DataContainer data) {
+		this.data = data;
+	}
+
+	/**
+	 * @param errors
+	 *            Errors Container containing any errors of the result of the query
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setErrors(List<ErrorContainer> errors) {
+		this.errors = errors;
+	}
+
 }
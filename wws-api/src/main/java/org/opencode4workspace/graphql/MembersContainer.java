@@ -3,20 +3,24 @@ package org.opencode4workspace.graphql;
 import java.io.Serializable;
 import java.util.List;
 
+import org.opencode4workspace.bo.PageInfo;
 import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.json.GenerateJsonAdapter;
 
 /**
  * @author Christian Guedemann
  * @author Paul Withers
  * @since 0.5.0
  * 
- *        Serializable container for Members in a Watson Workspace Space. This is required because the query contains an items object.
+ *        Serializable container for Members in a Watson Workspace Space. This is required because the query contains an items object, and the pageInfo for requesting the next page.
  *
  */
+@GenerateJsonAdapter
 public class MembersContainer implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	private List<Person> items;
+	private PageInfo pageInfo;
 
 	/**
 	 * @return List of {@link Person} objects corresponding to the Members in a Space
@@ -26,4 +30,33 @@ public class MembersContainer implements Serializable {
 	public List<Person> getItems() {
 		return items;
 	}
+
+	/**
+	 * @param items
+	 *            List of {@link Person} objects corresponding to the Members in a Space
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setItems(List<Person> items) {
+		this.items = items;
+	}
+
+	/**
+	 * @return PageInfo for the page of Members, or null if the query did not request it
+	 * 
+	 * @since 0.8.0
+	 */
+	public PageInfo getPageInfo() {
+		return pageInfo;
+	}
+
+	/**
+	 * @param pageInfo
+	 *            PageInfo for the page of Members
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setPageInfo(PageInfo pageInfo) {
+		this.pageInfo = pageInfo;
+	}
 }
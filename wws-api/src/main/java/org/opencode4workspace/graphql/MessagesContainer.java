@@ -3,18 +3,22 @@ package org.opencode4workspace.graphql;
 import java.util.List;
 
 import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.bo.PageInfo;
+import org.opencode4workspace.json.GenerateJsonAdapter;
 
 /**
  * @author Christian Guedemann
  * @author Paul Withers
  * @since 0.5.0
  * 
- *        Serializable container for Messages in a Watson Workspace Conversation. This is required because the query contains an items object.
+ *        Serializable container for Messages in a Watson Workspace Conversation. This is required because the query contains an items object, and the pageInfo for requesting the next page.
  *
  */
+@GenerateJsonAdapter
 public class MessagesContainer {
 
 	private List<Message> items;
+	private PageInfo pageInfo;
 
 	/**
 	 * @return List of Message items in the Conversation
@@ -34,4 +38,23 @@ public class MessagesContainer {
 	public void setItems(List<Message> messages) {
 		items = messages;
 	}
+
+	/**
+	 * @return PageInfo for the page of Messages, or null if the query did not request it
+	 * 
+	 * @since 0.8.0
+	 */
+	public PageInfo getPageInfo() {
+		return pageInfo;
+	}
+
+	/**
+	 * @param pageInfo
+	 *            PageInfo for the page of Messages
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setPageInfo(PageInfo pageInfo) {
+		this.pageInfo = pageInfo;
+	}
 }
@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.opencode4workspace.bo.Person;
 import org.opencode4workspace.bo.Space;
+import org.opencode4workspace.json.GenerateJsonAdapter;
+import org.opencode4workspace.json.JsonAdapterSetter;
 
 /**
  * @author Christian Guedemann
@@ -16,10 +18,13 @@ import org.opencode4workspace.bo.Space;
  *        </ol>
  *
  */
+@GenerateJsonAdapter
 public class SpaceWrapper extends Space {
 
 	private static final long serialVersionUID = 1L;
+	@JsonAdapterSetter("setMembersContainer")
 	private MembersContainer members;
+	@JsonAdapterSetter("setConversationWrapper")
 	private ConversationWrapper conversation;
 
 	/*
@@ -43,4 +48,33 @@ public class SpaceWrapper extends Space {
 	public ConversationWrapper getConversation() {
 		return conversation;
 	}
+
+	/**
+	 * @return MembersContainer holding the Members of the Space, with the PageInfo if it was requested, or null if the query did not request the Members
+	 * 
+	 * @since 0.8.0
+	 */
+	public MembersContainer getMembersContainer() {
+		return members;
+	}
+
+	/**
+	 * @param members
+	 *            MembersContainer holding the Members of the Space
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setMembersContainer(MembersContainer members) {
+		this.members = members;
+	}
+
+	/**
+	 * @param conversation
+	 *            ConversationWrapper for the Conversation of the Space, returned by {@link #getConversation()}
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setConversationWrapper(ConversationWrapper conversation) {
+		this.conversation = conversation;
+	}
 }
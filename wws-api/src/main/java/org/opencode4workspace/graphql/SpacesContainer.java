@@ -4,18 +4,23 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.opencode4workspace.bo.PageInfo;
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Christian Guedemann
  * @author Paul Withers
  * @since 0.5.0
  * 
- *        Serializable container for SpaceWrappers for Watson Workspace Spaces. This is required because the query contains an items object.
+ *        Serializable container for SpaceWrappers for Watson Workspace Spaces. This is required because the query contains an items object, and the pageInfo for requesting the next page.
  *
  */
+@GenerateJsonAdapter
 public class SpacesContainer implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	private List<SpaceWrapper> items = new ArrayList<SpaceWrapper>();
+	private PageInfo pageInfo;
 
 	/**
 	 * @return List of SpaceWrapper objects for Watson Workspace Spaces
@@ -26,4 +31,33 @@ public class SpacesContainer implements Serializable {
 		return items;
 	}
 
+	/**
+	 * @param items
+	 *            List of SpaceWrapper objects for Watson Workspace Spaces
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setItems(List<SpaceWrapper> items) {
+		this.items = items;
+	}
+
+	/**
+	 * @return PageInfo for the page of Spaces, or null if the query did not request it
+	 * 
+	 * @since 0.8.0
+	 */
+	public PageInfo getPageInfo() {
+		return pageInfo;
+	}
+
+	/**
+	 * @param pageInfo
+	 *            PageInfo for the page of Spaces
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setPageInfo(PageInfo pageInfo) {
+		this.pageInfo = pageInfo;
+	}
+
 }
@@ -2,6 +2,8 @@ package org.opencode4workspace.graphql;
 
 import java.io.Serializable;
 
+import org.opencode4workspace.json.GenerateJsonAdapter;
+
 /**
  * @author Paul Withers
  * @since 0.6.0
@@ -9,6 +11,7 @@ import java.io.Serializable;
  *        Container for response to an updateSpace mutation
  *
  */
+@GenerateJsonAdapter
 public class UpdateSpaceContainer implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private String[] memberIdsChanged;
@@ -30,4 +33,22 @@ public class UpdateSpaceContainer implements Serializable {
 		return space;
 	}
 
+	/**
+	 * @param memberIdsChanged
+	 *            String array of the member IDs changed by this mutation
+	 * @since 0.8.0
+	 */
+	public void setMemberIdsChanged(String[] memberIdsChanged) {
+		this.memberIdsChanged = memberIdsChanged;
+	}
+
+	/**
+	 * @param space
+	 *            SpaceWrapper for the Space updated by this mutation
+	 * @since 0.8.0
+	 */
+	public void setSpace(SpaceWrapper space) {
+		this.space = space;
+	}
+
 }
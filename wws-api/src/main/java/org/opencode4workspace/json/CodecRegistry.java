@@ -0,0 +1,187 @@
+package org.opencode4workspace.json;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.opencode4workspace.authentication.AppToken.TokenScope;
+import org.opencode4workspace.authentication.AppToken.TokenType;
+import org.opencode4workspace.bo.Annotation.AnnotationType;
+import org.opencode4workspace.bo.Person.PresenceStatus;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Process-wide registry of the Gson instances used to convert Watson Work Services JSON. Gson instances are immutable and thread-safe, and cache the type adapters they discover, so each
+ *        configuration is built once and shared by every {@link ResultParser}, {@link RequestBuilder} and alias parser rather than being rebuilt per request.<br>
+ *        <br>
+ *        Result Gsons also register the adapters generated at build time for classes annotated with {@link GenerateJsonAdapter}, so those classes are decoded without reflection. If the module was
+ *        compiled without annotation processing, Gson's reflective adapters are used instead.
+ *
+ */
+public final class CodecRegistry {
+
+	/**
+	 * Date format used by Watson Work Services for GraphQL results. Dates in this format are handled by {@link Iso8601DateCodec} rather than SimpleDateFormat
+	 */
+	public static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSSZ";
+	/**
+	 * Date format denoting dates passed as milliseconds since the epoch
+	 */
+	public static final String MILLIS_DATE_FORMAT = "MILIS";
+
+	private static final TokenTypeDeserializer TOKEN_TYPE_DESERIALIZER = new TokenTypeDeserializer();
+	private static final TokenScopeDeserializer TOKEN_SCOPE_DESERIALIZER = new TokenScopeDeserializer();
+	private static final PersonPresenceDeserializer PRESENCE_DESERIALIZER = new PersonPresenceDeserializer();
+	private static final AnnotationTypeDeserializer ANNOTATION_TYPE_DESERIALIZER = new AnnotationTypeDeserializer();
+	private static final JsonDeserializer<Date> MILLIS_DATE_DESERIALIZER = new JsonDeserializer<Date>() {
+		public Date deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+			return new Date(json.getAsJsonPrimitive().getAsLong());
+		}
+	};
+	// Only the members of a GraphQL request body are sent, and "variables" is left out when there are none
+	private static final JsonSerializer<GraphQLRequest> GRAPHQL_REQUEST_SERIALIZER = new JsonSerializer<GraphQLRequest>() {
+		public JsonElement serialize(GraphQLRequest src, Type typeOfSrc, JsonSerializationContext context) {
+			JsonObject json = new JsonObject();
+			json.addProperty("query", src.getQuery());
+			if (null != src.getVariableValues() && !src.getVariableValues().isEmpty()) {
+				json.add("variables", context.serialize(src.getVariableValues()));
+			}
+			json.addProperty("operationName", src.getOperationName());
+			return json;
+		}
+	};
+
+	private static final String GENERATED_ADAPTER_FACTORY = "org.opencode4workspace.json.GeneratedJsonAdapterFactory";
+	private static final TypeAdapterFactory GENERATED_ADAPTERS = loadGeneratedAdapters();
+
+	private static final Gson REQUEST_GSON = new GsonBuilder().registerTypeAdapter(Date.class, Iso8601DateCodec.getTypeAdapter())
+			.registerTypeAdapter(GraphQLRequest.class, GRAPHQL_REQUEST_SERIALIZER).create();
+	private static final ConcurrentMap<String, Gson> RESULT_GSONS = new ConcurrentHashMap<String, Gson>();
+	private static final Gson DEFAULT_RESULT_GSON = getResultGson(DEFAULT_DATE_FORMAT);
+
+	private CodecRegistry() {
+
+	}
+
+	/**
+	 * @return Gson for parsing Watson Work Services results, using {@link #DEFAULT_DATE_FORMAT}
+	 *
+	 * @since 0.8.0
+	 */
+	public static Gson getResultGson() {
+		return DEFAULT_RESULT_GSON;
+	}
+
+	/**
+	 * Gets the shared Gson for parsing Watson Work Services results with a specific date format, creating it the first time the format is requested
+	 *
+	 * @param dateFormat
+	 *            String date format to deserialise JSON with, or {@link #MILLIS_DATE_FORMAT}
+	 * @return Gson for parsing results
+	 *
+	 * @since 0.8.0
+	 */
+	public static Gson getResultGson(String dateFormat) {
+		Gson gson = RESULT_GSONS.get(dateFormat);
+		if (null == gson) {
+			Gson created = buildResultGson(dateFormat);
+			gson = RESULT_GSONS.putIfAbsent(dateFormat, created);
+			if (null == gson) {
+				gson = created;
+			}
+		}
+		return gson;
+	}
+
+	/**
+	 * @return Gson for serialising GraphQL requests. Date variables are written in ISO-8601 format by {@link Iso8601DateCodec}, and an empty variables map is omitted
+	 *
+	 * @since 0.8.0
+	 */
+	public static Gson getRequestGson() {
+		return REQUEST_GSON;
+	}
+
+	/**
+	 * @return boolean, whether the JSON adapters generated at build time are registered with the result Gsons
+	 *
+	 * @since 0.8.0
+	 */
+	public static boolean hasGeneratedAdapters() {
+		return null != GENERATED_ADAPTERS;
+	}
+
+	/**
+	 * Loads the factory for the JSON adapters generated at build time
+	 *
+	 * @return TypeAdapterFactory creating the generated adapters, or null if the module was compiled without annotation processing
+	 *
+	 * @since 0.8.0
+	 */
+	private static TypeAdapterFactory loadGeneratedAdapters() {
+		Class<?> factoryClass;
+		try {
+			factoryClass = Class.forName(GENERATED_ADAPTER_FACTORY);
+		} catch (ClassNotFoundException e) {
+			// Fall back to Gson's reflective adapters
+			return null;
+		}
+		try {
+			return (TypeAdapterFactory) factoryClass.getConstructor().newInstance();
+		} catch (NoSuchMethodException e) {
+			e.printStackTrace();
+		} catch (InstantiationException e) {
+			e.printStackTrace();
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+		} catch (InvocationTargetException e) {
+			e.printStackTrace();
+		}
+		// The generated factory is present but unusable, so fall back to Gson's reflective adapters
+		return null;
+	}
+
+	/**
+	 * Builds a Gson with the adapters for Watson Work Services enums and the relevant date handling
+	 *
+	 * @param dateFormat
+	 *            String date format to deserialise JSON with, or {@link #MILLIS_DATE_FORMAT}
+	 * @return Gson for parsing results
+	 *
+	 * @since 0.8.0
+	 */
+	private static Gson buildResultGson(String dateFormat) {
+		GsonBuilder builder = new GsonBuilder();
+		if (MILLIS_DATE_FORMAT.equals(dateFormat)) {
+			builder.registerTypeAdapter(Date.class, MILLIS_DATE_DESERIALIZER);
+		} else if (DEFAULT_DATE_FORMAT.equals(dateFormat)) {
+			builder.registerTypeAdapter(Date.class, Iso8601DateCodec.getTypeAdapter());
+		} else {
+			builder.setDateFormat(dateFormat);
+		}
+		builder.registerTypeAdapter(TokenType.class, TOKEN_TYPE_DESERIALIZER);
+		builder.registerTypeAdapter(TokenScope.class, TOKEN_SCOPE_DESERIALIZER);
+		builder.registerTypeAdapter(PresenceStatus.class, PRESENCE_DESERIALIZER);
+		builder.registerTypeAdapter(AnnotationType.class, ANNOTATION_TYPE_DESERIALIZER);
+		if (null != GENERATED_ADAPTERS) {
+			builder.registerTypeAdapterFactory(GENERATED_ADAPTERS);
+		}
+		return builder.create();
+	}
+
+}
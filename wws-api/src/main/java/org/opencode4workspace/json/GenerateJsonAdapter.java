@@ -0,0 +1,24 @@
+package org.opencode4workspace.json;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which a streaming TypeAdapter is generated at build time by {@link org.opencode4workspace.json.processor.JsonAdapterProcessor}. The generated adapter reads each field,
+ * including inherited fields, with the same JSON name Gson would use and passes the value to the field's setter, so results are decoded without reflection. The class needs an accessible no-arg
+ * constructor and, for each field, a setter named "set" + field name or one named by {@link JsonAdapterSetter}.
+ * 
+ * @author agent
+ * 
+ * @since 0.8.0
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateJsonAdapter {
+
+}
@@ -1,7 +1,7 @@
 package org.opencode4workspace.json;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.opencode4workspace.WWException;
@@ -9,6 +9,7 @@ import org.opencode4workspace.bo.WWQueryResponseObjectInterface;
 import org.opencode4workspace.bo.WWQueryResponseObjectTypes;
 import org.opencode4workspace.builders.BaseGraphQLMultiQuery;
 import org.opencode4workspace.builders.BaseGraphQLMutation;
+import org.opencode4workspace.builders.GraphQLVariable;
 import org.opencode4workspace.builders.IGraphQLQuery;
 import org.opencode4workspace.builders.InputDataSenderBuilder;
 import org.opencode4workspace.builders.ObjectDataSenderBuilder;
@@ -24,7 +25,7 @@ import org.opencode4workspace.builders.ObjectDataSenderBuilder;
 public class GraphQLRequest {
 
 	private String query;
-	private HashMap<String, String> variables;
+	private Map<String, Object> variables;
 	private String operationName;
 	private Map<String, WWQueryResponseObjectInterface> returnObjectTypes;
 
@@ -43,7 +44,25 @@ public class GraphQLRequest {
 	public GraphQLRequest(String query, HashMap<String, String> variables, String operationName) {
 		super();
 		this.query = query;
-		this.variables = variables;
+		setVariableValues(variables);
+		this.operationName = operationName;
+	}
+
+	/**
+	 * Initialises the GraphQLRequest object from a query and operation name, with no variables. Use {@link #setVariable(String, Object)} to add values for the variables the query declares. Because
+	 * the query text does not change with the variable values, a query can be built once and reused for every request.
+	 * 
+	 * @param query
+	 *            String, query passed, e.g. "query getSpace($id: ID!) {space (id: $id) {...}}"
+	 * @param operationName
+	 *            String, operation name for the query
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLRequest(String query, String operationName) {
+		super();
+		this.query = query;
+		this.variables = new HashMap<String, Object>();
 		this.operationName = operationName;
 	}
 
@@ -77,7 +96,7 @@ public class GraphQLRequest {
 		try {
 			this.operationName = queryObject.getOperationName();
 			this.query = queryObject.returnQuery();
-			this.variables = variables;
+			setVariableValues(variables);
 			// TODO: CHRISTIAN can this be coded shorter?
 			if (queryObject instanceof BaseGraphQLMultiQuery) {
 				Map<String, WWQueryResponseObjectInterface> tmpMap = new HashMap<String, WWQueryResponseObjectInterface>();
@@ -122,7 +141,7 @@ public class GraphQLRequest {
 		try {
 			this.operationName = mutationObject.getOperationName();
 			this.query = mutationObject.returnQuery();
-			this.variables = variables;
+			setVariableValues(variables);
 		} catch (Exception e) {
 			throw new WWException("Error creating request from query - " + e.getMessage());
 		}
@@ -146,7 +165,7 @@ public class GraphQLRequest {
 		try {
 			this.operationName = operationName;
 			this.query = mutationObject.returnQuery();
-			this.variables = variables;
+			setVariableValues(variables);
 		} catch (Exception e) {
 			throw new WWException("Error creating request from query - " + e.getMessage());
 		}
@@ -185,8 +204,14 @@ public class GraphQLRequest {
 	public GraphQLRequest(ObjectDataSenderBuilder queryObject, HashMap<String, String> variables, String operationName) throws WWException {
 		try {
 			this.operationName = operationName;
-			this.query = "query " + operationName + " {" + queryObject.build() + "}";
-			this.variables = variables;
+			StringBuilder s = new StringBuilder();
+			s.append("query ").append(operationName);
+			GraphQLVariable.writeDefinitions(s, Collections.singletonList(queryObject));
+			s.append(" {");
+			queryObject.writeTo(s, false);
+			s.append("}");
+			this.query = s.toString();
+			setVariableValues(variables);
 		} catch (Exception e) {
 			throw new WWException("Error creating request from ObjectDataSender - " + e.getMessage());
 		}
@@ -212,12 +237,28 @@ public class GraphQLRequest {
 	}
 
 	/**
-	 * @return HashMap, dynamic variables passed with key as variable name, value as variable value
+	 * @return boolean, whether the query is a mutation, which changes data and so cannot safely be sent more than once
+	 * 
+	 * @since 0.8.0
+	 */
+	public boolean isMutation() {
+		return null != query && query.trim().startsWith("mutation");
+	}
+
+	/**
+	 * @return HashMap, dynamic variables passed with key as variable name, value as variable value, with each value converted to a String
 	 * 
 	 * @since 0.5.0
+	 * @deprecated variables are no longer limited to Strings, use {@link #getVariableValues()}. Since 0.8.0 this returns a copy rather than the request's own map, so changes to it are no
+	 *             longer sent with the request. Use {@link #setVariable(String, Object)} or {@link #getVariableValues()} to change the variables
 	 */
+	@Deprecated
 	public HashMap<String, String> getVariables() {
-		return variables;
+		HashMap<String, String> retVal = new HashMap<String, String>();
+		for (Map.Entry<String, Object> entry : variables.entrySet()) {
+			retVal.put(entry.getKey(), (null == entry.getValue()) ? null : String.valueOf(entry.getValue()));
+		}
+		return retVal;
 	}
 
 	/**
@@ -225,9 +266,64 @@ public class GraphQLRequest {
 	 *            HashMap, dynamic variables passed with key as variable name, value as variable value
 	 * 
 	 * @since 0.5.0
+	 * @deprecated variables are no longer limited to Strings, use {@link #setVariableValues(Map)}
 	 */
+	@Deprecated
 	public void setVariables(HashMap<String, String> variables) {
-		this.variables = variables;
+		setVariableValues(variables);
+	}
+
+	/**
+	 * @return Map, dynamic variables passed with key as variable name, value as variable value
+	 * 
+	 * @since 0.8.0
+	 */
+	public Map<String, Object> getVariableValues() {
+		return variables;
+	}
+
+	/**
+	 * @param variables
+	 *            Map, dynamic variables passed with key as variable name, value as variable value. Values may be Strings, numbers, booleans, Dates, Lists or Maps, and are serialised as JSON
+	 * 
+	 * @since 0.8.0
+	 */
+	public void setVariableValues(Map<String, ?> variables) {
+		this.variables = new HashMap<String, Object>();
+		if (null != variables) {
+			this.variables.putAll(variables);
+		}
+	}
+
+	/**
+	 * Sets the value for a variable declared by the query
+	 * 
+	 * @param name
+	 *            String, variable name without the leading "$"
+	 * @param value
+	 *            Object, variable value
+	 * @return GraphQLRequest, current object
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLRequest setVariable(String name, Object value) {
+		variables.put(name, value);
+		return this;
+	}
+
+	/**
+	 * Sets the value for a variable declared by the query
+	 * 
+	 * @param variable
+	 *            GraphQLVariable declared by the query
+	 * @param value
+	 *            Object, variable value
+	 * @return GraphQLRequest, current object
+	 * 
+	 * @since 0.8.0
+	 */
+	public GraphQLRequest setVariable(GraphQLVariable variable, Object value) {
+		return setVariable(variable.getName(), value);
 	}
 
 	/**
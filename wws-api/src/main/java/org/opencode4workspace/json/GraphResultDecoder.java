@@ -0,0 +1,205 @@
+package org.opencode4workspace.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.bo.WWQueryResponseObjectInterface;
+import org.opencode4workspace.bo.WWQueryResponseObjectTypes;
+import org.opencode4workspace.graphql.ConversationWrapper;
+import org.opencode4workspace.graphql.CreateSpaceContainer;
+import org.opencode4workspace.graphql.DataContainer;
+import org.opencode4workspace.graphql.DeleteSpaceContainer;
+import org.opencode4workspace.graphql.ErrorContainer;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.graphql.MembersContainer;
+import org.opencode4workspace.graphql.SpaceWrapper;
+import org.opencode4workspace.graphql.SpacesContainer;
+import org.opencode4workspace.graphql.UpdateSpaceContainer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Single-pass decoder for GraphQL responses. The response is read token by token from a Reader, typically wrapping the HTTP response stream, and the {@link GraphResultContainer},
+ *        {@link DataContainer} and any aliased children are populated as they are encountered. Aliases of a {@link WWQueryResponseObjectTypes} type are decoded directly into the relevant return
+ *        class. Only custom {@link WWQueryResponseObjectInterface} implementations fall back to {@link WWQueryResponseObjectInterface#parse(String)}, for their subtree alone.
+ *
+ */
+public class GraphResultDecoder {
+
+	private static final Type ERROR_LIST_TYPE = new TypeToken<List<ErrorContainer>>() {
+	}.getType();
+
+	private final Gson gson;
+
+	/**
+	 * Creates a decoder using the shared Gson from {@link CodecRegistry}
+	 *
+	 * @since 0.8.0
+	 */
+	public GraphResultDecoder() {
+		this(CodecRegistry.getResultGson());
+	}
+
+	/**
+	 * @param gson
+	 *            Gson to decode the data objects with
+	 *
+	 * @since 0.8.0
+	 */
+	GraphResultDecoder(Gson gson) {
+		this.gson = gson;
+	}
+
+	/**
+	 * Decodes a GraphQL response
+	 *
+	 * @param reader
+	 *            Reader to read the JSON response from. The reader is not closed
+	 * @param returnObjectTypes
+	 *            Map of aliases requested, with the object type expected for each alias, or null if no aliases were requested
+	 * @return GraphResultContainer containing data, errors and any aliased children
+	 * @throws IOException
+	 *             if the response could not be read or is not valid JSON
+	 *
+	 * @since 0.8.0
+	 */
+	public GraphResultContainer decode(Reader reader, Map<String, WWQueryResponseObjectInterface> returnObjectTypes) throws IOException {
+		JsonReader in = new JsonReader(reader);
+		in.setLenient(true);
+		GraphResultContainer result = new GraphResultContainer();
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return result;
+		}
+		in.beginObject();
+		while (in.hasNext()) {
+			String name = in.nextName();
+			if ("data".equals(name)) {
+				result.setData(decodeData(in, returnObjectTypes));
+			} else if ("errors".equals(name)) {
+				List<ErrorContainer> errors = gson.fromJson(in, ERROR_LIST_TYPE);
+				result.setErrors(errors);
+			} else {
+				in.skipValue();
+			}
+		}
+		in.endObject();
+		return result;
+	}
+
+	/**
+	 * Decodes the "data" object of the response
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value of "data"
+	 * @param returnObjectTypes
+	 *            Map of aliases requested, or null
+	 * @return DataContainer, or null if data was null
+	 * @throws IOException
+	 *             if the response could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	private DataContainer decodeData(JsonReader in, Map<String, WWQueryResponseObjectInterface> returnObjectTypes) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		DataContainer data = new DataContainer();
+		Map<String, Object> aliasedChildren = null;
+		if (null != returnObjectTypes) {
+			aliasedChildren = new HashMap<String, Object>();
+			for (String alias : returnObjectTypes.keySet()) {
+				aliasedChildren.put(alias, null);
+			}
+		}
+		in.beginObject();
+		while (in.hasNext()) {
+			String name = in.nextName();
+			if (null != returnObjectTypes && returnObjectTypes.containsKey(name)) {
+				aliasedChildren.put(name, decodeAlias(in, returnObjectTypes.get(name)));
+			} else if ("spaces".equals(name)) {
+				data.setSpaces(read(in, SpacesContainer.class));
+			} else if ("space".equals(name)) {
+				data.setSpace(read(in, SpaceWrapper.class));
+			} else if ("conversation".equals(name)) {
+				data.setConversation(read(in, ConversationWrapper.class));
+			} else if ("message".equals(name)) {
+				data.setMessage(read(in, Message.class));
+			} else if ("me".equals(name)) {
+				data.setMe(read(in, Person.class));
+			} else if ("person".equals(name)) {
+				data.setPerson(read(in, Person.class));
+			} else if ("people".equals(name)) {
+				data.setPeople(read(in, MembersContainer.class));
+			} else if ("createSpace".equals(name)) {
+				data.setCreateSpace(read(in, CreateSpaceContainer.class));
+			} else if ("deleteSpace".equals(name)) {
+				data.setDeleteSpace(read(in, DeleteSpaceContainer.class));
+			} else if ("updateSpace".equals(name)) {
+				data.setUpdateSpace(read(in, UpdateSpaceContainer.class));
+			} else {
+				in.skipValue();
+			}
+		}
+		in.endObject();
+		data.setAliasedChildren(aliasedChildren);
+		return data;
+	}
+
+	/**
+	 * Decodes the value of an alias
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value of the alias
+	 * @param type
+	 *            WWQueryResponseObjectInterface expected for the alias
+	 * @return Object decoded for the alias, or null if the value was null
+	 * @throws IOException
+	 *             if the response could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	private Object decodeAlias(JsonReader in, WWQueryResponseObjectInterface type) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		if (type instanceof WWQueryResponseObjectTypes) {
+			return read(in, type.getReturnClass());
+		}
+		JsonElement subtree = gson.getAdapter(JsonElement.class).read(in);
+		return type.parse(subtree.toString());
+	}
+
+	/**
+	 * Reads the next value as the passed class
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value
+	 * @param clazz
+	 *            Class to decode the value into
+	 * @return instance of the class, or null if the value was null
+	 * @throws IOException
+	 *             if the response could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	private <T> T read(JsonReader in, Class<T> clazz) throws IOException {
+		return gson.getAdapter(clazz).read(in);
+	}
+
+}
@@ -0,0 +1,441 @@
+package org.opencode4workspace.json;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.TimeZone;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thread-safe ISO-8601 parser and formatter for the timestamps Watson Work Services sends and accepts, e.g. "2016-10-27T07:37:29.224+0000". Unlike SimpleDateFormat, the codec holds no
+ *        mutable state, so one instance is shared by all threads, and it works directly on the characters of the timestamp with no intermediate Calendar or formatter objects. It is used both
+ *        to decode results (via {@link CodecRegistry}) and to write Date values into queries and mutations.
+ *
+ */
+public final class Iso8601DateCodec {
+
+	private static final long MILLIS_PER_SECOND = 1000L;
+	private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+	private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+	private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+	private static final TypeAdapter<Date> TYPE_ADAPTER = new Iso8601DateTypeAdapter();
+
+	/**
+	 * Gson adapter reading and writing Dates with the codec
+	 */
+	private static class Iso8601DateTypeAdapter extends TypeAdapter<Date> {
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see com.google.gson.TypeAdapter#read(com.google.gson.stream.JsonReader)
+		 */
+		@Override
+		public Date read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			String value = in.nextString();
+			try {
+				return parse(value);
+			} catch (ParseException e) {
+				throw new JsonSyntaxException(value, e);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see com.google.gson.TypeAdapter#write(com.google.gson.stream.JsonWriter, java.lang.Object)
+		 */
+		@Override
+		public void write(JsonWriter out, Date value) throws IOException {
+			if (null == value) {
+				out.nullValue();
+				return;
+			}
+			out.value(format(value));
+		}
+	}
+
+	private Iso8601DateCodec() {
+
+	}
+
+	/**
+	 * @return Gson TypeAdapter reading and writing Dates with this codec
+	 *
+	 * @since 0.8.0
+	 */
+	public static TypeAdapter<Date> getTypeAdapter() {
+		return TYPE_ADAPTER;
+	}
+
+	/**
+	 * Parses an ISO-8601 timestamp of the form yyyy-MM-ddTHH:mm[:ss[.fraction]] followed by "Z" or an offset of +HHMM, +HH:MM or +HH. Digits of the fraction beyond milliseconds are ignored
+	 *
+	 * @param value
+	 *            String timestamp
+	 * @return Date for the timestamp
+	 * @throws ParseException
+	 *             if the timestamp is not a valid ISO-8601 date-time
+	 *
+	 * @since 0.8.0
+	 */
+	public static Date parse(String value) throws ParseException {
+		int length = value.length();
+		int[] pos = new int[] { 0 };
+		int year = readNumber(value, pos, 4, 4);
+		expect(value, pos, '-');
+		int month = readNumber(value, pos, 2, 2);
+		expect(value, pos, '-');
+		int day = readNumber(value, pos, 2, 2);
+		expect(value, pos, 'T');
+		int hour = readNumber(value, pos, 2, 2);
+		expect(value, pos, ':');
+		int minute = readNumber(value, pos, 2, 2);
+		int second = 0;
+		int millis = 0;
+		if (pos[0] < length && value.charAt(pos[0]) == ':') {
+			pos[0]++;
+			second = readNumber(value, pos, 2, 2);
+			if (pos[0] < length && (value.charAt(pos[0]) == '.' || value.charAt(pos[0]) == ',')) {
+				pos[0]++;
+				int start = pos[0];
+				int fraction = readNumber(value, pos, 1, Integer.MAX_VALUE);
+				// Only the first nine digits are accumulated, so scale to milliseconds from those
+				int digits = Math.min(pos[0] - start, 9);
+				millis = fraction;
+				for (int i = digits; i < 3; i++) {
+					millis *= 10;
+				}
+				for (int i = 3; i < digits; i++) {
+					millis /= 10;
+				}
+			}
+		}
+		if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) || hour > 23 || minute > 59 || second > 59) {
+			throw new ParseException("Invalid date-time: " + value, 0);
+		}
+		long offset = readOffset(value, pos);
+		if (pos[0] != length) {
+			throw new ParseException("Unexpected characters in date-time: " + value, pos[0]);
+		}
+		long epochMillis = daysFromCivil(year, month, day) * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millis;
+		return new Date(epochMillis - offset);
+	}
+
+	/**
+	 * Formats a Date as yyyy-MM-ddTHH:mm:ss.SSS+HHMM in the JVM's default time zone, the format Watson Work Services expects in queries. The default time zone is looked up on each call,
+	 * so a change via TimeZone.setDefault() applies straight away
+	 *
+	 * @param date
+	 *            Date to format
+	 * @return String timestamp
+	 *
+	 * @since 0.8.0
+	 */
+	public static String format(Date date) {
+		StringBuilder sb = new StringBuilder(28);
+		formatTo(sb, date, TimeZone.getDefault());
+		return sb.toString();
+	}
+
+	/**
+	 * Appends a Date as yyyy-MM-ddTHH:mm:ss.SSS+HHMM in the JVM's default time zone, without creating an intermediate String
+	 *
+	 * @param sb
+	 *            StringBuilder to append to
+	 * @param date
+	 *            Date to format
+	 *
+	 * @since 0.8.0
+	 */
+	public static void formatTo(StringBuilder sb, Date date) {
+		formatTo(sb, date, TimeZone.getDefault());
+	}
+
+	/**
+	 * Appends a Date as yyyy-MM-ddTHH:mm:ss.SSS+HHMM in the passed time zone
+	 *
+	 * @param sb
+	 *            StringBuilder to append to
+	 * @param date
+	 *            Date to format
+	 * @param zone
+	 *            TimeZone to express the timestamp in
+	 *
+	 * @since 0.8.0
+	 */
+	public static void formatTo(StringBuilder sb, Date date, TimeZone zone) {
+		try {
+			formatTo((Appendable) sb, date, zone);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Writes a Date as yyyy-MM-ddTHH:mm:ss.SSS+HHMM in the JVM's default time zone straight to an Appendable, one character at a time, so no intermediate String is created
+	 *
+	 * @param out
+	 *            Appendable to write to
+	 * @param date
+	 *            Date to format
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 *
+	 * @since 0.8.0
+	 */
+	public static void formatTo(Appendable out, Date date) throws IOException {
+		formatTo(out, date, TimeZone.getDefault());
+	}
+
+	/**
+	 * Writes a Date as yyyy-MM-ddTHH:mm:ss.SSS+HHMM in the passed time zone straight to an Appendable
+	 *
+	 * @param out
+	 *            Appendable to write to
+	 * @param date
+	 *            Date to format
+	 * @param zone
+	 *            TimeZone to express the timestamp in
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 *
+	 * @since 0.8.0
+	 */
+	public static void formatTo(Appendable out, Date date, TimeZone zone) throws IOException {
+		long epochMillis = date.getTime();
+		int offset = zone.getOffset(epochMillis);
+		long localMillis = epochMillis + offset;
+		long days = floorDiv(localMillis, MILLIS_PER_DAY);
+		long millisOfDay = localMillis - days * MILLIS_PER_DAY;
+
+		// Civil date from days since the epoch, after Howard Hinnant's days_from_civil inverse
+		long z = days + 719468;
+		long era = floorDiv(z, 146097);
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long mp = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+		int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+		long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+		if (year < 0) {
+			out.append('-');
+			year = -year;
+		}
+		appendPadded(out, year, 4);
+		out.append('-');
+		appendPadded(out, month, 2);
+		out.append('-');
+		appendPadded(out, day, 2);
+		out.append('T');
+		appendPadded(out, millisOfDay / MILLIS_PER_HOUR, 2);
+		out.append(':');
+		appendPadded(out, (millisOfDay / MILLIS_PER_MINUTE) % 60, 2);
+		out.append(':');
+		appendPadded(out, (millisOfDay / MILLIS_PER_SECOND) % 60, 2);
+		out.append('.');
+		appendPadded(out, millisOfDay % MILLIS_PER_SECOND, 3);
+		int offsetMinutes = offset / (int) MILLIS_PER_MINUTE;
+		if (offsetMinutes < 0) {
+			out.append('-');
+			offsetMinutes = -offsetMinutes;
+		} else {
+			out.append('+');
+		}
+		appendPadded(out, offsetMinutes / 60, 2);
+		appendPadded(out, offsetMinutes % 60, 2);
+	}
+
+	/**
+	 * Reads a run of digits
+	 *
+	 * @param value
+	 *            String being parsed
+	 * @param pos
+	 *            int array holding the current position, updated past the digits
+	 * @param minDigits
+	 *            int, minimum number of digits expected
+	 * @param maxDigits
+	 *            int, maximum number of digits to read
+	 * @return int value of the digits, or of the first nine if more were read
+	 * @throws ParseException
+	 *             if fewer than minDigits digits were found
+	 *
+	 * @since 0.8.0
+	 */
+	private static int readNumber(String value, int[] pos, int minDigits, int maxDigits) throws ParseException {
+		int i = pos[0];
+		int result = 0;
+		int count = 0;
+		while (i < value.length() && count < maxDigits) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			if (count < 9) {
+				result = result * 10 + (c - '0');
+			}
+			i++;
+			count++;
+		}
+		if (count < minDigits) {
+			throw new ParseException("Expected digits in date-time: " + value, i);
+		}
+		pos[0] = i;
+		return result;
+	}
+
+	/**
+	 * Reads a zone designator
+	 *
+	 * @param value
+	 *            String being parsed
+	 * @param pos
+	 *            int array holding the current position, updated past the designator
+	 * @return long offset from UTC in milliseconds
+	 * @throws ParseException
+	 *             if there is no valid zone designator
+	 *
+	 * @since 0.8.0
+	 */
+	private static long readOffset(String value, int[] pos) throws ParseException {
+		if (pos[0] >= value.length()) {
+			throw new ParseException("Missing time zone in date-time: " + value, pos[0]);
+		}
+		char sign = value.charAt(pos[0]);
+		if (sign == 'Z') {
+			pos[0]++;
+			return 0;
+		}
+		if (sign != '+' && sign != '-') {
+			throw new ParseException("Invalid time zone in date-time: " + value, pos[0]);
+		}
+		pos[0]++;
+		int hours = readNumber(value, pos, 2, 2);
+		int minutes = 0;
+		if (pos[0] < value.length()) {
+			if (value.charAt(pos[0]) == ':') {
+				pos[0]++;
+			}
+			minutes = readNumber(value, pos, 2, 2);
+		}
+		long offset = hours * MILLIS_PER_HOUR + minutes * MILLIS_PER_MINUTE;
+		return sign == '-' ? -offset : offset;
+	}
+
+	/**
+	 * @param value
+	 *            String being parsed
+	 * @param pos
+	 *            int array holding the current position, updated past the character
+	 * @param expected
+	 *            char expected at the current position
+	 * @throws ParseException
+	 *             if the character is not found
+	 *
+	 * @since 0.8.0
+	 */
+	private static void expect(String value, int[] pos, char expected) throws ParseException {
+		if (pos[0] >= value.length() || value.charAt(pos[0]) != expected) {
+			throw new ParseException("Expected '" + expected + "' in date-time: " + value, pos[0]);
+		}
+		pos[0]++;
+	}
+
+	/**
+	 * Days since 1970-01-01 for a date in the proleptic Gregorian calendar, after Howard Hinnant's days_from_civil
+	 *
+	 * @param year
+	 *            int year
+	 * @param month
+	 *            int month, 1 to 12
+	 * @param day
+	 *            int day of month
+	 * @return long days since the epoch
+	 *
+	 * @since 0.8.0
+	 */
+	private static long daysFromCivil(int year, int month, int day) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	/**
+	 * @param year
+	 *            int year
+	 * @param month
+	 *            int month, 1 to 12
+	 * @return int number of days in the month
+	 *
+	 * @since 0.8.0
+	 */
+	private static int daysInMonth(int year, int month) {
+		if (month == 2) {
+			return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+		}
+		return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+	}
+
+	/**
+	 * Math.floorDiv, which is not available on Java 6
+	 *
+	 * @param x
+	 *            long dividend
+	 * @param y
+	 *            long divisor
+	 * @return long largest value less than or equal to the quotient
+	 *
+	 * @since 0.8.0
+	 */
+	private static long floorDiv(long x, long y) {
+		long q = x / y;
+		if ((x % y != 0) && ((x ^ y) < 0)) {
+			q--;
+		}
+		return q;
+	}
+
+	/**
+	 * @param out
+	 *            Appendable to write to
+	 * @param value
+	 *            long non-negative value
+	 * @param width
+	 *            int minimum number of digits
+	 * @throws IOException
+	 *             if the Appendable cannot be written to
+	 *
+	 * @since 0.8.0
+	 */
+	private static void appendPadded(Appendable out, long value, int width) throws IOException {
+		long divisor = 1;
+		int digits = 1;
+		while (digits < width || divisor <= value / 10) {
+			divisor *= 10;
+			digits++;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			out.append((char) ('0' + (value / divisor) % 10));
+		}
+	}
+
+}
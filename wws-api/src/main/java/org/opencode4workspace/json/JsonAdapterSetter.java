@@ -0,0 +1,24 @@
+package org.opencode4workspace.json;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the setter a generated JSON adapter calls for a field whose setter does not follow the "set" + field name convention, e.g. <code>@JsonAdapterSetter("setMembers")</code> on
+ * <code>memberList</code>
+ * 
+ * @author agent
+ * 
+ * @since 0.8.0
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface JsonAdapterSetter {
+
+	String value();
+}
@@ -0,0 +1,117 @@
+package org.opencode4workspace.json;
+
+import java.io.IOException;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Static helpers called by the JSON adapters generated for classes annotated with {@link GenerateJsonAdapter}. Values are read with the same leniency as Gson's built-in adapters, so
+ *        generated and reflective decoding give identical results. Not intended to be called directly.
+ *
+ */
+public final class JsonAdapterSupport {
+
+	private JsonAdapterSupport() {
+
+	}
+
+	/**
+	 * Reads a String value, accepting booleans and numbers as Gson does
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value
+	 * @return String value, or null if the value was null
+	 * @throws IOException
+	 *             if the value could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	public static String readString(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		if (token == JsonToken.BOOLEAN) {
+			return Boolean.toString(in.nextBoolean());
+		}
+		return in.nextString();
+	}
+
+	/**
+	 * Reads a boolean value, accepting "true" / "false" strings as Gson does. The caller is responsible for handling null
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value
+	 * @return boolean value
+	 * @throws IOException
+	 *             if the value could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	public static boolean readBoolean(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.STRING) {
+			return Boolean.parseBoolean(in.nextString());
+		}
+		return in.nextBoolean();
+	}
+
+	/**
+	 * Reads an int value. The caller is responsible for handling null
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value
+	 * @return int value
+	 * @throws IOException
+	 *             if the value could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	public static int readInt(JsonReader in) throws IOException {
+		try {
+			return in.nextInt();
+		} catch (NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	/**
+	 * Reads a long value. The caller is responsible for handling null
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value
+	 * @return long value
+	 * @throws IOException
+	 *             if the value could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	public static long readLong(JsonReader in) throws IOException {
+		try {
+			return in.nextLong();
+		} catch (NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	/**
+	 * Reads a double value. The caller is responsible for handling null
+	 *
+	 * @param in
+	 *            JsonReader positioned at the value
+	 * @return double value
+	 * @throws IOException
+	 *             if the value could not be read
+	 *
+	 * @since 0.8.0
+	 */
+	public static double readDouble(JsonReader in) throws IOException {
+		return in.nextDouble();
+	}
+
+}
@@ -12,7 +12,7 @@ import com.google.gson.Gson;
  */
 public class RequestBuilder<T> {
 	private final Class<T> clazz;
-	private final Gson gson = new Gson();
+	private final Gson gson = CodecRegistry.getRequestGson();
 
 	/**
 	 * @param clazz
@@ -1,19 +1,8 @@
 package org.opencode4workspace.json;
 
-import java.lang.reflect.Type;
-import java.util.Date;
-
-import org.opencode4workspace.authentication.AppToken.TokenScope;
-import org.opencode4workspace.authentication.AppToken.TokenType;
-import org.opencode4workspace.bo.Annotation.AnnotationType;
-import org.opencode4workspace.bo.Person.PresenceStatus;
+import java.io.Reader;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
 
 /**
  * @author Christian Guedemann
@@ -21,7 +10,7 @@ import com.google.gson.JsonParseException;
  *
  * @param <T>
  * 
- *            ResultParser for parsing JSON result into an object
+ *            ResultParser for parsing JSON result into an object. Parsers are lightweight: the underlying Gson is shared via {@link CodecRegistry}
  */
 public class ResultParser<T> {
 
@@ -36,13 +25,7 @@ public class ResultParser<T> {
 	 */
 	public ResultParser(Class<T> clazz) {
 		this.clazz = clazz;
-		GsonBuilder builder = new GsonBuilder();
-		builder.setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSSZ");
-		builder.registerTypeAdapter(TokenType.class, new TokenTypeDeserializer());
-		builder.registerTypeAdapter(TokenScope.class, new TokenScopeDeserializer());
-		builder.registerTypeAdapter(PresenceStatus.class, new PersonPresenceDeserializer());
-		builder.registerTypeAdapter(AnnotationType.class, new AnnotationTypeDeserializer());
-		this.gson = builder.create();
+		this.gson = CodecRegistry.getResultGson();
 	}
 
 	/**
@@ -55,22 +38,7 @@ public class ResultParser<T> {
 	 */
 	public ResultParser(Class<T> clazz, String dateFormat) {
 		this.clazz = clazz;
-		GsonBuilder builder = new GsonBuilder();
-		if ("MILIS".equals(dateFormat)) {
-			builder.registerTypeAdapter(Date.class, new JsonDeserializer<Date>() {
-				public Date deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-					return new Date(json.getAsJsonPrimitive().getAsLong());
-				}
-			});
-
-		} else {
-			builder.setDateFormat(dateFormat);
-		}
-		builder.registerTypeAdapter(TokenType.class, new TokenTypeDeserializer());
-		builder.registerTypeAdapter(TokenScope.class, new TokenScopeDeserializer());
-		builder.registerTypeAdapter(PresenceStatus.class, new PersonPresenceDeserializer());
-		builder.registerTypeAdapter(AnnotationType.class, new AnnotationTypeDeserializer());
-		this.gson = builder.create();
+		this.gson = CodecRegistry.getResultGson(dateFormat);
 	}
 
 	/**
@@ -86,4 +54,17 @@ public class ResultParser<T> {
 		return gson.fromJson(jsonString, clazz);
 	}
 
+	/**
+	 * Converts the JSON read from the passed Reader into an instance of the relevant class, without buffering the JSON as a String first
+	 * 
+	 * @param reader
+	 *            Reader, to read the JSON from
+	 * @return instance of class {@link #clazz}
+	 * 
+	 * @since 0.8.0
+	 */
+	public T parse(Reader reader) {
+		return gson.fromJson(reader, clazz);
+	}
+
 }
@@ -0,0 +1,499 @@
+package org.opencode4workspace.json.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Annotation processor run at build time over the wws-api module. For each class annotated with <code>org.opencode4workspace.json.GenerateJsonAdapter</code> it generates
+ *        <code>&lt;ClassName&gt;JsonAdapter</code> in the same package: a streaming Gson TypeAdapter that reads the JSON token by token and calls the field setters directly, so decoding a
+ *        result involves no reflection or field access. It also generates <code>org.opencode4workspace.json.GeneratedJsonAdapterFactory</code>, which the CodecRegistry registers with its Gson
+ *        instances. Writing is delegated to Gson's reflective adapter, as the SDK only ever reads these classes.<br>
+ *        <br>
+ *        This processor only depends on the JDK, and refers to the annotations by name, so it can be compiled before the rest of the module.
+ *
+ */
+@SupportedAnnotationTypes(JsonAdapterProcessor.GENERATE_ANNOTATION)
+public class JsonAdapterProcessor extends AbstractProcessor {
+
+	static final String GENERATE_ANNOTATION = "org.opencode4workspace.json.GenerateJsonAdapter";
+	static final String SETTER_ANNOTATION = "org.opencode4workspace.json.JsonAdapterSetter";
+	static final String FACTORY_PACKAGE = "org.opencode4workspace.json";
+	static final String FACTORY_NAME = "GeneratedJsonAdapterFactory";
+	static final String ADAPTER_SUFFIX = "JsonAdapter";
+
+	private final Map<String, String> generatedAdapters = new LinkedHashMap<String, String>();
+	private boolean factoryGenerated = false;
+
+	/**
+	 * A field of the annotated class, with the setter the generated adapter calls
+	 */
+	private static class FieldModel {
+		private final String name;
+		private final TypeMirror type;
+		private final String setter;
+
+		FieldModel(String name, TypeMirror type, String setter) {
+			this.name = name;
+			this.type = type;
+			this.setter = setter;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement annotation = processingEnv.getElementUtils().getTypeElement(GENERATE_ANNOTATION);
+		if (null == annotation) {
+			return false;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				error(element, "@GenerateJsonAdapter can only be applied to classes");
+				continue;
+			}
+			TypeElement model = (TypeElement) element;
+			if (!isSupportedModel(model)) {
+				continue;
+			}
+			List<FieldModel> fields = collectFields(model);
+			if (null == fields) {
+				continue;
+			}
+			try {
+				writeAdapter(model, fields);
+			} catch (IOException e) {
+				error(model, "Could not generate JSON adapter: " + e.getMessage());
+			}
+		}
+		if (!factoryGenerated && !generatedAdapters.isEmpty()) {
+			try {
+				writeFactory();
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate " + FACTORY_NAME + ": " + e.getMessage());
+			}
+			factoryGenerated = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the class can be instantiated by a generated adapter
+	 *
+	 * @param model
+	 *            TypeElement annotated
+	 * @return boolean, whether an adapter can be generated
+	 *
+	 * @since 0.8.0
+	 */
+	private boolean isSupportedModel(TypeElement model) {
+		if (model.getNestingKind() != NestingKind.TOP_LEVEL || !model.getModifiers().contains(Modifier.PUBLIC) || model.getModifiers().contains(Modifier.ABSTRACT)) {
+			error(model, "@GenerateJsonAdapter can only be applied to public, concrete, top-level classes");
+			return false;
+		}
+		if (!model.getTypeParameters().isEmpty()) {
+			error(model, "@GenerateJsonAdapter cannot be applied to generic classes");
+			return false;
+		}
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(model.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return true;
+			}
+		}
+		error(model, "@GenerateJsonAdapter requires a non-private no-arg constructor");
+		return false;
+	}
+
+	/**
+	 * Collects the fields Gson would bind for the class, from the class itself and its superclasses, resolving the setter for each
+	 *
+	 * @param model
+	 *            TypeElement annotated
+	 * @return List of fields, or null if any field has no usable setter
+	 *
+	 * @since 0.8.0
+	 */
+	private List<FieldModel> collectFields(TypeElement model) {
+		DeclaredType modelType = (DeclaredType) model.asType();
+		List<FieldModel> fields = new ArrayList<FieldModel>();
+		Set<String> names = new HashSet<String>();
+		boolean valid = true;
+		TypeElement current = model;
+		while (null != current && !Object.class.getName().equals(current.getQualifiedName().toString())) {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+					continue;
+				}
+				String name = field.getSimpleName().toString();
+				if (!names.add(name)) {
+					error(field, model.getQualifiedName() + " declares multiple JSON fields named " + name);
+					valid = false;
+					continue;
+				}
+				TypeMirror fieldType = processingEnv.getTypeUtils().asMemberOf(modelType, field);
+				String setterName = getSetterOverride(field);
+				boolean overridden = null != setterName;
+				if (!overridden) {
+					setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+				}
+				if (!hasSetter(model, modelType, setterName, fieldType, overridden)) {
+					error(field, "No accessible setter " + setterName + "(" + fieldType + ") on " + model.getQualifiedName()
+							+ " for field " + name + ". Add one, or name an existing setter with @JsonAdapterSetter");
+					valid = false;
+					continue;
+				}
+				fields.add(new FieldModel(name, fieldType, setterName));
+			}
+			TypeMirror superclass = current.getSuperclass();
+			current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+		}
+		return valid ? fields : null;
+	}
+
+	/**
+	 * Gets the setter named by a JsonAdapterSetter annotation on the field, if any
+	 *
+	 * @param field
+	 *            VariableElement to check
+	 * @return String setter name, or null if the field is not annotated
+	 *
+	 * @since 0.8.0
+	 */
+	private String getSetterOverride(VariableElement field) {
+		for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (SETTER_ANNOTATION.equals(annotationType.getQualifiedName().toString())) {
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+					if ("value".equals(entry.getKey().getSimpleName().toString())) {
+						return entry.getValue().getValue().toString();
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks for a setter the generated adapter can call. A conventionally named setter must take exactly the field's type, so a setter of a superclass taking a supertype is not picked up by
+	 * accident. A setter named via JsonAdapterSetter only needs to accept the field's type
+	 *
+	 * @param model
+	 *            TypeElement annotated
+	 * @param modelType
+	 *            DeclaredType of the annotated class
+	 * @param setterName
+	 *            String name of the setter
+	 * @param fieldType
+	 *            TypeMirror of the field
+	 * @param overridden
+	 *            boolean, whether the setter was named via JsonAdapterSetter
+	 * @return boolean, whether a usable setter exists
+	 *
+	 * @since 0.8.0
+	 */
+	private boolean hasSetter(TypeElement model, DeclaredType modelType, String setterName, TypeMirror fieldType, boolean overridden) {
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(model))) {
+			if (!setterName.equals(method.getSimpleName().toString()) || method.getParameters().size() != 1 || method.getModifiers().contains(Modifier.STATIC)
+					|| !isAccessible(method, model)) {
+				continue;
+			}
+			TypeMirror parameterType = ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(modelType, method)).getParameterTypes().get(0);
+			if (overridden ? processingEnv.getTypeUtils().isAssignable(fieldType, parameterType) : processingEnv.getTypeUtils().isSameType(fieldType, parameterType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param method
+	 *            ExecutableElement to check
+	 * @param model
+	 *            TypeElement annotated, whose package the adapter is generated in
+	 * @return boolean, whether the adapter can call the method
+	 *
+	 * @since 0.8.0
+	 */
+	private boolean isAccessible(ExecutableElement method, TypeElement model) {
+		Set<Modifier> modifiers = method.getModifiers();
+		if (modifiers.contains(Modifier.PUBLIC)) {
+			return true;
+		}
+		if (modifiers.contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		PackageElement methodPackage = processingEnv.getElementUtils().getPackageOf(method);
+		return methodPackage.equals(processingEnv.getElementUtils().getPackageOf(model));
+	}
+
+	/**
+	 * Writes the adapter for an annotated class
+	 *
+	 * @param model
+	 *            TypeElement annotated
+	 * @param fields
+	 *            List of fields to read
+	 * @throws IOException
+	 *             if the source file could not be written
+	 *
+	 * @since 0.8.0
+	 */
+	private void writeAdapter(TypeElement model, List<FieldModel> fields) throws IOException {
+		String packageName = processingEnv.getElementUtils().getPackageOf(model).getQualifiedName().toString();
+		String modelName = model.getSimpleName().toString();
+		String adapterName = modelName + ADAPTER_SUFFIX;
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(packageName).append(";\n\n");
+		sb.append("import java.io.IOException;\n\n");
+		sb.append("import org.opencode4workspace.json.JsonAdapterSupport;\n\n");
+		sb.append("import com.google.gson.Gson;\n");
+		sb.append("import com.google.gson.TypeAdapter;\n");
+		sb.append("import com.google.gson.TypeAdapterFactory;\n");
+		sb.append("import com.google.gson.reflect.TypeToken;\n");
+		sb.append("import com.google.gson.stream.JsonReader;\n");
+		sb.append("import com.google.gson.stream.JsonToken;\n");
+		sb.append("import com.google.gson.stream.JsonWriter;\n\n");
+		sb.append("/**\n * Streaming JSON adapter for {@link ").append(modelName).append("}, generated by ").append(getClass().getName()).append(". Do not edit.\n */\n");
+		sb.append("public final class ").append(adapterName).append(" extends TypeAdapter<").append(modelName).append("> {\n\n");
+		sb.append("\tprivate final Gson gson;\n");
+		sb.append("\tprivate final TypeAdapterFactory skipPast;\n");
+		sb.append("\tprivate volatile TypeAdapter<").append(modelName).append("> writeDelegate;\n");
+		for (FieldModel field : fields) {
+			if (!isInlined(field.type)) {
+				sb.append("\tprivate final TypeAdapter<").append(boxedTypeName(field.type)).append("> ").append(field.name).append("Adapter;\n");
+			}
+		}
+		sb.append("\n\tpublic ").append(adapterName).append("(Gson gson, TypeAdapterFactory skipPast) {\n");
+		sb.append("\t\tthis.gson = gson;\n");
+		sb.append("\t\tthis.skipPast = skipPast;\n");
+		for (FieldModel field : fields) {
+			if (!isInlined(field.type)) {
+				sb.append("\t\tthis.").append(field.name).append("Adapter = gson.getAdapter(").append(typeToken(field.type)).append(");\n");
+			}
+		}
+		sb.append("\t}\n\n");
+
+		sb.append("\t@Override\n");
+		sb.append("\tpublic ").append(modelName).append(" read(JsonReader in) throws IOException {\n");
+		sb.append("\t\tif (in.peek() == JsonToken.NULL) {\n\t\t\tin.nextNull();\n\t\t\treturn null;\n\t\t}\n");
+		sb.append("\t\t").append(modelName).append(" result = new ").append(modelName).append("();\n");
+		sb.append("\t\tin.beginObject();\n");
+		sb.append("\t\twhile (in.hasNext()) {\n");
+		sb.append("\t\t\tString name = in.nextName();\n");
+		String prefix = "\t\t\tif";
+		for (FieldModel field : fields) {
+			sb.append(prefix).append(" (\"").append(field.name).append("\".equals(name)) {\n");
+			appendRead(sb, field);
+			sb.append("\t\t\t}");
+			prefix = " else if";
+		}
+		if (fields.isEmpty()) {
+			sb.append("\t\t\tin.skipValue();\n");
+		} else {
+			sb.append(" else {\n\t\t\t\tin.skipValue();\n\t\t\t}\n");
+		}
+		sb.append("\t\t}\n");
+		sb.append("\t\tin.endObject();\n");
+		sb.append("\t\treturn result;\n");
+		sb.append("\t}\n\n");
+
+		sb.append("\t@Override\n");
+		sb.append("\tpublic void write(JsonWriter out, ").append(modelName).append(" value) throws IOException {\n");
+		sb.append("\t\tTypeAdapter<").append(modelName).append("> delegate = writeDelegate;\n");
+		sb.append("\t\tif (null == delegate) {\n");
+		sb.append("\t\t\tdelegate = gson.getDelegateAdapter(skipPast, TypeToken.get(").append(modelName).append(".class));\n");
+		sb.append("\t\t\twriteDelegate = delegate;\n");
+		sb.append("\t\t}\n");
+		sb.append("\t\tdelegate.write(out, value);\n");
+		sb.append("\t}\n\n");
+		sb.append("}\n");
+
+		Writer writer = processingEnv.getFiler().createSourceFile(packageName + "." + adapterName, model).openWriter();
+		try {
+			writer.write(sb.toString());
+		} finally {
+			writer.close();
+		}
+		generatedAdapters.put(model.getQualifiedName().toString(), packageName + "." + adapterName);
+	}
+
+	/**
+	 * Appends the statements reading a field's value and passing it to its setter
+	 *
+	 * @param sb
+	 *            StringBuilder to append to
+	 * @param field
+	 *            FieldModel to read
+	 *
+	 * @since 0.8.0
+	 */
+	private void appendRead(StringBuilder sb, FieldModel field) {
+		TypeKind kind = field.type.getKind();
+		if (isString(field.type)) {
+			sb.append("\t\t\t\tresult.").append(field.setter).append("(JsonAdapterSupport.readString(in));\n");
+		} else if (isInlined(field.type)) {
+			// As Gson does, a null value leaves a primitive field at its default
+			String reader = kind == TypeKind.INT ? "readInt" : kind == TypeKind.LONG ? "readLong" : kind == TypeKind.BOOLEAN ? "readBoolean" : "readDouble";
+			sb.append("\t\t\t\tif (in.peek() == JsonToken.NULL) {\n\t\t\t\t\tin.nextNull();\n\t\t\t\t} else {\n");
+			sb.append("\t\t\t\t\tresult.").append(field.setter).append("(JsonAdapterSupport.").append(reader).append("(in));\n");
+			sb.append("\t\t\t\t}\n");
+		} else if (kind.isPrimitive()) {
+			sb.append("\t\t\t\t").append(boxedTypeName(field.type)).append(" value = ").append(field.name).append("Adapter.read(in);\n");
+			sb.append("\t\t\t\tif (null != value) {\n\t\t\t\t\tresult.").append(field.setter).append("(value);\n\t\t\t\t}\n");
+		} else {
+			sb.append("\t\t\t\tresult.").append(field.setter).append("(").append(field.name).append("Adapter.read(in));\n");
+		}
+	}
+
+	/**
+	 * @param type
+	 *            TypeMirror of a field
+	 * @return boolean, whether the value is read directly from the JsonReader rather than via a delegate adapter
+	 *
+	 * @since 0.8.0
+	 */
+	private boolean isInlined(TypeMirror type) {
+		TypeKind kind = type.getKind();
+		return isString(type) || kind == TypeKind.INT || kind == TypeKind.LONG || kind == TypeKind.BOOLEAN || kind == TypeKind.DOUBLE;
+	}
+
+	/**
+	 * @param type
+	 *            TypeMirror of a field
+	 * @return boolean, whether the type is java.lang.String
+	 *
+	 * @since 0.8.0
+	 */
+	private boolean isString(TypeMirror type) {
+		TypeElement string = processingEnv.getElementUtils().getTypeElement(String.class.getName());
+		return processingEnv.getTypeUtils().isSameType(type, string.asType());
+	}
+
+	/**
+	 * @param type
+	 *            TypeMirror of a field
+	 * @return String source name of the type, boxed if primitive
+	 *
+	 * @since 0.8.0
+	 */
+	private String boxedTypeName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+		}
+		return type.toString();
+	}
+
+	/**
+	 * @param type
+	 *            TypeMirror of a field
+	 * @return String source expression creating the TypeToken for the type
+	 *
+	 * @since 0.8.0
+	 */
+	private String typeToken(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return "TypeToken.get(" + boxedTypeName(type) + ".class)";
+		}
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+		if (processingEnv.getTypeUtils().isSameType(type, erasure)) {
+			return "TypeToken.get(" + erasure + ".class)";
+		}
+		return "new TypeToken<" + type + ">() {\n\t\t}";
+	}
+
+	/**
+	 * Writes the factory registering all generated adapters
+	 *
+	 * @throws IOException
+	 *             if the source file could not be written
+	 *
+	 * @since 0.8.0
+	 */
+	private void writeFactory() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(FACTORY_PACKAGE).append(";\n\n");
+		sb.append("import com.google.gson.Gson;\n");
+		sb.append("import com.google.gson.TypeAdapter;\n");
+		sb.append("import com.google.gson.TypeAdapterFactory;\n");
+		sb.append("import com.google.gson.reflect.TypeToken;\n\n");
+		sb.append("/**\n * Creates the JSON adapters generated by ").append(getClass().getName()).append(". Do not edit.\n */\n");
+		sb.append("public final class ").append(FACTORY_NAME).append(" implements TypeAdapterFactory {\n\n");
+		sb.append("\t@SuppressWarnings(\"unchecked\")\n");
+		sb.append("\t@Override\n");
+		sb.append("\tpublic <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {\n");
+		sb.append("\t\tClass<? super T> rawType = type.getRawType();\n");
+		for (Map.Entry<String, String> entry : generatedAdapters.entrySet()) {
+			sb.append("\t\tif (rawType == ").append(entry.getKey()).append(".class) {\n");
+			sb.append("\t\t\treturn (TypeAdapter<T>) (TypeAdapter<?>) new ").append(entry.getValue()).append("(gson, this);\n");
+			sb.append("\t\t}\n");
+		}
+		sb.append("\t\treturn null;\n");
+		sb.append("\t}\n\n");
+		sb.append("}\n");
+
+		Writer writer = processingEnv.getFiler().createSourceFile(FACTORY_PACKAGE + "." + FACTORY_NAME).openWriter();
+		try {
+			writer.write(sb.toString());
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * @param element
+	 *            Element the error relates to
+	 * @param message
+	 *            String error message
+	 *
+	 * @since 0.8.0
+	 */
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
@@ -0,0 +1,246 @@
+package org.opencode4workspace.pagination;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Tunes the page size ("first") of a paginated collection at runtime, from the latency and response size of the pages fetched. Larger pages spread the cost of each round trip over more
+ *        items, so the page grows while the latency per item improves, and turns back when it gets worse. Pages whose response exceeds {@link #getMaxPayloadBytes()}, or which take longer than
+ *        {@link #getMaxPageLatencyMillis()}, shrink the page to the size estimated to fit, and that estimate caps further growth. The page size always stays within the minimum and maximum.
+ *
+ *        A sizer is shared by every iterator over the same type of collection, see {@link PagedCollection}, so what one bulk read learns benefits the next. Samples taken at a page size other
+ *        than the current one are ignored, as are short last pages, which say nothing about larger pages. Setters return the sizer, so it can be built fluently, e.g.
+ *        <code>new AdaptivePageSizer(50, 10, 200).setMaxPageLatencyMillis(1000)</code>
+ *
+ */
+public class AdaptivePageSizer {
+
+	/**
+	 * Default longest a page may take before the page size is cut
+	 */
+	public static final long DEFAULT_MAX_PAGE_LATENCY_MILLIS = 3000;
+	/**
+	 * Default largest response before the page size is cut, 1MB
+	 */
+	public static final long DEFAULT_MAX_PAYLOAD_BYTES = 1024 * 1024;
+
+	private final int minPageSize;
+	private final int maxPageSize;
+	private int pageSize;
+	private boolean growing = true;
+	private double lastMillisPerItem = -1;
+	private double growthFactor = 1.5;
+	private double tolerance = 0.1;
+	private long maxPageLatencyMillis = DEFAULT_MAX_PAGE_LATENCY_MILLIS;
+	private long maxPayloadBytes = DEFAULT_MAX_PAYLOAD_BYTES;
+
+	/**
+	 * Creates a sizer
+	 *
+	 * @param initialPageSize
+	 *            int, page size before any page has been fetched
+	 * @param minPageSize
+	 *            int, smallest page size
+	 * @param maxPageSize
+	 *            int, largest page size, e.g. the most Watson Work Services accepts for the collection
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptivePageSizer(int initialPageSize, int minPageSize, int maxPageSize) {
+		if (minPageSize < 1 || maxPageSize < minPageSize || initialPageSize < minPageSize || initialPageSize > maxPageSize) {
+			throw new IllegalArgumentException("Page sizes must satisfy 1 <= minPageSize <= initialPageSize <= maxPageSize");
+		}
+		this.minPageSize = minPageSize;
+		this.maxPageSize = maxPageSize;
+		this.pageSize = initialPageSize;
+	}
+
+	/**
+	 * @return int, page size to request next
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * Adjusts the page size to a page fetched
+	 *
+	 * @param requested
+	 *            int, page size requested
+	 * @param items
+	 *            int, number of items returned
+	 * @param elapsedNanos
+	 *            long, nanoseconds the page took to fetch
+	 * @param payloadBytes
+	 *            long, size in bytes of the response, or -1 if unknown
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void record(int requested, int items, long elapsedNanos, long payloadBytes) {
+		if (requested != pageSize || items < 1) {
+			return;
+		}
+		double millisPerItem = (double) elapsedNanos / TimeUnit.MILLISECONDS.toNanos(1) / items;
+		// Estimate how many items fit within the latency and payload limits
+		double fits = maxPageLatencyMillis / Math.max(millisPerItem, Double.MIN_VALUE);
+		if (payloadBytes > 0) {
+			fits = Math.min(fits, (double) maxPayloadBytes * items / payloadBytes);
+		}
+		int ceiling = (int) Math.max(minPageSize, Math.min(maxPageSize, fits));
+		int next = pageSize;
+		if (pageSize > ceiling) {
+			// Too slow or too large, so cut straight to what fits and measure again from there
+			next = ceiling;
+			growing = true;
+			lastMillisPerItem = -1;
+		} else if (items < requested) {
+			// The last page of the collection
+			return;
+		} else {
+			if (lastMillisPerItem >= 0 && millisPerItem > lastMillisPerItem * (1 + tolerance)) {
+				// The last step made things worse, so go back the other way
+				growing = !growing;
+				next = step(pageSize);
+			} else if (lastMillisPerItem < 0 || millisPerItem < lastMillisPerItem * (1 - tolerance)) {
+				next = step(pageSize);
+			}
+			lastMillisPerItem = millisPerItem;
+		}
+		pageSize = Math.max(minPageSize, Math.min(ceiling, next));
+	}
+
+	/**
+	 * Takes a step in the current direction
+	 *
+	 * @param size
+	 *            int, current page size
+	 * @return int, next page size, before applying the bounds
+	 *
+	 * @since 0.8.0
+	 */
+	private int step(int size) {
+		if (growing) {
+			return Math.max(size + 1, (int) (size * growthFactor));
+		}
+		return Math.min(size - 1, (int) (size / growthFactor));
+	}
+
+	/**
+	 * @return int, smallest page size
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMinPageSize() {
+		return minPageSize;
+	}
+
+	/**
+	 * @return int, largest page size
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxPageSize() {
+		return maxPageSize;
+	}
+
+	/**
+	 * @return double, factor the page size is multiplied or divided by at each step
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized double getGrowthFactor() {
+		return growthFactor;
+	}
+
+	/**
+	 * @param growthFactor
+	 *            double, factor the page size is multiplied or divided by at each step, greater than 1, defaults to 1.5
+	 * @return AdaptivePageSizer, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptivePageSizer setGrowthFactor(double growthFactor) {
+		if (growthFactor <= 1) {
+			throw new IllegalArgumentException("The growth factor must be greater than 1");
+		}
+		this.growthFactor = growthFactor;
+		return this;
+	}
+
+	/**
+	 * @return double, relative change in latency per item treated as noise
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * @param tolerance
+	 *            double, relative change in latency per item treated as noise, between 0 and 1, defaults to 0.1. Within it, the page size holds
+	 * @return AdaptivePageSizer, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptivePageSizer setTolerance(double tolerance) {
+		if (tolerance < 0 || tolerance >= 1) {
+			throw new IllegalArgumentException("The tolerance must be between 0 and 1");
+		}
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	/**
+	 * @return long, longest in milliseconds a page may take before the page size is cut
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getMaxPageLatencyMillis() {
+		return maxPageLatencyMillis;
+	}
+
+	/**
+	 * @param maxPageLatencyMillis
+	 *            long, longest in milliseconds a page may take before the page size is cut, defaults to {@link #DEFAULT_MAX_PAGE_LATENCY_MILLIS}
+	 * @return AdaptivePageSizer, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptivePageSizer setMaxPageLatencyMillis(long maxPageLatencyMillis) {
+		if (maxPageLatencyMillis < 1) {
+			throw new IllegalArgumentException("The maximum page latency must be positive");
+		}
+		this.maxPageLatencyMillis = maxPageLatencyMillis;
+		return this;
+	}
+
+	/**
+	 * @return long, largest response in bytes before the page size is cut
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getMaxPayloadBytes() {
+		return maxPayloadBytes;
+	}
+
+	/**
+	 * @param maxPayloadBytes
+	 *            long, largest response in bytes before the page size is cut, defaults to {@link #DEFAULT_MAX_PAYLOAD_BYTES}
+	 * @return AdaptivePageSizer, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptivePageSizer setMaxPayloadBytes(long maxPayloadBytes) {
+		if (maxPayloadBytes < 1) {
+			throw new IllegalArgumentException("The maximum payload must be positive");
+		}
+		this.maxPayloadBytes = maxPayloadBytes;
+		return this;
+	}
+
+}
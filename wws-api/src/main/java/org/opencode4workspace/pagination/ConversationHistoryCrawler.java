@@ -0,0 +1,300 @@
+package org.opencode4workspace.pagination;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.builders.ConversationGraphQLQuery;
+import org.opencode4workspace.graphql.ConversationWrapper;
+import org.opencode4workspace.graphql.DataContainer;
+import org.opencode4workspace.graphql.MessagesContainer;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Crawls the full Message history of a Conversation by splitting its time range into slices and paging through every slice concurrently. The slices are merged back into a single
+ *        stream with a {@link MergingIterator}, newest Message first as Watson Work Services returns them. A Message on the boundary of two slices is returned by both, and is only emitted once.
+ *
+ *        Each slice is a {@link PagedIterator} prefetching in the background, so all slices start fetching at once, and every slice keeps its prefetched pages ready while an earlier slice is
+ *        consumed. At most slices * (prefetch pages + 1) pages are held in memory; raising the pages to prefetch lets the crawl run further ahead of a slow consumer. Setters return the crawler,
+ *        so it can be configured fluently, e.g.
+ *
+ *        <pre>
+ * MergingIterator&lt;Message&gt; history = client.crawlConversationHistory(conversationId).setSlices(8).setPrefetchPages(4).iterator();
+ *        </pre>
+ *
+ */
+public class ConversationHistoryCrawler implements Iterable<Message> {
+
+	/**
+	 * Default number of time slices paged concurrently
+	 */
+	public static final int DEFAULT_SLICES = 4;
+	/**
+	 * Default number of Messages requested per page, as for the standard Conversation query
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 50;
+
+	/**
+	 * Orders Messages newest first, Messages without a created date last
+	 *
+	 * @since 0.8.0
+	 */
+	private static final Comparator<Message> NEWEST_FIRST = new Comparator<Message>() {
+
+		@Override
+		public int compare(Message o1, Message o2) {
+			long created1 = (null == o1.getCreated()) ? Long.MIN_VALUE : o1.getCreated().getTime();
+			long created2 = (null == o2.getCreated()) ? Long.MIN_VALUE : o2.getCreated().getTime();
+			return (created1 > created2) ? -1 : ((created1 == created2) ? 0 : 1);
+		}
+	};
+
+	private final WWClient client;
+	private final String conversationId;
+	private int slices = DEFAULT_SLICES;
+	private int pageSize = DEFAULT_PAGE_SIZE;
+	private AdaptivePageSizer pageSizer;
+	private int prefetchPages = PagedIterable.DEFAULT_PREFETCH_PAGES;
+	private Date oldest;
+	private Date mostRecent;
+
+	/**
+	 * Constructor
+	 *
+	 * @param client
+	 *            WWClient to execute the queries on
+	 * @param conversationId
+	 *            String id of the Conversation to crawl
+	 *
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler(WWClient client, String conversationId) {
+		if (null == conversationId || "".equals(conversationId)) {
+			throw new IllegalArgumentException("conversationId is mandatory");
+		}
+		this.client = client;
+		this.conversationId = conversationId;
+		this.pageSizer = client.getPageSizer(PagedCollection.MESSAGES);
+	}
+
+	/**
+	 * Starts the crawl. Unless set, the time range runs from when the Conversation was created, which is looked up first, to now. Messages outside the time range are not returned
+	 *
+	 * @return MergingIterator over the Messages, newest first. Close it to stop crawling before the end
+	 * @throws PaginationException
+	 *             if the Conversation could not be looked up
+	 *
+	 * @since 0.8.0
+	 */
+	@Override
+	public MergingIterator<Message> iterator() {
+		long to = (null == mostRecent) ? System.currentTimeMillis() : mostRecent.getTime();
+		Date from = oldest;
+		if (null == from) {
+			try {
+				from = client.getConversationById(conversationId).getCreated();
+			} catch (WWException e) {
+				throw new PaginationException(e);
+			}
+		}
+		List<PagedIterator<Message>> sources = new ArrayList<PagedIterator<Message>>();
+		if (null == from) {
+			// Without a start, the range cannot be split
+			sources.add(buildSlice(null, to));
+		} else {
+			long span = Math.max(0, to - from.getTime());
+			int count = 1;
+			long width = span;
+			if (span > 0) {
+				long requested = Math.min(slices, span);
+				width = (span + requested - 1) / requested;
+				// Rounding the width up can cover the range in fewer slices, and any more would start before it
+				count = (int) ((span + width - 1) / width);
+			}
+			for (int i = 0; i < count; i++) {
+				// Newest slice first, each sharing its oldest timestamp with the next one's most recent
+				long sliceTo = to - i * width;
+				long sliceFrom = (i == count - 1) ? from.getTime() : Math.max(from.getTime(), sliceTo - width);
+				sources.add(buildSlice(sliceFrom, sliceTo));
+			}
+		}
+		return new MergingIterator<Message>(sources, NEWEST_FIRST) {
+
+			@Override
+			protected Object getKey(Message item) {
+				return item.getId();
+			}
+		};
+	}
+
+	/**
+	 * Creates the iterator over one time slice, which starts fetching straight away
+	 *
+	 * @param sliceFrom
+	 *            Long, oldest timestamp of the slice, or null for no limit
+	 * @param sliceTo
+	 *            long, most recent timestamp of the slice
+	 * @return PagedIterator over the Messages of the slice
+	 *
+	 * @since 0.8.0
+	 */
+	private PagedIterator<Message> buildSlice(Long sliceFrom, long sliceTo) {
+		ConversationGraphQLQuery query;
+		try {
+			query = ConversationGraphQLQuery.buildPagedConversationMessagesQuery();
+		} catch (WWException e) {
+			throw new PaginationException(e);
+		}
+		GraphQLPageFetcher<Message> fetcher = new GraphQLPageFetcher<Message>(client, query) {
+
+			@Override
+			protected Page<Message> extractPage(DataContainer data) throws WWException {
+				ConversationWrapper conversation = data.getConversation();
+				MessagesContainer messages = conversation.getMessagesContainer();
+				if (null == messages) {
+					return new Page<Message>(null, null);
+				}
+				return new Page<Message>(messages.getItems(), messages.getPageInfo());
+			}
+		};
+		fetcher.setVariable(ConversationGraphQLQuery.CONVERSATION_ID_VARIABLE, conversationId);
+		fetcher.setVariable(ConversationGraphQLQuery.MOST_RECENT_TIMESTAMP_VARIABLE, sliceTo);
+		if (null != sliceFrom) {
+			fetcher.setVariable(ConversationGraphQLQuery.OLDEST_TIMESTAMP_VARIABLE, sliceFrom);
+		}
+		if (null != pageSizer) {
+			return new PagedIterator<Message>(fetcher, pageSizer, prefetchPages);
+		}
+		return new PagedIterator<Message>(fetcher, pageSize, prefetchPages);
+	}
+
+	/**
+	 * @return String id of the Conversation to crawl
+	 *
+	 * @since 0.8.0
+	 */
+	public String getConversationId() {
+		return conversationId;
+	}
+
+	/**
+	 * @return int, number of time slices paged concurrently
+	 *
+	 * @since 0.8.0
+	 */
+	public int getSlices() {
+		return slices;
+	}
+
+	/**
+	 * @param slices
+	 *            int, number of time slices paged concurrently, defaults to {@link #DEFAULT_SLICES}
+	 * @return ConversationHistoryCrawler, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler setSlices(int slices) {
+		if (slices < 1) {
+			throw new IllegalArgumentException("The number of slices must be positive");
+		}
+		this.slices = slices;
+		return this;
+	}
+
+	/**
+	 * @return int, number of Messages requested per page
+	 *
+	 * @since 0.8.0
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @param pageSize
+	 *            int, number of Messages requested per page, if there is no sizer, defaults to {@link #DEFAULT_PAGE_SIZE}. Setting a fixed page size stops the page size being tuned by a sizer
+	 * @return ConversationHistoryCrawler, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler setPageSize(int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("The page size must be positive");
+		}
+		this.pageSize = pageSize;
+		this.pageSizer = null;
+		return this;
+	}
+
+	/**
+	 * @return AdaptivePageSizer tuning the page size of every slice, or null if the page size is fixed
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptivePageSizer getPageSizer() {
+		return pageSizer;
+	}
+
+	/**
+	 * @param pageSizer
+	 *            AdaptivePageSizer tuning the page size of every slice, defaults to the client's sizer for {@link PagedCollection#MESSAGES}, or null to use the fixed page size
+	 * @return ConversationHistoryCrawler, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler setPageSizer(AdaptivePageSizer pageSizer) {
+		this.pageSizer = pageSizer;
+		return this;
+	}
+
+	/**
+	 * @return int, number of pages each slice fetches ahead of the page being consumed
+	 *
+	 * @since 0.8.0
+	 */
+	public int getPrefetchPages() {
+		return prefetchPages;
+	}
+
+	/**
+	 * @param prefetchPages
+	 *            int, number of pages each slice fetches ahead of the page being consumed, defaults to {@link PagedIterable#DEFAULT_PREFETCH_PAGES}
+	 * @return ConversationHistoryCrawler, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler setPrefetchPages(int prefetchPages) {
+		if (prefetchPages < 0) {
+			throw new IllegalArgumentException("The number of pages to prefetch cannot be negative");
+		}
+		this.prefetchPages = prefetchPages;
+		return this;
+	}
+
+	/**
+	 * Limits the crawl to a time range, e.g. to backfill only what was posted since the last crawl
+	 *
+	 * @param oldest
+	 *            Date of the oldest Messages to return, or null for the creation of the Conversation
+	 * @param mostRecent
+	 *            Date of the most recent Messages to return, or null for when the crawl starts
+	 * @return ConversationHistoryCrawler, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public ConversationHistoryCrawler setTimeRange(Date oldest, Date mostRecent) {
+		if (null != oldest && null != mostRecent && oldest.after(mostRecent)) {
+			throw new IllegalArgumentException("The oldest date cannot be after the most recent");
+		}
+		this.oldest = oldest;
+		this.mostRecent = mostRecent;
+		return this;
+	}
+
+}
@@ -0,0 +1,101 @@
+package org.opencode4workspace.pagination;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.builders.GraphQLVariable;
+import org.opencode4workspace.builders.IGraphQLQuery;
+import org.opencode4workspace.graphql.BasicPaginationEnum;
+import org.opencode4workspace.graphql.DataContainer;
+import org.opencode4workspace.graphql.GraphQLResult;
+import org.opencode4workspace.json.GraphQLRequest;
+import org.opencode4workspace.transport.Deadline;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Fetches pages of a collection with a GraphQL query that takes the page size and cursor as the variables {@link BasicPaginationEnum#getVariable()} for FIRST and AFTER, e.g.
+ *        {@link org.opencode4workspace.builders.SpacesGraphQLQuery#buildPagedGetSpacesQuery()}. The query text is built once and every page is requested with the same text and different
+ *        variables. Subclasses extract the items and PageInfo from the result.
+ *
+ *        Pages are fetched within the {@link Deadline} attached to the thread that created the fetcher, if any, even when they are prefetched on another thread.
+ *
+ * @param <T>
+ *            type of the items in the collection
+ */
+public abstract class GraphQLPageFetcher<T> implements PageFetcher<T> {
+
+	private final WWClient client;
+	private final String query;
+	private final String operationName;
+	private final Map<String, Object> variables = new HashMap<String, Object>();
+	private final Deadline deadline;
+
+	/**
+	 * Constructor
+	 *
+	 * @param client
+	 *            WWClient to execute the query on
+	 * @param query
+	 *            IGraphQLQuery using the FIRST and AFTER variables for its pagination attributes
+	 *
+	 * @since 0.8.0
+	 */
+	public GraphQLPageFetcher(WWClient client, IGraphQLQuery query) {
+		this.client = client;
+		this.query = query.returnQuery();
+		this.operationName = query.getOperationName();
+		this.deadline = Deadline.current();
+	}
+
+	/**
+	 * Sets the value of another variable the query declares, passed with every page, e.g. the id of the Space whose members are paged
+	 *
+	 * @param variable
+	 *            GraphQLVariable declared by the query
+	 * @param value
+	 *            Object, value of the variable
+	 * @return GraphQLPageFetcher, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public GraphQLPageFetcher<T> setVariable(GraphQLVariable variable, Object value) {
+		variables.put(variable.getName(), value);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.opencode4workspace.pagination.PageFetcher#fetchPage(java.lang.String, int)
+	 */
+	@Override
+	public Page<T> fetchPage(String after, int pageSize) throws WWException {
+		GraphQLRequest request = new GraphQLRequest(query, operationName);
+		request.setVariableValues(variables);
+		request.setVariable(BasicPaginationEnum.FIRST.getVariable(), pageSize);
+		if (null != after) {
+			request.setVariable(BasicPaginationEnum.AFTER.getVariable(), after);
+		}
+		GraphQLResult result = client.executeGraphQL(request, deadline);
+		Page<T> page = extractPage(result.getData());
+		return new Page<T>(page.getItems(), page.getPageInfo(), result.getContentLength());
+	}
+
+	/**
+	 * Extracts the page from the result of the query. The size of the response is added to the page returned
+	 *
+	 * @param data
+	 *            DataContainer returned by the query
+	 * @return Page of items, with the PageInfo
+	 * @throws WWException
+	 *             if the result does not contain the collection
+	 *
+	 * @since 0.8.0
+	 */
+	protected abstract Page<T> extractPage(DataContainer data) throws WWException;
+
+}
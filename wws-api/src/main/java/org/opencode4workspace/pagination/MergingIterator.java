@@ -0,0 +1,198 @@
+package org.opencode4workspace.pagination;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        K-way merge of several iterators that are each already in order, e.g. the {@link PagedIterator}s of adjacent time slices of a collection, into one iterator in the same global order.
+ *        Only the head item of each source is held, in a priority queue, so the merge itself adds no buffering to that of the sources.
+ *
+ *        Sources may overlap, e.g. slices that share a boundary timestamp. Items that sort equally and have the same {@link #getKey(Object)} are emitted once; only the keys of the current run of
+ *        equal items are kept to detect this. Closing the merge closes every source that is {@link Closeable}.
+ *
+ * @param <T>
+ *            type of the items
+ */
+public class MergingIterator<T> implements Iterator<T>, Closeable {
+
+	/**
+	 * The next item of a source, waiting to be merged
+	 *
+	 * @since 0.8.0
+	 */
+	private class Head {
+		private final T item;
+		private final int source;
+
+		Head(T item, int source) {
+			this.item = item;
+			this.source = source;
+		}
+	}
+
+	private final List<Iterator<? extends T>> sources;
+	private final Comparator<? super T> comparator;
+	private final PriorityQueue<Head> heads;
+	private final Set<Object> keysInRun = new HashSet<Object>();
+	private T runStart;
+	private T next;
+	private int lastSource = -1;
+	private boolean started;
+	private long duplicates;
+
+	/**
+	 * Constructor
+	 *
+	 * @param sources
+	 *            List of iterators, each in the order of the comparator
+	 * @param comparator
+	 *            Comparator giving the order of the items
+	 *
+	 * @since 0.8.0
+	 */
+	public MergingIterator(List<? extends Iterator<? extends T>> sources, final Comparator<? super T> comparator) {
+		this.sources = new ArrayList<Iterator<? extends T>>(sources);
+		this.comparator = comparator;
+		this.heads = new PriorityQueue<Head>(Math.max(1, sources.size()), new Comparator<Head>() {
+
+			@Override
+			public int compare(Head o1, Head o2) {
+				int result = comparator.compare(o1.item, o2.item);
+				if (0 == result) {
+					// Keep equal items in the order of their sources
+					result = (o1.source < o2.source) ? -1 : ((o1.source == o2.source) ? 0 : 1);
+				}
+				return result;
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (!started) {
+			started = true;
+			for (int i = 0; i < sources.size(); i++) {
+				pull(i);
+			}
+		}
+		if (null == next && lastSource >= 0) {
+			// Only now wait for the source of the last item, which may need to fetch a page
+			pull(lastSource);
+			lastSource = -1;
+		}
+		while (null == next && !heads.isEmpty()) {
+			Head head = heads.poll();
+			lastSource = head.source;
+			if (null == runStart || 0 != comparator.compare(runStart, head.item)) {
+				runStart = head.item;
+				keysInRun.clear();
+			}
+			Object key = getKey(head.item);
+			if (null == key || keysInRun.add(key)) {
+				next = head.item;
+			} else {
+				duplicates++;
+				pull(lastSource);
+				lastSource = -1;
+			}
+		}
+		return null != next;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T result = next;
+		next = null;
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Items cannot be removed from a merged collection");
+	}
+
+	/**
+	 * Queues the next item of a source, if it has one
+	 *
+	 * @param source
+	 *            int, index of the source
+	 *
+	 * @since 0.8.0
+	 */
+	private void pull(int source) {
+		Iterator<? extends T> iterator = sources.get(source);
+		if (iterator.hasNext()) {
+			heads.add(new Head(iterator.next(), source));
+		}
+	}
+
+	/**
+	 * Gets the key identifying an item, so an item returned by more than one source is only emitted once. Override to identify items by e.g. their id
+	 *
+	 * @param item
+	 *            item to identify
+	 * @return Object, key of the item, or null to never treat it as a duplicate. Defaults to the item itself
+	 *
+	 * @since 0.8.0
+	 */
+	protected Object getKey(T item) {
+		return item;
+	}
+
+	/**
+	 * @return long, number of duplicate items skipped so far
+	 *
+	 * @since 0.8.0
+	 */
+	public long getDuplicatesSkipped() {
+		return duplicates;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		started = true;
+		heads.clear();
+		next = null;
+		lastSource = -1;
+		for (Iterator<? extends T> source : sources) {
+			if (source instanceof Closeable) {
+				((Closeable) source).close();
+			}
+		}
+	}
+
+}
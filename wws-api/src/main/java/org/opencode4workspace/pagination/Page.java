@@ -0,0 +1,107 @@
+package org.opencode4workspace.pagination;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.opencode4workspace.bo.PageInfo;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        One page of a paginated collection from Watson Work Services, with the {@link PageInfo} needed to request the next page
+ *
+ * @param <T>
+ *            type of the items in the collection
+ */
+public class Page<T> {
+
+	private final List<T> items;
+	private final PageInfo pageInfo;
+	private final long payloadBytes;
+
+	/**
+	 * Constructor, for a page whose response size is unknown
+	 *
+	 * @param items
+	 *            List of items on the page, may be null for an empty page
+	 * @param pageInfo
+	 *            PageInfo returned with the page, or null if it was not requested, in which case this is treated as the last page
+	 *
+	 * @since 0.8.0
+	 */
+	public Page(List<? extends T> items, PageInfo pageInfo) {
+		this(items, pageInfo, -1);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param items
+	 *            List of items on the page, may be null for an empty page
+	 * @param pageInfo
+	 *            PageInfo returned with the page, or null if it was not requested, in which case this is treated as the last page
+	 * @param payloadBytes
+	 *            long, size in bytes of the response the page was read from, or -1 if unknown
+	 *
+	 * @since 0.8.0
+	 */
+	public Page(List<? extends T> items, PageInfo pageInfo, long payloadBytes) {
+		if (null == items) {
+			this.items = Collections.emptyList();
+		} else {
+			this.items = Collections.unmodifiableList(items);
+		}
+		this.pageInfo = pageInfo;
+		this.payloadBytes = payloadBytes;
+	}
+
+	/**
+	 * @return List of items on the page
+	 *
+	 * @since 0.8.0
+	 */
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return PageInfo returned with the page, or null if it was not requested
+	 *
+	 * @since 0.8.0
+	 */
+	public PageInfo getPageInfo() {
+		return pageInfo;
+	}
+
+	/**
+	 * @return long, size in bytes of the response the page was read from, or -1 if unknown
+	 *
+	 * @since 0.8.0
+	 */
+	public long getPayloadBytes() {
+		return payloadBytes;
+	}
+
+	/**
+	 * @return String, cursor to pass as {@link org.opencode4workspace.graphql.BasicPaginationEnum#AFTER} to request the next page, or null if there is none
+	 *
+	 * @since 0.8.0
+	 */
+	public String getEndCursor() {
+		if (null == pageInfo) {
+			return null;
+		}
+		return pageInfo.getEndCursor();
+	}
+
+	/**
+	 * @return boolean, whether there are more items after this page
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean hasNextPage() {
+		return null != pageInfo && pageInfo.isHasNextPage() && null != pageInfo.getEndCursor();
+	}
+
+}
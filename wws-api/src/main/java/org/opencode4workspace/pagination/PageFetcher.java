@@ -0,0 +1,32 @@
+package org.opencode4workspace.pagination;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Fetches pages of a paginated collection, following the cursors returned in each page's {@link org.opencode4workspace.bo.PageInfo}. Implementations must be safe to call from a thread
+ *        other than the one that created them, as pages are prefetched in the background by {@link PagedIterator}
+ *
+ * @param <T>
+ *            type of the items in the collection
+ */
+public interface PageFetcher<T> {
+
+	/**
+	 * Fetches a page
+	 *
+	 * @param after
+	 *            String, endCursor of the previous page, or null for the first page
+	 * @param pageSize
+	 *            int, maximum number of items to return
+	 * @return Page of items
+	 * @throws WWException
+	 *             containing an error message, if the request was unsuccessful
+	 *
+	 * @since 0.8.0
+	 */
+	Page<T> fetchPage(String after, int pageSize) throws WWException;
+
+}
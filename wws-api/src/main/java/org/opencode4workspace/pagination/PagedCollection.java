@@ -0,0 +1,70 @@
+package org.opencode4workspace.pagination;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Types of paginated collection, each with its own {@link AdaptivePageSizer} on a {@link org.opencode4workspace.WWClient}, as the cost of an item differs widely between them, e.g. a
+ *        Space comes with its members and latest messages
+ *
+ */
+public enum PagedCollection {
+	SPACES(100, 10, 200), MESSAGES(50, 10, 200), MEMBERS(100, 10, 500), PEOPLE(25, 5, 100);
+
+	private final int initialPageSize;
+	private final int minPageSize;
+	private final int maxPageSize;
+
+	/**
+	 * Constructor
+	 *
+	 * @param initialPageSize
+	 *            int, default page size before any page has been fetched
+	 * @param minPageSize
+	 *            int, default smallest page size
+	 * @param maxPageSize
+	 *            int, default largest page size
+	 */
+	private PagedCollection(int initialPageSize, int minPageSize, int maxPageSize) {
+		this.initialPageSize = initialPageSize;
+		this.minPageSize = minPageSize;
+		this.maxPageSize = maxPageSize;
+	}
+
+	/**
+	 * @return int, default page size before any page has been fetched
+	 *
+	 * @since 0.8.0
+	 */
+	public int getInitialPageSize() {
+		return initialPageSize;
+	}
+
+	/**
+	 * @return int, default smallest page size
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMinPageSize() {
+		return minPageSize;
+	}
+
+	/**
+	 * @return int, default largest page size
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxPageSize() {
+		return maxPageSize;
+	}
+
+	/**
+	 * @return AdaptivePageSizer with the default bounds for this type of collection
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptivePageSizer newPageSizer() {
+		return new AdaptivePageSizer(initialPageSize, minPageSize, maxPageSize);
+	}
+
+}
@@ -0,0 +1,196 @@
+package org.opencode4workspace.pagination;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Lazy view over every item of a paginated collection, e.g. all the Spaces an application is in. Nothing is fetched until {@link #iterator()} is called, and each iterator pages through
+ *        the collection independently, prefetching the next pages in the background while the current one is consumed. Setters return the object, so it can be configured fluently, e.g.
+ *
+ *        <pre>
+ * PagedIterator&lt;Space&gt; spaces = client.iterateSpaces().setPageSize(50).setPrefetchPages(2).iterator();
+ * try {
+ * 	while (spaces.hasNext()) {
+ * 		process(spaces.next());
+ * 	}
+ * } finally {
+ * 	spaces.close();
+ * }
+ *        </pre>
+ *
+ *        Closing the iterator is only needed when stopping before the end of the collection, to stop prefetching.
+ *
+ * @param <T>
+ *            type of the items in the collection
+ */
+public class PagedIterable<T> implements Iterable<T> {
+
+	/**
+	 * Default number of items requested per page
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+	/**
+	 * Default number of pages fetched ahead of the page being consumed
+	 */
+	public static final int DEFAULT_PREFETCH_PAGES = 1;
+
+	private final PageFetcher<T> fetcher;
+	private int pageSize = DEFAULT_PAGE_SIZE;
+	private AdaptivePageSizer pageSizer;
+	private int prefetchPages = DEFAULT_PREFETCH_PAGES;
+	private int firstPageSize;
+	private int maxItems;
+
+	/**
+	 * Constructor
+	 *
+	 * @param fetcher
+	 *            PageFetcher for the collection
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterable(PageFetcher<T> fetcher) {
+		this.fetcher = fetcher;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public PagedIterator<T> iterator() {
+		return new PagedIterator<T>(fetcher, (null == pageSizer) ? pageSize : pageSizer.getPageSize(), pageSizer, prefetchPages, firstPageSize, maxItems);
+	}
+
+	/**
+	 * @return PageFetcher for the collection
+	 *
+	 * @since 0.8.0
+	 */
+	public PageFetcher<T> getFetcher() {
+		return fetcher;
+	}
+
+	/**
+	 * @return int, number of items requested per page
+	 *
+	 * @since 0.8.0
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @param pageSize
+	 *            int, number of items requested per page, defaults to {@link #DEFAULT_PAGE_SIZE}. Setting a fixed page size stops the page size being tuned by a sizer
+	 * @return PagedIterable, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterable<T> setPageSize(int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("The page size must be positive");
+		}
+		this.pageSize = pageSize;
+		this.pageSizer = null;
+		return this;
+	}
+
+	/**
+	 * @return AdaptivePageSizer tuning the page size, or null if the page size is fixed
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptivePageSizer getPageSizer() {
+		return pageSizer;
+	}
+
+	/**
+	 * @param pageSizer
+	 *            AdaptivePageSizer to tune the page size from the latency and size of the pages fetched, or null to use the fixed page size
+	 * @return PagedIterable, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterable<T> setPageSizer(AdaptivePageSizer pageSizer) {
+		this.pageSizer = pageSizer;
+		return this;
+	}
+
+	/**
+	 * @return int, number of pages fetched ahead of the page being consumed
+	 *
+	 * @since 0.8.0
+	 */
+	public int getPrefetchPages() {
+		return prefetchPages;
+	}
+
+	/**
+	 * @param prefetchPages
+	 *            int, number of pages fetched ahead of the page being consumed, defaults to {@link #DEFAULT_PREFETCH_PAGES}. At most this many pages plus the one being consumed are held in
+	 *            memory; 0 only fetches a page once the previous one has been consumed
+	 * @return PagedIterable, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterable<T> setPrefetchPages(int prefetchPages) {
+		if (prefetchPages < 0) {
+			throw new IllegalArgumentException("The number of pages to prefetch cannot be negative");
+		}
+		this.prefetchPages = prefetchPages;
+		return this;
+	}
+
+	/**
+	 * @return int, number of items requested for the first page, or 0 if it is the same size as the other pages
+	 *
+	 * @since 0.8.0
+	 */
+	public int getFirstPageSize() {
+		return firstPageSize;
+	}
+
+	/**
+	 * @param firstPageSize
+	 *            int, number of items requested for the first page, or 0 for the same size as the other pages, the default. A small first page returns the first items sooner, e.g. for
+	 *            typeahead
+	 * @return PagedIterable, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterable<T> setFirstPageSize(int firstPageSize) {
+		if (firstPageSize < 0) {
+			throw new IllegalArgumentException("The first page size cannot be negative");
+		}
+		this.firstPageSize = firstPageSize;
+		return this;
+	}
+
+	/**
+	 * @return int, most items each iterator returns, or 0 for every item in the collection
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxItems() {
+		return maxItems;
+	}
+
+	/**
+	 * @param maxItems
+	 *            int, most items each iterator returns, or 0 for every item in the collection, the default. The last page only requests the items still needed, and nothing more is fetched once
+	 *            they have been
+	 * @return PagedIterable, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterable<T> setMaxItems(int maxItems) {
+		if (maxItems < 0) {
+			throw new IllegalArgumentException("The maximum number of items cannot be negative");
+		}
+		this.maxItems = maxItems;
+		return this;
+	}
+
+}
@@ -0,0 +1,331 @@
+package org.opencode4workspace.pagination;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Iterator over every item of a paginated collection, fetching pages lazily by following each page's endCursor. While the caller consumes one page, the next pages are fetched in the
+ *        background, up to the number of pages to prefetch, so iterating rarely waits for the network. At most the page being consumed plus the prefetched pages are held in memory, however
+ *        large the collection.
+ *
+ *        The first page can be requested at a smaller size than the rest, so the first items arrive sooner, and the number of items can be limited, in which case the last page only requests
+ *        the items still needed and nothing more is fetched once they have been.
+ *
+ *        If a page cannot be fetched, {@link #hasNext()} throws a {@link PaginationException} once the pages already fetched have been consumed. The iterator is meant for a single consuming
+ *        thread; {@link #close()} can be called from any thread to stop fetching when the caller does not need the remaining items.
+ *
+ * @param <T>
+ *            type of the items in the collection
+ */
+public class PagedIterator<T> implements Iterator<T>, Closeable {
+
+	/**
+	 * Holder for the daemon threads shared by all iterators for prefetching pages, only created when first needed
+	 *
+	 * @since 0.8.0
+	 */
+	private static class PrefetchExecutor {
+		static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-prefetch-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Fetches the page after a cursor and queues it for the consumer
+	 *
+	 * @since 0.8.0
+	 */
+	private class FetchTask implements Runnable {
+		private final String after;
+		private final int size;
+
+		FetchTask(String after, int size) {
+			this.after = after;
+			this.size = size;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			Page<T> page = null;
+			WWException error = null;
+			try {
+				long start = System.nanoTime();
+				page = fetcher.fetchPage(after, size);
+				if (null == page) {
+					throw new WWException("No page returned after cursor " + after);
+				}
+				if (null != pageSizer) {
+					pageSizer.record(size, page.getItems().size(), System.nanoTime() - start, page.getPayloadBytes());
+				}
+			} catch (WWException e) {
+				error = e;
+			} catch (RuntimeException e) {
+				error = new WWException(e);
+			}
+			synchronized (PagedIterator.this) {
+				fetching = null;
+				if (null != error) {
+					failure = error;
+				} else if (!closed) {
+					try {
+						pagesFetched++;
+						fetched.add(page);
+						itemsFetched += page.getItems().size();
+						cursor = page.getEndCursor();
+						// Without a cursor there is no next page to request, and a cursor that does not move would page forever
+						lastPageFetched = !page.hasNextPage() || null == cursor || cursor.equals(after) || (maxItems > 0 && itemsFetched >= maxItems);
+						fetchAhead(prefetchPages);
+					} catch (RuntimeException e) {
+						// The consumer must still be woken, or it would wait forever
+						failure = new WWException(e);
+					}
+				}
+				PagedIterator.this.notifyAll();
+			}
+		}
+	}
+
+	private final PageFetcher<T> fetcher;
+	private final int pageSize;
+	private final AdaptivePageSizer pageSizer;
+	private final int prefetchPages;
+	private final int firstPageSize;
+	private final int maxItems;
+	private final Queue<Page<T>> fetched = new ArrayDeque<Page<T>>();
+	private Iterator<T> current;
+	private String cursor;
+	private Future<?> fetching;
+	private boolean lastPageFetched;
+	private WWException failure;
+	private boolean closed;
+	private int pagesFetched;
+	private int itemsFetched;
+	private int itemsReturned;
+
+	/**
+	 * Creates an iterator, which starts fetching the first page in the background straight away
+	 *
+	 * @param fetcher
+	 *            PageFetcher for the collection
+	 * @param pageSize
+	 *            int, number of items to request per page
+	 * @param prefetchPages
+	 *            int, number of pages to fetch ahead of the page being consumed, 0 to only fetch a page when the previous one has been consumed
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterator(PageFetcher<T> fetcher, int pageSize, int prefetchPages) {
+		this(fetcher, pageSize, null, prefetchPages, 0, 0);
+	}
+
+	/**
+	 * Creates an iterator whose page size is tuned by a sizer, which starts fetching the first page in the background straight away
+	 *
+	 * @param fetcher
+	 *            PageFetcher for the collection
+	 * @param pageSizer
+	 *            AdaptivePageSizer giving the size of each page, and told how each page performed
+	 * @param prefetchPages
+	 *            int, number of pages to fetch ahead of the page being consumed, 0 to only fetch a page when the previous one has been consumed
+	 *
+	 * @since 0.8.0
+	 */
+	public PagedIterator(PageFetcher<T> fetcher, AdaptivePageSizer pageSizer, int prefetchPages) {
+		this(fetcher, pageSizer.getPageSize(), pageSizer, prefetchPages, 0, 0);
+	}
+
+	/**
+	 * @param fetcher
+	 *            PageFetcher for the collection
+	 * @param pageSize
+	 *            int, number of items to request per page, if there is no sizer
+	 * @param pageSizer
+	 *            AdaptivePageSizer giving the size of each page, or null for a fixed size
+	 * @param prefetchPages
+	 *            int, number of pages to fetch ahead of the page being consumed
+	 * @param firstPageSize
+	 *            int, number of items to request for the first page, or 0 for the same size as the other pages
+	 * @param maxItems
+	 *            int, most items to return, or 0 for every item in the collection
+	 *
+	 * @since 0.8.0
+	 */
+	PagedIterator(PageFetcher<T> fetcher, int pageSize, AdaptivePageSizer pageSizer, int prefetchPages, int firstPageSize, int maxItems) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("The page size must be positive");
+		}
+		if (prefetchPages < 0) {
+			throw new IllegalArgumentException("The number of pages to prefetch cannot be negative");
+		}
+		if (firstPageSize < 0 || maxItems < 0) {
+			throw new IllegalArgumentException("The first page size and maximum number of items cannot be negative");
+		}
+		this.fetcher = fetcher;
+		this.pageSize = pageSize;
+		this.pageSizer = pageSizer;
+		this.prefetchPages = prefetchPages;
+		this.firstPageSize = firstPageSize;
+		this.maxItems = maxItems;
+		synchronized (this) {
+			fetchAhead(1);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (maxItems > 0 && itemsReturned >= maxItems) {
+			return false;
+		}
+		while (null == current || !current.hasNext()) {
+			// Let the consumed page be collected while waiting for the next one
+			current = null;
+			Page<T> page = takePage();
+			if (null == page) {
+				return false;
+			}
+			current = page.getItems().iterator();
+		}
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		itemsReturned++;
+		return current.next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Items cannot be removed from a paginated collection");
+	}
+
+	/**
+	 * Takes the next fetched page, waiting for it if necessary, and starts prefetching the pages after it
+	 *
+	 * @return Page to consume, or null if every page has been consumed or the iterator has been closed
+	 * @throws PaginationException
+	 *             if the page could not be fetched
+	 *
+	 * @since 0.8.0
+	 */
+	private synchronized Page<T> takePage() {
+		try {
+			while (fetched.isEmpty()) {
+				if (null != failure) {
+					throw new PaginationException(failure);
+				}
+				if (closed || (lastPageFetched && null == fetching)) {
+					return null;
+				}
+				fetchAhead(1);
+				wait();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PaginationException(new WWException(e));
+		}
+		Page<T> page = fetched.poll();
+		fetchAhead(prefetchPages);
+		return page;
+	}
+
+	/**
+	 * Starts fetching the next page in the background, unless a fetch is already running or enough pages are waiting to be consumed. Pages are fetched one at a time, as each needs the cursor of
+	 * the one before
+	 *
+	 * @param pages
+	 *            int, number of fetched pages to keep waiting
+	 *
+	 * @since 0.8.0
+	 */
+	private void fetchAhead(int pages) {
+		if (null == fetching && !lastPageFetched && !closed && null == failure && fetched.size() < pages) {
+			int size = (null == pageSizer) ? pageSize : pageSizer.getPageSize();
+			if (0 == pagesFetched && firstPageSize > 0) {
+				size = firstPageSize;
+			}
+			if (maxItems > 0) {
+				// Only request the items still needed
+				size = Math.min(size, maxItems - itemsFetched);
+			}
+			fetching = PrefetchExecutor.INSTANCE.submit(new FetchTask(cursor, size));
+		}
+	}
+
+	/**
+	 * @return int, number of pages fetched so far, including those prefetched but not yet consumed
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getPagesFetched() {
+		return pagesFetched;
+	}
+
+	/**
+	 * @return int, number of pages fetched and waiting to be consumed
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getPagesBuffered() {
+		return fetched.size();
+	}
+
+	/**
+	 * Stops fetching pages and discards those prefetched. A page already being fetched completes in the background and is discarded
+	 *
+	 * @since 0.8.0
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		fetched.clear();
+		if (null != fetching) {
+			fetching.cancel(false);
+		}
+		notifyAll();
+	}
+
+}
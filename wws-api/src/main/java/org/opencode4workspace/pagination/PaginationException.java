@@ -0,0 +1,37 @@
+package org.opencode4workspace.pagination;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thrown by {@link PagedIterator} when a page could not be fetched. Iterator methods cannot throw checked exceptions, so the {@link WWException} is wrapped and available from
+ *        {@link #getCause()}
+ *
+ */
+public class PaginationException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param cause
+	 *            WWException thrown fetching the page
+	 *
+	 * @since 0.8.0
+	 */
+	public PaginationException(WWException cause) {
+		super(cause.getMessage(), cause);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Throwable#getCause()
+	 */
+	@Override
+	public synchronized WWException getCause() {
+		return (WWException) super.getCause();
+	}
+
+}
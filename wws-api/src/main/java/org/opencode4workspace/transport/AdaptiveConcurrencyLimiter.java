@@ -0,0 +1,427 @@
+package org.opencode4workspace.transport;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Limits the number of requests in flight to Watson Work Services, adapting the limit to the latency observed (additive increase, multiplicative decrease). While latency stays close to
+ *        the lowest seen and the limit is in use, it grows by one for each limit's worth of successful requests. When latency rises beyond the tolerance, or requests time out or are throttled,
+ *        the limit is cut by the backoff ratio. Callers over the limit queue for up to {@link #getMaxWait()} and are then shed, rather than piling onto a degraded backend.
+ *
+ *        Latency is compared with the lowest seen for the same {@link WWEndpointTarget}, so e.g. slower message posts do not look like a degraded GraphQL endpoint. File and photo uploads take
+ *        as long as their payload needs, so only their failures count, not their latency. The lowest latency is re-measured periodically, so the limiter follows lasting changes in the backend.
+ *        Setters return the limiter, so it can be built fluently, e.g.
+ *        <code>new AdaptiveConcurrencyLimiter(10, 1, 100).setMaxWait(2000)</code>
+ *
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	/**
+	 * Default limit before any latency has been observed
+	 */
+	public static final int DEFAULT_INITIAL_LIMIT = 20;
+	/**
+	 * Default lowest limit
+	 */
+	public static final int DEFAULT_MIN_LIMIT = 1;
+	/**
+	 * Default highest limit
+	 */
+	public static final int DEFAULT_MAX_LIMIT = 200;
+	/**
+	 * Default longest time a caller queues for a slot before being shed
+	 */
+	public static final long DEFAULT_MAX_WAIT = 10000;
+	/**
+	 * Default number of requests after which the lowest latency is re-measured
+	 */
+	public static final int DEFAULT_PROBE_INTERVAL = 1000;
+
+	/**
+	 * Lowest latency seen for one target since it was last re-measured
+	 *
+	 * @since 0.8.0
+	 */
+	private static class Baseline {
+		private long minRtt = Long.MAX_VALUE;
+		private int samples;
+	}
+
+	private final int minLimit;
+	private final int maxLimit;
+	private double limit;
+	private int inFlight;
+	private int queued;
+	private final Map<WWEndpointTarget, Baseline> baselines = new EnumMap<WWEndpointTarget, Baseline>(WWEndpointTarget.class);
+	private final Baseline unclassified = new Baseline();
+	private long shed;
+	private double backoffRatio = 0.9;
+	private double latencyTolerance = 2.0;
+	private long maxWait = DEFAULT_MAX_WAIT;
+	private int probeInterval = DEFAULT_PROBE_INTERVAL;
+
+	/**
+	 * Creates a limiter with the default limits
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptiveConcurrencyLimiter() {
+		this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+	}
+
+	/**
+	 * Creates a limiter
+	 *
+	 * @param initialLimit
+	 *            int, limit before any latency has been observed
+	 * @param minLimit
+	 *            int, lowest the limit is cut to
+	 * @param maxLimit
+	 *            int, highest the limit grows to
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+		if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = initialLimit;
+	}
+
+	/**
+	 * Takes a slot for a request, queuing for up to {@link #getMaxWait()} while the limit is reached. Every slot taken must be released with {@link #release(long, boolean)} or
+	 * {@link #release()}
+	 *
+	 * @throws ConcurrencyLimitExceededException
+	 *             if no slot became free within the maximum wait, so the request is shed
+	 * @throws WWException
+	 *             if the thread is interrupted while queuing
+	 *
+	 * @since 0.8.0
+	 */
+	public void acquire() throws WWException {
+		acquire(getMaxWait());
+	}
+
+	/**
+	 * Takes a slot for a request, queuing for up to a given time while the limit is reached, e.g. the time left before a deadline
+	 *
+	 * @param maxWait
+	 *            long, longest time in milliseconds to queue
+	 * @throws ConcurrencyLimitExceededException
+	 *             if no slot became free within the maximum wait, so the request is shed
+	 * @throws WWException
+	 *             if the thread is interrupted while queuing
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void acquire(long maxWait) throws WWException {
+		if (inFlight >= getLimit()) {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWait);
+			queued++;
+			try {
+				while (inFlight >= getLimit()) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						shed++;
+						throw new ConcurrencyLimitExceededException(getLimit(), inFlight);
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new WWException(e);
+			} finally {
+				queued--;
+			}
+		}
+		inFlight++;
+	}
+
+	/**
+	 * Releases a slot of an unclassified request and adjusts the limit to the outcome of the request
+	 *
+	 * @param rttNanos
+	 *            long, nanoseconds the request took
+	 * @param dropped
+	 *            boolean, whether the request timed out, failed or was throttled, a sign the backend is overloaded
+	 *
+	 * @since 0.8.0
+	 */
+	public void release(long rttNanos, boolean dropped) {
+		release(null, rttNanos, dropped);
+	}
+
+	/**
+	 * Releases a slot and adjusts the limit to the outcome of the request, comparing its latency with the lowest seen for the same target
+	 *
+	 * @param target
+	 *            WWEndpointTarget the request was sent to, may be null for unclassified requests
+	 * @param rttNanos
+	 *            long, nanoseconds the request took
+	 * @param dropped
+	 *            boolean, whether the request timed out, failed or was throttled, a sign the backend is overloaded
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void release(WWEndpointTarget target, long rttNanos, boolean dropped) {
+		if (dropped) {
+			limit = Math.max(minLimit, limit * backoffRatio);
+		} else {
+			boolean latencyRising = false;
+			if (isLatencyComparable(target)) {
+				Baseline baseline = getBaseline(target);
+				if (++baseline.samples >= probeInterval) {
+					// Forget the lowest latency, so it is re-measured from the following requests
+					baseline.samples = 0;
+					baseline.minRtt = Long.MAX_VALUE;
+				}
+				latencyRising = baseline.minRtt != Long.MAX_VALUE && rttNanos > baseline.minRtt * latencyTolerance;
+				baseline.minRtt = Math.min(baseline.minRtt, rttNanos);
+			}
+			if (latencyRising) {
+				limit = Math.max(minLimit, limit * backoffRatio);
+			} else if (inFlight * 2 >= limit) {
+				// Only grow while the limit is in use, not when the caller is sending few requests
+				limit = Math.min(maxLimit, limit + 1 / limit);
+			}
+		}
+		releaseSlot();
+	}
+
+	/**
+	 * Whether the latency of requests to a target reflects the load on the backend. Uploads take as long as their payload needs, so a large file would look like a degraded backend
+	 *
+	 * @param target
+	 *            WWEndpointTarget the request was sent to, may be null
+	 * @return boolean, whether latency is compared with the lowest seen for the target
+	 *
+	 * @since 0.8.0
+	 */
+	private static boolean isLatencyComparable(WWEndpointTarget target) {
+		return target != WWEndpointTarget.FILES && target != WWEndpointTarget.PHOTOS;
+	}
+
+	/**
+	 * @param target
+	 *            WWEndpointTarget, may be null for unclassified requests
+	 * @return Baseline for the target, created if none has been recorded yet
+	 *
+	 * @since 0.8.0
+	 */
+	private Baseline getBaseline(WWEndpointTarget target) {
+		if (null == target) {
+			return unclassified;
+		}
+		Baseline baseline = baselines.get(target);
+		if (null == baseline) {
+			baseline = new Baseline();
+			baselines.put(target, baseline);
+		}
+		return baseline;
+	}
+
+	/**
+	 * Releases a slot without adjusting the limit, e.g. if the request was cancelled by the caller
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void release() {
+		releaseSlot();
+	}
+
+	/**
+	 * Frees a slot and wakes queued callers, as the limit may also have grown
+	 *
+	 * @since 0.8.0
+	 */
+	private void releaseSlot() {
+		if (inFlight > 0) {
+			inFlight--;
+		}
+		notifyAll();
+	}
+
+	/**
+	 * @return int, current number of requests allowed in flight
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * @return int, number of requests currently in flight
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * @return int, number of callers currently queuing for a slot
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * @return long, number of requests shed since the limiter was created
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getShedCount() {
+		return shed;
+	}
+
+	/**
+	 * @return long, lowest latency in milliseconds of unclassified requests seen since it was last re-measured, or -1 if no request has completed since
+	 *
+	 * @since 0.8.0
+	 */
+	public long getMinRttMillis() {
+		return getMinRttMillis(null);
+	}
+
+	/**
+	 * @param target
+	 *            WWEndpointTarget, may be null for unclassified requests
+	 * @return long, lowest latency in milliseconds of requests to the target seen since it was last re-measured, or -1 if no request has completed since or the target's latency is not compared
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getMinRttMillis(WWEndpointTarget target) {
+		long minRtt = getBaseline(target).minRtt;
+		if (minRtt == Long.MAX_VALUE) {
+			return -1;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(minRtt);
+	}
+
+	/**
+	 * @return int, lowest the limit is cut to
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMinLimit() {
+		return minLimit;
+	}
+
+	/**
+	 * @return int, highest the limit grows to
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxLimit() {
+		return maxLimit;
+	}
+
+	/**
+	 * @return double, factor the limit is multiplied by when the backend shows signs of overload
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized double getBackoffRatio() {
+		return backoffRatio;
+	}
+
+	/**
+	 * @param backoffRatio
+	 *            double, factor the limit is multiplied by when the backend shows signs of overload, between 0 and 1, defaults to 0.9
+	 * @return AdaptiveConcurrencyLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptiveConcurrencyLimiter setBackoffRatio(double backoffRatio) {
+		if (backoffRatio <= 0 || backoffRatio >= 1) {
+			throw new IllegalArgumentException("The backoff ratio must be between 0 and 1");
+		}
+		this.backoffRatio = backoffRatio;
+		return this;
+	}
+
+	/**
+	 * @return double, multiple of the lowest latency beyond which latency is considered to be rising
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized double getLatencyTolerance() {
+		return latencyTolerance;
+	}
+
+	/**
+	 * @param latencyTolerance
+	 *            double, multiple of the lowest latency beyond which latency is considered to be rising and the limit is cut, defaults to 2
+	 * @return AdaptiveConcurrencyLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptiveConcurrencyLimiter setLatencyTolerance(double latencyTolerance) {
+		if (latencyTolerance < 1) {
+			throw new IllegalArgumentException("The latency tolerance cannot be less than 1");
+		}
+		this.latencyTolerance = latencyTolerance;
+		return this;
+	}
+
+	/**
+	 * @return long, longest time in milliseconds a caller queues for a slot before being shed
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getMaxWait() {
+		return maxWait;
+	}
+
+	/**
+	 * @param maxWait
+	 *            long, longest time in milliseconds a caller queues for a slot before being shed, 0 to shed immediately
+	 * @return AdaptiveConcurrencyLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptiveConcurrencyLimiter setMaxWait(long maxWait) {
+		if (maxWait < 0) {
+			throw new IllegalArgumentException("The maximum wait cannot be negative");
+		}
+		this.maxWait = maxWait;
+		return this;
+	}
+
+	/**
+	 * @return int, number of requests after which the lowest latency is re-measured
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getProbeInterval() {
+		return probeInterval;
+	}
+
+	/**
+	 * @param probeInterval
+	 *            int, number of requests after which the lowest latency is re-measured, defaults to {@link #DEFAULT_PROBE_INTERVAL}
+	 * @return AdaptiveConcurrencyLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized AdaptiveConcurrencyLimiter setProbeInterval(int probeInterval) {
+		if (probeInterval < 1) {
+			throw new IllegalArgumentException("The probe interval must be positive");
+		}
+		this.probeInterval = probeInterval;
+		return this;
+	}
+
+}
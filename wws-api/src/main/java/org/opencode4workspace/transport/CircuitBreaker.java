@@ -0,0 +1,215 @@
+package org.opencode4workspace.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Circuit breaker for one {@link WWEndpointTarget}. While closed, the outcome of the most recent requests is recorded in a sliding window; when the failure rate reaches the threshold of the
+ *        {@link CircuitBreakerPolicy}, the circuit opens and requests fail fast with a {@link CircuitOpenException} instead of waiting for their socket timeout. Once the open duration has elapsed,
+ *        the circuit is half-open: a limited number of probe requests are let through, closing the circuit if they all succeed or re-opening it if any fails
+ *
+ */
+public class CircuitBreaker {
+
+	/**
+	 * States of a circuit breaker
+	 *
+	 * @since 0.8.0
+	 */
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN;
+	}
+
+	private final WWEndpointTarget target;
+	private final CircuitBreakerPolicy policy;
+	private final boolean[] window;
+	private int position;
+	private int calls;
+	private int failures;
+	private State state = State.CLOSED;
+	private long openedAt;
+	private int probesInFlight;
+	private int probeSuccesses;
+
+	/**
+	 * Creates a closed circuit breaker
+	 *
+	 * @param target
+	 *            WWEndpointTarget the breaker protects
+	 * @param policy
+	 *            CircuitBreakerPolicy containing the thresholds and durations
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreaker(WWEndpointTarget target, CircuitBreakerPolicy policy) {
+		this.target = target;
+		this.policy = policy;
+		this.window = new boolean[policy.getWindowSize()];
+	}
+
+	/**
+	 * Checks a request can be sent, moving an open circuit to half-open once the open duration has elapsed. Every successful call must be followed by {@link #onSuccess()},
+	 * {@link #onFailure()} or {@link #release()}
+	 *
+	 * @throws CircuitOpenException
+	 *             if the circuit is open, or half-open with all probe requests already in flight
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void acquire() throws CircuitOpenException {
+		if (state == State.OPEN) {
+			long remaining = policy.getOpenDuration() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt);
+			if (remaining > 0) {
+				throw new CircuitOpenException(target, remaining);
+			}
+			state = State.HALF_OPEN;
+			probesInFlight = 0;
+			probeSuccesses = 0;
+		}
+		if (state == State.HALF_OPEN) {
+			if (probesInFlight >= policy.getProbeCalls() - probeSuccesses) {
+				throw new CircuitOpenException(target, 0);
+			}
+			probesInFlight++;
+		}
+	}
+
+	/**
+	 * Records a successful request
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			releaseProbe();
+			if (++probeSuccesses >= policy.getProbeCalls()) {
+				close();
+			}
+		} else if (state == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	/**
+	 * Records a failed request, i.e. a timeout, a reset connection or a server error
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void onFailure() {
+		if (state == State.HALF_OPEN) {
+			open();
+		} else if (state == State.CLOSED) {
+			record(true);
+			if (calls >= Math.min(policy.getMinimumCalls(), window.length) && getFailureRate() >= policy.getFailureRateThreshold()) {
+				open();
+			}
+		}
+	}
+
+	/**
+	 * Releases a request without recording an outcome, e.g. if it was not sent or failed for reasons unrelated to the endpoint's health
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void release() {
+		if (state == State.HALF_OPEN) {
+			releaseProbe();
+		}
+	}
+
+	/**
+	 * Adds an outcome to the sliding window, replacing the oldest once the window is full
+	 *
+	 * @param failed
+	 *            boolean, whether the request failed
+	 *
+	 * @since 0.8.0
+	 */
+	private void record(boolean failed) {
+		if (calls == window.length) {
+			if (window[position]) {
+				failures--;
+			}
+		} else {
+			calls++;
+		}
+		window[position] = failed;
+		if (failed) {
+			failures++;
+		}
+		position = (position + 1) % window.length;
+	}
+
+	/**
+	 * @since 0.8.0
+	 */
+	private void releaseProbe() {
+		if (probesInFlight > 0) {
+			probesInFlight--;
+		}
+	}
+
+	/**
+	 * Opens the circuit, starting the open duration
+	 *
+	 * @since 0.8.0
+	 */
+	private void open() {
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+	}
+
+	/**
+	 * Closes the circuit with an empty window
+	 *
+	 * @since 0.8.0
+	 */
+	private void close() {
+		state = State.CLOSED;
+		position = 0;
+		calls = 0;
+		failures = 0;
+	}
+
+	/**
+	 * Closes the circuit, e.g. once an outage is known to be over
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized void reset() {
+		close();
+	}
+
+	/**
+	 * @return State of the circuit. An open circuit whose open duration has elapsed is reported as open until the next request moves it to half-open
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * @return double, proportion of the requests in the window that failed, 0 if none have been recorded
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized double getFailureRate() {
+		if (calls == 0) {
+			return 0;
+		}
+		return (double) failures / calls;
+	}
+
+	/**
+	 * @return WWEndpointTarget the breaker protects
+	 *
+	 * @since 0.8.0
+	 */
+	public WWEndpointTarget getTarget() {
+		return target;
+	}
+
+}
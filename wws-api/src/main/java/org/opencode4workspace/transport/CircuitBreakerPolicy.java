@@ -0,0 +1,165 @@
+package org.opencode4workspace.transport;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Settings for the {@link CircuitBreaker}s a {@link WWTransport} keeps per {@link WWEndpointTarget}. A circuit opens when the failure rate over the last requests reaches the threshold, and
+ *        requests then fail fast until the open duration has elapsed. A few probe requests are then let through: if they all succeed the circuit closes again, otherwise it re-opens. Setters return
+ *        the policy object, so it can be built fluently, e.g. <code>new CircuitBreakerPolicy().setFailureRateThreshold(0.25).setOpenDuration(60000)</code>
+ *
+ */
+public class CircuitBreakerPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default failure rate at which a circuit opens
+	 */
+	public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+	/**
+	 * Default number of most recent requests the failure rate is calculated over
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 20;
+	/**
+	 * Default number of requests in the window before the failure rate is acted on
+	 */
+	public static final int DEFAULT_MINIMUM_CALLS = 10;
+	/**
+	 * Default time an open circuit fails fast before letting probe requests through
+	 */
+	public static final long DEFAULT_OPEN_DURATION = 30000;
+	/**
+	 * Default number of probe requests let through a half-open circuit
+	 */
+	public static final int DEFAULT_PROBE_CALLS = 1;
+
+	private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+	private int windowSize = DEFAULT_WINDOW_SIZE;
+	private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+	private long openDuration = DEFAULT_OPEN_DURATION;
+	private int probeCalls = DEFAULT_PROBE_CALLS;
+
+	/**
+	 * @return double, failure rate at which a circuit opens
+	 *
+	 * @since 0.8.0
+	 */
+	public double getFailureRateThreshold() {
+		return failureRateThreshold;
+	}
+
+	/**
+	 * @param failureRateThreshold
+	 *            double, failure rate at which a circuit opens, greater than 0 and up to 1
+	 * @return CircuitBreakerPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreakerPolicy setFailureRateThreshold(double failureRateThreshold) {
+		if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+			throw new IllegalArgumentException("The failure rate threshold must be greater than 0 and up to 1");
+		}
+		this.failureRateThreshold = failureRateThreshold;
+		return this;
+	}
+
+	/**
+	 * @return int, number of most recent requests the failure rate is calculated over
+	 *
+	 * @since 0.8.0
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * @param windowSize
+	 *            int, number of most recent requests the failure rate is calculated over
+	 * @return CircuitBreakerPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreakerPolicy setWindowSize(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("The window must hold at least one request");
+		}
+		this.windowSize = windowSize;
+		return this;
+	}
+
+	/**
+	 * @return int, number of requests in the window before the failure rate is acted on
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMinimumCalls() {
+		return minimumCalls;
+	}
+
+	/**
+	 * @param minimumCalls
+	 *            int, number of requests in the window before the failure rate is acted on, so a few early failures do not open the circuit. Capped at the window size
+	 * @return CircuitBreakerPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreakerPolicy setMinimumCalls(int minimumCalls) {
+		if (minimumCalls < 1) {
+			throw new IllegalArgumentException("At least one request must be made before the circuit opens");
+		}
+		this.minimumCalls = minimumCalls;
+		return this;
+	}
+
+	/**
+	 * @return long, milliseconds an open circuit fails fast before letting probe requests through
+	 *
+	 * @since 0.8.0
+	 */
+	public long getOpenDuration() {
+		return openDuration;
+	}
+
+	/**
+	 * @param openDuration
+	 *            long, milliseconds an open circuit fails fast before letting probe requests through
+	 * @return CircuitBreakerPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreakerPolicy setOpenDuration(long openDuration) {
+		if (openDuration < 0) {
+			throw new IllegalArgumentException("The open duration cannot be negative");
+		}
+		this.openDuration = openDuration;
+		return this;
+	}
+
+	/**
+	 * @return int, number of probe requests let through a half-open circuit, all of which must succeed for it to close
+	 *
+	 * @since 0.8.0
+	 */
+	public int getProbeCalls() {
+		return probeCalls;
+	}
+
+	/**
+	 * @param probeCalls
+	 *            int, number of probe requests let through a half-open circuit, all of which must succeed for it to close
+	 * @return CircuitBreakerPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreakerPolicy setProbeCalls(int probeCalls) {
+		if (probeCalls < 1) {
+			throw new IllegalArgumentException("At least one probe request must be allowed");
+		}
+		this.probeCalls = probeCalls;
+		return this;
+	}
+
+}
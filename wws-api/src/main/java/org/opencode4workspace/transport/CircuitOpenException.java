@@ -0,0 +1,51 @@
+package org.opencode4workspace.transport;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thrown when a request fails fast because the {@link CircuitBreaker} for its endpoint is open, rather than waiting on an endpoint that is failing
+ *
+ */
+public class CircuitOpenException extends WWException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final WWEndpointTarget target;
+	private final long retryAfterMillis;
+
+	/**
+	 * @param target
+	 *            WWEndpointTarget whose circuit is open
+	 * @param retryAfterMillis
+	 *            long, milliseconds until probe requests will be let through
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitOpenException(WWEndpointTarget target, long retryAfterMillis) {
+		super("Circuit open for " + target + " requests, Watson Work Services is failing. Retry in " + retryAfterMillis + "ms");
+		this.target = target;
+		this.retryAfterMillis = retryAfterMillis;
+	}
+
+	/**
+	 * @return WWEndpointTarget whose circuit is open
+	 *
+	 * @since 0.8.0
+	 */
+	public WWEndpointTarget getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return long, milliseconds until probe requests will be let through, 0 if probes are already in progress
+	 *
+	 * @since 0.8.0
+	 */
+	public long getRetryAfterMillis() {
+		return retryAfterMillis;
+	}
+
+}
@@ -0,0 +1,51 @@
+package org.opencode4workspace.transport;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thrown when a request is shed by the {@link AdaptiveConcurrencyLimiter} rather than sent to Watson Work Services, because it queued too long for a slot
+ *
+ */
+public class ConcurrencyLimitExceededException extends WWException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int limit;
+	private final int inFlight;
+
+	/**
+	 * @param limit
+	 *            int, concurrency limit when the request was shed
+	 * @param inFlight
+	 *            int, number of requests in flight when the request was shed
+	 *
+	 * @since 0.8.0
+	 */
+	public ConcurrencyLimitExceededException(int limit, int inFlight) {
+		super("Request shed, " + inFlight + " requests in flight with a concurrency limit of " + limit);
+		this.limit = limit;
+		this.inFlight = inFlight;
+	}
+
+	/**
+	 * @return int, concurrency limit when the request was shed
+	 *
+	 * @since 0.8.0
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @return int, number of requests in flight when the request was shed
+	 *
+	 * @since 0.8.0
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+}
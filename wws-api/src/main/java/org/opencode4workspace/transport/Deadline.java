@@ -0,0 +1,462 @@
+package org.opencode4workspace.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.EofSensorInputStream;
+import org.apache.http.conn.EofSensorWatcher;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Deadline for a call, covering everything the transport does for it: queuing for the rate and concurrency limiters, retries and their backoff, and the I/O itself. When the deadline
+ *        expires, or {@link #cancel()} is called, e.g. because the web request the call was made for has timed out, the HTTP requests sent for the call are aborted, releasing their pooled
+ *        connections, and the call fails with a {@link DeadlineExceededException}.
+ *
+ *        A deadline can be passed to the transport explicitly, or attached to the current thread so that it applies to every request the thread makes, including through the {@link
+ *        org.opencode4workspace.WWClient} helper methods:
+ *
+ *        <pre>
+ * Deadline deadline = Deadline.after(800, TimeUnit.MILLISECONDS).attach();
+ * try {
+ * 	Conversation conversation = client.getConversationWithQuery(query);
+ * } finally {
+ * 	deadline.close();
+ * }
+ *        </pre>
+ *
+ *        Deadlines attached to the same thread nest: a deadline attached while another is attached never expires later than the enclosing one, is cancelled with it, and closing it attaches the
+ *        enclosing deadline again.
+ *
+ */
+public class Deadline implements Closeable {
+
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<Deadline>();
+
+	/**
+	 * Holder for the daemon thread shared by all deadlines for aborting requests, only created when first needed
+	 *
+	 * @since 0.8.0
+	 */
+	private static class DeadlineScheduler {
+		static final ScheduledThreadPoolExecutor INSTANCE = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-deadline");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		static {
+			// Most calls finish well within their deadline, so drop their aborts from the queue rather than keep them until they would have run
+			INSTANCE.setRemoveOnCancelPolicy(true);
+		}
+	}
+
+	private volatile long expiresAt;
+	private final List<HttpUriRequest> requests = new ArrayList<HttpUriRequest>();
+	private final List<Deadline> nested = new ArrayList<Deadline>();
+	private Deadline enclosing;
+	private ScheduledFuture<?> scheduledAbort;
+	private boolean cancelled;
+	private boolean closed;
+
+	/**
+	 * @param timeoutNanos
+	 *            long, nanoseconds from now the deadline expires
+	 *
+	 * @since 0.8.0
+	 */
+	private Deadline(long timeoutNanos) {
+		this.expiresAt = System.nanoTime() + timeoutNanos;
+	}
+
+	/**
+	 * Creates a deadline expiring after a timeout
+	 *
+	 * @param timeout
+	 *            long, time the call may take
+	 * @param unit
+	 *            TimeUnit of the timeout
+	 * @return Deadline expiring after the timeout
+	 *
+	 * @since 0.8.0
+	 */
+	public static Deadline after(long timeout, TimeUnit unit) {
+		return new Deadline(unit.toNanos(timeout));
+	}
+
+	/**
+	 * @return Deadline attached to the current thread, or null if there is none
+	 *
+	 * @since 0.8.0
+	 */
+	public static Deadline current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Attaches the deadline to the current thread, so it applies to every request the thread makes until {@link #close()} is called. If another deadline is already attached, this one is
+	 * nested within it: it expires no later than the enclosing deadline and is cancelled with it, and {@link #close()} attaches the enclosing deadline again
+	 *
+	 * @return Deadline, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public Deadline attach() {
+		Deadline previous = CURRENT.get();
+		if (previous == this) {
+			return this;
+		}
+		if (null != previous) {
+			synchronized (this) {
+				enclosing = previous;
+				if (previous.expiresAt - expiresAt < 0) {
+					expiresAt = previous.expiresAt;
+					if (null != scheduledAbort) {
+						scheduledAbort.cancel(false);
+						scheduledAbort = null;
+						if (!requests.isEmpty()) {
+							scheduleAbort();
+						}
+					}
+				}
+			}
+			previous.addNested(this);
+		}
+		CURRENT.set(this);
+		return this;
+	}
+
+	/**
+	 * Cancels a nested deadline along with this one
+	 *
+	 * @param deadline
+	 *            Deadline attached while this one was attached
+	 *
+	 * @since 0.8.0
+	 */
+	private void addNested(Deadline deadline) {
+		synchronized (this) {
+			if (!cancelled) {
+				if (!closed) {
+					nested.add(deadline);
+				}
+				return;
+			}
+		}
+		deadline.cancel();
+	}
+
+	/**
+	 * Cancels the call, aborting any request in flight and waking the call if it is waiting to retry or for a rate limiter permit. A call queuing for a slot of the concurrency limiter
+	 * stops when the deadline passes. Can be called from any thread
+	 *
+	 * @since 0.8.0
+	 */
+	public void cancel() {
+		List<Deadline> toCancel;
+		synchronized (this) {
+			cancelled = true;
+			notifyAll();
+			toCancel = new ArrayList<Deadline>(nested);
+		}
+		abortRequests();
+		for (Deadline deadline : toCancel) {
+			deadline.cancel();
+		}
+	}
+
+	/**
+	 * @return boolean, whether {@link #cancel()} has been called
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return boolean, whether the deadline has passed
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isExpired() {
+		return System.nanoTime() - expiresAt >= 0;
+	}
+
+	/**
+	 * @return boolean, whether the call should stop, i.e. the deadline has passed or the call has been cancelled
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isDone() {
+		return isCancelled() || isExpired();
+	}
+
+	/**
+	 * @return long, milliseconds until the deadline, 0 if it has passed
+	 *
+	 * @since 0.8.0
+	 */
+	public long getRemainingMillis() {
+		return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAt - System.nanoTime()));
+	}
+
+	/**
+	 * Throws an exception if the call should stop
+	 *
+	 * @throws DeadlineExceededException
+	 *             if the deadline has passed or the call has been cancelled
+	 *
+	 * @since 0.8.0
+	 */
+	public void check() throws DeadlineExceededException {
+		if (isDone()) {
+			throw new DeadlineExceededException(isCancelled());
+		}
+	}
+
+	/**
+	 * Waits for a time, returning early if the call is cancelled
+	 *
+	 * @param millis
+	 *            long, milliseconds to wait
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	void sleep(long millis) throws InterruptedException {
+		sleepNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	/**
+	 * Waits for a time, returning early if the call is cancelled, e.g. while queuing for a rate limiter
+	 *
+	 * @param nanos
+	 *            long, nanoseconds to wait
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	synchronized void sleepNanos(long nanos) throws InterruptedException {
+		long end = System.nanoTime() + nanos;
+		long remaining;
+		while (!cancelled && (remaining = end - System.nanoTime()) > 0) {
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+	}
+
+	/**
+	 * Registers a request to be aborted when the deadline expires or the call is cancelled. If that has already happened, the request is aborted immediately
+	 *
+	 * @param request
+	 *            HttpUriRequest sent for the call
+	 *
+	 * @since 0.8.0
+	 */
+	void register(HttpUriRequest request) {
+		synchronized (this) {
+			if (!closed) {
+				requests.add(request);
+				if (null == scheduledAbort) {
+					scheduleAbort();
+				}
+			}
+		}
+		if (isDone()) {
+			request.abort();
+		}
+	}
+
+	/**
+	 * Schedules the registered requests to be aborted when the deadline expires. Must be called holding the lock
+	 *
+	 * @since 0.8.0
+	 */
+	private void scheduleAbort() {
+		scheduledAbort = DeadlineScheduler.INSTANCE.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				abortRequests();
+			}
+		}, expiresAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Stops aborting a request, once it has completed
+	 *
+	 * @param request
+	 *            HttpUriRequest registered with {@link #register(HttpUriRequest)}
+	 *
+	 * @since 0.8.0
+	 */
+	synchronized void deregister(HttpUriRequest request) {
+		requests.remove(request);
+	}
+
+	/**
+	 * Stops aborting a request once its response has been read or released, so a deadline covering many calls does not hold on to every request sent
+	 *
+	 * @param request
+	 *            HttpUriRequest registered with {@link #register(HttpUriRequest)}
+	 * @param response
+	 *            HttpResponse received for the request
+	 *
+	 * @since 0.8.0
+	 */
+	void deregisterOnRelease(final HttpUriRequest request, HttpResponse response) {
+		HttpEntity entity = response.getEntity();
+		if (null == entity || !entity.isStreaming()) {
+			deregister(request);
+			return;
+		}
+		final EofSensorWatcher watcher = new EofSensorWatcher() {
+
+			@Override
+			public boolean eofDetected(InputStream wrapped) throws IOException {
+				deregister(request);
+				return true;
+			}
+
+			@Override
+			public boolean streamClosed(InputStream wrapped) throws IOException {
+				deregister(request);
+				return true;
+			}
+
+			@Override
+			public boolean streamAbort(InputStream wrapped) throws IOException {
+				deregister(request);
+				return true;
+			}
+		};
+		response.setEntity(new HttpEntityWrapper(entity) {
+
+			@Override
+			public InputStream getContent() throws IOException {
+				return new EofSensorInputStream(super.getContent(), watcher);
+			}
+
+			@Override
+			public void writeTo(OutputStream outstream) throws IOException {
+				try {
+					super.writeTo(outstream);
+				} finally {
+					deregister(request);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Aborts the requests registered, releasing their connections
+	 *
+	 * @since 0.8.0
+	 */
+	private void abortRequests() {
+		List<HttpUriRequest> toAbort;
+		synchronized (this) {
+			toAbort = new ArrayList<HttpUriRequest>(requests);
+		}
+		for (HttpUriRequest request : toAbort) {
+			request.abort();
+		}
+	}
+
+	/**
+	 * Wraps an exception thrown because a request was aborted by the deadline
+	 *
+	 * @param cause
+	 *            IOException thrown by the aborted request
+	 * @return DeadlineExceededException to throw instead
+	 *
+	 * @since 0.8.0
+	 */
+	DeadlineExceededException exceeded(IOException cause) {
+		DeadlineExceededException e = new DeadlineExceededException(isCancelled());
+		e.initCause(cause);
+		return e;
+	}
+
+	/**
+	 * Ends the call: detaches the deadline from the current thread, attaching the deadline it was nested within again, if that is still open, and stops it aborting requests. Responses already
+	 * received are not affected
+	 *
+	 * @since 0.8.0
+	 */
+	@Override
+	public void close() {
+		Deadline restore;
+		synchronized (this) {
+			closed = true;
+			requests.clear();
+			nested.clear();
+			if (null != scheduledAbort) {
+				scheduledAbort.cancel(false);
+			}
+			restore = enclosing;
+		}
+		if (null != restore) {
+			restore.removeNested(this);
+		}
+		if (CURRENT.get() == this) {
+			// Skip enclosing deadlines closed out of order
+			while (null != restore && restore.isClosed()) {
+				restore = restore.getEnclosing();
+			}
+			if (null == restore) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(restore);
+			}
+		}
+	}
+
+	/**
+	 * @param deadline
+	 *            Deadline nested within this one that has been closed
+	 *
+	 * @since 0.8.0
+	 */
+	private synchronized void removeNested(Deadline deadline) {
+		nested.remove(deadline);
+	}
+
+	/**
+	 * @return boolean, whether {@link #close()} has been called
+	 *
+	 * @since 0.8.0
+	 */
+	private synchronized boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * @return Deadline this one was nested within when attached, or null
+	 *
+	 * @since 0.8.0
+	 */
+	private synchronized Deadline getEnclosing() {
+		return enclosing;
+	}
+
+}
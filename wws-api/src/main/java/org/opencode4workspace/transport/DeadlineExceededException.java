@@ -0,0 +1,38 @@
+package org.opencode4workspace.transport;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thrown when a call is stopped because its {@link Deadline} has passed or it has been cancelled
+ *
+ */
+public class DeadlineExceededException extends WWException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean cancelled;
+
+	/**
+	 * @param cancelled
+	 *            boolean, whether the call was cancelled rather than its deadline passing
+	 *
+	 * @since 0.8.0
+	 */
+	public DeadlineExceededException(boolean cancelled) {
+		super(cancelled ? "The call was cancelled" : "The deadline for the call was exceeded");
+		this.cancelled = cancelled;
+	}
+
+	/**
+	 * @return boolean, whether the call was cancelled rather than its deadline passing
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+}
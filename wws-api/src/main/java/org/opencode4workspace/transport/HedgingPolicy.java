@@ -0,0 +1,161 @@
+package org.opencode4workspace.transport;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Settings for hedging idempotent requests: if no response has arrived after a delay, a duplicate request is sent and whichever response arrives first is used, the other request being
+ *        aborted. The delay is by default a percentile of the latencies observed, so only the slowest requests are hedged. Hedges are limited to a proportion of requests by a budget, so a slow
+ *        backend does not receive double the load. Setters return the policy object, so it can be built fluently, e.g. <code>new HedgingPolicy().setPercentile(0.99).setBudgetRatio(0.02)</code>
+ *
+ */
+public class HedgingPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default percentile of observed latencies to hedge after
+	 */
+	public static final double DEFAULT_PERCENTILE = 0.95;
+	/**
+	 * Default delay before hedging until enough latencies have been observed
+	 */
+	public static final long DEFAULT_INITIAL_DELAY = 200;
+	/**
+	 * Default maximum proportion of requests that are hedged
+	 */
+	public static final double DEFAULT_BUDGET_RATIO = 0.05;
+	/**
+	 * Default number of most recent latencies the percentile is calculated over
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 100;
+
+	private long delay;
+	private double percentile = DEFAULT_PERCENTILE;
+	private long initialDelay = DEFAULT_INITIAL_DELAY;
+	private double budgetRatio = DEFAULT_BUDGET_RATIO;
+	private int windowSize = DEFAULT_WINDOW_SIZE;
+
+	/**
+	 * @return long, fixed delay in milliseconds before hedging, or 0 if the delay is the percentile of observed latencies
+	 *
+	 * @since 0.8.0
+	 */
+	public long getDelay() {
+		return delay;
+	}
+
+	/**
+	 * @param delay
+	 *            long, fixed delay in milliseconds before hedging, or 0 to use the percentile of observed latencies
+	 * @return HedgingPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy setDelay(long delay) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("The hedging delay cannot be negative");
+		}
+		this.delay = delay;
+		return this;
+	}
+
+	/**
+	 * @return double, percentile of observed latencies to hedge after
+	 *
+	 * @since 0.8.0
+	 */
+	public double getPercentile() {
+		return percentile;
+	}
+
+	/**
+	 * @param percentile
+	 *            double, percentile of observed latencies to hedge after, between 0 and 1
+	 * @return HedgingPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy setPercentile(double percentile) {
+		if (percentile <= 0 || percentile >= 1) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 1");
+		}
+		this.percentile = percentile;
+		return this;
+	}
+
+	/**
+	 * @return long, delay in milliseconds before hedging until enough latencies have been observed
+	 *
+	 * @since 0.8.0
+	 */
+	public long getInitialDelay() {
+		return initialDelay;
+	}
+
+	/**
+	 * @param initialDelay
+	 *            long, delay in milliseconds before hedging until enough latencies have been observed
+	 * @return HedgingPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy setInitialDelay(long initialDelay) {
+		if (initialDelay < 0) {
+			throw new IllegalArgumentException("The initial delay cannot be negative");
+		}
+		this.initialDelay = initialDelay;
+		return this;
+	}
+
+	/**
+	 * @return double, maximum proportion of requests that are hedged
+	 *
+	 * @since 0.8.0
+	 */
+	public double getBudgetRatio() {
+		return budgetRatio;
+	}
+
+	/**
+	 * @param budgetRatio
+	 *            double, maximum proportion of requests that are hedged, e.g. 0.05 for at most one hedge per twenty requests
+	 * @return HedgingPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy setBudgetRatio(double budgetRatio) {
+		if (budgetRatio <= 0 || budgetRatio > 1) {
+			throw new IllegalArgumentException("The budget ratio must be greater than 0 and up to 1");
+		}
+		this.budgetRatio = budgetRatio;
+		return this;
+	}
+
+	/**
+	 * @return int, number of most recent latencies the percentile is calculated over
+	 *
+	 * @since 0.8.0
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * @param windowSize
+	 *            int, number of most recent latencies the percentile is calculated over
+	 * @return HedgingPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy setWindowSize(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("The window must hold at least one latency");
+		}
+		this.windowSize = windowSize;
+		return this;
+	}
+
+}
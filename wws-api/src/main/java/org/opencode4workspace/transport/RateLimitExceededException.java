@@ -0,0 +1,51 @@
+package org.opencode4workspace.transport;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Thrown when a request is refused by the client-side {@link WWRateLimiter} rather than sent to Watson Work Services, because no permit was available in time
+ *
+ */
+public class RateLimitExceededException extends WWException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final WWRequestType requestType;
+	private final long waitMillis;
+
+	/**
+	 * @param requestType
+	 *            WWRequestType of the refused request
+	 * @param waitMillis
+	 *            long, milliseconds until a permit would have been available
+	 *
+	 * @since 0.8.0
+	 */
+	public RateLimitExceededException(WWRequestType requestType, long waitMillis) {
+		super("Rate limit exceeded for " + requestType + " requests, next permit available in " + waitMillis + "ms");
+		this.requestType = requestType;
+		this.waitMillis = waitMillis;
+	}
+
+	/**
+	 * @return WWRequestType of the refused request
+	 *
+	 * @since 0.8.0
+	 */
+	public WWRequestType getRequestType() {
+		return requestType;
+	}
+
+	/**
+	 * @return long, milliseconds until a permit would have been available, e.g. to schedule the request later
+	 *
+	 * @since 0.8.0
+	 */
+	public long getWaitMillis() {
+		return waitMillis;
+	}
+
+}
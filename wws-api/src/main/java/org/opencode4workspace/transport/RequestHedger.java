@@ -0,0 +1,185 @@
+package org.opencode4workspace.transport;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        State for hedging requests according to a {@link HedgingPolicy}: the latencies observed, from which the hedging delay is calculated, and the hedge budget. Each request hedged earns a
+ *        fraction of a hedge, as set by the budget ratio, and each hedge sent spends a whole one, so hedges never exceed that proportion of requests. Requests are sent on daemon threads owned by
+ *        the hedger, which are stopped when the transport is closed
+ *
+ */
+public class RequestHedger implements Closeable {
+
+	/**
+	 * Number of latencies observed before the percentile is used rather than the initial delay
+	 */
+	private static final int MIN_SAMPLES = 20;
+	/**
+	 * Most hedges that can be saved up during a quiet period, so a burst of slow requests cannot all be hedged
+	 */
+	private static final double MAX_BUDGET = 10;
+
+	private final HedgingPolicy policy;
+	private final long[] latencies;
+	private int position;
+	private int samples;
+	private double budget;
+	private long hedges;
+	private long hedgeWins;
+	private final ExecutorService executor;
+
+	/**
+	 * Creates a hedger with an empty budget
+	 *
+	 * @param policy
+	 *            HedgingPolicy containing the delay and budget settings
+	 *
+	 * @since 0.8.0
+	 */
+	public RequestHedger(HedgingPolicy policy) {
+		this.policy = policy;
+		this.latencies = new long[policy.getWindowSize()];
+		this.executor = Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-hedge-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Gets the delay after which a request is hedged: the fixed delay of the policy if set, otherwise the percentile of the latencies observed, or the initial delay until enough have been
+	 *
+	 * @return long, milliseconds to wait for a response before hedging
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getDelayMillis() {
+		if (policy.getDelay() > 0) {
+			return policy.getDelay();
+		}
+		int count = Math.min(samples, latencies.length);
+		if (count < Math.min(MIN_SAMPLES, latencies.length)) {
+			return policy.getInitialDelay();
+		}
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		return sorted[(int) Math.min(count - 1, Math.floor(policy.getPercentile() * count))];
+	}
+
+	/**
+	 * Records the latency of a completed request
+	 *
+	 * @param millis
+	 *            long, milliseconds the request took
+	 *
+	 * @since 0.8.0
+	 */
+	synchronized void record(long millis) {
+		latencies[position] = millis;
+		position = (position + 1) % latencies.length;
+		samples++;
+	}
+
+	/**
+	 * Adds a request's share of a hedge to the budget
+	 *
+	 * @since 0.8.0
+	 */
+	synchronized void earn() {
+		budget = Math.min(MAX_BUDGET, budget + policy.getBudgetRatio());
+	}
+
+	/**
+	 * Spends a hedge from the budget if there is one
+	 *
+	 * @return boolean, whether the request can be hedged
+	 *
+	 * @since 0.8.0
+	 */
+	synchronized boolean tryHedge() {
+		if (budget < 1) {
+			return false;
+		}
+		budget -= 1;
+		hedges++;
+		return true;
+	}
+
+	/**
+	 * Records that a hedge's response arrived before the original request's
+	 *
+	 * @since 0.8.0
+	 */
+	synchronized void recordWin() {
+		hedgeWins++;
+	}
+
+	/**
+	 * @return ExecutorService the requests are sent on
+	 *
+	 * @since 0.8.0
+	 */
+	ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return double, hedges currently available in the budget
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized double getBudget() {
+		return budget;
+	}
+
+	/**
+	 * @return long, number of hedges sent
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getHedgeCount() {
+		return hedges;
+	}
+
+	/**
+	 * @return long, number of hedges whose response arrived first
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getHedgeWins() {
+		return hedgeWins;
+	}
+
+	/**
+	 * @return HedgingPolicy the hedger was created with
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy getPolicy() {
+		return policy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+}
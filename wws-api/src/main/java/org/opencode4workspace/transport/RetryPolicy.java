@@ -0,0 +1,328 @@
+package org.opencode4workspace.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Serializable;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import javax.net.ssl.SSLException;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Policy for retrying requests that fail for transient reasons: connection resets, timeouts, 429 Too Many Requests and 5xx server errors. Retries back off exponentially with full jitter, so
+ *        many clients retrying at once spread their load, and honour any Retry-After header sent by the server. By default only idempotent GraphQL queries are retried; other request types can be
+ *        opted in with {@link #setRetryable(WWRequestType, boolean)}. Requests that failed before anything was sent, e.g. because no connection could be established, are retried whatever their type.
+ *        Setters return the policy object, so it can be built fluently, e.g. <code>new RetryPolicy().setMaxAttempts(5).setRetryable(WWRequestType.MUTATION, true)</code>
+ *
+ */
+public class RetryPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default maximum number of attempts, including the first
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+	/**
+	 * Default backoff before the first retry, before jitter is applied
+	 */
+	public static final long DEFAULT_INITIAL_BACKOFF = 200;
+	/**
+	 * Default maximum backoff between retries
+	 */
+	public static final long DEFAULT_MAX_BACKOFF = 10000;
+	/**
+	 * Default longest Retry-After that will be waited for. If the server asks for a longer wait, the response is returned to the caller instead
+	 */
+	public static final long DEFAULT_MAX_RETRY_AFTER = 30000;
+
+	private static final Random RANDOM = new Random();
+
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+	private long maxBackoff = DEFAULT_MAX_BACKOFF;
+	private double multiplier = 2.0;
+	private long maxRetryAfter = DEFAULT_MAX_RETRY_AFTER;
+	private final Set<WWRequestType> retryableTypes = EnumSet.noneOf(WWRequestType.class);
+
+	/**
+	 * Constructor, retrying idempotent request types
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy() {
+		for (WWRequestType type : WWRequestType.values()) {
+			if (type.isIdempotent()) {
+				retryableTypes.add(type);
+			}
+		}
+	}
+
+	/**
+	 * @return RetryPolicy that never retries
+	 *
+	 * @since 0.8.0
+	 */
+	public static RetryPolicy none() {
+		return new RetryPolicy().setMaxAttempts(1);
+	}
+
+	/**
+	 * @return int, maximum number of attempts, including the first
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * @param maxAttempts
+	 *            int, maximum number of attempts, including the first. 1 disables retries
+	 * @return RetryPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy setMaxAttempts(int maxAttempts) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("At least one attempt must be made");
+		}
+		this.maxAttempts = maxAttempts;
+		return this;
+	}
+
+	/**
+	 * @return long, backoff before the first retry, before jitter is applied
+	 *
+	 * @since 0.8.0
+	 */
+	public long getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	/**
+	 * @param initialBackoff
+	 *            long, backoff before the first retry, before jitter is applied
+	 * @return RetryPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy setInitialBackoff(long initialBackoff) {
+		this.initialBackoff = initialBackoff;
+		return this;
+	}
+
+	/**
+	 * @return long, maximum backoff between retries
+	 *
+	 * @since 0.8.0
+	 */
+	public long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * @param maxBackoff
+	 *            long, maximum backoff between retries
+	 * @return RetryPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy setMaxBackoff(long maxBackoff) {
+		this.maxBackoff = maxBackoff;
+		return this;
+	}
+
+	/**
+	 * @return double, factor the backoff grows by after each retry
+	 *
+	 * @since 0.8.0
+	 */
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	/**
+	 * @param multiplier
+	 *            double, factor the backoff grows by after each retry, defaults to 2
+	 * @return RetryPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy setMultiplier(double multiplier) {
+		if (multiplier < 1) {
+			throw new IllegalArgumentException("The backoff multiplier cannot be less than 1");
+		}
+		this.multiplier = multiplier;
+		return this;
+	}
+
+	/**
+	 * @return long, longest Retry-After that will be waited for
+	 *
+	 * @since 0.8.0
+	 */
+	public long getMaxRetryAfter() {
+		return maxRetryAfter;
+	}
+
+	/**
+	 * @param maxRetryAfter
+	 *            long, longest Retry-After that will be waited for. If the server asks for a longer wait, the response is returned to the caller instead
+	 * @return RetryPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy setMaxRetryAfter(long maxRetryAfter) {
+		this.maxRetryAfter = maxRetryAfter;
+		return this;
+	}
+
+	/**
+	 * Whether requests of a type are retried after a transient failure
+	 *
+	 * @param type
+	 *            WWRequestType of the request, may be null for unclassified requests, which are not retried
+	 * @return boolean, whether requests of the type are retried
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isRetryable(WWRequestType type) {
+		return null != type && retryableTypes.contains(type);
+	}
+
+	/**
+	 * Opts a request type in or out of retries. Only opt in non-idempotent types if a duplicate, e.g. a message posted twice, is acceptable
+	 *
+	 * @param type
+	 *            WWRequestType to opt in or out
+	 * @param retryable
+	 *            boolean, whether requests of the type are retried
+	 * @return RetryPolicy, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy setRetryable(WWRequestType type, boolean retryable) {
+		if (retryable) {
+			retryableTypes.add(type);
+		} else {
+			retryableTypes.remove(type);
+		}
+		return this;
+	}
+
+	/**
+	 * Whether a response status indicates a transient failure: 429 Too Many Requests or a 5xx server error, other than 501 Not Implemented and 505 HTTP Version Not Supported
+	 *
+	 * @param statusCode
+	 *            int, HTTP status code of the response
+	 * @return boolean, whether the request may succeed if retried
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isRetryableStatus(int statusCode) {
+		return statusCode == 429 || (statusCode >= 500 && statusCode != 501 && statusCode != 505);
+	}
+
+	/**
+	 * Whether an exception indicates a transient failure: a timeout, a reset connection or no response from the server. Unknown hosts, SSL failures and interruptions are not retried
+	 *
+	 * @param e
+	 *            IOException thrown when executing the request
+	 * @return boolean, whether the request may succeed if retried
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isRetryableException(IOException e) {
+		if (e instanceof UnknownHostException || e instanceof SSLException) {
+			return false;
+		}
+		if (e instanceof InterruptedIOException) {
+			// Timeouts are InterruptedIOExceptions too, but a caller's interruption is not
+			return e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException || e instanceof ConnectionPoolTimeoutException;
+		}
+		return e instanceof SocketException || e instanceof NoHttpResponseException;
+	}
+
+	/**
+	 * Whether an exception shows the request failed before anything was sent to the server, so it can be retried safely whatever its type
+	 *
+	 * @param e
+	 *            IOException thrown when executing the request
+	 * @return boolean, whether the request was not sent
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isNotSent(IOException e) {
+		return e instanceof ConnectException || e instanceof ConnectTimeoutException || e instanceof ConnectionPoolTimeoutException;
+	}
+
+	/**
+	 * Works out how long to wait before a retry. A Retry-After header on the response is honoured, otherwise the backoff grows exponentially with the attempt number and a random amount between
+	 * zero and the backoff is used ("full jitter")
+	 *
+	 * @param attempt
+	 *            int, number of the attempt that failed, starting at 1
+	 * @param response
+	 *            HttpResponse that failed, or null if an exception was thrown
+	 * @return long, milliseconds to wait, or -1 if the server asked for a wait longer than {@link #getMaxRetryAfter()}
+	 *
+	 * @since 0.8.0
+	 */
+	public long getBackoff(int attempt, HttpResponse response) {
+		long retryAfter = getRetryAfter(response);
+		if (retryAfter > maxRetryAfter) {
+			return -1;
+		} else if (retryAfter >= 0) {
+			return retryAfter;
+		}
+		double backoff = Math.min(maxBackoff, initialBackoff * Math.pow(multiplier, attempt - 1));
+		return (long) (RANDOM.nextDouble() * backoff);
+	}
+
+	/**
+	 * Reads the Retry-After header, which may be a number of seconds or an HTTP date
+	 *
+	 * @param response
+	 *            HttpResponse to read the header from, may be null
+	 * @return long, milliseconds to wait, or -1 if there is no valid Retry-After header
+	 *
+	 * @since 0.8.0
+	 */
+	static long getRetryAfter(HttpResponse response) {
+		if (null == response) {
+			return -1;
+		}
+		Header header = response.getFirstHeader("Retry-After");
+		if (null == header || null == header.getValue()) {
+			return -1;
+		}
+		String value = header.getValue().trim();
+		try {
+			return Math.max(0, Long.parseLong(value) * 1000);
+		} catch (NumberFormatException e) {
+			Date date = DateUtils.parseDate(value);
+			if (null == date) {
+				return -1;
+			}
+			return Math.max(0, date.getTime() - System.currentTimeMillis());
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+package org.opencode4workspace.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Token bucket holding up to a fixed number of permits, refilled at a steady rate. A full bucket allows a burst of up to its capacity, after which requests are smoothed to the refill rate.
+ *        Blocking acquisitions reserve their permit before waiting, so waiting threads are served in order and never exceed the rate between them
+ *
+ */
+public class TokenBucket {
+
+	private final double capacity;
+	private final double permitsPerNano;
+	private double permits;
+	private long lastRefill;
+
+	/**
+	 * Creates a full bucket
+	 *
+	 * @param capacity
+	 *            int, maximum number of permits held, i.e. the largest burst allowed
+	 * @param permitsPerSecond
+	 *            double, rate at which permits are added
+	 *
+	 * @since 0.8.0
+	 */
+	public TokenBucket(int capacity, double permitsPerSecond) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The bucket must hold at least one permit");
+		}
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("The refill rate must be positive");
+		}
+		this.capacity = capacity;
+		this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.permits = capacity;
+		this.lastRefill = System.nanoTime();
+	}
+
+	/**
+	 * Adds the permits accrued since the last refill
+	 *
+	 * @since 0.8.0
+	 */
+	private void refill() {
+		long now = System.nanoTime();
+		permits = Math.min(capacity, permits + (now - lastRefill) * permitsPerNano);
+		lastRefill = now;
+	}
+
+	/**
+	 * Takes a permit if one is available now, without waiting
+	 *
+	 * @return boolean, whether a permit was taken
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized boolean tryAcquire() {
+		refill();
+		if (permits >= 1) {
+			permits -= 1;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Takes a permit, waiting for one to become available if necessary
+	 *
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	public void acquire() throws InterruptedException {
+		tryAcquire(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Takes a permit, waiting for one to become available if it will be within the timeout. If it will not, the method returns immediately rather than waiting for the timeout to elapse
+	 *
+	 * @param timeout
+	 *            long, longest time to wait
+	 * @param unit
+	 *            TimeUnit of the timeout
+	 * @return boolean, whether a permit was taken
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+		return tryAcquire(timeout, unit, null);
+	}
+
+	/**
+	 * Takes a permit as {@link #tryAcquire(long, TimeUnit)} does, but stops waiting if the call is cancelled, giving the reserved permit back
+	 *
+	 * @param timeout
+	 *            long, longest time to wait
+	 * @param unit
+	 *            TimeUnit of the timeout
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return boolean, whether a permit was taken
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	boolean tryAcquire(long timeout, TimeUnit unit, Deadline deadline) throws InterruptedException {
+		long waitNanos;
+		synchronized (this) {
+			refill();
+			waitNanos = getWaitNanos();
+			if (waitNanos > unit.toNanos(timeout)) {
+				return false;
+			}
+			// Reserve the permit, so later callers queue behind this one
+			permits -= 1;
+		}
+		if (waitNanos > 0) {
+			if (null == deadline) {
+				TimeUnit.NANOSECONDS.sleep(waitNanos);
+			} else {
+				deadline.sleepNanos(waitNanos);
+				if (deadline.isCancelled()) {
+					synchronized (this) {
+						permits += 1;
+					}
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return long, nanoseconds until a permit is available, 0 if one is available now
+	 *
+	 * @since 0.8.0
+	 */
+	private long getWaitNanos() {
+		if (permits >= 1) {
+			return 0;
+		}
+		return (long) Math.ceil((1 - permits) / permitsPerNano);
+	}
+
+	/**
+	 * @return int, whole permits available now, 0 if waiting threads have reserved the permits accrued so far
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized int getAvailablePermits() {
+		refill();
+		return (int) Math.max(0, Math.floor(permits));
+	}
+
+	/**
+	 * @return long, milliseconds until a permit will be available, 0 if one is available now
+	 *
+	 * @since 0.8.0
+	 */
+	public synchronized long getWaitMillis() {
+		refill();
+		return TimeUnit.NANOSECONDS.toMillis(getWaitNanos() + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+	}
+
+	/**
+	 * @return int, maximum number of permits held
+	 *
+	 * @since 0.8.0
+	 */
+	public int getCapacity() {
+		return (int) capacity;
+	}
+
+	/**
+	 * @return double, rate at which permits are added per second
+	 *
+	 * @since 0.8.0
+	 */
+	public double getPermitsPerSecond() {
+		return permitsPerNano * TimeUnit.SECONDS.toNanos(1);
+	}
+
+}
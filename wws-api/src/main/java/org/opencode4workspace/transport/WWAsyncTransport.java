@@ -0,0 +1,155 @@
+package org.opencode4workspace.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Non-blocking HTTP transport backed by an NIO I/O reactor. A small, fixed number of I/O dispatch threads ({@link WWTransportConfig#getIoThreadCount()}) multiplex all pooled connections,
+ *        so many requests can be in flight without a thread blocked per request. Completion is signalled via the {@link FutureCallback} passed to {@link #execute(HttpUriRequest, FutureCallback)};
+ *        callbacks run on an I/O dispatch thread, so must not block.
+ *
+ */
+public class WWAsyncTransport implements Closeable {
+
+	private final WWTransportConfig config;
+	private final PoolingNHttpClientConnectionManager connectionManager;
+	private final CloseableHttpAsyncClient httpClient;
+	private final ScheduledExecutorService evictor;
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates and starts an asynchronous transport with the default {@link WWTransportConfig}
+	 *
+	 * @throws IOReactorException
+	 *             if the I/O reactor could not be started
+	 *
+	 * @since 0.8.0
+	 */
+	public WWAsyncTransport() throws IOReactorException {
+		this(new WWTransportConfig());
+	}
+
+	/**
+	 * Creates and starts an asynchronous transport with the passed configuration
+	 *
+	 * @param config
+	 *            WWTransportConfig containing pool limits, timeouts, keep-alive / eviction settings and the number of I/O threads
+	 * @throws IOReactorException
+	 *             if the I/O reactor could not be started
+	 *
+	 * @since 0.8.0
+	 */
+	public WWAsyncTransport(final WWTransportConfig config) throws IOReactorException {
+		this.config = config;
+		IOReactorConfig reactorConfig = IOReactorConfig.custom().setIoThreadCount(config.getIoThreadCount()).setConnectTimeout(config.getConnectTimeout())
+				.setSoTimeout(config.getSocketTimeout()).build();
+		connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig));
+		connectionManager.setMaxTotal(config.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+		RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(config.getConnectTimeout()).setSocketTimeout(config.getSocketTimeout())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeout()).build();
+		httpClient = HttpAsyncClients.custom().setConnectionManager(connectionManager).setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(WWTransport.buildKeepAliveStrategy(config.getKeepAlive())).build();
+		evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "wws-async-connection-evictor");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		long evictionPeriod = Math.max(1000, Math.min(config.getMaxIdleTime(), 5000));
+		evictor.scheduleWithFixedDelay(new Runnable() {
+
+			@Override
+			public void run() {
+				connectionManager.closeExpiredConnections();
+				connectionManager.closeIdleConnections(config.getMaxIdleTime(), TimeUnit.MILLISECONDS);
+			}
+		}, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+		httpClient.start();
+	}
+
+	/**
+	 * Executes the request without blocking the calling thread. The response entity is buffered in memory before the callback is notified
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param callback
+	 *            FutureCallback notified on an I/O dispatch thread when the request completes, fails or is cancelled. May be null
+	 * @return Future for the response
+	 * @throws IOException
+	 *             if the transport has already been closed
+	 *
+	 * @since 0.8.0
+	 */
+	public Future<HttpResponse> execute(HttpUriRequest request, FutureCallback<HttpResponse> callback) throws IOException {
+		if (closed) {
+			throw new IOException("The transport has been closed");
+		}
+		return httpClient.execute(request, callback);
+	}
+
+	/**
+	 * @return WWTransportConfig the transport was created with
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * @return PoolingNHttpClientConnectionManager the underlying connection manager, e.g. for monitoring pool statistics
+	 *
+	 * @since 0.8.0
+	 */
+	public PoolingNHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	/**
+	 * @return boolean, whether {@link #close()} has been called
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		evictor.shutdownNow();
+		httpClient.close();
+	}
+
+}
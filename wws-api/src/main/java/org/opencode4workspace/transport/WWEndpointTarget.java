@@ -0,0 +1,14 @@
+package org.opencode4workspace.transport;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Watson Work Services endpoints requests are sent to, corresponding to the URLs in {@link org.opencode4workspace.endpoints.WWDefinedEndpoints}. The transport keeps a
+ *        {@link CircuitBreaker} per target, so a failing endpoint, e.g. file uploads, does not stop requests to the others
+ *
+ */
+public enum WWEndpointTarget {
+	GRAPHQL, MESSAGES, FILES, PHOTOS, AUTHENTICATION;
+
+}
@@ -0,0 +1,217 @@
+package org.opencode4workspace.transport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Client-side rate limiter with a separate {@link TokenBucket} per {@link WWRequestType}, so for example a burst of message posts does not use up the budget for queries. Smoothing
+ *        requests to the rate Watson Work Services accepts avoids bursts being throttled, and every thread then failing together. Request types without a limit are not restricted.
+ *
+ *        A limiter is set on a {@link org.opencode4workspace.WWClient}, and should be shared by all clients of the same application, whose requests count against the same limits. The transport
+ *        acquires a permit before each attempt of a request, waiting up to {@link #getMaxWait()}, and {@link org.opencode4workspace.WWAsyncClient} before each request, waiting off the caller's
+ *        thread. Callers can also check the budget themselves with {@link #tryAcquire(WWRequestType)}, which never waits, or {@link #acquireOrFail(WWRequestType)}, which fails immediately.
+ *        Setters return the limiter, so it can be built fluently, e.g.
+ *        <code>new WWRateLimiter().setLimit(WWRequestType.QUERY, 20, 10).setLimit(WWRequestType.MESSAGE, 5, 1)</code>
+ *
+ */
+public class WWRateLimiter {
+
+	private final Map<WWRequestType, TokenBucket> buckets = new ConcurrentHashMap<WWRequestType, TokenBucket>();
+	private volatile long maxWait = Long.MAX_VALUE;
+
+	/**
+	 * Limits requests of a type, replacing any existing limit with a full bucket
+	 *
+	 * @param type
+	 *            WWRequestType to limit
+	 * @param burst
+	 *            int, number of requests that can be sent at once after a quiet period
+	 * @param requestsPerSecond
+	 *            double, sustained rate of requests
+	 * @return WWRateLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWRateLimiter setLimit(WWRequestType type, int burst, double requestsPerSecond) {
+		buckets.put(type, new TokenBucket(burst, requestsPerSecond));
+		return this;
+	}
+
+	/**
+	 * Removes the limit for a request type
+	 *
+	 * @param type
+	 *            WWRequestType to stop limiting
+	 * @return WWRateLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWRateLimiter removeLimit(WWRequestType type) {
+		buckets.remove(type);
+		return this;
+	}
+
+	/**
+	 * @param type
+	 *            WWRequestType to get the bucket for
+	 * @return TokenBucket limiting requests of the type, or null if they are not limited
+	 *
+	 * @since 0.8.0
+	 */
+	public TokenBucket getBucket(WWRequestType type) {
+		if (null == type) {
+			return null;
+		}
+		return buckets.get(type);
+	}
+
+	/**
+	 * @return long, longest time in milliseconds {@link #acquire(WWRequestType)} waits for a permit
+	 *
+	 * @since 0.8.0
+	 */
+	public long getMaxWait() {
+		return maxWait;
+	}
+
+	/**
+	 * @param maxWait
+	 *            long, longest time in milliseconds {@link #acquire(WWRequestType)} waits for a permit. Defaults to waiting as long as necessary; 0 makes requests fail fast when the budget is
+	 *            used up
+	 * @return WWRateLimiter, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWRateLimiter setMaxWait(long maxWait) {
+		if (maxWait < 0) {
+			throw new IllegalArgumentException("The maximum wait cannot be negative");
+		}
+		this.maxWait = maxWait;
+		return this;
+	}
+
+	/**
+	 * Takes a permit for a request, waiting up to {@link #getMaxWait()} for one to become available
+	 *
+	 * @param type
+	 *            WWRequestType of the request, may be null for unclassified requests, which are not limited
+	 * @throws RateLimitExceededException
+	 *             if no permit will be available within the maximum wait
+	 * @throws WWException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	public void acquire(WWRequestType type) throws WWException {
+		acquire(type, maxWait);
+	}
+
+	/**
+	 * Takes a permit for a request, waiting up to a given time for one to become available, e.g. the time left before a deadline
+	 *
+	 * @param type
+	 *            WWRequestType of the request, may be null for unclassified requests, which are not limited
+	 * @param maxWait
+	 *            long, longest time in milliseconds to wait
+	 * @throws RateLimitExceededException
+	 *             if no permit will be available within the maximum wait
+	 * @throws WWException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	public void acquire(WWRequestType type, long maxWait) throws WWException {
+		acquire(type, maxWait, null);
+	}
+
+	/**
+	 * Takes a permit for a request, waiting up to a given time for one to become available and stopping early if the call is cancelled
+	 *
+	 * @param type
+	 *            WWRequestType of the request, may be null for unclassified requests, which are not limited
+	 * @param maxWait
+	 *            long, longest time in milliseconds to wait
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @throws RateLimitExceededException
+	 *             if no permit will be available within the maximum wait
+	 * @throws DeadlineExceededException
+	 *             if the call was cancelled while waiting
+	 * @throws WWException
+	 *             if the thread is interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	void acquire(WWRequestType type, long maxWait, Deadline deadline) throws WWException {
+		TokenBucket bucket = getBucket(type);
+		if (null == bucket) {
+			return;
+		}
+		try {
+			if (!bucket.tryAcquire(maxWait, TimeUnit.MILLISECONDS, deadline)) {
+				if (null != deadline) {
+					deadline.check();
+				}
+				throw new RateLimitExceededException(type, bucket.getWaitMillis());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WWException(e);
+		}
+	}
+
+	/**
+	 * Takes a permit for a request if one is available now, without waiting
+	 *
+	 * @param type
+	 *            WWRequestType of the request, may be null for unclassified requests, which are not limited
+	 * @return boolean, whether the request can be sent
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean tryAcquire(WWRequestType type) {
+		TokenBucket bucket = getBucket(type);
+		return null == bucket || bucket.tryAcquire();
+	}
+
+	/**
+	 * Takes a permit for a request, failing immediately if none is available now
+	 *
+	 * @param type
+	 *            WWRequestType of the request, may be null for unclassified requests, which are not limited
+	 * @throws RateLimitExceededException
+	 *             if no permit is available, containing the time until one will be
+	 *
+	 * @since 0.8.0
+	 */
+	public void acquireOrFail(WWRequestType type) throws RateLimitExceededException {
+		TokenBucket bucket = getBucket(type);
+		if (null != bucket && !bucket.tryAcquire()) {
+			throw new RateLimitExceededException(type, bucket.getWaitMillis());
+		}
+	}
+
+	/**
+	 * Gets the remaining budget for a request type, i.e. how many requests can be sent now without waiting
+	 *
+	 * @param type
+	 *            WWRequestType to check
+	 * @return int, number of permits available now, or -1 if requests of the type are not limited
+	 *
+	 * @since 0.8.0
+	 */
+	public int getRemaining(WWRequestType type) {
+		TokenBucket bucket = getBucket(type);
+		if (null == bucket) {
+			return -1;
+		}
+		return bucket.getAvailablePermits();
+	}
+
+}
@@ -0,0 +1,41 @@
+package org.opencode4workspace.transport;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Types of request made to Watson Work Services, so the transport can apply policies such as retries per type of request. Only GraphQL queries are idempotent: sending any other request
+ *        twice may, for example, post a message twice
+ *
+ */
+public enum WWRequestType {
+	QUERY(true, WWEndpointTarget.GRAPHQL), MUTATION(false, WWEndpointTarget.GRAPHQL), MESSAGE(false, WWEndpointTarget.MESSAGES), FILE(false, WWEndpointTarget.FILES),
+	PHOTO(false, WWEndpointTarget.PHOTOS), AUTHENTICATION(false, WWEndpointTarget.AUTHENTICATION);
+
+	private final boolean idempotent;
+	private final WWEndpointTarget target;
+
+	private WWRequestType(boolean idempotent, WWEndpointTarget target) {
+		this.idempotent = idempotent;
+		this.target = target;
+	}
+
+	/**
+	 * @return boolean, whether sending the request more than once has the same effect as sending it once
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isIdempotent() {
+		return idempotent;
+	}
+
+	/**
+	 * @return WWEndpointTarget the request is sent to
+	 *
+	 * @since 0.8.0
+	 */
+	public WWEndpointTarget getTarget() {
+		return target;
+	}
+
+}
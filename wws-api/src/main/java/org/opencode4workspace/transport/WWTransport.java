@@ -0,0 +1,784 @@
+package org.opencode4workspace.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.opencode4workspace.IWWClient;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Long-lived HTTP transport backed by a pooled connection manager. A single transport is intended to be shared by every endpoint of a WWClient (or of many WWClients), so TCP / TLS
+ *        connections to Watson Work Services are re-used rather than re-established for every request. Idle and expired connections are evicted by a background thread, which is stopped by
+ *        {@link #close()}.
+ *
+ *        Unless disabled in the config, the transport keeps a {@link CircuitBreaker} per {@link WWEndpointTarget}, so requests to a failing endpoint fail fast rather than each waiting for its
+ *        socket timeout.
+ *
+ */
+public class WWTransport implements Closeable {
+
+	private final WWTransportConfig config;
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final CloseableHttpClient httpClient;
+	private final Map<WWEndpointTarget, CircuitBreaker> circuitBreakers = new EnumMap<WWEndpointTarget, CircuitBreaker>(WWEndpointTarget.class);
+	private final RequestHedger hedger;
+	private volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a transport with the default {@link WWTransportConfig}
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransport() {
+		this(new WWTransportConfig());
+	}
+
+	/**
+	 * Creates a transport with the passed configuration
+	 *
+	 * @param config
+	 *            WWTransportConfig containing pool limits, timeouts and keep-alive / eviction settings
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransport(WWTransportConfig config) {
+		this.config = config;
+		connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(config.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity(config.getValidateAfterInactivity());
+		RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(config.getConnectTimeout()).setSocketTimeout(config.getSocketTimeout())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeout()).build();
+		httpClient = HttpClients.custom().setConnectionManager(connectionManager).setDefaultRequestConfig(requestConfig).setKeepAliveStrategy(buildKeepAliveStrategy(config.getKeepAlive()))
+				.evictExpiredConnections().evictIdleConnections(config.getMaxIdleTime(), TimeUnit.MILLISECONDS).build();
+		if (null != config.getCircuitBreakerPolicy()) {
+			for (WWEndpointTarget target : WWEndpointTarget.values()) {
+				circuitBreakers.put(target, new CircuitBreaker(target, config.getCircuitBreakerPolicy()));
+			}
+		}
+		hedger = null == config.getHedgingPolicy() ? null : new RequestHedger(config.getHedgingPolicy());
+	}
+
+	/**
+	 * Honours any Keep-Alive header sent by the server, otherwise falls back to the configured keep-alive
+	 *
+	 * @param defaultKeepAlive
+	 *            long, keep-alive to use when the server does not send one
+	 * @return ConnectionKeepAliveStrategy for the pooled client
+	 *
+	 * @since 0.8.0
+	 */
+	static ConnectionKeepAliveStrategy buildKeepAliveStrategy(final long defaultKeepAlive) {
+		return new ConnectionKeepAliveStrategy() {
+
+			@Override
+			public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+				if (keepAlive > 0) {
+					return keepAlive;
+				}
+				return defaultKeepAlive;
+			}
+		};
+	}
+
+	/**
+	 * Executes the request on a pooled connection. The caller is responsible for consuming the entity and closing the response, so the connection is returned to the pool
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @return CloseableHttpResponse from the server
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 *
+	 * @since 0.8.0
+	 */
+	public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+		if (closed) {
+			throw new IOException("The transport has been closed");
+		}
+		return httpClient.execute(request);
+	}
+
+	/**
+	 * Executes a request authorized with the client's JWT token. If Watson Work Services rejects the token with a 401, the client is re-authenticated once and the request replayed with the new
+	 * token. The already-serialized entity is sent again, so only requests with a repeatable entity (or none) are replayed; any other 401 response is returned to the caller as-is. The request is
+	 * not classified, so is only retried by the {@link RetryPolicy} if nothing was sent
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute, with an "Authorization: Bearer" header
+	 * @param client
+	 *            IWWClient whose token authorized the request
+	 * @return CloseableHttpResponse from the server. The caller is responsible for consuming the entity and closing the response
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 * @throws WWException
+	 *             if the client could not be re-authenticated
+	 *
+	 * @since 0.8.0
+	 */
+	public CloseableHttpResponse execute(HttpUriRequest request, IWWClient client) throws IOException, WWException {
+		return execute(request, client, null);
+	}
+
+	/**
+	 * Executes a request authorized with the client's JWT token, replaying it once with a new token if the token is rejected with a 401 and retrying transient failures according to the
+	 * {@link RetryPolicy} of the transport's config. Only requests with a repeatable entity (or none) are replayed or retried. If the retries are exhausted, the last response or exception is
+	 * returned to the caller. If the client has a {@link WWRateLimiter}, a permit is acquired before each attempt, and if the transport has an {@link AdaptiveConcurrencyLimiter}, a slot is held
+	 * for each attempt until the response headers are received. Requests to an endpoint whose circuit is open fail fast. If the config has a {@link HedgingPolicy}, attempts of idempotent
+	 * requests are hedged. Any {@link Deadline} attached to the current thread applies
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute, with an "Authorization: Bearer" header
+	 * @param client
+	 *            IWWClient whose token authorized the request, or null if the request is not authorized with a JWT token, e.g. for authentication
+	 * @param type
+	 *            WWRequestType of the request, used to decide whether it can be retried and which circuit breaker applies. May be null
+	 * @return CloseableHttpResponse from the server. The caller is responsible for consuming the entity and closing the response
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 * @throws WWException
+	 *             if the client could not be re-authenticated, a {@link RateLimitExceededException} or {@link ConcurrencyLimitExceededException} if the request was not sent because of the
+	 *             limits set, or a {@link CircuitOpenException} if the endpoint's circuit is open
+	 *
+	 * @since 0.8.0
+	 */
+	public CloseableHttpResponse execute(HttpUriRequest request, IWWClient client, WWRequestType type) throws IOException, WWException {
+		return execute(request, client, type, Deadline.current());
+	}
+
+	/**
+	 * Executes a request authorized with the client's JWT token as {@link #execute(HttpUriRequest, IWWClient, WWRequestType)}, within a deadline. The deadline covers the waits for the limiters,
+	 * retries and their backoff, and the I/O: when it passes or the call is cancelled, the request is aborted, releasing its connection. A retry whose backoff would pass the deadline is not made
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute, with an "Authorization: Bearer" header
+	 * @param client
+	 *            IWWClient whose token authorized the request, or null if the request is not authorized with a JWT token, e.g. for authentication
+	 * @param type
+	 *            WWRequestType of the request, used to decide whether it can be retried and which circuit breaker applies. May be null
+	 * @param deadline
+	 *            Deadline for the call, or null for none
+	 * @return CloseableHttpResponse from the server. The caller is responsible for consuming the entity and closing the response. Reading the entity is also aborted if the deadline passes
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 * @throws WWException
+	 *             a {@link DeadlineExceededException} if the deadline passed or the call was cancelled, or as {@link #execute(HttpUriRequest, IWWClient, WWRequestType)}
+	 *
+	 * @since 0.8.0
+	 */
+	public CloseableHttpResponse execute(HttpUriRequest request, IWWClient client, WWRequestType type, Deadline deadline) throws IOException, WWException {
+		RetryPolicy policy = config.getRetryPolicy();
+		boolean replayable = isReplayable(request);
+		boolean hedge = null != hedger && replayable && null != type && type.isIdempotent();
+		boolean reauthenticated = false;
+		int attempt = 0;
+		while (true) {
+			attempt++;
+			CloseableHttpResponse response;
+			try {
+				response = hedge ? hedgedAttempt(request, client, type, policy, deadline) : attempt(request, client, type, policy, deadline);
+			} catch (IOException e) {
+				if (isAborted(deadline)) {
+					throw deadline.exceeded(e);
+				}
+				if (!replayable || attempt >= policy.getMaxAttempts() || !policy.isRetryableException(e) || !(policy.isRetryable(type) || policy.isNotSent(e))) {
+					throw e;
+				}
+				long backoff = policy.getBackoff(attempt, null);
+				if (!fitsDeadline(backoff, deadline)) {
+					throw e;
+				}
+				pause(backoff, deadline);
+				continue;
+			}
+			int statusCode = response.getStatusLine().getStatusCode();
+			if (statusCode == HttpStatus.SC_UNAUTHORIZED && null != client && replayable && !reauthenticated) {
+				release(response);
+				reauthenticated = true;
+				request.setHeader("Authorization", "Bearer " + reauthenticate(client, request.getFirstHeader("Authorization")));
+				// The replay with a new token is not a retry of a transient failure
+				attempt--;
+				continue;
+			}
+			if (replayable && attempt < policy.getMaxAttempts() && policy.isRetryable(type) && policy.isRetryableStatus(statusCode)) {
+				long backoff = policy.getBackoff(attempt, response);
+				if (backoff >= 0 && fitsDeadline(backoff, deadline)) {
+					release(response);
+					pause(backoff, deadline);
+					continue;
+				}
+			}
+			return response;
+		}
+	}
+
+	/**
+	 * Makes one attempt of a request, failing fast if the endpoint's circuit is open. Server errors, timeouts and resets are recorded as failures of the endpoint; a request not sent because of
+	 * the client's limits, or aborted, is not recorded
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param client
+	 *            IWWClient whose token authorized the request, may be null
+	 * @param type
+	 *            WWRequestType of the request, may be null
+	 * @param policy
+	 *            RetryPolicy used to classify failures
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return CloseableHttpResponse from the server
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 * @throws WWException
+	 *             if the circuit is open, the request was not sent because of the limits set or the deadline has passed
+	 *
+	 * @since 0.8.0
+	 */
+	private CloseableHttpResponse attempt(HttpUriRequest request, IWWClient client, WWRequestType type, RetryPolicy policy, Deadline deadline) throws IOException, WWException {
+		if (null != deadline) {
+			deadline.check();
+		}
+		CircuitBreaker breaker = null == type ? null : circuitBreakers.get(type.getTarget());
+		if (null != breaker) {
+			breaker.acquire();
+		}
+		boolean recorded = false;
+		try {
+			acquirePermit(client, type, deadline);
+			CloseableHttpResponse response = send(request, type, policy, deadline);
+			if (null != breaker) {
+				if (response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+					breaker.onFailure();
+				} else {
+					breaker.onSuccess();
+				}
+				recorded = true;
+			}
+			return response;
+		} catch (IOException e) {
+			if (null != breaker && policy.isRetryableException(e) && !isAborted(request, deadline)) {
+				breaker.onFailure();
+				recorded = true;
+			}
+			throw e;
+		} finally {
+			if (null != breaker && !recorded) {
+				breaker.release();
+			}
+		}
+	}
+
+	/**
+	 * Makes one attempt of an idempotent request, sending a second copy if no response has arrived within the hedger's delay and the hedge budget allows. The first response to arrive is returned and
+	 * the other request aborted, releasing its connection. If one request fails, the other's outcome is awaited
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute, with a repeatable entity
+	 * @param client
+	 *            IWWClient whose token authorized the request, may be null
+	 * @param type
+	 *            WWRequestType of the request
+	 * @param policy
+	 *            RetryPolicy used to classify failures
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return CloseableHttpResponse from the server
+	 * @throws IOException
+	 *             if neither request could be executed, or the thread was interrupted while waiting
+	 * @throws WWException
+	 *             if the circuit is open, the request was not sent because of the limits set or the deadline has passed
+	 *
+	 * @since 0.8.0
+	 */
+	private CloseableHttpResponse hedgedAttempt(HttpUriRequest request, IWWClient client, WWRequestType type, RetryPolicy policy, Deadline deadline) throws IOException, WWException {
+		AtomicBoolean claimed = new AtomicBoolean();
+		CompletionService<CloseableHttpResponse> completion = new ExecutorCompletionService<CloseableHttpResponse>(hedger.getExecutor());
+		// Copies are sent, so aborting the loser leaves the request itself usable for a replay or retry
+		List<HttpUriRequest> sent = new ArrayList<HttpUriRequest>(2);
+		HttpUriRequest winner = null;
+		HttpUriRequest primary = RequestBuilder.copy(request).build();
+		sent.add(primary);
+		Future<CloseableHttpResponse> original = completion.submit(buildHedgeTask(primary, client, type, policy, deadline, claimed));
+		hedger.earn();
+		int pending = 1;
+		Throwable failure = null;
+		try {
+			Future<CloseableHttpResponse> done = completion.poll(hedger.getDelayMillis(), TimeUnit.MILLISECONDS);
+			if (null == done) {
+				if (hedger.tryHedge()) {
+					HttpUriRequest copy = RequestBuilder.copy(request).build();
+					sent.add(copy);
+					completion.submit(buildHedgeTask(copy, client, type, policy, deadline, claimed));
+					pending++;
+				}
+				done = completion.take();
+			}
+			while (true) {
+				pending--;
+				try {
+					CloseableHttpResponse response = done.get();
+					if (null != response) {
+						winner = done == original ? primary : sent.get(1);
+						if (done != original) {
+							hedger.recordWin();
+						}
+						return response;
+					}
+				} catch (ExecutionException e) {
+					if (null == failure) {
+						failure = e.getCause();
+					}
+				}
+				if (pending == 0) {
+					break;
+				}
+				done = completion.take();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the response");
+		} finally {
+			for (HttpUriRequest other : sent) {
+				if (other != winner) {
+					other.abort();
+				}
+			}
+		}
+		if (failure instanceof IOException) {
+			throw (IOException) failure;
+		} else if (failure instanceof WWException) {
+			throw (WWException) failure;
+		} else if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		throw new WWException((Exception) failure);
+	}
+
+	/**
+	 * Builds the task sending one of the requests of a hedged attempt. The first response received claims the attempt and records its latency; a later one is released
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param client
+	 *            IWWClient whose token authorized the request, may be null
+	 * @param type
+	 *            WWRequestType of the request
+	 * @param policy
+	 *            RetryPolicy used to classify failures
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @param claimed
+	 *            AtomicBoolean shared by the requests of the attempt, set once a response has been received
+	 * @return Callable returning the response, or null if the other request's response was received first
+	 *
+	 * @since 0.8.0
+	 */
+	private Callable<CloseableHttpResponse> buildHedgeTask(final HttpUriRequest request, final IWWClient client, final WWRequestType type, final RetryPolicy policy,
+			final Deadline deadline, final AtomicBoolean claimed) {
+		return new Callable<CloseableHttpResponse>() {
+
+			@Override
+			public CloseableHttpResponse call() throws Exception {
+				long start = System.nanoTime();
+				CloseableHttpResponse response = attempt(request, client, type, policy, deadline);
+				if (claimed.compareAndSet(false, true)) {
+					hedger.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					return response;
+				}
+				release(response);
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Sends one attempt of a request, holding a slot of the concurrency limiter if one is set. Timeouts, resets and throttling or server error responses tell the limiter the backend is
+	 * overloaded. The request is registered with the deadline, if any, to be aborted when it passes, until the response has been read
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param type
+	 *            WWRequestType of the request, may be null
+	 * @param policy
+	 *            RetryPolicy used to classify failures
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return CloseableHttpResponse from the server
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 * @throws WWException
+	 *             if the request was shed by the concurrency limiter
+	 *
+	 * @since 0.8.0
+	 */
+	private CloseableHttpResponse send(HttpUriRequest request, WWRequestType type, RetryPolicy policy, Deadline deadline) throws IOException, WWException {
+		AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+		if (null != limiter) {
+			limiter.acquire(getMaxWait(limiter.getMaxWait(), deadline));
+		}
+		if (null == deadline) {
+			return null == limiter ? execute(request) : execute(request, type, policy, limiter, deadline);
+		}
+		deadline.register(request);
+		boolean sent = false;
+		try {
+			CloseableHttpResponse response = null == limiter ? execute(request) : execute(request, type, policy, limiter, deadline);
+			// The request stays registered while the response is read, so a slow body is aborted too
+			deadline.deregisterOnRelease(request, response);
+			sent = true;
+			return response;
+		} finally {
+			if (!sent) {
+				deadline.deregister(request);
+			}
+		}
+	}
+
+	/**
+	 * Executes a request holding a slot of the concurrency limiter, releasing it with the outcome of the request
+	 *
+	 * @param request
+	 *            HttpUriRequest to execute
+	 * @param type
+	 *            WWRequestType of the request, may be null
+	 * @param policy
+	 *            RetryPolicy used to classify failures
+	 * @param limiter
+	 *            AdaptiveConcurrencyLimiter a slot was acquired from
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return CloseableHttpResponse from the server
+	 * @throws IOException
+	 *             if the request could not be executed or the transport has already been closed
+	 *
+	 * @since 0.8.0
+	 */
+	private CloseableHttpResponse execute(HttpUriRequest request, WWRequestType type, RetryPolicy policy, AdaptiveConcurrencyLimiter limiter, Deadline deadline) throws IOException {
+		WWEndpointTarget target = null == type ? null : type.getTarget();
+		long start = System.nanoTime();
+		boolean released = false;
+		try {
+			CloseableHttpResponse response = execute(request);
+			limiter.release(target, System.nanoTime() - start, policy.isRetryableStatus(response.getStatusLine().getStatusCode()));
+			released = true;
+			return response;
+		} catch (IOException e) {
+			// Only timeouts and resets say something about the backend, not e.g. an aborted hedge or call
+			if (policy.isRetryableException(e) && !isAborted(request, deadline)) {
+				limiter.release(target, System.nanoTime() - start, true);
+				released = true;
+			}
+			throw e;
+		} finally {
+			if (!released) {
+				limiter.release();
+			}
+		}
+	}
+
+	/**
+	 * Acquires a permit from the client's rate limiter, if it has one, before a request is sent
+	 *
+	 * @param client
+	 *            IWWClient sending the request
+	 * @param type
+	 *            WWRequestType of the request, may be null
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @throws WWException
+	 *             if no permit was available in time, the call was cancelled or the thread was interrupted while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	private static void acquirePermit(IWWClient client, WWRequestType type, Deadline deadline) throws WWException {
+		WWRateLimiter rateLimiter = (null == client) ? null : client.getRateLimiter();
+		if (null != rateLimiter) {
+			rateLimiter.acquire(type, getMaxWait(rateLimiter.getMaxWait(), deadline), deadline);
+		}
+	}
+
+	/**
+	 * Whether a request may have failed because the deadline aborted it, rather than because of the endpoint
+	 *
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return boolean, whether the deadline has passed or the call has been cancelled
+	 *
+	 * @since 0.8.0
+	 */
+	private static boolean isAborted(Deadline deadline) {
+		return null != deadline && deadline.isDone();
+	}
+
+	/**
+	 * Whether a request may have failed because it was aborted, e.g. as the losing request of a hedged attempt or by the deadline, rather than because of the endpoint
+	 *
+	 * @param request
+	 *            HttpUriRequest that failed
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return boolean, whether the request has been aborted, the deadline has passed or the call has been cancelled
+	 *
+	 * @since 0.8.0
+	 */
+	private static boolean isAborted(HttpUriRequest request, Deadline deadline) {
+		return request.isAborted() || isAborted(deadline);
+	}
+
+	/**
+	 * Limits a wait to the time left before the deadline
+	 *
+	 * @param maxWait
+	 *            long, milliseconds the limiter would otherwise wait
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return long, milliseconds to wait at most
+	 *
+	 * @since 0.8.0
+	 */
+	private static long getMaxWait(long maxWait, Deadline deadline) {
+		if (null == deadline) {
+			return maxWait;
+		}
+		return Math.min(maxWait, deadline.getRemainingMillis());
+	}
+
+	/**
+	 * Whether a retry can be made after a backoff without passing the deadline
+	 *
+	 * @param backoff
+	 *            long, milliseconds to wait before the retry
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @return boolean, whether there is time for the retry
+	 *
+	 * @since 0.8.0
+	 */
+	private static boolean fitsDeadline(long backoff, Deadline deadline) {
+		return null == deadline || backoff < deadline.getRemainingMillis();
+	}
+
+	/**
+	 * Consumes any remaining content and closes a response that will not be returned to the caller, so the connection is returned to the pool
+	 *
+	 * @param response
+	 *            CloseableHttpResponse to release
+	 * @throws IOException
+	 *             if the response could not be closed
+	 *
+	 * @since 0.8.0
+	 */
+	private static void release(CloseableHttpResponse response) throws IOException {
+		EntityUtils.consumeQuietly(response.getEntity());
+		response.close();
+	}
+
+	/**
+	 * Waits before retrying a request, stopping early if the call is cancelled
+	 *
+	 * @param millis
+	 *            long, milliseconds to wait
+	 * @param deadline
+	 *            Deadline for the call, may be null
+	 * @throws InterruptedIOException
+	 *             if the thread is interrupted while waiting
+	 * @throws WWException
+	 *             if the call was cancelled while waiting
+	 *
+	 * @since 0.8.0
+	 */
+	private static void pause(long millis, Deadline deadline) throws InterruptedIOException, WWException {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			if (null == deadline) {
+				Thread.sleep(millis);
+			} else {
+				deadline.sleep(millis);
+				deadline.check();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to retry the request");
+		}
+	}
+
+	/**
+	 * Whether a request can be sent again, i.e. it has no entity or the entity is repeatable
+	 *
+	 * @param request
+	 *            HttpUriRequest to check
+	 * @return boolean, whether the request can be replayed
+	 *
+	 * @since 0.8.0
+	 */
+	static boolean isReplayable(HttpUriRequest request) {
+		if (request instanceof HttpEntityEnclosingRequest) {
+			HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+			return null == entity || entity.isRepeatable();
+		}
+		return true;
+	}
+
+	/**
+	 * Re-authenticates the client after its token was rejected. A {@link WWClient} only re-authenticates if no other thread has already replaced the rejected token
+	 *
+	 * @param client
+	 *            IWWClient whose token was rejected
+	 * @param authorization
+	 *            Header containing the rejected token, may be null
+	 * @return String, JWT token to replay the request with
+	 * @throws IOException
+	 *             if the Authorization header could not be constructed
+	 * @throws WWException
+	 *             if the client could not be re-authenticated
+	 *
+	 * @since 0.8.0
+	 */
+	private static String reauthenticate(IWWClient client, Header authorization) throws IOException, WWException {
+		if (client instanceof WWClient) {
+			String rejectedToken = null;
+			if (null != authorization && authorization.getValue().startsWith("Bearer ")) {
+				rejectedToken = authorization.getValue().substring("Bearer ".length());
+			}
+			return ((WWClient) client).refreshAuthentication(rejectedToken).getJwtToken();
+		}
+		client.authenticate();
+		return client.getJWTToken();
+	}
+
+	/**
+	 * @return WWTransportConfig the transport was created with
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * @param target
+	 *            WWEndpointTarget to get the circuit breaker for
+	 * @return CircuitBreaker for the endpoint, e.g. to check its state, or null if circuit breakers are disabled
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreaker getCircuitBreaker(WWEndpointTarget target) {
+		return circuitBreakers.get(target);
+	}
+
+	/**
+	 * @return RequestHedger holding the latencies and budget used to hedge requests, or null if requests are not hedged
+	 *
+	 * @since 0.8.0
+	 */
+	public RequestHedger getRequestHedger() {
+		return hedger;
+	}
+
+	/**
+	 * @return AdaptiveConcurrencyLimiter limiting the requests in flight, or null if they are not limited
+	 *
+	 * @since 0.8.0
+	 */
+	public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+
+	/**
+	 * Sets a limiter adapting the number of requests in flight to the latency observed. It applies to requests sent with {@link #execute(HttpUriRequest, IWWClient, WWRequestType)}, i.e. all
+	 * requests made by the SDK endpoints
+	 *
+	 * @param concurrencyLimiter
+	 *            AdaptiveConcurrencyLimiter to use, or null to stop limiting requests
+	 * @return WWTransport, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransport setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+		this.concurrencyLimiter = concurrencyLimiter;
+		return this;
+	}
+
+	/**
+	 * @return CloseableHttpClient the underlying pooled client, for requests not covered by the SDK endpoints
+	 *
+	 * @since 0.8.0
+	 */
+	public CloseableHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	/**
+	 * @return PoolingHttpClientConnectionManager the underlying connection manager, e.g. for monitoring pool statistics
+	 *
+	 * @since 0.8.0
+	 */
+	public PoolingHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	/**
+	 * @return boolean, whether {@link #close()} has been called
+	 *
+	 * @since 0.8.0
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (null != hedger) {
+			hedger.close();
+		}
+		httpClient.close();
+	}
+
+}
@@ -0,0 +1,322 @@
+package org.opencode4workspace.transport;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Configuration for a {@link WWTransport}. All timings are in milliseconds. Setters return the config object, so it can be built fluently, e.g.
+ *        <code>new WWTransportConfig().setMaxTotal(100).setSocketTimeout(60000)</code>
+ *
+ */
+public class WWTransportConfig implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default maximum number of pooled connections
+	 */
+	public static final int DEFAULT_MAX_TOTAL = 50;
+	/**
+	 * Default maximum number of pooled connections per route. All Watson Work Services endpoints share one host, so this is effectively the connection limit
+	 */
+	public static final int DEFAULT_MAX_PER_ROUTE = 20;
+	/**
+	 * Default time allowed to establish a connection
+	 */
+	public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+	/**
+	 * Default time allowed between packets once connected
+	 */
+	public static final int DEFAULT_SOCKET_TIMEOUT = 30000;
+	/**
+	 * Default time to wait for a connection to be leased from the pool
+	 */
+	public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 10000;
+	/**
+	 * Default keep-alive, used when the server does not send a Keep-Alive header
+	 */
+	public static final long DEFAULT_KEEP_ALIVE = 30000;
+	/**
+	 * Default time after which idle connections are evicted from the pool
+	 */
+	public static final long DEFAULT_MAX_IDLE_TIME = 60000;
+	/**
+	 * Default period of inactivity after which a pooled connection is re-validated before being leased
+	 */
+	public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+	/**
+	 * Default number of I/O dispatch threads used by a {@link WWAsyncTransport}
+	 */
+	public static final int DEFAULT_IO_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+	private int maxTotal = DEFAULT_MAX_TOTAL;
+	private int maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+	private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+	private int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+	private int connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+	private long keepAlive = DEFAULT_KEEP_ALIVE;
+	private long maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+	private int validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+	private int ioThreadCount = DEFAULT_IO_THREAD_COUNT;
+	private RetryPolicy retryPolicy = new RetryPolicy();
+	private CircuitBreakerPolicy circuitBreakerPolicy = new CircuitBreakerPolicy();
+	private HedgingPolicy hedgingPolicy;
+
+	/**
+	 * @return int, maximum number of pooled connections
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxTotal() {
+		return maxTotal;
+	}
+
+	/**
+	 * @param maxTotal
+	 *            int, maximum number of pooled connections
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setMaxTotal(int maxTotal) {
+		this.maxTotal = maxTotal;
+		return this;
+	}
+
+	/**
+	 * @return int, maximum number of pooled connections per route
+	 *
+	 * @since 0.8.0
+	 */
+	public int getMaxPerRoute() {
+		return maxPerRoute;
+	}
+
+	/**
+	 * @param maxPerRoute
+	 *            int, maximum number of pooled connections per route
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setMaxPerRoute(int maxPerRoute) {
+		this.maxPerRoute = maxPerRoute;
+		return this;
+	}
+
+	/**
+	 * @return int, time allowed to establish a connection
+	 *
+	 * @since 0.8.0
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * @param connectTimeout
+	 *            int, time allowed to establish a connection
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+		return this;
+	}
+
+	/**
+	 * @return int, time allowed between packets once connected
+	 *
+	 * @since 0.8.0
+	 */
+	public int getSocketTimeout() {
+		return socketTimeout;
+	}
+
+	/**
+	 * @param socketTimeout
+	 *            int, time allowed between packets once connected
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+		return this;
+	}
+
+	/**
+	 * @return int, time to wait for a connection to be leased from the pool
+	 *
+	 * @since 0.8.0
+	 */
+	public int getConnectionRequestTimeout() {
+		return connectionRequestTimeout;
+	}
+
+	/**
+	 * @param connectionRequestTimeout
+	 *            int, time to wait for a connection to be leased from the pool
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setConnectionRequestTimeout(int connectionRequestTimeout) {
+		this.connectionRequestTimeout = connectionRequestTimeout;
+		return this;
+	}
+
+	/**
+	 * @return long, keep-alive used when the server does not send a Keep-Alive header
+	 *
+	 * @since 0.8.0
+	 */
+	public long getKeepAlive() {
+		return keepAlive;
+	}
+
+	/**
+	 * @param keepAlive
+	 *            long, keep-alive used when the server does not send a Keep-Alive header
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setKeepAlive(long keepAlive) {
+		this.keepAlive = keepAlive;
+		return this;
+	}
+
+	/**
+	 * @return long, time after which idle connections are evicted from the pool
+	 *
+	 * @since 0.8.0
+	 */
+	public long getMaxIdleTime() {
+		return maxIdleTime;
+	}
+
+	/**
+	 * @param maxIdleTime
+	 *            long, time after which idle connections are evicted from the pool
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setMaxIdleTime(long maxIdleTime) {
+		this.maxIdleTime = maxIdleTime;
+		return this;
+	}
+
+	/**
+	 * @return int, period of inactivity after which a pooled connection is re-validated before being leased
+	 *
+	 * @since 0.8.0
+	 */
+	public int getValidateAfterInactivity() {
+		return validateAfterInactivity;
+	}
+
+	/**
+	 * @param validateAfterInactivity
+	 *            int, period of inactivity after which a pooled connection is re-validated before being leased
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setValidateAfterInactivity(int validateAfterInactivity) {
+		this.validateAfterInactivity = validateAfterInactivity;
+		return this;
+	}
+
+	/**
+	 * @return int, number of I/O dispatch threads used by a {@link WWAsyncTransport}
+	 *
+	 * @since 0.8.0
+	 */
+	public int getIoThreadCount() {
+		return ioThreadCount;
+	}
+
+	/**
+	 * @param ioThreadCount
+	 *            int, number of I/O dispatch threads used by a {@link WWAsyncTransport}
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setIoThreadCount(int ioThreadCount) {
+		this.ioThreadCount = ioThreadCount;
+		return this;
+	}
+
+	/**
+	 * @return RetryPolicy applied to requests executed by a {@link WWTransport}
+	 *
+	 * @since 0.8.0
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * @param retryPolicy
+	 *            RetryPolicy applied to requests executed by a {@link WWTransport}, defaults to retrying GraphQL queries. Use {@link RetryPolicy#none()} to disable retries
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setRetryPolicy(RetryPolicy retryPolicy) {
+		if (null == retryPolicy) {
+			throw new IllegalArgumentException("A retry policy is mandatory, use RetryPolicy.none() to disable retries");
+		}
+		this.retryPolicy = retryPolicy;
+		return this;
+	}
+
+	/**
+	 * @return CircuitBreakerPolicy for the circuit breakers a {@link WWTransport} keeps per endpoint, or null if circuit breakers are disabled
+	 *
+	 * @since 0.8.0
+	 */
+	public CircuitBreakerPolicy getCircuitBreakerPolicy() {
+		return circuitBreakerPolicy;
+	}
+
+	/**
+	 * @param circuitBreakerPolicy
+	 *            CircuitBreakerPolicy for the circuit breakers a {@link WWTransport} keeps per endpoint, or null to disable circuit breakers
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setCircuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+		this.circuitBreakerPolicy = circuitBreakerPolicy;
+		return this;
+	}
+
+	/**
+	 * @return HedgingPolicy for hedging idempotent requests, or null if requests are not hedged
+	 *
+	 * @since 0.8.0
+	 */
+	public HedgingPolicy getHedgingPolicy() {
+		return hedgingPolicy;
+	}
+
+	/**
+	 * @param hedgingPolicy
+	 *            HedgingPolicy for hedging idempotent requests, e.g. GraphQL queries, or null to not hedge requests. Defaults to null
+	 * @return WWTransportConfig, the current object
+	 *
+	 * @since 0.8.0
+	 */
+	public WWTransportConfig setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+		this.hedgingPolicy = hedgingPolicy;
+		return this;
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.opencode4workspace.mocks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationEndpoint;
+import org.opencode4workspace.authentication.AuthenticationResult;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        AuthenticationEndpoint for application clients that issues tokens valid for an hour without calling Watson Work Services. User authorization is not supported.
+ *
+ */
+public class MockAuthenticationEndpoint implements AuthenticationEndpoint {
+	private final AtomicInteger calls = new AtomicInteger();
+	private final boolean numberTokens;
+
+	/**
+	 * Issues the token "token" every time
+	 */
+	public MockAuthenticationEndpoint() {
+		this(false);
+	}
+
+	/**
+	 * @param numberTokens
+	 *            boolean, whether to number the tokens issued, "token1", "token2"..., so a refreshed token differs from the one it replaces
+	 */
+	public MockAuthenticationEndpoint(boolean numberTokens) {
+		this.numberTokens = numberTokens;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.opencode4workspace.authentication.AuthenticationEndpoint#authenticateApplication(java.lang.String)
+	 */
+	@Override
+	public AuthenticationResult authenticateApplication(String basicAuthApp) throws WWException {
+		int call = calls.incrementAndGet();
+		return new AuthenticationResult(numberTokens ? "token" + call : "token", 3600, "", "", "");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.opencode4workspace.authentication.AuthenticationEndpoint#authorizeUser(java.lang.String, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public AuthenticationResult authorizeUser(String basicAuthApp, String userToken, String redirectTo) throws WWException {
+		throw new WWException("Not a user client");
+	}
+
+	/**
+	 * @return int, number of tokens issued
+	 */
+	public int getCalls() {
+		return calls.get();
+	}
+
+}
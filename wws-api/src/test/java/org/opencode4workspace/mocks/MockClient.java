@@ -14,6 +14,8 @@ import org.opencode4workspace.graphql.DataContainer;
 import org.opencode4workspace.graphql.ErrorContainer;
 import org.opencode4workspace.graphql.GraphResultContainer;
 import org.opencode4workspace.json.ResultParser;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWTransport;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
@@ -188,4 +190,24 @@ public class MockClient implements IWWClient {
 		this.resultContent = resultContent;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.IWWClient#getTransport()
+	 */
+	@Override
+	public WWTransport getTransport() {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opencode4workspace.IWWClient#getRateLimiter()
+	 */
+	@Override
+	public WWRateLimiter getRateLimiter() {
+		return null;
+	}
+
 }
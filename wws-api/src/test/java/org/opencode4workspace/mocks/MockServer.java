@@ -0,0 +1,135 @@
+package org.opencode4workspace.mocks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.StringEntity;
+import org.opencode4workspace.IWWClient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * @author agent
+ * @since 0.8.0
+ *
+ *        Local HTTP server for testing the transports against real connections. Each request is handled on its own thread by the HttpHandler passed in, so a handler may block to simulate a
+ *        slow server. Close the server at the end of the test.
+ *
+ */
+public class MockServer implements Closeable {
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	/**
+	 * Starts a server on a free port of localhost
+	 *
+	 * @param handler
+	 *            HttpHandler for every request
+	 * @throws IOException
+	 *             if the server could not be started
+	 */
+	public MockServer(HttpHandler handler) throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", handler);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * @param path
+	 *            String path on the server, starting with "/"
+	 * @return String URL of the path on the server
+	 */
+	public String getUrl(String path) {
+		return "http://localhost:" + server.getAddress().getPort() + path;
+	}
+
+	/**
+	 * Builds a POST to the server with an empty JSON body
+	 *
+	 * @param path
+	 *            String path on the server, starting with "/"
+	 * @param client
+	 *            IWWClient whose JWT token is sent as the bearer token, or null to send no Authorization header
+	 * @return HttpPost ready to be executed
+	 */
+	public HttpPost buildPost(String path, IWWClient client) {
+		HttpPost post = new HttpPost(getUrl(path));
+		if (null != client) {
+			post.addHeader("Authorization", "Bearer " + client.getJWTToken());
+		}
+		post.setEntity(new StringEntity("{}", "UTF-8"));
+		return post;
+	}
+
+	/**
+	 * Sends a request built for Watson Work Services to this server instead, keeping its path
+	 *
+	 * @param request
+	 *            HttpRequestBase to redirect
+	 */
+	public void redirect(HttpRequestBase request) {
+		request.setURI(URI.create(getUrl(request.getURI().getRawPath())));
+	}
+
+	/**
+	 * Reads the body of a request
+	 *
+	 * @param exchange
+	 *            HttpExchange for the request
+	 * @return String body of the request, as UTF-8
+	 * @throws IOException
+	 *             if the body could not be read
+	 */
+	public static String readBody(HttpExchange exchange) throws IOException {
+		InputStream in = exchange.getRequestBody();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			body.write(buffer, 0, read);
+		}
+		return body.toString("UTF-8");
+	}
+
+	/**
+	 * Sends the response to a request
+	 *
+	 * @param exchange
+	 *            HttpExchange for the request
+	 * @param status
+	 *            int, HTTP status code
+	 * @param body
+	 *            String body of the response
+	 * @throws IOException
+	 *             if the response could not be sent
+	 */
+	public static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] reply = body.getBytes("UTF-8");
+		exchange.sendResponseHeaders(status, reply.length);
+		OutputStream out = exchange.getResponseBody();
+		out.write(reply);
+		out.close();
+	}
+
+	/**
+	 * Stops the server, interrupting any request still being handled
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,203 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opencode4workspace.WWAsyncClient;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.MessageResponse;
+import org.opencode4workspace.bo.Space;
+import org.opencode4workspace.builders.AppMessageBuilder;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.RateLimitExceededException;
+import org.opencode4workspace.transport.WWAsyncTransport;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWRequestType;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class AsyncClientTest {
+
+	private MockServer server;
+	private WWAsyncTransport transport;
+	private WWClient client;
+	private final ExecutorService converter = Executors.newSingleThreadExecutor();
+	private final AtomicInteger conversions = new AtomicInteger();
+	private final AtomicReference<String> authorization = new AtomicReference<String>();
+	private WWAsyncClient asyncClient;
+
+	/**
+	 * Starts a server answering a Spaces query on /graphql, a Message post with 201 on /v1/spaces/.../messages, except to the Space "broken", and anything else with a 500
+	 */
+	@Before
+	public void startServer() throws IOException, WWException {
+		server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+				String path = exchange.getRequestURI().getPath();
+				if ("/graphql".equals(path)) {
+					MockServer.respond(exchange, 200, "{\"data\":{\"spaces\":{\"items\":[{\"id\":\"1\",\"title\":\"First\"},{\"id\":\"2\",\"title\":\"Second\"}]}}}");
+				} else if (path.endsWith("/messages") && !path.contains("/broken/")) {
+					MockServer.respond(exchange, 201, "{\"id\":\"m1\"}");
+				} else {
+					MockServer.respond(exchange, 500, "{}");
+				}
+			}
+		});
+		// Send the requests built for Watson Work Services to the local server
+		transport = new WWAsyncTransport() {
+
+			@Override
+			public Future<HttpResponse> execute(HttpUriRequest request, FutureCallback<HttpResponse> callback) throws IOException {
+				server.redirect((HttpRequestBase) request);
+				return super.execute(request, callback);
+			}
+		};
+		client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint());
+		client.authenticate();
+		asyncClient = new WWAsyncClient(client, transport, new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				conversions.incrementAndGet();
+				converter.execute(command);
+			}
+		});
+	}
+
+	@After
+	public void stopServer() throws IOException {
+		asyncClient.close();
+		transport.close();
+		client.close();
+		converter.shutdownNow();
+		server.close();
+	}
+
+	@Test
+	public void testQueryIsConvertedOffTheIoThread() throws InterruptedException, ExecutionException, TimeoutException {
+		final AtomicReference<Thread> callbackThread = new AtomicReference<Thread>();
+		final CountDownLatch called = new CountDownLatch(1);
+		Future<List<? extends Space>> spaces = asyncClient.getSpacesAsync(new FutureCallback<List<? extends Space>>() {
+
+			@Override
+			public void completed(List<? extends Space> result) {
+				callbackThread.set(Thread.currentThread());
+				called.countDown();
+			}
+
+			@Override
+			public void failed(Exception ex) {
+				called.countDown();
+			}
+
+			@Override
+			public void cancelled() {
+				called.countDown();
+			}
+		});
+		List<? extends Space> result = spaces.get(5, TimeUnit.SECONDS);
+		assertEquals(2, result.size());
+		assertEquals("Second", result.get(1).getTitle());
+		assertEquals("Bearer token", authorization.get());
+		assertTrue(called.await(5, TimeUnit.SECONDS));
+		assertEquals(1, conversions.get());
+		assertTrue(callbackThread.get().getName().startsWith("pool-"));
+	}
+
+	@Test
+	public void testMessagePostExpects201() throws InterruptedException, ExecutionException, TimeoutException {
+		Future<MessageResponse> response = asyncClient.postMessageToSpaceAsync(new AppMessageBuilder().setMessage("Hello").build(), "abc", null);
+		assertEquals("m1", response.get(5, TimeUnit.SECONDS).getId());
+	}
+
+	@Test
+	public void testErrorStatusFailsFuture() throws InterruptedException, TimeoutException {
+		Future<MessageResponse> failed = asyncClient.postMessageToSpaceAsync(new AppMessageBuilder().setMessage("Hello").build(), "broken", null);
+		try {
+			failed.get(5, TimeUnit.SECONDS);
+			throw new AssertionError("A 500 should fail the Future");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof WWException);
+			assertTrue(e.getCause().getMessage().contains("500"));
+		}
+	}
+
+	@Test
+	public void testRateLimiterApplies() throws InterruptedException, ExecutionException, TimeoutException {
+		WWRateLimiter limiter = new WWRateLimiter().setLimit(WWRequestType.MESSAGE, 1, 1);
+		client.setRateLimiter(limiter);
+		long start = System.nanoTime();
+		Future<MessageResponse> first = asyncClient.postMessageToSpaceAsync(new AppMessageBuilder().setMessage("Hello").build(), "abc", null);
+		// No permit is left, so this one waits for the next, without blocking the caller
+		Future<MessageResponse> second = asyncClient.postMessageToSpaceAsync(new AppMessageBuilder().setMessage("Hello").build(), "abc", null);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+		assertEquals("m1", first.get(5, TimeUnit.SECONDS).getId());
+		assertEquals("m1", second.get(5, TimeUnit.SECONDS).getId());
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 500);
+
+		limiter.setMaxWait(0);
+		Future<MessageResponse> limited = asyncClient.postMessageToSpaceAsync(new AppMessageBuilder().setMessage("Hello").build(), "abc", null);
+		try {
+			limited.get(5, TimeUnit.SECONDS);
+			throw new AssertionError("No permit should have been available");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RateLimitExceededException);
+		}
+	}
+
+	@Test
+	public void testInvalidRequestFailsFutureWithoutThrowing() throws InterruptedException, TimeoutException {
+		final AtomicReference<Exception> reported = new AtomicReference<Exception>();
+		Future<Space> space = asyncClient.getSpaceByIdAsync("", new FutureCallback<Space>() {
+
+			@Override
+			public void completed(Space result) {
+			}
+
+			@Override
+			public void failed(Exception ex) {
+				reported.set(ex);
+			}
+
+			@Override
+			public void cancelled() {
+			}
+		});
+		assertTrue(space.isDone());
+		assertTrue(reported.get() instanceof WWException);
+		try {
+			space.get(1, TimeUnit.SECONDS);
+			throw new AssertionError("The Future should have failed");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof WWException);
+		}
+		assertEquals(0, conversions.get());
+	}
+
+}
@@ -0,0 +1,108 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.http.concurrent.FutureCallback;
+import org.junit.Test;
+import org.opencode4workspace.WWBatchLoader;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.endpoints.WWGraphQLExecutor;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.graphql.SpaceWrapper;
+import org.opencode4workspace.json.GraphQLRequest;
+
+public class BatchLoaderTest {
+
+	/**
+	 * Batch loader answering each batch with canned content instead of calling Watson Work Services
+	 */
+	private static class CannedBatchLoader extends WWBatchLoader {
+		private final String content;
+		private final List<GraphQLRequest> requests = new ArrayList<GraphQLRequest>();
+
+		CannedBatchLoader(int maxBatchSize, String content) {
+			super(null, 60000, maxBatchSize);
+			this.content = content;
+		}
+
+		@Override
+		protected void execute(GraphQLRequest request, FutureCallback<GraphResultContainer> callback) throws WWException {
+			requests.add(request);
+			callback.completed(WWGraphQLExecutor.parseResponse(content, request));
+		}
+	}
+
+	@Test
+	public void testLookupsAreBatched() throws WWException, InterruptedException, ExecutionException, IOException {
+		CannedBatchLoader loader = new CannedBatchLoader(25,
+				"{\"data\":{\"load0\":{\"id\":\"a\",\"title\":\"Space A\"},\"load1\":{\"id\":\"p\",\"displayName\":\"Paul Withers\"},\"load2\":{\"id\":\"b\",\"title\":\"Space B\"}}}");
+		Future<SpaceWrapper> spaceA = loader.loadSpace("a", null);
+		Future<Person> person = loader.loadPerson("p", null);
+		Future<SpaceWrapper> spaceB = loader.loadSpace("b", null);
+		Future<SpaceWrapper> spaceAgain = loader.loadSpace("a", null);
+		loader.flush();
+		assertEquals(1, loader.requests.size());
+		GraphQLRequest request = loader.requests.get(0);
+		assertTrue(request.getQuery().startsWith("query batchLoad($id0: ID!, $id1: ID!, $id2: ID!) {load0:space (id: $id0) {"));
+		assertTrue(request.getQuery().contains("load1:person (id: $id1) {"));
+		assertEquals("a", request.getVariableValues().get("id0"));
+		assertEquals("p", request.getVariableValues().get("id1"));
+		assertEquals("b", request.getVariableValues().get("id2"));
+		assertEquals(3, request.getReturnObjectTypes().size());
+		assertEquals("Space A", spaceA.get().getTitle());
+		assertSame(spaceA.get(), spaceAgain.get());
+		assertEquals("Space B", spaceB.get().getTitle());
+		assertEquals("Paul Withers", person.get().getDisplayName());
+		loader.close();
+	}
+
+	@Test
+	public void testFullBatchIsSent() throws WWException, IOException {
+		CannedBatchLoader loader = new CannedBatchLoader(2, "{\"data\":{}}");
+		loader.loadMessage("m1", null);
+		assertEquals(0, loader.requests.size());
+		loader.loadMessage("m2", null);
+		assertEquals(1, loader.requests.size());
+		loader.loadMessage("m3", null);
+		loader.close();
+		assertEquals(2, loader.requests.size());
+	}
+
+	@Test
+	public void testRepeatedLookupsDoNotFillBatch() throws WWException, IOException {
+		CannedBatchLoader loader = new CannedBatchLoader(2, "{\"data\":{}}");
+		loader.loadMessage("m1", null);
+		loader.loadMessage("m1", null);
+		loader.loadMessage("m1", null);
+		assertEquals(0, loader.requests.size());
+		loader.loadMessage("m2", null);
+		assertEquals(1, loader.requests.size());
+		loader.close();
+		assertEquals(1, loader.requests.size());
+	}
+
+	@Test(expected = ExecutionException.class)
+	public void testMissingResultFails() throws WWException, InterruptedException, ExecutionException, IOException {
+		CannedBatchLoader loader = new CannedBatchLoader(25, "{\"data\":{}}");
+		Future<SpaceWrapper> space = loader.loadSpace("a", null);
+		loader.close();
+		space.get();
+	}
+
+	@Test(expected = WWException.class)
+	public void testClosedLoader() throws WWException, IOException {
+		CannedBatchLoader loader = new CannedBatchLoader(25, "{\"data\":{}}");
+		loader.close();
+		loader.loadSpace("a", null);
+	}
+
+}
@@ -0,0 +1,133 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.CircuitBreaker;
+import org.opencode4workspace.transport.CircuitBreaker.State;
+import org.opencode4workspace.transport.CircuitBreakerPolicy;
+import org.opencode4workspace.transport.CircuitOpenException;
+import org.opencode4workspace.transport.RetryPolicy;
+import org.opencode4workspace.transport.WWEndpointTarget;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransport;
+import org.opencode4workspace.transport.WWTransportConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class CircuitBreakerTest {
+
+	@Test
+	public void testOpensOnFailureRateAndClosesAfterProbe() throws CircuitOpenException, InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker(WWEndpointTarget.GRAPHQL, new CircuitBreakerPolicy().setWindowSize(4).setMinimumCalls(4).setOpenDuration(20));
+		breaker.acquire();
+		breaker.onSuccess();
+		breaker.acquire();
+		breaker.onSuccess();
+		breaker.acquire();
+		breaker.onFailure();
+		assertEquals(State.CLOSED, breaker.getState());
+		breaker.acquire();
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		assertEquals(0.5, breaker.getFailureRate(), 0.001);
+		try {
+			breaker.acquire();
+			throw new AssertionError("An open circuit should fail fast");
+		} catch (CircuitOpenException e) {
+			assertEquals(WWEndpointTarget.GRAPHQL, e.getTarget());
+			assertTrue(e.getRetryAfterMillis() > 0);
+		}
+		Thread.sleep(30);
+		breaker.acquire();
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		try {
+			breaker.acquire();
+			throw new AssertionError("Only one probe should be let through");
+		} catch (CircuitOpenException e) {
+			assertEquals(0, e.getRetryAfterMillis());
+		}
+		breaker.onSuccess();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertEquals(0, breaker.getFailureRate(), 0.001);
+	}
+
+	@Test
+	public void testFailedProbeReopens() throws CircuitOpenException, InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker(WWEndpointTarget.FILES, new CircuitBreakerPolicy().setMinimumCalls(1).setOpenDuration(10));
+		breaker.acquire();
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		Thread.sleep(20);
+		breaker.acquire();
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+	}
+
+	@Test
+	public void testTransportFailsFastWhileOpen() throws IOException, WWException {
+		final AtomicInteger requests = new AtomicInteger();
+		MockServer server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				MockServer.respond(exchange, 500, "{}");
+			}
+		});
+		WWTransport transport = new WWTransport(new WWTransportConfig().setRetryPolicy(RetryPolicy.none())
+				.setCircuitBreakerPolicy(new CircuitBreakerPolicy().setWindowSize(2).setMinimumCalls(2)));
+		try {
+			for (int i = 0; i < 2; i++) {
+				CloseableHttpResponse response = transport.execute(server.buildPost("/photos", null), null, WWRequestType.PHOTO);
+				assertEquals(500, response.getStatusLine().getStatusCode());
+				response.close();
+			}
+			try {
+				transport.execute(server.buildPost("/photos", null), null, WWRequestType.PHOTO);
+				throw new AssertionError("The photos circuit should be open");
+			} catch (CircuitOpenException e) {
+				assertEquals(WWEndpointTarget.PHOTOS, e.getTarget());
+			}
+			assertEquals(2, requests.get());
+			assertEquals(State.CLOSED, transport.getCircuitBreaker(WWEndpointTarget.GRAPHQL).getState());
+		} finally {
+			transport.close();
+			server.close();
+		}
+		WWTransport disabled = new WWTransport(new WWTransportConfig().setCircuitBreakerPolicy(null));
+		assertNull(disabled.getCircuitBreaker(WWEndpointTarget.PHOTOS));
+		disabled.close();
+	}
+
+	@Test
+	public void testClientSurfacesCircuitOpen() throws IOException, WWException {
+		WWTransport transport = new WWTransport(new WWTransportConfig().setCircuitBreakerPolicy(new CircuitBreakerPolicy().setMinimumCalls(1)));
+		CircuitBreaker breaker = transport.getCircuitBreaker(WWEndpointTarget.GRAPHQL);
+		breaker.acquire();
+		breaker.onFailure();
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(), transport);
+		try {
+			client.authenticate();
+			client.getSpaces();
+			throw new AssertionError("The GraphQL circuit should be open");
+		} catch (CircuitOpenException e) {
+			assertEquals(WWEndpointTarget.GRAPHQL, e.getTarget());
+		} finally {
+			client.close();
+			transport.close();
+		}
+	}
+
+}
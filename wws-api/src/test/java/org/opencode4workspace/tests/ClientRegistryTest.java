@@ -0,0 +1,99 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWClientRegistry;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationResult;
+import org.opencode4workspace.authentication.InMemoryTokenStore;
+import org.opencode4workspace.authentication.RefreshableAuthenticationEndpoint;
+import org.opencode4workspace.transport.WWTransport;
+
+public class ClientRegistryTest {
+
+	/**
+	 * Authentication endpoint issuing a token per user token and counting the requests made
+	 */
+	private static class CountingEndpoint implements RefreshableAuthenticationEndpoint {
+		private int calls;
+
+		@Override
+		public AuthenticationResult authenticateApplication(String basicAuthApp) throws WWException {
+			throw new WWException("Not an application client");
+		}
+
+		@Override
+		public synchronized AuthenticationResult authorizeUser(String basicAuthApp, String userToken, String redirectTo) throws WWException {
+			if (null == userToken) {
+				throw new WWException("No user token");
+			}
+			calls++;
+			return new AuthenticationResult("jwt-" + userToken, 3600, "", "", "", "refresh-" + userToken);
+		}
+
+		@Override
+		public synchronized AuthenticationResult refreshUser(String basicAuthApp, String refreshToken) throws WWException {
+			calls++;
+			return new AuthenticationResult("refreshed-" + refreshToken, 3600, "", "", "", refreshToken);
+		}
+	}
+
+	@Test
+	public void testEvictedSessionIsRehydrated() throws WWException, IOException {
+		CountingEndpoint endpoint = new CountingEndpoint();
+		WWTransport transport = new WWTransport();
+		WWClientRegistry registry = new WWClientRegistry("appId", "appSecret", endpoint, "http://localhost", transport, new InMemoryTokenStore(), 1);
+		try {
+			WWClient alice = registry.login("alice", "codeA");
+			assertSame(alice, registry.getClient("alice"));
+			assertSame(transport, alice.getTransport());
+			WWClient bob = registry.login("bob", "codeB");
+			assertEquals(1, registry.getSessionCount());
+			assertSame(bob, registry.getClient("bob"));
+			WWClient rehydrated = registry.getClient("alice");
+			assertNotSame(alice, rehydrated);
+			assertEquals("jwt-codeA", rehydrated.getJWTToken());
+			assertEquals(2, endpoint.calls);
+		} finally {
+			registry.close();
+		}
+		assertFalse(transport.isClosed());
+		transport.close();
+	}
+
+	@Test
+	public void testLogoutRemovesStoredSession() throws WWException, IOException {
+		WWClientRegistry registry = new WWClientRegistry("appId", "appSecret", new CountingEndpoint(), "http://localhost");
+		try {
+			registry.login("alice", "codeA");
+			registry.logout("alice");
+			assertEquals(0, registry.getSessionCount());
+			try {
+				registry.getClient("alice");
+			} catch (WWException e) {
+				assertTrue(e.getMessage().contains("alice"));
+				return;
+			}
+			throw new AssertionError("An unknown user should not be rehydrated");
+		} finally {
+			registry.close();
+			assertTrue(registry.getTransport().isClosed());
+		}
+	}
+
+	@Test(expected = WWException.class)
+	public void testClosedRegistry() throws WWException, IOException {
+		WWClientRegistry registry = new WWClientRegistry("appId", "appSecret", new CountingEndpoint(), "http://localhost");
+		registry.close();
+		registry.getClient("alice");
+	}
+
+}
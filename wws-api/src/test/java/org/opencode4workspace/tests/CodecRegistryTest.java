@@ -0,0 +1,32 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.opencode4workspace.bo.Annotation;
+import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.bo.Person.PresenceStatus;
+import org.opencode4workspace.json.CodecRegistry;
+import org.opencode4workspace.json.ResultParser;
+
+public class CodecRegistryTest {
+
+	@Test
+	public void testResultGsonIsShared() {
+		assertSame(CodecRegistry.getResultGson(), CodecRegistry.getResultGson());
+		assertSame(CodecRegistry.getResultGson(), CodecRegistry.getResultGson(CodecRegistry.DEFAULT_DATE_FORMAT));
+		assertSame(CodecRegistry.getResultGson(CodecRegistry.MILLIS_DATE_FORMAT), CodecRegistry.getResultGson(CodecRegistry.MILLIS_DATE_FORMAT));
+		assertNotSame(CodecRegistry.getResultGson(), CodecRegistry.getResultGson(CodecRegistry.MILLIS_DATE_FORMAT));
+	}
+
+	@Test
+	public void testSharedAdapters() {
+		Person person = new ResultParser<Person>(Person.class).parse("{\"displayName\": \"Paul Withers\",\"presence\": \"online\"}");
+		assertEquals(PresenceStatus.ONLINE, person.getPresence());
+		Annotation annotation = new ResultParser<Annotation>(Annotation.class, CodecRegistry.MILLIS_DATE_FORMAT).parse("{\"created\": 1493802898482}");
+		assertEquals(1493802898482L, annotation.getCreated().getTime());
+	}
+
+}
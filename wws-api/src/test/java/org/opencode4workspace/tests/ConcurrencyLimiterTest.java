@@ -0,0 +1,94 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.transport.AdaptiveConcurrencyLimiter;
+import org.opencode4workspace.transport.ConcurrencyLimitExceededException;
+import org.opencode4workspace.transport.WWEndpointTarget;
+
+public class ConcurrencyLimiterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+	@Test
+	public void testLimitGrowsWhileLatencyIsFlat() throws WWException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4);
+		for (int i = 0; i < 20; i++) {
+			limiter.acquire();
+			limiter.acquire();
+			limiter.release(FAST, false);
+			limiter.release(FAST, false);
+		}
+		assertEquals(4, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+		assertEquals(10, limiter.getMinRttMillis());
+	}
+
+	@Test
+	public void testLimitShrinksOnLatencyAndErrors() throws WWException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20).setBackoffRatio(0.5);
+		limiter.acquire();
+		limiter.release(FAST, false);
+		assertEquals(10, limiter.getLimit());
+		limiter.acquire();
+		limiter.release(SLOW, false);
+		assertEquals(5, limiter.getLimit());
+		limiter.acquire();
+		limiter.release(FAST, true);
+		assertEquals(2, limiter.getLimit());
+		limiter.acquire();
+		limiter.release(FAST, true);
+		assertEquals(2, limiter.getLimit());
+	}
+
+	@Test
+	public void testLatencyComparedPerTargetAndNotForUploads() throws WWException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20).setBackoffRatio(0.5);
+		limiter.acquire();
+		limiter.release(WWEndpointTarget.GRAPHQL, FAST, false);
+		// Slower message posts are not compared with GraphQL queries
+		limiter.acquire();
+		limiter.release(WWEndpointTarget.MESSAGES, SLOW, false);
+		assertEquals(10, limiter.getLimit());
+		// Nor are uploads, however long they take
+		limiter.acquire();
+		limiter.release(WWEndpointTarget.FILES, FAST, false);
+		limiter.acquire();
+		limiter.release(WWEndpointTarget.FILES, SLOW * 100, false);
+		assertEquals(10, limiter.getLimit());
+		assertEquals(-1, limiter.getMinRttMillis(WWEndpointTarget.FILES));
+		// A failed upload still counts
+		limiter.acquire();
+		limiter.release(WWEndpointTarget.PHOTOS, SLOW, true);
+		assertEquals(5, limiter.getLimit());
+		limiter.acquire();
+		limiter.release(WWEndpointTarget.GRAPHQL, SLOW, false);
+		assertEquals(2, limiter.getLimit());
+		assertEquals(10, limiter.getMinRttMillis(WWEndpointTarget.GRAPHQL));
+		assertEquals(50, limiter.getMinRttMillis(WWEndpointTarget.MESSAGES));
+	}
+
+	@Test
+	public void testCallersOverTheLimitAreShed() throws WWException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1).setMaxWait(20);
+		limiter.acquire();
+		try {
+			limiter.acquire();
+			throw new AssertionError("A caller over the limit should be shed");
+		} catch (ConcurrencyLimitExceededException e) {
+			assertEquals(1, e.getLimit());
+			assertEquals(1, limiter.getShedCount());
+			assertEquals(0, limiter.getQueued());
+		}
+		limiter.release();
+		limiter.acquire();
+		assertEquals(1, limiter.getInFlight());
+		limiter.release();
+	}
+
+}
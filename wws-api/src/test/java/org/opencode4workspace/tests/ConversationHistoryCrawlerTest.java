@@ -0,0 +1,119 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.Message;
+import org.opencode4workspace.builders.ConversationGraphQLQuery;
+import org.opencode4workspace.graphql.BasicPaginationEnum;
+import org.opencode4workspace.json.Iso8601DateCodec;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.pagination.MergingIterator;
+import org.opencode4workspace.transport.WWTransport;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class ConversationHistoryCrawlerTest {
+	private static final long OLDEST = 1477553849000L;
+
+	private MockServer server;
+	private WWTransport transport;
+	private WWClient client;
+	private final List<String> sliceBounds = Collections.synchronizedList(new ArrayList<String>());
+
+	/**
+	 * Starts a server holding one Message per millisecond from OLDEST to OLDEST + 5, "m0" to "m5", answering the paged Conversation query with the Messages between the timestamps of the
+	 * variables, newest first
+	 */
+	@Before
+	public void startServer() throws IOException, WWException {
+		server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				JsonObject variables = new Gson().fromJson(MockServer.readBody(exchange), JsonObject.class).getAsJsonObject("variables");
+				long oldest = variables.get(ConversationGraphQLQuery.OLDEST_TIMESTAMP_VARIABLE.getName()).getAsLong();
+				long mostRecent = variables.get(ConversationGraphQLQuery.MOST_RECENT_TIMESTAMP_VARIABLE.getName()).getAsLong();
+				int first = variables.get(BasicPaginationEnum.FIRST.getVariable().getName()).getAsInt();
+				String after = BasicPaginationEnum.AFTER.getVariable().getName();
+				int start = variables.has(after) ? variables.get(after).getAsInt() : 0;
+				if (0 == start) {
+					sliceBounds.add((oldest - OLDEST) + "-" + (mostRecent - OLDEST));
+				}
+				List<Long> inSlice = new ArrayList<Long>();
+				for (long created = OLDEST + 5; created >= OLDEST; created--) {
+					if (created >= oldest && created <= mostRecent) {
+						inSlice.add(created);
+					}
+				}
+				int end = Math.min(inSlice.size(), start + first);
+				StringBuilder items = new StringBuilder();
+				for (int i = start; i < end; i++) {
+					if (i > start) {
+						items.append(",");
+					}
+					long created = inSlice.get(i);
+					items.append("{\"id\":\"m").append(created - OLDEST).append("\",\"created\":\"").append(Iso8601DateCodec.format(new Date(created))).append("\"}");
+				}
+				MockServer.respond(exchange, 200, "{\"data\":{\"conversation\":{\"messages\":{\"pageInfo\":{\"endCursor\":\"" + end + "\",\"hasNextPage\":" + (end < inSlice.size())
+						+ "},\"items\":[" + items + "]}}}}");
+			}
+		});
+		// Send the requests built for Watson Work Services to the local server
+		transport = new WWTransport() {
+
+			@Override
+			public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+				server.redirect((HttpRequestBase) request);
+				return super.execute(request);
+			}
+		};
+		client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(), transport);
+		client.authenticate();
+	}
+
+	@After
+	public void stopServer() throws IOException {
+		client.close();
+		transport.close();
+		server.close();
+	}
+
+	@Test
+	public void testSlicesMergedNewestFirst() throws IOException {
+		MergingIterator<Message> history = client.crawlConversationHistory("abc").setTimeRange(new Date(OLDEST), new Date(OLDEST + 5)).setSlices(4).setPageSize(1).iterator();
+		List<String> ids = new ArrayList<String>();
+		try {
+			while (history.hasNext()) {
+				ids.add(history.next().getId());
+			}
+		} finally {
+			history.close();
+		}
+		assertEquals(Arrays.asList("m5", "m4", "m3", "m2", "m1", "m0"), ids);
+		// A width of 2ms covers 5ms in three slices, none starting before the range
+		Collections.sort(sliceBounds);
+		assertEquals(Arrays.asList("0-1", "1-3", "3-5"), sliceBounds);
+		// "m3" and "m1" are on the boundaries, so returned by two slices each
+		assertEquals(2, history.getDuplicatesSkipped());
+	}
+
+}
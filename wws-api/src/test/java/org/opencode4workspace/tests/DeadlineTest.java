@@ -0,0 +1,186 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.Deadline;
+import org.opencode4workspace.transport.DeadlineExceededException;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class DeadlineTest {
+
+	private MockServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private WWTransport transport;
+
+	/**
+	 * Starts a server that responds slowly on /slow and with a 503 asking for a long Retry-After on /busy
+	 */
+	@Before
+	public void startServer() throws IOException {
+		server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				int status = 200;
+				if (exchange.getRequestURI().getPath().equals("/slow")) {
+					try {
+						Thread.sleep(3000);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				} else {
+					status = 503;
+					exchange.getResponseHeaders().add("Retry-After", "5");
+				}
+				MockServer.respond(exchange, status, "{}");
+			}
+		});
+		transport = new WWTransport();
+	}
+
+	@After
+	public void stopServer() throws IOException {
+		transport.close();
+		server.close();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testSlowRequestIsAborted() throws IOException, WWException {
+		Deadline deadline = Deadline.after(200, TimeUnit.MILLISECONDS);
+		long start = System.currentTimeMillis();
+		try {
+			transport.execute(server.buildPost("/slow", null), null, WWRequestType.QUERY, deadline);
+			throw new AssertionError("The request should exceed its deadline");
+		} catch (DeadlineExceededException e) {
+			assertFalse(e.isCancelled());
+			assertTrue(System.currentTimeMillis() - start < 2000);
+		} finally {
+			deadline.close();
+		}
+		// The aborting thread releases the connection just after the socket is shut down
+		for (int i = 0; i < 50 && transport.getConnectionManager().getTotalStats().getLeased() > 0; i++) {
+			sleep(20);
+		}
+		assertEquals(0, transport.getConnectionManager().getTotalStats().getLeased());
+	}
+
+	@Test
+	public void testCancelAbortsRequest() throws IOException, WWException {
+		final Deadline deadline = Deadline.after(10, TimeUnit.SECONDS).attach();
+		assertSame(deadline, Deadline.current());
+		executor.submit(new Runnable() {
+
+			@Override
+			public void run() {
+				sleep(100);
+				deadline.cancel();
+			}
+		});
+		try {
+			transport.execute(server.buildPost("/slow", null), null, WWRequestType.QUERY);
+			throw new AssertionError("The request should have been cancelled");
+		} catch (DeadlineExceededException e) {
+			assertTrue(e.isCancelled());
+		} finally {
+			deadline.close();
+		}
+		assertNull(Deadline.current());
+	}
+
+	@Test
+	public void testNestedDeadlines() {
+		Deadline outer = Deadline.after(800, TimeUnit.MILLISECONDS).attach();
+		try {
+			Deadline inner = Deadline.after(10, TimeUnit.SECONDS).attach();
+			assertSame(inner, Deadline.current());
+			// The longer inner deadline cannot outlive the outer one
+			assertTrue(inner.getRemainingMillis() <= 800);
+			inner.close();
+			assertSame(outer, Deadline.current());
+
+			Deadline cancelled = Deadline.after(10, TimeUnit.SECONDS).attach();
+			outer.cancel();
+			assertTrue(cancelled.isCancelled());
+			cancelled.close();
+			assertSame(outer, Deadline.current());
+		} finally {
+			outer.close();
+		}
+		assertNull(Deadline.current());
+	}
+
+	@Test
+	public void testRetryPastDeadlineIsNotMade() throws IOException, WWException {
+		Deadline deadline = Deadline.after(1, TimeUnit.SECONDS);
+		long start = System.currentTimeMillis();
+		try {
+			CloseableHttpResponse response = transport.execute(server.buildPost("/busy", null), null, WWRequestType.QUERY, deadline);
+			assertEquals(503, response.getStatusLine().getStatusCode());
+			response.close();
+			assertTrue(System.currentTimeMillis() - start < 1000);
+		} finally {
+			deadline.close();
+		}
+	}
+
+	@Test
+	public void testCancelWakesRateLimiterWait() throws IOException, WWException {
+		WWRateLimiter limiter = new WWRateLimiter().setLimit(WWRequestType.QUERY, 1, 0.1);
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(), transport).setRateLimiter(limiter);
+		client.authenticate();
+		// Use up the budget, so the next query waits ten seconds for a permit
+		assertTrue(limiter.tryAcquire(WWRequestType.QUERY));
+		final Deadline deadline = Deadline.after(30, TimeUnit.SECONDS);
+		executor.submit(new Runnable() {
+
+			@Override
+			public void run() {
+				sleep(100);
+				deadline.cancel();
+			}
+		});
+		long start = System.currentTimeMillis();
+		try {
+			transport.execute(server.buildPost("/slow", client), client, WWRequestType.QUERY, deadline);
+			throw new AssertionError("The call should have been cancelled while waiting for a permit");
+		} catch (DeadlineExceededException e) {
+			assertTrue(e.isCancelled());
+			assertTrue(System.currentTimeMillis() - start < 2000);
+		} finally {
+			deadline.close();
+			client.close();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
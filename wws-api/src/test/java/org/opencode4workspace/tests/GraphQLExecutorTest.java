@@ -0,0 +1,98 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.builders.SpacesGraphQLQuery;
+import org.opencode4workspace.endpoints.WWAuthenticationEndpoint;
+import org.opencode4workspace.endpoints.WWGraphQLExecutor;
+import org.opencode4workspace.graphql.GraphQLResult;
+import org.opencode4workspace.json.GraphQLRequest;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.WWTransport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class GraphQLExecutorTest {
+	private final static String GET_SPACES_FILE = "/getSpacesTest.json";
+
+	@Test
+	public void testResultFromResponse() throws IOException, WWException {
+		String content = IOUtils.toString(getClass().getResourceAsStream(GET_SPACES_FILE), "UTF-8");
+		GraphQLRequest request = new GraphQLRequest(SpacesGraphQLQuery.buildStandardGetSpacesQuery());
+		GraphQLResult result = new GraphQLResult(WWGraphQLExecutor.parseResponse(content, request), content);
+		assertEquals(1, result.getData().getSpaces().getItems().size());
+		assertTrue(result.getErrors().isEmpty());
+		assertNull(result.getAliasedChildren());
+		assertSame(content, result.getContent());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testErrorsAreUnmodifiable() throws IOException, WWException {
+		String content = IOUtils.toString(getClass().getResourceAsStream(GET_SPACES_FILE), "UTF-8");
+		GraphQLRequest request = new GraphQLRequest(SpacesGraphQLQuery.buildStandardGetSpacesQuery());
+		GraphQLResult result = new GraphQLResult(WWGraphQLExecutor.parseResponse(content, request), content);
+		result.getErrors().add(null);
+	}
+
+	@Test
+	public void testClientSharesOneExecutor() {
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new WWAuthenticationEndpoint());
+		WWGraphQLExecutor executor = client.getExecutor();
+		assertNotNull(executor);
+		assertSame(executor, client.getExecutor());
+		assertSame(client, executor.getClient());
+	}
+
+	@Test
+	public void testProfilerPrintsQueryPayload() throws IOException, WWException {
+		final String content = IOUtils.toString(getClass().getResourceAsStream(GET_SPACES_FILE), "UTF-8");
+		final MockServer server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				MockServer.respond(exchange, 200, content);
+			}
+		});
+		WWTransport transport = new WWTransport() {
+
+			@Override
+			public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+				server.redirect((HttpRequestBase) request);
+				return super.execute(request);
+			}
+		};
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(), transport);
+		PrintStream out = System.out;
+		ByteArrayOutputStream printed = new ByteArrayOutputStream();
+		try {
+			client.authenticate();
+			System.setOut(new PrintStream(printed, true, "UTF-8"));
+			GraphQLResult result = client.getExecutor().execute(new GraphQLRequest(SpacesGraphQLQuery.buildStandardGetSpacesQuery()), true);
+			assertEquals(1, result.getData().getSpaces().getItems().size());
+		} finally {
+			System.setOut(out);
+			client.close();
+			transport.close();
+			server.close();
+		}
+		assertTrue(printed.toString("UTF-8").contains("[WWS Profiler] Query is {\"query\":"));
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.Person;
+import org.opencode4workspace.builders.GraphQLVariable;
+import org.opencode4workspace.builders.InputDataSenderBuilder;
+import org.opencode4workspace.builders.ObjectDataSenderBuilder;
+import org.opencode4workspace.builders.PersonGraphQLQuery;
+import org.opencode4workspace.builders.SpaceGraphQLQuery;
+import org.opencode4workspace.builders.SpaceUpdateGraphQLMutation;
+import org.opencode4workspace.json.CodecRegistry;
+import org.opencode4workspace.json.GraphQLRequest;
+
+public class GraphQLVariablesTest {
+
+	@Test
+	public void testQueryWithoutVariablesUnchanged() throws WWException {
+		String query = SpaceGraphQLQuery.buildSpaceGraphQueryWithSpaceId("abc").returnQuery();
+		assertTrue(query.startsWith("query getSpace {space (id: \"abc\") {"));
+	}
+
+	@Test
+	public void testQueryWithVariable() throws WWException {
+		String query = SpaceGraphQLQuery.buildSpaceGraphQueryWithSpaceIdVariable().returnQuery();
+		assertTrue(query.startsWith("query getSpace($id: ID!) {space (id: $id) {"));
+	}
+
+	@Test
+	public void testStandardRequestIsMemoized() throws WWException {
+		GraphQLRequest first = SpaceGraphQLQuery.buildSpaceRequestWithSpaceId("abc");
+		GraphQLRequest second = SpaceGraphQLQuery.buildSpaceRequestWithSpaceId("def");
+		assertSame(first.getQuery(), second.getQuery());
+		assertEquals("getSpace", first.getOperationName());
+		assertEquals("abc", first.getVariableValues().get("id"));
+		assertEquals("def", second.getVariableValues().get("id"));
+	}
+
+	@Test(expected = WWException.class)
+	public void testStandardRequestMandatoryId() throws WWException {
+		SpaceGraphQLQuery.buildSpaceRequestWithSpaceId("");
+	}
+
+	@Test
+	public void testBlankPersonRequestIsMe() throws WWException {
+		GraphQLRequest request = PersonGraphQLQuery.buildPersonRequestById("");
+		assertEquals("getMyself", request.getOperationName());
+		assertTrue(request.getQuery().startsWith("query getMyself {" + Person.MY_PROFILE_QUERY_OBJECT_NAME + " {"));
+		assertTrue(request.getVariableValues().isEmpty());
+	}
+
+	@Test
+	public void testDefinitionsFromChildrenAndLists() throws WWException {
+		GraphQLVariable id = new GraphQLVariable("id", "ID!");
+		GraphQLVariable first = new GraphQLVariable("first", "Int");
+		ObjectDataSenderBuilder members = new ObjectDataSenderBuilder("members", true).addAttribute("first", first).addField("id");
+		ObjectDataSenderBuilder query = new ObjectDataSenderBuilder("people").addAttribute("id", Arrays.asList(id, id)).addChild(members);
+		assertEquals("query getPeople($id: ID!, $first: Int) {people (id: [$id, $id]) {members (first: $first) {items {id}}}}", new GraphQLRequest(query, "getPeople").getQuery());
+	}
+
+	@Test
+	public void testMutationWithVariables() {
+		InputDataSenderBuilder input = new InputDataSenderBuilder("updateSpace").addField("id", new GraphQLVariable("id", "ID!"));
+		ObjectDataSenderBuilder space = new ObjectDataSenderBuilder("space").addAttribute("first", new GraphQLVariable("first", "Int")).addField("title");
+		SpaceUpdateGraphQLMutation mutation = new SpaceUpdateGraphQLMutation(input, space);
+		assertEquals("mutation updateSpace($id: ID!, $first: Int) {updateSpace (input: {id: $id}) {space (first: $first) {title}}}", mutation.returnQuery());
+	}
+
+	@Test
+	public void testTypedVariablesSerialised() {
+		GraphQLRequest request = new GraphQLRequest("query getSpace($id: ID!) {space (id: $id) {title}}", "getSpace");
+		request.setVariable("id", "abc").setVariable("first", 10).setVariable("updated", new Date(0L));
+		String json = CodecRegistry.getRequestGson().toJson(request);
+		assertTrue(json.contains("\"id\":\"abc\""));
+		assertTrue(json.contains("\"first\":10"));
+		assertTrue(json.contains("\"updated\":\"1970-01-01T00:00:00.000+0000\""));
+	}
+
+	@Test
+	public void testEmptyVariablesOmitted() {
+		GraphQLRequest request = new GraphQLRequest("query getMe {me {id}}", "getMe");
+		assertEquals("{\"query\":\"query getMe {me {id}}\",\"operationName\":\"getMe\"}", CodecRegistry.getRequestGson().toJson(request));
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.WWQueryResponseObjectInterface;
+import org.opencode4workspace.bo.WWQueryResponseObjectTypes;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.graphql.SpaceWrapper;
+import org.opencode4workspace.json.GraphResultDecoder;
+import org.opencode4workspace.json.ResultParser;
+
+public class GraphResultDecoderTest {
+	private final static String GET_SPACES_FILE = "/getSpacesTest.json";
+	private static final String GET_TWO_SPACES_RESPONSE = "{\"data\": {\"space1\": {\"title\": \"Paul Withers Refs\",\"description\": null,\"id\": \"5811aeb9e4b0052629e89bb2\",\"created\": \"2016-10-27T07:37:29.224+0000\",\"updated\": \"2017-05-03T08:34:58.482+0000\"},\"space2\": null}}";
+	private static final String ERROR_RESPONSE = "{\"errors\": [{\"message\": \"403 Forbidden\",\"field\": {\"name\": \"deleteSpace\"}}],\"data\": null}";
+
+	@Test
+	public void testDecodeMatchesResultParser() throws IOException, WWException {
+		Reader reader = new InputStreamReader(getClass().getResourceAsStream(GET_SPACES_FILE), "UTF-8");
+		GraphResultContainer streamed;
+		try {
+			streamed = new GraphResultDecoder().decode(reader, null);
+		} finally {
+			reader.close();
+		}
+		reader = new InputStreamReader(getClass().getResourceAsStream(GET_SPACES_FILE), "UTF-8");
+		GraphResultContainer parsed;
+		try {
+			parsed = new ResultParser<GraphResultContainer>(GraphResultContainer.class).parse(reader);
+		} finally {
+			reader.close();
+		}
+		assertEquals(parsed.getData().getSpaces().getItems().size(), streamed.getData().getSpaces().getItems().size());
+		assertEquals(parsed.getData().getSpaces().getItems().get(0).getTitle(), streamed.getData().getSpaces().getItems().get(0).getTitle());
+		assertEquals(parsed.getData().getSpaces().getItems().get(0).getUpdated(), streamed.getData().getSpaces().getItems().get(0).getUpdated());
+		assertNull(streamed.getData().getAliasedChildren());
+		assertNull(streamed.getErrors());
+	}
+
+	@Test
+	public void testDecodeAliases() throws IOException, WWException {
+		Map<String, WWQueryResponseObjectInterface> aliases = new HashMap<String, WWQueryResponseObjectInterface>();
+		aliases.put("space1", WWQueryResponseObjectTypes.SPACE);
+		aliases.put("space2", WWQueryResponseObjectTypes.SPACE);
+		aliases.put("space3", WWQueryResponseObjectTypes.SPACE);
+		GraphResultContainer result = new GraphResultDecoder().decode(new StringReader(GET_TWO_SPACES_RESPONSE), aliases);
+		Map<String, Object> children = result.getData().getAliasedChildren();
+		assertEquals(3, children.size());
+		assertNotNull(children.get("space1"));
+		SpaceWrapper space1 = (SpaceWrapper) children.get("space1");
+		assertEquals("Paul Withers Refs", space1.getTitle());
+		assertNotNull(space1.getCreated());
+		assertTrue(children.containsKey("space2"));
+		assertNull(children.get("space2"));
+		assertTrue(children.containsKey("space3"));
+		assertNull(children.get("space3"));
+	}
+
+	@Test(expected = WWException.class)
+	public void testDecodeErrors() throws IOException, WWException {
+		GraphResultContainer result = new GraphResultDecoder().decode(new StringReader(ERROR_RESPONSE), null);
+		assertEquals(1, result.getErrors().size());
+		assertEquals("403 Forbidden", result.getErrors().get(0).getMessage());
+		result.getData();
+	}
+
+}
@@ -0,0 +1,119 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.AdaptiveConcurrencyLimiter;
+import org.opencode4workspace.transport.CircuitBreaker;
+import org.opencode4workspace.transport.CircuitBreaker.State;
+import org.opencode4workspace.transport.CircuitBreakerPolicy;
+import org.opencode4workspace.transport.HedgingPolicy;
+import org.opencode4workspace.transport.RequestHedger;
+import org.opencode4workspace.transport.WWEndpointTarget;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransport;
+import org.opencode4workspace.transport.WWTransportConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class HedgingTest {
+
+	private MockServer server;
+	private final AtomicInteger requests = new AtomicInteger();
+
+	/**
+	 * Starts a server whose first response is slow and later responses are fast
+	 */
+	@Before
+	public void startServer() throws IOException {
+		server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				int count = requests.incrementAndGet();
+				try {
+					if (count == 1) {
+						Thread.sleep(1000);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				MockServer.respond(exchange, 200, "{\"request\":" + count + "}");
+			}
+		});
+	}
+
+	@After
+	public void stopServer() {
+		server.close();
+	}
+
+	@Test
+	public void testSlowQueryIsHedged() throws IOException, WWException {
+		WWTransport transport = new WWTransport(new WWTransportConfig().setHedgingPolicy(new HedgingPolicy().setDelay(50).setBudgetRatio(1)));
+		try {
+			long start = System.currentTimeMillis();
+			CloseableHttpResponse response = transport.execute(server.buildPost("/graphql", null), null, WWRequestType.QUERY);
+			assertEquals("{\"request\":2}", EntityUtils.toString(response.getEntity()));
+			response.close();
+			assertTrue(System.currentTimeMillis() - start < 900);
+			RequestHedger hedger = transport.getRequestHedger();
+			assertEquals(1, hedger.getHedgeCount());
+			assertEquals(1, hedger.getHedgeWins());
+		} finally {
+			transport.close();
+		}
+	}
+
+	@Test
+	public void testAbortedLoserIsNotAFailure() throws IOException, WWException, InterruptedException {
+		WWTransport transport = new WWTransport(new WWTransportConfig().setHedgingPolicy(new HedgingPolicy().setDelay(50).setBudgetRatio(1))
+				.setCircuitBreakerPolicy(new CircuitBreakerPolicy().setMinimumCalls(1)));
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+		transport.setConcurrencyLimiter(limiter);
+		try {
+			CloseableHttpResponse response = transport.execute(server.buildPost("/graphql", null), null, WWRequestType.QUERY);
+			assertEquals("{\"request\":2}", EntityUtils.toString(response.getEntity()));
+			response.close();
+			// Wait for the aborted request to give its slot back
+			for (int i = 0; i < 100 && limiter.getInFlight() > 0; i++) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, limiter.getInFlight());
+			assertEquals(AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, limiter.getLimit());
+			CircuitBreaker breaker = transport.getCircuitBreaker(WWEndpointTarget.GRAPHQL);
+			assertEquals(State.CLOSED, breaker.getState());
+			assertEquals(0, breaker.getFailureRate(), 0.001);
+		} finally {
+			transport.close();
+		}
+	}
+
+	@Test
+	public void testHedgesAreLimitedByBudget() throws IOException, WWException {
+		WWTransport transport = new WWTransport(new WWTransportConfig().setHedgingPolicy(new HedgingPolicy().setDelay(50).setBudgetRatio(0.5)));
+		try {
+			CloseableHttpResponse response = transport.execute(server.buildPost("/graphql", null), null, WWRequestType.QUERY);
+			assertEquals("{\"request\":1}", EntityUtils.toString(response.getEntity()));
+			response.close();
+			assertEquals(0, transport.getRequestHedger().getHedgeCount());
+			response = transport.execute(server.buildPost("/graphql", null), null, WWRequestType.MUTATION);
+			response.close();
+			assertEquals(2, requests.get());
+		} finally {
+			transport.close();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.opencode4workspace.json.Iso8601DateCodec;
+
+public class Iso8601DateCodecTest {
+	private static final String[] ZONES = new String[] { "UTC", "Europe/London", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe", "Pacific/Chatham" };
+
+	@Test
+	public void testFormatMatchesSimpleDateFormat() {
+		Random random = new Random(8601);
+		for (String zoneId : ZONES) {
+			TimeZone zone = TimeZone.getTimeZone(zoneId);
+			SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+			df.setTimeZone(zone);
+			for (int i = 0; i < 1000; i++) {
+				// Between 1900 and 2100
+				Date date = new Date(-2208988800000L + (long) (random.nextDouble() * 6311390400000L));
+				StringBuilder sb = new StringBuilder();
+				Iso8601DateCodec.formatTo(sb, date, zone);
+				assertEquals(df.format(date), sb.toString());
+			}
+		}
+	}
+
+	@Test
+	public void testParseMatchesSimpleDateFormat() throws ParseException {
+		SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+		String[] values = new String[] { "2016-10-27T07:37:29.224+0000", "2017-05-03T11:44:51.645+0100", "2016-02-29T23:59:59.999-0930", "1969-12-31T23:59:59.001+0000" };
+		for (String value : values) {
+			assertEquals(df.parse(value), Iso8601DateCodec.parse(value));
+		}
+	}
+
+	@Test
+	public void testParseVariants() throws ParseException {
+		long expected = Iso8601DateCodec.parse("2016-10-27T07:37:29.200+0000").getTime();
+		assertEquals(expected, Iso8601DateCodec.parse("2016-10-27T07:37:29.2Z").getTime());
+		assertEquals(expected, Iso8601DateCodec.parse("2016-10-27T07:37:29.200123456Z").getTime());
+		assertEquals(expected, Iso8601DateCodec.parse("2016-10-27T08:37:29.200+01:00").getTime());
+		assertEquals(expected, Iso8601DateCodec.parse("2016-10-27T02:37:29.200-05").getTime());
+		assertEquals(expected - 29200, Iso8601DateCodec.parse("2016-10-27T07:37Z").getTime());
+	}
+
+	@Test
+	public void testRoundTrip() throws ParseException {
+		Date date = new Date(1493802898482L);
+		assertEquals(date, Iso8601DateCodec.parse(Iso8601DateCodec.format(date)));
+	}
+
+	@Test
+	public void testFormatFollowsDefaultZoneChange() {
+		TimeZone original = TimeZone.getDefault();
+		Date date = new Date(1477553849224L);
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+			assertEquals("2016-10-27T07:37:29.224+0000", Iso8601DateCodec.format(date));
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+			assertEquals("2016-10-27T13:07:29.224+0530", Iso8601DateCodec.format(date));
+		} finally {
+			TimeZone.setDefault(original);
+		}
+	}
+
+	@Test(expected = ParseException.class)
+	public void testMissingZone() throws ParseException {
+		Iso8601DateCodec.parse("2016-10-27T07:37:29.224");
+	}
+
+	@Test(expected = ParseException.class)
+	public void testInvalidDay() throws ParseException {
+		Iso8601DateCodec.parse("2017-02-29T07:37:29.224+0000");
+	}
+
+}
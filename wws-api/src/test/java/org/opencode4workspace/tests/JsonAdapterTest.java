@@ -0,0 +1,67 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.opencode4workspace.authentication.AppToken.TokenScope;
+import org.opencode4workspace.authentication.AppToken.TokenType;
+import org.opencode4workspace.bo.Annotation.AnnotationType;
+import org.opencode4workspace.bo.Person.PresenceStatus;
+import org.opencode4workspace.bo.Space;
+import org.opencode4workspace.graphql.ConversationWrapper;
+import org.opencode4workspace.graphql.GraphResultContainer;
+import org.opencode4workspace.graphql.SpaceWrapper;
+import org.opencode4workspace.json.AnnotationTypeDeserializer;
+import org.opencode4workspace.json.CodecRegistry;
+import org.opencode4workspace.json.PersonPresenceDeserializer;
+import org.opencode4workspace.json.TokenScopeDeserializer;
+import org.opencode4workspace.json.TokenTypeDeserializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+public class JsonAdapterTest {
+	private final static String GET_SPACES_FILE = "/getSpacesTest.json";
+	private static final String CONVERSATION_RESPONSE = "{\"id\": \"58ab8375e4b052591e45e7ca\",\"created\": \"2017-02-21T00:01:57.906+0000\",\"messages\": {\"items\": [{\"id\": \"5909b4b8e4b0e2b4d6e6e1d1\",\"content\": \"Hello\",\"annotations\": [\"{}\"],\"createdBy\": {\"displayName\": \"Paul Withers\",\"presence\": \"offline\"}}]},\"unknown\": {\"nested\": [1, 2]}}";
+
+	private Gson buildReflectiveGson() {
+		GsonBuilder builder = new GsonBuilder();
+		builder.setDateFormat(CodecRegistry.DEFAULT_DATE_FORMAT);
+		builder.registerTypeAdapter(TokenType.class, new TokenTypeDeserializer());
+		builder.registerTypeAdapter(TokenScope.class, new TokenScopeDeserializer());
+		builder.registerTypeAdapter(PresenceStatus.class, new PersonPresenceDeserializer());
+		builder.registerTypeAdapter(AnnotationType.class, new AnnotationTypeDeserializer());
+		return builder.create();
+	}
+
+	@Test
+	public void testGeneratedAdaptersRegistered() {
+		assertTrue(CodecRegistry.hasGeneratedAdapters());
+		assertEquals("SpaceJsonAdapter", CodecRegistry.getResultGson().getAdapter(Space.class).getClass().getSimpleName());
+		assertEquals("SpaceWrapperJsonAdapter", CodecRegistry.getResultGson().getAdapter(SpaceWrapper.class).getClass().getSimpleName());
+	}
+
+	@Test
+	public void testSpacesMatchReflection() throws IOException {
+		String content = IOUtils.toString(getClass().getResourceAsStream(GET_SPACES_FILE), "UTF-8");
+		GraphResultContainer generated = CodecRegistry.getResultGson().fromJson(content, GraphResultContainer.class);
+		GraphResultContainer reflected = buildReflectiveGson().fromJson(content, GraphResultContainer.class);
+		Gson out = new Gson();
+		assertEquals(out.toJson(reflected), out.toJson(generated));
+	}
+
+	@Test
+	public void testConversationMatchesReflection() {
+		ConversationWrapper generated = CodecRegistry.getResultGson().fromJson(CONVERSATION_RESPONSE, ConversationWrapper.class);
+		ConversationWrapper reflected = buildReflectiveGson().fromJson(CONVERSATION_RESPONSE, ConversationWrapper.class);
+		assertEquals(1, generated.getMessages().size());
+		assertEquals(PresenceStatus.OFFLINE, generated.getMessages().get(0).getCreatedBy().getPresence());
+		Gson out = new Gson();
+		assertEquals(out.toJson(reflected), out.toJson(generated));
+	}
+
+}
@@ -0,0 +1,412 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.bo.PageInfo;
+import org.opencode4workspace.builders.ConversationGraphQLQuery;
+import org.opencode4workspace.builders.PeopleGraphQLQuery;
+import org.opencode4workspace.builders.SpaceMembersGraphQLQuery;
+import org.opencode4workspace.builders.SpacesGraphQLQuery;
+import org.opencode4workspace.graphql.SpaceWrapper;
+import org.opencode4workspace.graphql.SpacesContainer;
+import org.opencode4workspace.json.CodecRegistry;
+import org.opencode4workspace.pagination.AdaptivePageSizer;
+import org.opencode4workspace.pagination.MergingIterator;
+import org.opencode4workspace.pagination.Page;
+import org.opencode4workspace.pagination.PageFetcher;
+import org.opencode4workspace.pagination.PagedCollection;
+import org.opencode4workspace.pagination.PagedIterable;
+import org.opencode4workspace.pagination.PagedIterator;
+import org.opencode4workspace.pagination.PaginationException;
+
+public class PaginationTest {
+
+	private static final Comparator<Integer> ASCENDING = new Comparator<Integer>() {
+
+		@Override
+		public int compare(Integer o1, Integer o2) {
+			return o1.compareTo(o2);
+		}
+	};
+
+	/**
+	 * Serves a collection of numbers, using the index of the first item on a page as its cursor
+	 */
+	private static class NumberFetcher implements PageFetcher<Integer> {
+		private final int total;
+		private final int failAt;
+		private final List<String> cursors = Collections.synchronizedList(new ArrayList<String>());
+		private final List<Integer> pageSizes = Collections.synchronizedList(new ArrayList<Integer>());
+
+		NumberFetcher(int total, int failAt) {
+			this.total = total;
+			this.failAt = failAt;
+		}
+
+		@Override
+		public Page<Integer> fetchPage(String after, int pageSize) throws WWException {
+			cursors.add(after);
+			pageSizes.add(pageSize);
+			int start = (null == after) ? 0 : Integer.parseInt(after);
+			if (start == failAt) {
+				throw new WWException("Page at " + start + " failed");
+			}
+			List<Integer> items = new ArrayList<Integer>();
+			for (int i = start; i < Math.min(total, start + pageSize); i++) {
+				items.add(i);
+			}
+			PageInfo pageInfo = new PageInfo();
+			pageInfo.setEndCursor(String.valueOf(start + items.size()));
+			pageInfo.setHasNextPage(start + items.size() < total);
+			return new Page<Integer>(items, pageInfo);
+		}
+	}
+
+	@Test
+	public void testPagedSpacesQueryUsesVariables() throws WWException {
+		String query = SpacesGraphQLQuery.buildPagedGetSpacesQuery().returnQuery();
+		assertTrue(query.startsWith("query getSpaces($"));
+		assertTrue(query.contains("$first: Int"));
+		assertTrue(query.contains("$after: String"));
+		assertTrue(query.contains("first: $first"));
+		assertTrue(query.contains("after: $after"));
+		assertTrue(query.contains("pageInfo"));
+		assertTrue(SpacesGraphQLQuery.buildStandardGetSpacesQuery().returnQuery().startsWith("query getSpaces {spaces (first: 100) {"));
+	}
+
+	@Test
+	public void testPageInfoDecoded() {
+		SpacesContainer spaces = CodecRegistry.getResultGson().fromJson("{\"pageInfo\":{\"endCursor\":\"abc\",\"hasNextPage\":true},\"items\":[{\"id\":\"1\"}]}", SpacesContainer.class);
+		assertEquals(1, spaces.getItems().size());
+		assertEquals("abc", spaces.getPageInfo().getEndCursor());
+		assertTrue(spaces.getPageInfo().isHasNextPage());
+	}
+
+	@Test
+	public void testIteratesAllPages() {
+		NumberFetcher fetcher = new NumberFetcher(25, -1);
+		int expected = 0;
+		for (Integer i : new PagedIterable<Integer>(fetcher).setPageSize(10)) {
+			assertEquals(expected++, i.intValue());
+		}
+		assertEquals(25, expected);
+		assertEquals(3, fetcher.cursors.size());
+		assertEquals(null, fetcher.cursors.get(0));
+		assertEquals("10", fetcher.cursors.get(1));
+		assertEquals("20", fetcher.cursors.get(2));
+	}
+
+	@Test
+	public void testEmptyCollection() {
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(new NumberFetcher(0, -1)).iterator();
+		assertFalse(iterator.hasNext());
+		assertEquals(1, iterator.getPagesFetched());
+	}
+
+	@Test
+	public void testPrefetchIsBounded() throws InterruptedException {
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(new NumberFetcher(1000, -1)).setPageSize(10).setPrefetchPages(2).iterator();
+		try {
+			assertEquals(0, iterator.next().intValue());
+			for (int i = 0; i < 50 && iterator.getPagesBuffered() < 2; i++) {
+				Thread.sleep(20);
+			}
+			Thread.sleep(100);
+			// The page being consumed, plus two prefetched
+			assertEquals(3, iterator.getPagesFetched());
+			assertEquals(2, iterator.getPagesBuffered());
+		} finally {
+			iterator.close();
+		}
+		assertEquals(0, iterator.getPagesBuffered());
+	}
+
+	@Test
+	public void testNoPrefetch() throws InterruptedException {
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(new NumberFetcher(100, -1)).setPageSize(10).setPrefetchPages(0).iterator();
+		assertEquals(0, iterator.next().intValue());
+		Thread.sleep(100);
+		assertEquals(1, iterator.getPagesFetched());
+		iterator.close();
+	}
+
+	@Test
+	public void testFailureSurfacesAfterFetchedPages() {
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(new NumberFetcher(100, 20)).setPageSize(10).iterator();
+		int count = 0;
+		try {
+			while (iterator.hasNext()) {
+				iterator.next();
+				count++;
+			}
+			throw new AssertionError("The failed page should be reported");
+		} catch (PaginationException e) {
+			assertEquals(20, count);
+			assertEquals("Page at 20 failed", e.getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void testPagedConversationMessagesQuery() throws WWException {
+		String query = ConversationGraphQLQuery.buildPagedConversationMessagesQuery().returnQuery();
+		assertTrue(query.contains("$id: ID!"));
+		assertTrue(query.contains("$oldestTimestamp: Long"));
+		assertTrue(query.contains("$mostRecentTimestamp: Long"));
+		assertTrue(query.contains("oldestTimestamp: $oldestTimestamp"));
+		assertTrue(query.contains("after: $after"));
+		assertTrue(query.contains("pageInfo"));
+		assertTrue(ConversationGraphQLQuery.buildStandardConversationQueryById("abc").returnQuery().contains("messages (first: 50) {pageInfo"));
+	}
+
+	@Test(timeout = 5000)
+	public void testMissingCursorEndsIteration() {
+		PageFetcher<Integer> fetcher = new PageFetcher<Integer>() {
+
+			@Override
+			public Page<Integer> fetchPage(String after, int pageSize) throws WWException {
+				return new Page<Integer>(Arrays.asList(1, 2), null) {
+
+					@Override
+					public boolean hasNextPage() {
+						return true;
+					}
+				};
+			}
+		};
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(fetcher).iterator();
+		assertEquals(1, iterator.next().intValue());
+		assertEquals(2, iterator.next().intValue());
+		assertFalse(iterator.hasNext());
+		assertEquals(1, iterator.getPagesFetched());
+	}
+
+	@Test(timeout = 5000, expected = PaginationException.class)
+	public void testMissingPageFails() {
+		PageFetcher<Integer> fetcher = new PageFetcher<Integer>() {
+
+			@Override
+			public Page<Integer> fetchPage(String after, int pageSize) throws WWException {
+				return null;
+			}
+		};
+		new PagedIterable<Integer>(fetcher).iterator().hasNext();
+	}
+
+	@Test
+	public void testMergeInterleavesSources() {
+		List<Iterator<Integer>> sources = new ArrayList<Iterator<Integer>>();
+		sources.add(Arrays.asList(9, 5, 1).iterator());
+		sources.add(Arrays.asList(8, 6, 2).iterator());
+		sources.add(Arrays.asList(7, 4, 3, 0).iterator());
+		List<Integer> merged = new ArrayList<Integer>();
+		MergingIterator<Integer> iterator = new MergingIterator<Integer>(sources, Collections.<Integer> reverseOrder());
+		while (iterator.hasNext()) {
+			merged.add(iterator.next());
+		}
+		assertEquals(Arrays.asList(9, 8, 7, 6, 5, 4, 3, 2, 1, 0), merged);
+		assertEquals(0, iterator.getDuplicatesSkipped());
+	}
+
+	@Test
+	public void testMergeRemovesBoundaryDuplicates() throws IOException {
+		List<PagedIterator<Integer>> slices = new ArrayList<PagedIterator<Integer>>();
+		// Three slices of 0-99 sharing their boundaries, paged in ascending order
+		slices.add(new PagedIterator<Integer>(new RangeFetcher(0, 34), 10, 1));
+		slices.add(new PagedIterator<Integer>(new RangeFetcher(34, 67), 10, 1));
+		slices.add(new PagedIterator<Integer>(new RangeFetcher(67, 99), 10, 1));
+		MergingIterator<Integer> iterator = new MergingIterator<Integer>(slices, ASCENDING);
+		int expected = 0;
+		try {
+			while (iterator.hasNext()) {
+				assertEquals(expected++, iterator.next().intValue());
+			}
+		} finally {
+			iterator.close();
+		}
+		assertEquals(100, expected);
+		assertEquals(2, iterator.getDuplicatesSkipped());
+	}
+
+	@Test
+	public void testPagedSpaceMembersQuery() throws WWException {
+		String query = SpaceMembersGraphQLQuery.buildPagedSpaceMembersQuery().returnQuery();
+		assertTrue(query.contains("$id: ID!"));
+		assertTrue(query.contains("$first: Int"));
+		assertTrue(query.contains("$after: String"));
+		assertTrue(query.contains("first: $first"));
+		assertTrue(query.contains("after: $after"));
+		assertTrue(query.contains("{pageInfo"));
+		// The unpaged query is unchanged
+		assertFalse(SpaceMembersGraphQLQuery.buildSpaceMemberGraphQueryBySpaceId("abc").returnQuery().contains("pageInfo"));
+	}
+
+	@Test
+	public void testMembersPageInfoDecoded() {
+		SpaceWrapper space = CodecRegistry.getResultGson().fromJson("{\"id\":\"abc\",\"members\":{\"pageInfo\":{\"endCursor\":\"def\",\"hasNextPage\":true},\"items\":[{\"id\":\"1\"},{\"id\":\"2\"}]}}",
+				SpaceWrapper.class);
+		assertEquals(2, space.getMembers().size());
+		assertEquals("def", space.getMembersContainer().getPageInfo().getEndCursor());
+		assertTrue(space.getMembersContainer().getPageInfo().isHasNextPage());
+	}
+
+	@Test
+	public void testPagedPeopleQuery() throws WWException {
+		String query = PeopleGraphQLQuery.buildPagedPersonQueryByNameVariable().returnQuery();
+		assertTrue(query.contains("$name: String"));
+		assertTrue(query.contains("$first: Int"));
+		assertTrue(query.contains("$after: String"));
+		assertTrue(query.contains("name: $name"));
+		assertTrue(query.contains("first: $first"));
+		assertTrue(query.contains("{pageInfo"));
+	}
+
+	@Test
+	public void testSmallFirstPage() {
+		NumberFetcher fetcher = new NumberFetcher(100, -1);
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(fetcher).setPageSize(20).setFirstPageSize(5).iterator();
+		int expected = 0;
+		while (iterator.hasNext()) {
+			assertEquals(expected++, iterator.next().intValue());
+		}
+		assertEquals(100, expected);
+		assertEquals(Arrays.asList(5, 20, 20, 20, 20, 20), fetcher.pageSizes);
+	}
+
+	@Test
+	public void testMaxItemsStopsFetching() throws InterruptedException {
+		NumberFetcher fetcher = new NumberFetcher(1000, -1);
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(fetcher).setPageSize(10).setFirstPageSize(3).setMaxItems(25).setPrefetchPages(2).iterator();
+		int expected = 0;
+		while (iterator.hasNext()) {
+			assertEquals(expected++, iterator.next().intValue());
+		}
+		assertEquals(25, expected);
+		Thread.sleep(100);
+		// The last page only requests the items still needed
+		assertEquals(Arrays.asList(3, 10, 10, 2), fetcher.pageSizes);
+		assertEquals(4, iterator.getPagesFetched());
+	}
+
+	@Test
+	public void testPageSizerFollowsLatencyPerItem() {
+		AdaptivePageSizer sizer = new AdaptivePageSizer(50, 10, 200);
+		// 1ms per item, first sample so grow
+		sizer.record(50, 50, millis(50), -1);
+		assertEquals(75, sizer.getPageSize());
+		// 0.8ms per item, better so keep growing
+		sizer.record(75, 75, millis(60), -1);
+		assertEquals(112, sizer.getPageSize());
+		// Within the tolerance, so hold
+		sizer.record(112, 112, millis(90), -1);
+		assertEquals(112, sizer.getPageSize());
+		// Worse, so turn back
+		sizer.record(112, 112, millis(112), -1);
+		assertEquals(74, sizer.getPageSize());
+		// Samples at another page size and short last pages are ignored
+		sizer.record(112, 112, millis(1), -1);
+		sizer.record(74, 3, millis(1), -1);
+		assertEquals(74, sizer.getPageSize());
+	}
+
+	@Test
+	public void testPageSizerShrinksToLimits() {
+		AdaptivePageSizer sizer = new AdaptivePageSizer(100, 10, 200);
+		// 4MB for 100 items, so 25 fit in 1MB
+		sizer.record(100, 100, millis(10), 4 * AdaptivePageSizer.DEFAULT_MAX_PAYLOAD_BYTES);
+		assertEquals(25, sizer.getPageSize());
+		// 200ms per item, so 15 fit in 3s
+		sizer.record(25, 25, millis(5000), -1);
+		assertEquals(15, sizer.getPageSize());
+		// Never below the minimum
+		sizer.record(15, 15, millis(60000), -1);
+		assertEquals(10, sizer.getPageSize());
+	}
+
+	@Test
+	public void testPageSizerStaysWithinBounds() {
+		AdaptivePageSizer sizer = new AdaptivePageSizer(10, 10, 20);
+		long elapsed = millis(100);
+		for (int i = 0; i < 10; i++) {
+			int size = sizer.getPageSize();
+			sizer.record(size, size, elapsed, -1);
+			elapsed /= 2;
+		}
+		assertEquals(20, sizer.getPageSize());
+		AdaptivePageSizer people = PagedCollection.PEOPLE.newPageSizer();
+		assertEquals(PagedCollection.PEOPLE.getInitialPageSize(), people.getPageSize());
+		assertEquals(PagedCollection.PEOPLE.getMaxPageSize(), people.getMaxPageSize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPageSizerRejectsInitialOutsideBounds() {
+		new AdaptivePageSizer(5, 10, 20);
+	}
+
+	@Test
+	public void testIteratorRecordsPagesWithSizer() {
+		NumberFetcher fetcher = new NumberFetcher(1000, -1);
+		AdaptivePageSizer sizer = new AdaptivePageSizer(10, 10, 40);
+		PagedIterator<Integer> iterator = new PagedIterable<Integer>(fetcher).setPageSizer(sizer).setPrefetchPages(0).iterator();
+		int expected = 0;
+		while (iterator.hasNext()) {
+			assertEquals(expected++, iterator.next().intValue());
+		}
+		assertEquals(1000, expected);
+		// The first page is always a first sample, so the second page is larger
+		assertEquals(10, fetcher.pageSizes.get(0).intValue());
+		assertEquals(15, fetcher.pageSizes.get(1).intValue());
+		for (Integer size : fetcher.pageSizes) {
+			assertTrue(size >= 10 && size <= 40);
+		}
+	}
+
+	@Test
+	public void testFixedPageSizeReplacesSizer() {
+		PagedIterable<Integer> iterable = new PagedIterable<Integer>(new NumberFetcher(10, -1)).setPageSizer(new AdaptivePageSizer(10, 10, 40));
+		assertTrue(null != iterable.getPageSizer());
+		assertTrue(null == iterable.setPageSize(5).getPageSizer());
+	}
+
+	private static long millis(long millis) {
+		return millis * 1000000L;
+	}
+
+	/**
+	 * Serves the numbers in an inclusive range, using the index of the first item on a page as its cursor
+	 */
+	private static class RangeFetcher implements PageFetcher<Integer> {
+		private final int from;
+		private final int to;
+
+		RangeFetcher(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Page<Integer> fetchPage(String after, int pageSize) throws WWException {
+			int start = (null == after) ? from : Integer.parseInt(after);
+			List<Integer> items = new ArrayList<Integer>();
+			for (int i = start; i <= Math.min(to, start + pageSize - 1); i++) {
+				items.add(i);
+			}
+			PageInfo pageInfo = new PageInfo();
+			pageInfo.setEndCursor(String.valueOf(start + items.size()));
+			pageInfo.setHasNextPage(start + items.size() <= to);
+			return new Page<Integer>(items, pageInfo);
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.builders.BaseGraphQLMultiQuery;
+import org.opencode4workspace.builders.ConversationGraphQLQuery;
+import org.opencode4workspace.builders.IDataSenderBuilder;
+import org.opencode4workspace.builders.InputDataSenderBuilder;
+import org.opencode4workspace.builders.ObjectDataSenderBuilder;
+import org.opencode4workspace.builders.ScalarDataSenderBuilder;
+import org.opencode4workspace.builders.SpaceGraphQLQuery;
+import org.opencode4workspace.builders.SpaceUpdateGraphQLMutation;
+import org.opencode4workspace.json.Iso8601DateCodec;
+
+public class QueryWriterTest {
+
+	@Test
+	public void testWriteQueryMatchesReturnQuery() throws WWException, IOException {
+		ConversationGraphQLQuery query = ConversationGraphQLQuery.buildStandardConversationQueryById("abc");
+		StringWriter out = new StringWriter();
+		query.writeQuery(out);
+		assertEquals(query.returnQuery(), out.toString());
+	}
+
+	@Test
+	public void testWriteToMatchesBuild() throws WWException, IOException {
+		ObjectDataSenderBuilder queryObject = SpaceGraphQLQuery.buildSpaceGraphQueryWithSpaceId("abc").getQueryObject();
+		StringWriter out = new StringWriter();
+		queryObject.writeTo(out, true);
+		assertEquals(queryObject.build(true), out.toString());
+	}
+
+	@Test
+	public void testMultiQuery() throws WWException {
+		ObjectDataSenderBuilder space1 = new ObjectDataSenderBuilder("space1").addAttribute("id", "abc").addField("title");
+		ObjectDataSenderBuilder space2 = new ObjectDataSenderBuilder("space2").addAttribute("id", "def").addField("title");
+		BaseGraphQLMultiQuery query = new BaseGraphQLMultiQuery("getTwoSpaces", space1);
+		query.addQueryObject(space2);
+		assertEquals("query getTwoSpaces {space1 (id: \"abc\") {title}space2 (id: \"def\") {title}}", query.returnQuery());
+	}
+
+	@Test
+	public void testMutation() {
+		InputDataSenderBuilder input = new InputDataSenderBuilder("updateSpace").addField("id", "abc");
+		ObjectDataSenderBuilder space = new ObjectDataSenderBuilder("space").addField("id").addField("title");
+		SpaceUpdateGraphQLMutation mutation = new SpaceUpdateGraphQLMutation(input, space, new ScalarDataSenderBuilder("memberIdsChanged"));
+		assertEquals("mutation updateSpace {updateSpace (input: {id: \"abc\"}) {space {id title} memberIdsChanged}}", mutation.returnQuery());
+	}
+
+	@Test
+	public void testCustomChildIsWrittenFromBuild() {
+		IDataSenderBuilder custom = new IDataSenderBuilder() {
+
+			@Override
+			public String build() {
+				return build(false);
+			}
+
+			@Override
+			public String build(boolean pretty) {
+				return "custom";
+			}
+		};
+		ObjectDataSenderBuilder space = new ObjectDataSenderBuilder("space").addField("id").addChild(custom);
+		assertEquals("space {id custom}", space.build());
+	}
+
+	@Test
+	public void testDateWrittenToAppendable() throws IOException {
+		Date date = new Date(1477553849224L);
+		StringWriter out = new StringWriter();
+		Iso8601DateCodec.formatTo(out, date, TimeZone.getTimeZone("GMT+05:30"));
+		assertEquals("2016-10-27T13:07:29.224+0530", out.toString());
+		StringBuilder sb = new StringBuilder();
+		Iso8601DateCodec.formatTo(sb, date);
+		assertEquals(Iso8601DateCodec.format(date), sb.toString());
+	}
+
+}
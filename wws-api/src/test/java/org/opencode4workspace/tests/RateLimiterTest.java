@@ -0,0 +1,95 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.RateLimitExceededException;
+import org.opencode4workspace.transport.TokenBucket;
+import org.opencode4workspace.transport.WWRateLimiter;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class RateLimiterTest {
+
+	@Test
+	public void testBurstThenRefill() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(2, 50);
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+		assertEquals(0, bucket.getAvailablePermits());
+		assertTrue(bucket.getWaitMillis() <= 20);
+		assertFalse(bucket.tryAcquire(1, TimeUnit.NANOSECONDS));
+		long start = System.nanoTime();
+		assertTrue(bucket.tryAcquire(1, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+	}
+
+	@Test
+	public void testBucketsArePerRequestType() {
+		WWRateLimiter limiter = new WWRateLimiter().setLimit(WWRequestType.MESSAGE, 1, 0.1);
+		assertEquals(1, limiter.getRemaining(WWRequestType.MESSAGE));
+		assertEquals(-1, limiter.getRemaining(WWRequestType.QUERY));
+		assertTrue(limiter.tryAcquire(WWRequestType.MESSAGE));
+		assertFalse(limiter.tryAcquire(WWRequestType.MESSAGE));
+		assertTrue(limiter.tryAcquire(WWRequestType.QUERY));
+		assertTrue(limiter.tryAcquire(null));
+		try {
+			limiter.acquireOrFail(WWRequestType.MESSAGE);
+		} catch (RateLimitExceededException e) {
+			assertEquals(WWRequestType.MESSAGE, e.getRequestType());
+			assertTrue(e.getWaitMillis() > 0);
+			return;
+		}
+		throw new AssertionError("An empty bucket should fail fast");
+	}
+
+	@Test
+	public void testTransportFailsFastWhenBudgetUsedUp() throws IOException, WWException {
+		final AtomicInteger requests = new AtomicInteger();
+		MockServer server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				MockServer.respond(exchange, 200, "{}");
+			}
+		});
+		WWTransport transport = new WWTransport();
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(), transport)
+				.setRateLimiter(new WWRateLimiter().setLimit(WWRequestType.QUERY, 1, 0.1).setMaxWait(0));
+		try {
+			client.authenticate();
+			CloseableHttpResponse response = transport.execute(server.buildPost("/graphql", client), client, WWRequestType.QUERY);
+			response.close();
+			try {
+				transport.execute(server.buildPost("/graphql", client), client, WWRequestType.QUERY);
+				throw new AssertionError("The second query should exceed the rate limit");
+			} catch (RateLimitExceededException e) {
+				assertEquals(1, requests.get());
+			}
+			response = transport.execute(server.buildPost("/graphql", client), client, WWRequestType.MUTATION);
+			response.close();
+			assertEquals(2, requests.get());
+		} finally {
+			client.close();
+			transport.close();
+			server.close();
+		}
+	}
+
+}
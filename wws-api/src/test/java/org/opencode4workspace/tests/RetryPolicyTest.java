@@ -0,0 +1,99 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.RetryPolicy;
+import org.opencode4workspace.transport.WWRequestType;
+import org.opencode4workspace.transport.WWTransport;
+import org.opencode4workspace.transport.WWTransportConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class RetryPolicyTest {
+
+	@Test
+	public void testDefaultPolicyOnlyRetriesQueries() {
+		RetryPolicy policy = new RetryPolicy();
+		assertTrue(policy.isRetryable(WWRequestType.QUERY));
+		assertFalse(policy.isRetryable(WWRequestType.MUTATION));
+		assertFalse(policy.isRetryable(WWRequestType.MESSAGE));
+		assertFalse(policy.isRetryable(null));
+		assertTrue(policy.setRetryable(WWRequestType.MUTATION, true).isRetryable(WWRequestType.MUTATION));
+	}
+
+	@Test
+	public void testClassification() {
+		RetryPolicy policy = new RetryPolicy();
+		assertTrue(policy.isRetryableStatus(429));
+		assertTrue(policy.isRetryableStatus(503));
+		assertFalse(policy.isRetryableStatus(501));
+		assertFalse(policy.isRetryableStatus(400));
+		assertTrue(policy.isRetryableException(new SocketTimeoutException()));
+		assertTrue(policy.isRetryableException(new ConnectException()));
+		assertTrue(policy.isNotSent(new ConnectException()));
+		assertFalse(policy.isNotSent(new SocketTimeoutException()));
+		assertFalse(policy.isRetryableException(new IOException("The transport has been closed")));
+	}
+
+	@Test
+	public void testBackoff() {
+		RetryPolicy policy = new RetryPolicy().setInitialBackoff(100).setMaxBackoff(300).setMaxRetryAfter(5000);
+		for (int i = 0; i < 20; i++) {
+			assertTrue(policy.getBackoff(1, null) <= 100);
+			assertTrue(policy.getBackoff(5, null) <= 300);
+		}
+		BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, "Too Many Requests");
+		response.addHeader("Retry-After", "2");
+		assertEquals(2000, policy.getBackoff(1, response));
+		response.setHeader("Retry-After", "60");
+		assertEquals(-1, policy.getBackoff(1, response));
+	}
+
+	@Test
+	public void testTransientFailuresRetried() throws IOException, WWException {
+		final AtomicInteger requests = new AtomicInteger();
+		MockServer server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				MockServer.respond(exchange, requests.incrementAndGet() < 3 ? 503 : 200, "{}");
+			}
+		});
+		WWTransport transport = new WWTransport(new WWTransportConfig().setRetryPolicy(new RetryPolicy().setInitialBackoff(10)));
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(), transport);
+		try {
+			client.authenticate();
+			CloseableHttpResponse response = transport.execute(server.buildPost("/graphql", client), client, WWRequestType.QUERY);
+			assertEquals(200, response.getStatusLine().getStatusCode());
+			response.close();
+			assertEquals(3, requests.get());
+
+			requests.set(0);
+			response = transport.execute(server.buildPost("/graphql", client), client, WWRequestType.MUTATION);
+			assertEquals(503, response.getStatusLine().getStatusCode());
+			response.close();
+			assertEquals(1, requests.get());
+		} finally {
+			client.close();
+			transport.close();
+			server.close();
+		}
+	}
+
+}
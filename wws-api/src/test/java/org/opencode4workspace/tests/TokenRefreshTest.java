@@ -0,0 +1,173 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationRefreshException;
+import org.opencode4workspace.authentication.AuthenticationResult;
+import org.opencode4workspace.authentication.RefreshableAuthenticationEndpoint;
+
+public class TokenRefreshTest {
+
+	/**
+	 * Authentication endpoint issuing numbered tokens and counting the requests made
+	 */
+	private static class CountingEndpoint implements RefreshableAuthenticationEndpoint {
+		private final int expires;
+		private final AtomicInteger applicationCalls = new AtomicInteger();
+		private final AtomicInteger userCalls = new AtomicInteger();
+		private final List<String> refreshTokens = new ArrayList<String>();
+		private volatile CountDownLatch entered;
+		private volatile CountDownLatch release;
+		private volatile boolean failing;
+
+		CountingEndpoint(int expires) {
+			this.expires = expires;
+		}
+
+		@Override
+		public AuthenticationResult authenticateApplication(String basicAuthApp) throws WWException {
+			int call = applicationCalls.incrementAndGet();
+			if (failing) {
+				throw new WWException("Authentication service unavailable");
+			}
+			if (null != release) {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new WWException(e);
+				}
+			}
+			return new AuthenticationResult("app" + call, expires, "", "", "");
+		}
+
+		@Override
+		public AuthenticationResult authorizeUser(String basicAuthApp, String userToken, String redirectTo) throws WWException {
+			int call = userCalls.incrementAndGet();
+			return new AuthenticationResult("user" + call, expires, "", "", "", "refresh" + call);
+		}
+
+		@Override
+		public synchronized AuthenticationResult refreshUser(String basicAuthApp, String refreshToken) throws WWException {
+			refreshTokens.add(refreshToken);
+			return new AuthenticationResult("refreshed" + refreshTokens.size(), expires, "", "", "", "refresh-r" + refreshTokens.size());
+		}
+	}
+
+	@Test
+	public void testConcurrentRefreshIsSingleFlight() throws Exception {
+		CountingEndpoint endpoint = new CountingEndpoint(3600);
+		final WWClient client = WWClient.buildClientApplicationAccess("myAppId", "myAppSecret", endpoint);
+		endpoint.entered = new CountDownLatch(1);
+		endpoint.release = new CountDownLatch(1);
+		final List<AuthenticationResult> results = new ArrayList<AuthenticationResult>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						AuthenticationResult result = client.refreshAuthentication();
+						synchronized (results) {
+							results.add(result);
+						}
+					} catch (WWException e) {
+						e.printStackTrace();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+			if (i == 0) {
+				endpoint.entered.await(5, TimeUnit.SECONDS);
+			}
+		}
+		Thread.sleep(500);
+		endpoint.release.countDown();
+		for (Thread thread : threads) {
+			thread.join(5000);
+		}
+		assertEquals(1, endpoint.applicationCalls.get());
+		assertEquals(8, results.size());
+		for (AuthenticationResult result : results) {
+			assertSame(client.getAuthenticationResult(), result);
+		}
+		assertEquals("app1", client.getJWTToken());
+		client.close();
+	}
+
+	@Test
+	public void testUserRefreshUsesRefreshToken() throws WWException, IOException {
+		CountingEndpoint endpoint = new CountingEndpoint(3600);
+		WWClient client = WWClient.buildClientUserAccess("userToken", "myAppId", "myAppSecret", endpoint, "http://localhost");
+		client.authenticate();
+		assertEquals("user1", client.getJWTToken());
+		client.refreshAuthentication();
+		assertEquals(1, endpoint.userCalls.get());
+		assertEquals("refresh1", endpoint.refreshTokens.get(0));
+		assertEquals("refreshed1", client.getJWTToken());
+		client.close();
+	}
+
+	@Test
+	public void testExpiredTokenRefreshedOnUse() throws WWException, IOException {
+		CountingEndpoint endpoint = new CountingEndpoint(0);
+		WWClient client = WWClient.buildClientApplicationAccess("myAppId", "myAppSecret", endpoint);
+		client.authenticate();
+		assertEquals("app2", client.getJWTToken());
+		client.setAutoRefresh(false);
+		assertEquals("app2", client.getJWTToken());
+		assertEquals(2, endpoint.applicationCalls.get());
+		client.close();
+	}
+
+	@Test
+	public void testFailedRefreshIsNotSwallowed() throws WWException, IOException {
+		CountingEndpoint endpoint = new CountingEndpoint(0);
+		WWClient client = WWClient.buildClientApplicationAccess("myAppId", "myAppSecret", endpoint);
+		client.authenticate();
+		endpoint.failing = true;
+		try {
+			client.getJWTToken();
+			throw new AssertionError("The expired token should not be returned");
+		} catch (AuthenticationRefreshException e) {
+			assertEquals("Authentication service unavailable", e.getCause().getMessage());
+		}
+		try {
+			client.getSpaces();
+			throw new AssertionError("The query should not be sent with the expired token");
+		} catch (WWException e) {
+			assertEquals("Authentication service unavailable", e.getMessage());
+		}
+		assertTrue(endpoint.applicationCalls.get() >= 3);
+		client.close();
+	}
+
+	@Test
+	public void testTokenRefreshedBeforeExpiry() throws WWException, IOException, InterruptedException {
+		CountingEndpoint endpoint = new CountingEndpoint(2);
+		WWClient client = WWClient.buildClientApplicationAccess("myAppId", "myAppSecret", endpoint).setRefreshMarginMillis(1500);
+		client.authenticate();
+		assertEquals("app1", client.getJWTToken());
+		long giveUp = System.currentTimeMillis() + 5000;
+		while ("app1".equals(client.getAuthenticationResult().getJwtToken()) && System.currentTimeMillis() < giveUp) {
+			Thread.sleep(50);
+		}
+		assertEquals("app2", client.getAuthenticationResult().getJwtToken());
+		client.close();
+	}
+
+}
@@ -0,0 +1,140 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.authentication.AuthenticationResult;
+import org.opencode4workspace.authentication.FileTokenStore;
+import org.opencode4workspace.authentication.InMemoryTokenStore;
+import org.opencode4workspace.authentication.RefreshableAuthenticationEndpoint;
+import org.opencode4workspace.authentication.TokenStore;
+
+public class TokenStoreTest {
+
+	/**
+	 * Authentication endpoint issuing numbered tokens and counting the requests made
+	 */
+	private static class CountingEndpoint implements RefreshableAuthenticationEndpoint {
+		private int calls;
+		private String lastRefreshToken;
+
+		@Override
+		public synchronized AuthenticationResult authenticateApplication(String basicAuthApp) throws WWException {
+			calls++;
+			return new AuthenticationResult("app" + calls, 3600, "", "", "");
+		}
+
+		@Override
+		public synchronized AuthenticationResult authorizeUser(String basicAuthApp, String userToken, String redirectTo) throws WWException {
+			calls++;
+			return new AuthenticationResult("user" + calls, 3600, "", "person1", "", "refresh" + calls);
+		}
+
+		@Override
+		public synchronized AuthenticationResult refreshUser(String basicAuthApp, String refreshToken) throws WWException {
+			calls++;
+			lastRefreshToken = refreshToken;
+			return new AuthenticationResult("refreshed" + calls, 3600, "", "", "", "refresh" + calls);
+		}
+	}
+
+	@Test
+	public void testFileStoreRoundTrip() throws WWException, IOException {
+		File directory = createDirectory();
+		FileTokenStore store = new FileTokenStore(directory);
+		Date created = new Date(System.currentTimeMillis() - 60000);
+		store.save("user:abc", new AuthenticationResult("jwt", 3600, created, "Paul Withers", "u1", "j1", "refresh"));
+		AuthenticationResult result = new FileTokenStore(directory).load("user:abc");
+		assertEquals("jwt", result.getJwtToken());
+		assertEquals(3600, result.getExpires());
+		assertEquals(created, result.getCreated());
+		assertEquals(new Date(created.getTime() + 3600000L), result.getExpireDate());
+		assertEquals("Paul Withers", result.getDisplayName());
+		assertEquals("refresh", result.getRefreshToken());
+		assertEquals(1, directory.list().length);
+		store.remove("user:abc");
+		assertNull(store.load("user:abc"));
+		directory.delete();
+	}
+
+	@Test
+	public void testFileStoreKeepsNullRefreshToken() throws WWException, IOException {
+		File directory = createDirectory();
+		FileTokenStore store = new FileTokenStore(directory);
+		store.save("app:abc", new AuthenticationResult("jwt", 0, "", "", ""));
+		AuthenticationResult result = store.load("app:abc");
+		assertNull(result.getRefreshToken());
+		assertFalse(result.isValid());
+		store.remove("app:abc");
+		directory.delete();
+	}
+
+	@Test
+	public void testValidStoredTokenIsReused() throws WWException, IOException {
+		TokenStore store = new InMemoryTokenStore();
+		CountingEndpoint endpoint = new CountingEndpoint();
+		WWClient first = WWClient.buildClientApplicationAccess("appId", "appSecret", endpoint).setTokenStore(store);
+		first.authenticate();
+		WWClient second = WWClient.buildClientApplicationAccess("appId", "appSecret", endpoint).setTokenStore(store);
+		second.authenticate();
+		assertEquals(1, endpoint.calls);
+		assertEquals("app1", second.getJWTToken());
+		assertTrue(second.isAuthenticated());
+		first.close();
+		second.close();
+	}
+
+	@Test
+	public void testRejectedStoredTokenIsReplaced() throws WWException, IOException {
+		TokenStore store = new InMemoryTokenStore();
+		CountingEndpoint endpoint = new CountingEndpoint();
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", endpoint).setTokenStore(store);
+		client.authenticate();
+		client.refreshAuthentication("app1");
+		assertEquals(2, endpoint.calls);
+		assertEquals("app2", store.load(client.getTokenStoreKey()).getJwtToken());
+		client.close();
+	}
+
+	@Test
+	public void testStoredRefreshTokenSurvivesRestart() throws WWException, IOException {
+		TokenStore store = new InMemoryTokenStore();
+		store.save("session1", new AuthenticationResult("expired", 0, "", "", "", "storedRefresh"));
+		CountingEndpoint endpoint = new CountingEndpoint();
+		WWClient client = WWClient.buildClientUserAccess(null, "appId", "appSecret", endpoint, "http://localhost").setTokenStore(store, "session1");
+		client.authenticate();
+		assertEquals("storedRefresh", endpoint.lastRefreshToken);
+		assertEquals("refreshed1", client.getJWTToken());
+		assertEquals("refresh1", store.load("session1").getRefreshToken());
+		client.close();
+	}
+
+	@Test
+	public void testUserTokensKeyedOnUserId() throws WWException, IOException {
+		TokenStore store = new InMemoryTokenStore();
+		CountingEndpoint endpoint = new CountingEndpoint();
+		WWClient client = WWClient.buildClientUserAccess("oneTimeCode", "appId", "appSecret", endpoint, "http://localhost").setTokenStore(store);
+		assertNull(client.getTokenStoreKey());
+		client.authenticate();
+		assertEquals("user:appId:person1", client.getTokenStoreKey());
+		assertEquals("user1", store.load("user:appId:person1").getJwtToken());
+		assertNull(store.load("user:appId:oneTimeCode"));
+		client.close();
+	}
+
+	private File createDirectory() throws IOException {
+		File directory = File.createTempFile("wws-tokens", "");
+		directory.delete();
+		return directory;
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.opencode4workspace.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+import org.opencode4workspace.WWClient;
+import org.opencode4workspace.WWException;
+import org.opencode4workspace.endpoints.WWAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockAuthenticationEndpoint;
+import org.opencode4workspace.mocks.MockServer;
+import org.opencode4workspace.transport.WWTransport;
+import org.opencode4workspace.transport.WWTransportConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class TransportTest {
+
+	@Test
+	public void testConfigAppliedToPool() throws IOException {
+		WWTransport transport = new WWTransport(new WWTransportConfig().setMaxTotal(10).setMaxPerRoute(4));
+		try {
+			assertEquals(10, transport.getConnectionManager().getMaxTotal());
+			assertEquals(4, transport.getConnectionManager().getDefaultMaxPerRoute());
+		} finally {
+			transport.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testClosedTransportRejectsRequests() throws IOException {
+		WWTransport transport = new WWTransport();
+		transport.close();
+		assertTrue(transport.isClosed());
+		transport.execute(new HttpGet("http://localhost"));
+	}
+
+	@Test
+	public void testClientReusesOwnTransport() throws IOException {
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new WWAuthenticationEndpoint());
+		WWTransport transport = client.getTransport();
+		assertSame(transport, client.getTransport());
+		client.close();
+		assertTrue(transport.isClosed());
+		assertNotSame(transport, client.getTransport());
+		client.close();
+	}
+
+	@Test
+	public void testClientDoesNotCloseSharedTransport() throws IOException {
+		WWTransport shared = new WWTransport();
+		try {
+			WWClient first = WWClient.buildClientApplicationAccess("appId", "appSecret", new WWAuthenticationEndpoint(), shared);
+			WWClient second = WWClient.buildClientApplicationAccess("appId2", "appSecret2", new WWAuthenticationEndpoint(), shared);
+			assertSame(shared, first.getTransport());
+			assertSame(shared, second.getTransport());
+			first.close();
+			assertFalse(shared.isClosed());
+		} finally {
+			shared.close();
+		}
+	}
+
+	@Test
+	public void testRejectedTokenIsRefreshedAndReplayed() throws IOException, WWException {
+		final List<String> received = new ArrayList<String>();
+		MockServer server = new MockServer(new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				received.add(exchange.getRequestHeaders().getFirst("Authorization") + " " + MockServer.readBody(exchange));
+				MockServer.respond(exchange, "Bearer token2".equals(exchange.getRequestHeaders().getFirst("Authorization")) ? 200 : 401, "{}");
+			}
+		});
+		WWTransport transport = new WWTransport();
+		WWClient client = WWClient.buildClientApplicationAccess("appId", "appSecret", new MockAuthenticationEndpoint(true), transport);
+		try {
+			client.authenticate();
+			HttpPost post = new HttpPost(server.getUrl("/graphql"));
+			post.addHeader("Authorization", "Bearer " + client.getJWTToken());
+			post.setEntity(new StringEntity("{\"query\":\"{me {id}}\"}", "UTF-8"));
+			CloseableHttpResponse response = transport.execute(post, client);
+			try {
+				assertEquals(200, response.getStatusLine().getStatusCode());
+				EntityUtils.consume(response.getEntity());
+			} finally {
+				response.close();
+			}
+			assertEquals(2, received.size());
+			assertEquals("Bearer token1 {\"query\":\"{me {id}}\"}", received.get(0));
+			assertEquals("Bearer token2 {\"query\":\"{me {id}}\"}", received.get(1));
+			assertEquals("token2", client.getJWTToken());
+			assertSame(client.getAuthenticationResult(), client.refreshAuthentication("token1"));
+		} finally {
+			client.close();
+			transport.close();
+			server.close();
+		}
+	}
+
+}